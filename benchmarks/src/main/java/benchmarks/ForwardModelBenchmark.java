@@ -0,0 +1,149 @@
+package benchmarks;
+
+import core.AbstractForwardModel;
+import core.AbstractGameState;
+import core.Game;
+import core.actions.AbstractAction;
+import games.GameType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Microbenchmarks of the hot paths used by search agents, for every GameType.
+ * <p>
+ * For each game we play one game with random moves (from a fixed seed), and keep nStates copies of the state spread
+ * over its middle half. Each benchmark invocation then uses the next of these in turn, so that the results are
+ * representative of the whole game rather than of one position. The games and states are the same on every run, so
+ * results can be compared between versions of the code.
+ * <p>
+ * There is no separate benchmark of next() on its own, as next() changes the state. copyAndNext() measures a copy()
+ * followed by next(), and so the cost of next() is approximately copyAndNext() - copy().
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ForwardModelBenchmark {
+
+    @Param({"Pandemic", "TicTacToe", "Connect4", "ExplodingKittens", "LoveLetter", "Uno", "Virus", "ColtExpress",
+            "DotsAndBoxes", "Poker", "Blackjack", "Diamant", "Dominion", "DominionFG", "DominionSizeDistortion",
+            "DominionImprovements", "Battlelore", "SushiGo", "Catan", "TerraformingMars", "Stratego", "CantStop",
+            "Descent2e", "MonopolyDeal", "Hanabi", "PuertoRico", "PowerGrid", "Wonders7", "Resistance", "Hearts",
+            "ChineseCheckers", "Backgammon", "XIIScripta", "PenteGrammai", "Mastermind", "WarOfTheToads", "Root",
+            "Saboteur", "Chess", "Pickomino"})
+    public String game;
+
+    // Used if the game supports this number of players, otherwise the nearest number that it does support
+    @Param({"3"})
+    public int nPlayers;
+
+    @Param({"8"})
+    public int nStates;
+
+    // Games that have not finished after this many actions are treated as if they had finished at this point
+    static final int maxActions = 2000;
+    static final long seed = 238;
+
+    AbstractForwardModel forwardModel;
+    AbstractGameState initialState;
+    AbstractGameState[] states;
+    AbstractAction[] nextActions;
+    int index = -1;
+
+    @Setup(Level.Trial)
+    public void createStates() {
+        GameType gameType = GameType.valueOf(game);
+        int players = Math.max(gameType.getMinPlayers(), Math.min(gameType.getMaxPlayers(), nPlayers));
+
+        // The first game finds the length of a random game, and then we replay it to keep the states we want
+        int gameLength = playRandomGame(gameType, players);
+        List<Integer> keepAt = new ArrayList<>(nStates);
+        for (int i = 0; i < nStates; i++)
+            keepAt.add(gameLength / 4 + (i * gameLength) / (2 * nStates));
+        List<AbstractGameState> kept = new ArrayList<>(nStates);
+        List<AbstractAction> keptActions = new ArrayList<>(nStates);
+        Game replay = gameType.createGameInstance(players, seed);
+        forwardModel = replay.getForwardModel();
+        initialState = replay.getGameState().copy();
+        Random rnd = new Random(seed);
+        AbstractGameState state = replay.getGameState();
+        for (int action = 0; state.isNotTerminal() && action < maxActions; action++) {
+            List<AbstractAction> available = forwardModel.computeAvailableActions(state);
+            AbstractAction chosen = available.get(rnd.nextInt(available.size()));
+            // the same state may be kept more than once in very short games
+            while (kept.size() < nStates && keepAt.get(kept.size()) == action) {
+                kept.add(state.copy());
+                keptActions.add(chosen.copy());
+            }
+            forwardModel.next(state, chosen);
+        }
+        if (kept.isEmpty())
+            throw new AssertionError("No mid-game states found for " + game);
+        states = kept.toArray(new AbstractGameState[0]);
+        nextActions = keptActions.toArray(new AbstractAction[0]);
+    }
+
+    private int playRandomGame(GameType gameType, int players) {
+        Game g = gameType.createGameInstance(players, seed);
+        AbstractForwardModel fm = g.getForwardModel();
+        AbstractGameState state = g.getGameState();
+        Random rnd = new Random(seed);
+        int actions = 0;
+        while (state.isNotTerminal() && actions < maxActions) {
+            List<AbstractAction> available = fm.computeAvailableActions(state);
+            AbstractAction chosen = available.get(rnd.nextInt(available.size()));
+            fm.next(state, chosen);
+            actions++;
+        }
+        return actions;
+    }
+
+    private int nextIndex() {
+        index = (index + 1) % states.length;
+        return index;
+    }
+
+    @Benchmark
+    public AbstractGameState setup() {
+        forwardModel.setup(initialState);
+        return initialState;
+    }
+
+    @Benchmark
+    public List<AbstractAction> computeAvailableActions() {
+        return forwardModel.computeAvailableActions(states[nextIndex()]);
+    }
+
+    @Benchmark
+    public AbstractGameState copyAndNext() {
+        int i = nextIndex();
+        AbstractGameState copy = states[i].copy();
+        forwardModel.next(copy, nextActions[i].copy());
+        return copy;
+    }
+
+    @Benchmark
+    public AbstractGameState copy() {
+        return states[nextIndex()].copy();
+    }
+
+    @Benchmark
+    public AbstractGameState copyForPlayer() {
+        AbstractGameState state = states[nextIndex()];
+        return state.copy(state.getCurrentPlayer());
+    }
+
+    @Benchmark
+    public void heuristicScore(Blackhole bh) {
+        AbstractGameState state = states[nextIndex()];
+        for (int p = 0; p < state.getNPlayers(); p++)
+            bh.consume(state.getHeuristicScore(p));
+    }
+}
@@ -0,0 +1,37 @@
+package benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the JMH benchmarks, writing the results as JSON (by default to benchmark-results.json) so that they can be
+ * kept and compared between versions of the code (for example with https://jmh.morethan.io).
+ * <p>
+ * This must be run from the root of the repository, so that the game data files are found.
+ * All the usual JMH command line options can be used, for example:
+ * java -jar benchmarks/target/benchmarks.jar -p game=Dominion,SushiGo -rff dominion.json
+ * to benchmark just two games, and
+ * java -jar benchmarks/target/benchmarks.jar copy
+ * to run just the copy() benchmarks (the argument is a regular expression matched against the benchmark names).
+ */
+public class RunBenchmarks {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        OptionsBuilder builder = new OptionsBuilder();
+        if (commandLine.getIncludes().isEmpty())
+            builder.include(ForwardModelBenchmark.class.getSimpleName());
+        if (!commandLine.getResultFormat().hasValue()) {
+            builder.resultFormat(ResultFormatType.JSON);
+            if (!commandLine.getResult().hasValue())
+                builder.result("benchmark-results.json");
+        }
+        Options options = builder.parent(commandLine).build();
+        new Runner(options).run();
+    }
+}
@@ -210,6 +210,17 @@ public abstract class AbstractForwardModel {
         }
     }
 
+    /**
+     * Returns a forward model that can be used at the same time as this one, for example by another search thread.
+     * Most forward models hold no state of their own, so this default returns the model itself; forward models
+     * that do keep state between calls (such as the rule-based ones) must override this to return a new copy.
+     *
+     * @return a forward model that behaves the same as this one, and can be used independently of it.
+     */
+    public AbstractForwardModel copy() {
+        return this;
+    }
+
     public void addPlayerDecorator(IPlayerDecorator decorator) {
         decorators.add(decorator);
     }
@@ -14,6 +14,7 @@ import evaluation.metrics.Event;
 import games.GameType;
 import utilities.ElapsedCpuChessTimer;
 import utilities.Pair;
+import utilities.Zobrist;
 
 import java.util.*;
 import java.util.function.BiFunction;
@@ -54,9 +55,9 @@ public abstract class AbstractGameState {
 
     // A record of all actions taken to reach this game state
     // The history is stored as a list of pairs, where the first element is the player who took the action
-    // this is in chronological order
-    private List<Pair<Integer, AbstractAction>> history = new ArrayList<>();
-    private List<String> historyText = new ArrayList<>();
+    // this is in chronological order (see CompactHistory for how they are held, and shared between copies)
+    private CompactHistory<AbstractAction> history = new CompactHistory<>(AbstractAction::copy);
+    private CompactHistory<String> historyText = new CompactHistory<>();
 
     // Status of the game, and status for each player (in cooperative games, the game status is also each player's status)
     protected CoreConstants.GameResult gameStatus;
@@ -94,8 +95,8 @@ public abstract class AbstractGameState {
         gameStatus = GAME_ONGOING;
         playerResults = new CoreConstants.GameResult[getNPlayers()];
         Arrays.fill(playerResults, GAME_ONGOING);
-        history = new ArrayList<>();
-        historyText = new ArrayList<>();
+        history = new CompactHistory<>(AbstractAction::copy);
+        historyText = new CompactHistory<>();
         playerTimer = new ElapsedCpuChessTimer[getNPlayers()];
         tick = 0;
         turnOwner = 0;
@@ -161,15 +162,19 @@ public abstract class AbstractGameState {
     }
 
 
-    protected void setHistoryAt(int index, Pair<Integer, AbstractAction> action) {
-        history.set(index, action);
-    }
     /**
      * @return All actions that have been executed on this state since reset()/initialisation
      */
-    public List<Pair<Integer, AbstractAction>> getHistory() { return new ArrayList<>(history);}
+    public List<Pair<Integer, AbstractAction>> getHistory() { return history.asPairs();}
+    /**
+     * @return The number of actions in getHistory(). This, and getHistoryAt(), avoid decoding the whole history.
+     */
+    public int getHistorySize() { return history.size();}
+    public Pair<Integer, AbstractAction> getHistoryAt(int index) {
+        return new Pair<>(history.getPlayer(index), history.get(index));
+    }
     public List<String> getHistoryAsText() {
-        return new ArrayList<>(historyText);
+        return historyText.asList();
     }
     public int getGameID() {
         return gameID;
@@ -296,10 +301,79 @@ public abstract class AbstractGameState {
      */
     public final AbstractGameState copy(int playerId) {
         AbstractGameState s = _copy(playerId);
-        // Copy super class things
         s.allComponents = allComponents.emptyCopy();
-        s.gameStatus = gameStatus;
         s.playerResults = playerResults.clone();
+        s.playerTimer = new ElapsedCpuChessTimer[getNPlayers()];
+        // We always branch the RNG on a copy() so that the master RNG
+        // is not called an arbitrary number of times. This is to ensure that all shuffles in the main game are
+        // the same if we start with the same seed
+        s.rnd = new Random(redeterminisationRnd.nextLong());
+        copySuperClassTo(s);
+        return s;
+    }
+
+    /**
+     * As copy(playerId), but everything random about the copy (the seeds of its rnd and redeterminisationRnd, and
+     * any redeterminisation of hidden information) is drawn from the given generator rather than from this state.
+     * Copies made from the same state with generators seeded alike are the same, whichever thread makes them and
+     * in whatever order, so this is the copy to use when several search threads share the states they copy.
+     *
+     * @param playerId - player observing the state
+     * @param rnd      - random generator to use for the copy
+     * @return - reduced copy of the game state.
+     */
+    public final AbstractGameState copy(int playerId, Random rnd) {
+        AbstractGameState s;
+        synchronized (this) {
+            // _copy() redeterminises with our redeterminisationRnd, so rnd stands in for it while the copy is made
+            Random ownRnd = redeterminisationRnd;
+            redeterminisationRnd = rnd;
+            try {
+                s = _copy(playerId);
+            } finally {
+                redeterminisationRnd = ownRnd;
+            }
+        }
+        s.allComponents = allComponents.emptyCopy();
+        s.playerResults = playerResults.clone();
+        s.playerTimer = new ElapsedCpuChessTimer[getNPlayers()];
+        s.rnd = new Random(rnd.nextLong());
+        s.redeterminisationRnd = new Random(rnd.nextLong());
+        copySuperClassTo(s);
+        return s;
+    }
+
+    /**
+     * Copies the current game state into target, given player ID, reusing the objects of target where possible
+     * instead of creating a new game state. The result is the same as copy(playerId), so this is a drop-in
+     * replacement where the caller has a state it no longer needs (see GameStatePool).
+     * <p>
+     * If the game does not implement _copyInto(), or target is not a state of the same game, with the same
+     * number of players and the same parameters object (copies share the parameters of the state they are copied
+     * from, so this is a reference comparison), then a new copy is returned instead.
+     *
+     * @param target   - state to overwrite. This must no longer be used by anything else. May be null.
+     * @param playerId - player observing the state
+     * @return - target if this could be copied into it, otherwise a new copy of the game state.
+     */
+    public final AbstractGameState copyInto(AbstractGameState target, int playerId) {
+        if (target == null || target == this || target.getClass() != getClass() || target.nPlayers != nPlayers
+                || target.playerTimer == null || target.gameParameters != gameParameters
+                || !_copyInto(target, playerId))
+            return copy(playerId);
+        System.arraycopy(playerResults, 0, target.playerResults, 0, playerResults.length);
+        // not setSeed(), as the rnd of target may have been replaced by that of a player (see AbstractPlayer.getAction())
+        target.rnd = new Random(redeterminisationRnd.nextLong());
+        copySuperClassTo(target);
+        return target;
+    }
+
+    /**
+     * Copies the super class variables that are common to copy() and copyInto(). The arrays and allComponents of
+     * s must already be set up.
+     */
+    private void copySuperClassTo(AbstractGameState s) {
+        s.gameStatus = gameStatus;
         s.gamePhase = gamePhase;
         s.coreGameParameters = coreGameParameters;
         s.tick = tick;
@@ -308,35 +382,32 @@ public abstract class AbstractGameState {
         s.turnCounter = turnCounter;
         s.turnOwner = turnOwner;
         s.firstPlayer = firstPlayer;
-        // We always branch the RNG on a copy() so that the master RNG
-        // is not called an arbitrary number of times. This is to ensure that all shuffles in the main game are
-        // the same if we start with the same seed
-        s.rnd = new Random(redeterminisationRnd.nextLong());
-
         if (!coreGameParameters.competitionMode) {
-            s.history = new ArrayList<>(history);
-            s.historyText = new ArrayList<>(historyText);
+            // this is O(1), as the copy shares all the entries so far with this state
+            s.history = history.copy();
+            s.historyText = historyText.copy();
             // we do not copy individual actions in history, as these are now dead and should not change
             // History is for debugging and spectation of games. There is a risk that History might contain information
             // formally hidden to some participants. For this reason, in COMPETITION_MODE we explicitly do not copy
             // any history over in case a sneaky agent tries to take advantage of it.
             // If there is any information only available in History that could legitimately be used, then this should
             // be incorporated in the game-specific data in GameState where the correct hiding protocols can be enforced.
+        } else {
+            s.history = new CompactHistory<>(AbstractAction::copy);
+            s.historyText = new CompactHistory<>();
         }
 
-        s.actionsInProgress = new Stack<>();
+        s.actionsInProgress.clear();
         actionsInProgress.forEach(
                 a -> s.actionsInProgress.push(a.copy())
         );
 
-        s.playerTimer = new ElapsedCpuChessTimer[getNPlayers()];
         for (int i = 0; i < getNPlayers(); i++) {
             s.playerTimer[i] = playerTimer[i].copy();
         }
 
         // Update the list of components for ID matching in actions.
         s.addAllComponents();
-        return s;
     }
 
     /**
@@ -345,8 +416,8 @@ public abstract class AbstractGameState {
      * @param action The action that has just been applied (or is about to be applied) to the game state
      */
     protected final void recordAction(AbstractAction action, int player) {
-        history.add(new Pair<>(player, action.copy()));
-        historyText.add("Player " + player + " : " + action.getString(this));
+        history.add(player, action);
+        historyText.add(player, "Player " + player + " : " + action.getString(this));
     }
 
 
@@ -375,7 +446,7 @@ public abstract class AbstractGameState {
     }
 
     public void recordHistory(String history) {
-        historyText.add(history);
+        historyText.add(-1, history);
     }
 
     /* Methods dealing with ExtendedActions and the actionStack */
@@ -465,6 +536,22 @@ public abstract class AbstractGameState {
      */
     protected abstract AbstractGameState _copy(int playerId);
 
+    /**
+     * Optional. Copies the game-specific state into target, as _copy() does into a new game state, but reusing the
+     * objects of target where possible. target is always a state of the same game, with the same number of players
+     * and parameters, and is not used by anything else. The usual way to implement this is for _copy() to create
+     * a new game state and then call _copyInto() on it.
+     * <p>
+     * The default returns false, which means that copyInto() is not supported and so copy() is used instead.
+     *
+     * @param target   - game state to overwrite.
+     * @param playerId - player observing this game state.
+     * @return - true if target has been updated, false (with target unchanged) if this is not supported.
+     */
+    protected boolean _copyInto(AbstractGameState target, int playerId) {
+        return false;
+    }
+
     /**
      * Provide a simple numerical assessment of the current game state, the bigger the better.
      * Subjective heuristic function definition.
@@ -682,6 +769,29 @@ public abstract class AbstractGameState {
         return result;
     }
 
+    /**
+     * A 64-bit hash of the position, for use as a key in transposition tables (for example with MCGS, via StateHashKey).
+     * This combines the current player, game status and phase with _getStateHash() from the game.
+     * <p>
+     * Games can override _getStateHash() to combine Zobrist hashes that their components maintain as they change
+     * (see GridBoard.getZobristHash()), in which case this is O(1) - rather than the cost of rebuilding a key or
+     * feature vector from the whole state on every step of a search.
+     */
+    public final long getStateHash() {
+        return _getStateHash()
+                ^ Zobrist.key(Zobrist.CURRENT_PLAYER, getCurrentPlayer())
+                ^ Zobrist.key(Zobrist.GAME_STATUS, gameStatus == null ? -1 : gameStatus.ordinal())
+                ^ Zobrist.key(Zobrist.GAME_PHASE, gamePhase == null ? null : gamePhase.toString());
+    }
+
+    /**
+     * The game-specific part of getStateHash(). This should be the same for any two states that are equal, and
+     * the default is just hashCode().
+     */
+    protected long _getStateHash() {
+        return hashCode();
+    }
+
     /**
      * HashCodeArray compiles all necessary hash codes for each individual game state.
      * Override as necessary for each game state.
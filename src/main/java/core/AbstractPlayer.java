@@ -156,6 +156,22 @@ public abstract class AbstractPlayer {
     public void registerUpdatedObservation(AbstractGameState gameState) {
     }
 
+    /**
+     * With CoreParameters.lazyObservations, Game only copies the state to call registerUpdatedObservation()
+     * if this returns true. Override this to return true in any player that overrides registerUpdatedObservation().
+     */
+    public boolean usesUpdatedObservations() {
+        return false;
+    }
+
+    /**
+     * With CoreParameters.lazyObservations, this is called instead of registerUpdatedObservation() when the state
+     * has not been copied (because usesUpdatedObservations() returned false). A player that only needs to know that
+     * the game has moved on, for example to drop a search tree that is now out of date, can do so here.
+     */
+    public void registerUnobservedUpdate() {
+    }
+
 
     public void onEvent(Event event) {
     }
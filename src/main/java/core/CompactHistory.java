@@ -0,0 +1,139 @@
+package core;
+
+import utilities.Pair;
+
+import java.util.*;
+import java.util.function.UnaryOperator;
+
+/**
+ * The append-only record of history used by AbstractGameState, designed to keep copy() cheap in long games.
+ * <p>
+ * Each entry holds the player, in an int array, and the item recorded (a copy of it, taken when it is added, if
+ * there is a copier). Every entry keeps its own item, so get() always returns the item recorded for that entry
+ * rather than an equal one recorded earlier.
+ * <p>
+ * Copies share the entries recorded before they were made. The entries are held in a chain of segments: a history
+ * appends to its own segment in place, and a copy starts a new segment (linked to the shared ones) the first time
+ * something is added to it. copy() is then O(1) however long the game has been, and a copy only pays for the
+ * entries added to it. The entries of a copy (such as those of a search rollout) are not seen by the history it
+ * was copied from, nor by any other copy, and are released with it.
+ */
+final class CompactHistory<T> {
+
+    // Entries [start, start + size) of the history; those before start are in the parent chain.
+    // Only the owner appends to a segment, and no entry is ever changed once added.
+    private static final class Segment {
+        final Segment parent;
+        final int start;
+        final Object owner;
+        int[] players = new int[16];
+        Object[] items = new Object[16];
+        int size;
+
+        Segment(Segment parent, int start, Object owner) {
+            this.parent = parent;
+            this.start = start;
+            this.owner = owner;
+        }
+    }
+
+    private final UnaryOperator<T> copier;
+    private Segment head;
+    private int length;
+
+    /**
+     * @param copier used to take a copy of each item when it is recorded
+     */
+    CompactHistory(UnaryOperator<T> copier) {
+        this.copier = copier;
+    }
+
+    /**
+     * A history that holds the items themselves, rather than copies of them
+     */
+    CompactHistory() {
+        this(null);
+    }
+
+    void add(int player, T item) {
+        if (head == null || head.owner != this || head.start + head.size != length)
+            head = new Segment(head, length, this);
+        if (head.size == head.players.length) {
+            head.players = Arrays.copyOf(head.players, head.size * 2);
+            head.items = Arrays.copyOf(head.items, head.size * 2);
+        }
+        head.players[head.size] = player;
+        head.items[head.size++] = copier == null ? item : copier.apply(item);
+        length++;
+    }
+
+    private Segment segment(int i) {
+        if (i < 0 || i >= length)
+            throw new IndexOutOfBoundsException("Index " + i + " out of bounds for history of length " + length);
+        Segment segment = head;
+        while (i < segment.start)
+            segment = segment.parent;
+        return segment;
+    }
+
+    int size() {
+        return length;
+    }
+
+    int getPlayer(int i) {
+        Segment segment = segment(i);
+        return segment.players[i - segment.start];
+    }
+
+    @SuppressWarnings("unchecked")
+    T get(int i) {
+        Segment segment = segment(i);
+        return (T) segment.items[i - segment.start];
+    }
+
+    void clear() {
+        head = null;
+        length = 0;
+    }
+
+    CompactHistory<T> copy() {
+        CompactHistory<T> retValue = new CompactHistory<>(copier);
+        retValue.head = head;
+        retValue.length = length;
+        return retValue;
+    }
+
+    // Copies the players and items into the arrays in order, in one pass through the segments
+    private void decode(int[] players, Object[] items) {
+        int end = length;
+        for (Segment segment = head; end > 0; segment = segment.parent) {
+            if (end > segment.start) {
+                System.arraycopy(segment.players, 0, players, segment.start, end - segment.start);
+                System.arraycopy(segment.items, 0, items, segment.start, end - segment.start);
+                end = segment.start;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    List<Pair<Integer, T>> asPairs() {
+        int[] players = new int[length];
+        Object[] items = new Object[length];
+        decode(players, items);
+        List<Pair<Integer, T>> retValue = new ArrayList<>(length);
+        for (int i = 0; i < length; i++)
+            retValue.add(new Pair<>(players[i], (T) items[i]));
+        return retValue;
+    }
+
+    @SuppressWarnings("unchecked")
+    List<T> asList() {
+        int[] players = new int[length];
+        Object[] items = new Object[length];
+        decode(players, items);
+        List<T> retValue = new ArrayList<>(length);
+        for (Object item : items)
+            retValue.add((T) item);
+        return retValue;
+    }
+}
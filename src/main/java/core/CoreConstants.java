@@ -1,6 +1,7 @@
 package core;
 
 import core.interfaces.IGamePhase;
+import core.properties.PropertyKey;
 import utilities.Hash;
 
 public class CoreConstants {
@@ -25,6 +26,12 @@ public class CoreConstants {
     public final static int imgHash = Hash.GetInstance().hash("img");
     public final static int backgroundImgHash = Hash.GetInstance().hash("backgroundImg");
 
+    // Keys for the properties read most often; looking these up is an array access (see PropertyKey)
+    public final static PropertyKey nameKey = PropertyKey.of("name");
+    public final static PropertyKey colorKey = PropertyKey.of("color");
+    public final static PropertyKey coordinateKey = PropertyKey.of("coordinates");
+    public final static PropertyKey playersKey = PropertyKey.of("players");
+
 
     /**
      * Used in Components that contain other Components (see IComponentContainer) to mark which players can see the
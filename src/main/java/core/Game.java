@@ -9,7 +9,6 @@ import evaluation.listeners.IGameListener;
 import evaluation.metrics.Event;
 import evaluation.summarisers.TAGNumericStatSummary;
 import games.GameType;
-import games.pandemic.PandemicForwardModel;
 import gui.AbstractGUIManager;
 import gui.GUI;
 import gui.GamePanel;
@@ -214,10 +213,7 @@ public class Game {
 
         // set forward models for all players
         for (AbstractPlayer player : players) {
-            if (forwardModel instanceof PandemicForwardModel pfm)
-                player.setForwardModel(pfm.copy());
-            else
-                player.setForwardModel(this.forwardModel);
+            player.setForwardModel(forwardModel.copy());
         }
 
         if (players.size() == gameState.getNPlayers()) {
@@ -351,6 +347,18 @@ public class Game {
         }
     }
 
+    /**
+     * The observation of the game state for a player, timed as copyTime.
+     * Copying the gamestate also copies the game parameters and resets the random seed (so agents cannot use this
+     * to reconstruct the starting hands etc.)
+     */
+    private AbstractGameState observationFor(int player) {
+        double s = System.nanoTime();
+        AbstractGameState observation = gameState.copy(player);
+        copyTime += (System.nanoTime() - s);
+        return observation;
+    }
+
     public final boolean isHumanToMove() {
         int activePlayer = gameState.getCurrentPlayer();
         return this.getPlayers().get(activePlayer) instanceof HumanGUIPlayer;
@@ -376,16 +384,16 @@ public class Game {
         if (debug) System.out.printf("Starting oneAction for player %s%n", activePlayer);
 
         // Get player observation, and time how long it takes
-        double s = System.nanoTime();
-        // copying the gamestate also copies the game parameters and resets the random seed (so agents cannot use this
-        // to reconstruct the starting hands etc.)
-        AbstractGameState observation = gameState.copy(activePlayer);
-        copyTime = (System.nanoTime() - s);
+        // With lazy observations this is deferred until we know that the player needs it, and the actions are
+        // computed directly from gameState (which computeAvailableActions() does not change)
+        boolean lazyObservation = gameState.coreGameParameters.lazyObservations;
+        copyTime = 0;
+        AbstractGameState observation = lazyObservation ? null : observationFor(activePlayer);
         //      System.out.printf("Total copyTime in ms = %.2f at tick %d (Avg %.3f) %n", copyTime / 1e6, tick, copyTime / (tick +1.0) / 1e6);
 
         // Get actions for the player
-        s = System.nanoTime();
-        List<AbstractAction> observedActions = forwardModel.computeAvailableActions(observation, currentPlayer.getParameters().actionSpace);
+        double s = System.nanoTime();
+        List<AbstractAction> observedActions = forwardModel.computeAvailableActions(lazyObservation ? gameState : observation, currentPlayer.getParameters().actionSpace);
         if (observedActions.isEmpty()) {
             Stack<IExtendedSequence> actionsInProgress = gameState.getActionsInProgress();
             IExtendedSequence topOfStack = null;
@@ -393,8 +401,8 @@ public class Game {
             if (!actionsInProgress.isEmpty()) {
                 topOfStack = actionsInProgress.peek();
             }
-            if (gameState.getHistory().size() > 1) {
-                lastAction = gameState.getHistory().get(gameState.getHistory().size() - 1).b;
+            if (gameState.getHistorySize() > 1) {
+                lastAction = gameState.getHistoryAt(gameState.getHistorySize() - 1).b;
             }
             if (debug) {
                 System.out.println("---\nActions in progress:");
@@ -416,6 +424,11 @@ public class Game {
         actionComputeTime = (System.nanoTime() - s);
         actionSpaceSize.add(new Pair<>(activePlayer, observedActions.size()));
 
+        boolean forcedAction = observedActions.size() == 1 && (!(currentPlayer instanceof HumanGUIPlayer || currentPlayer instanceof HumanConsolePlayer) || observedActions.get(0) instanceof DoNothing);
+        if (observation == null && (!forcedAction || currentPlayer.usesUpdatedObservations()
+                || (gameState instanceof IPrintable && gameState.coreGameParameters.verbose)))
+            observation = observationFor(activePlayer);
+
         if (gameState.coreGameParameters.verbose) {
             System.out.println("Round: " + gameState.getRoundCounter());
         }
@@ -430,10 +443,13 @@ public class Game {
         // Either ask player which action to use or, in case no actions are available, report the updated observation
         AbstractAction action = null;
         if (!observedActions.isEmpty()) {
-            if (observedActions.size() == 1 && (!(currentPlayer instanceof HumanGUIPlayer || currentPlayer instanceof HumanConsolePlayer) || observedActions.get(0) instanceof DoNothing)) {
+            if (forcedAction) {
                 // Can only do 1 action, so do it.
                 action = observedActions.get(0);
-                currentPlayer.registerUpdatedObservation(observation);
+                if (observation != null)
+                    currentPlayer.registerUpdatedObservation(observation);
+                else
+                    currentPlayer.registerUnobservedUpdate();
             } else {
                 // Get action from player, and time it
                 s = System.nanoTime();
@@ -473,7 +489,7 @@ public class Game {
             throw new AssertionError("We have a NULL action in the Game loop");
 
         // Check player timeout
-        if (observation.playerTimer[activePlayer].exceededMaxTime()) {
+        if ((observation == null ? gameState : observation).playerTimer[activePlayer].exceededMaxTime()) {
             action = forwardModel.disqualifyOrRandomAction(gameState.coreGameParameters.disqualifyPlayerOnTimeout, gameState);
         } else {
             // Resolve action and game rules, time it
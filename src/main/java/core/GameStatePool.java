@@ -0,0 +1,89 @@
+package core;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A per-thread pool of game states that are no longer needed, so that agents can recycle them with
+ * AbstractGameState.copyInto() instead of creating a new state on every copy().
+ * <p>
+ * Usage is to replace state.copy() with GameStatePool.get().copy(state), and then to call release() once the copy
+ * is no longer needed. A state must only be released by whoever created it, once nothing else holds a reference to it.
+ * For games that do not implement _copyInto() this is the same as a normal copy().
+ */
+public class GameStatePool {
+
+    private static final ThreadLocal<GameStatePool> pools = ThreadLocal.withInitial(GameStatePool::new);
+
+    // The maximum number of free states kept for each game (any more released than this are left to the GC)
+    public static int maxFreeStates = 16;
+
+    private final Map<Class<?>, ArrayDeque<AbstractGameState>> freeStates = new HashMap<>();
+    // whether each game implements _copyInto(); if not there is no point in keeping its states
+    private final Map<Class<?>, Boolean> recyclable = new HashMap<>();
+
+    private GameStatePool() {
+    }
+
+    /**
+     * @return the pool for the calling thread
+     */
+    public static GameStatePool get() {
+        return pools.get();
+    }
+
+    /**
+     * Equivalent to state.copy()
+     */
+    public AbstractGameState copy(AbstractGameState state) {
+        return copy(state, -1);
+    }
+
+    /**
+     * Equivalent to state.copy(playerId), but reuses a released state if one is available
+     */
+    public AbstractGameState copy(AbstractGameState state, int playerId) {
+        ArrayDeque<AbstractGameState> free = freeStates.get(state.getClass());
+        AbstractGameState target = free == null ? null : free.poll();
+        // if target is not compatible (say it has different game parameters) then it is just dropped
+        return state.copyInto(target, playerId);
+    }
+
+    /**
+     * Returns a state to the pool. It must not be used again by the caller.
+     */
+    public void release(AbstractGameState state) {
+        if (!recyclable.computeIfAbsent(state.getClass(), GameStatePool::implementsCopyInto))
+            return;
+        ArrayDeque<AbstractGameState> free = freeStates.computeIfAbsent(state.getClass(), c -> new ArrayDeque<>());
+        if (free.size() < maxFreeStates)
+            free.push(state);
+    }
+
+    /**
+     * @return the number of free states currently held for the given game state class
+     */
+    public int freeStates(Class<? extends AbstractGameState> stateClass) {
+        ArrayDeque<AbstractGameState> free = freeStates.get(stateClass);
+        return free == null ? 0 : free.size();
+    }
+
+    /**
+     * Discards all the free states held for the calling thread
+     */
+    public void clear() {
+        freeStates.clear();
+    }
+
+    private static boolean implementsCopyInto(Class<?> stateClass) {
+        for (Class<?> c = stateClass; c != AbstractGameState.class && c != null; c = c.getSuperclass()) {
+            try {
+                c.getDeclaredMethod("_copyInto", AbstractGameState.class, int.class);
+                return true;
+            } catch (NoSuchMethodException ignored) {
+            }
+        }
+        return false;
+    }
+}
@@ -89,6 +89,7 @@ public class PyTAG {
     private int tick;
     private int lastPlayer; // used to track actions per 'turn'
     private List<AbstractAction> availableActions;
+    private double[] observationBuffer;
 
     boolean isNormalized; // Bool for whether you want observations to be normalized
 
@@ -183,6 +184,25 @@ public class PyTAG {
         else throw new Exception("Observation vectoriser function is not implemented");
     }
 
+    // Writes the observation vector into buffer, starting at offset, without allocating a new vector (used by PyTAGVec)
+    void writeObservationVector(double[] buffer, int offset) throws Exception {
+        if (stateVectoriser == null)
+            throw new Exception("Observation vectoriser function is not implemented");
+        if (observationBuffer == null)
+            observationBuffer = new double[getObservationSpace()];
+        GameStatePool pool = GameStatePool.get();
+        AbstractGameState gs = pool.copy(gameState, gameState.getCurrentPlayer());
+        stateVectoriser.doubleVector(gs, gs.getCurrentPlayer(), observationBuffer);
+        pool.release(gs);
+        System.arraycopy(observationBuffer, 0, buffer, offset, observationBuffer.length);
+    }
+
+    // Writes the action mask into buffer, starting at offset (used by PyTAGVec)
+    void writeActionMask(int[] buffer, int offset) {
+        for (int i = 0; i < leaves.size(); i++)
+            buffer[offset + i] = leaves.get(i).getValue();
+    }
+
     // Gets the action space size as an integer
     public int getActionSpace(){
         return leaves.size();
@@ -277,8 +297,13 @@ public class PyTAG {
         int activePlayer = gameState.getCurrentPlayer();
         AbstractPlayer currentPlayer = players.get(activePlayer);
         while ( !(currentPlayer instanceof PythonAgent)){
-            AbstractGameState observation = gameState.copy(activePlayer);
-            List<core.actions.AbstractAction> observedActions = forwardModel.computeAvailableActions(observation);
+            // as in Game.oneAction(), with lazy observations we only copy the state if the player needs it
+            boolean lazyObservation = gameState.coreGameParameters.lazyObservations;
+            AbstractGameState observation = lazyObservation ? null : gameState.copy(activePlayer);
+            List<core.actions.AbstractAction> observedActions = forwardModel.computeAvailableActions(lazyObservation ? gameState : observation);
+            boolean forcedAction = observedActions.size() == 1 && (!(currentPlayer instanceof HumanGUIPlayer) || observedActions.get(0) instanceof DoNothing);
+            if (observation == null && (!forcedAction || currentPlayer.usesUpdatedObservations()))
+                observation = gameState.copy(activePlayer);
 
             if (isDone()){
                 // game is over
@@ -291,10 +316,13 @@ public class PyTAG {
             // Either ask player which action to use or, in case no actions are available, report the updated observation
             core.actions.AbstractAction action = null;
             if (observedActions.size() > 0) {
-                if (observedActions.size() == 1 && (!(currentPlayer instanceof HumanGUIPlayer) || observedActions.get(0) instanceof DoNothing)) {
+                if (forcedAction) {
                     // Can only do 1 action, so do it.
                     action = observedActions.get(0);
-                    currentPlayer.registerUpdatedObservation(observation);
+                    if (observation != null)
+                        currentPlayer.registerUpdatedObservation(observation);
+                    else
+                        currentPlayer.registerUnobservedUpdate();
                 } else {
                     // Get action from player, and time it
                     action = currentPlayer.getAction(observation, observedActions);
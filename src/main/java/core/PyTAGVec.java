@@ -0,0 +1,236 @@
+package core;
+
+import games.GameType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.*;
+
+/**
+ * A vectorised version of PyTAG, which runs a number of independent games and steps all of them with a single call,
+ * as a VecEnv does in Python RL libraries. This avoids paying the cost of a call across from Python for every
+ * game on every step.
+ * <p>
+ * The results of reset() and step() are written into flat buffers that are allocated once, so that they can be
+ * fetched once from the Python side and then read after each call:
+ * - observations: nEnvs * getObservationSpace(), the observation vector of each game in turn
+ * - actionMasks: nEnvs * getActionSpace(), the action mask of each game in turn
+ * - rewards, dones and playerIDs: one entry per game
+ * <p>
+ * When a game finishes during step() its reward and done flag are recorded, its results are kept (see
+ * getLastResults()), and it is then reset, so that the observation and action mask are for the first decision of
+ * the next game (the auto-reset convention of VecEnv).
+ * <p>
+ * If nThreads > 1 the games are split across a fixed pool of threads; each game is always stepped in full by one
+ * thread, so results are the same as when run sequentially.
+ */
+public class PyTAGVec {
+
+    private final PyTAG[] envs;
+    private final int observationSpace;
+    private int actionSpace;
+
+    private final double[] observations;
+    private volatile int[] actionMasks;
+    private final double[] rewards;
+    private final boolean[] dones;
+    private final int[] playerIDs;
+    private final CoreConstants.GameResult[][] lastResults;
+
+    private final ExecutorService executor;
+    // one task per thread, each covering a contiguous range of the games
+    private final List<Callable<Void>> resetTasks = new ArrayList<>();
+    private final List<Callable<Void>> stepTasks = new ArrayList<>();
+    private int[] actions;
+
+    /**
+     * @param players the players for one game; each game gets its own copy of these
+     * @param seed    used to seed each of the games
+     */
+    public PyTAGVec(GameType gameToPlay, String parameterConfigFile, List<AbstractPlayer> players, long seed,
+                    boolean isNormalized, int nEnvs, int nThreads) throws Exception {
+        if (nEnvs < 1)
+            throw new IllegalArgumentException("nEnvs must be at least 1");
+        Random seedRandom = new Random(seed);
+        envs = new PyTAG[nEnvs];
+        for (int i = 0; i < nEnvs; i++) {
+            List<AbstractPlayer> envPlayers = new ArrayList<>();
+            for (AbstractPlayer player : players)
+                envPlayers.add(player.copy());
+            envs[i] = new PyTAG(gameToPlay, parameterConfigFile, envPlayers, seedRandom.nextLong(), isNormalized);
+        }
+        observationSpace = envs[0].getObservationSpace();
+        observations = new double[nEnvs * observationSpace];
+        rewards = new double[nEnvs];
+        dones = new boolean[nEnvs];
+        playerIDs = new int[nEnvs];
+        lastResults = new CoreConstants.GameResult[nEnvs][];
+
+        int threads = Math.min(nThreads, nEnvs);
+        if (threads > 1) {
+            executor = Executors.newFixedThreadPool(threads, r -> {
+                Thread t = new Thread(r, "PyTAGVec");
+                t.setDaemon(true);
+                return t;
+            });
+        } else {
+            executor = null;
+        }
+        for (int[] range : split(nEnvs, Math.max(threads, 1))) {
+            resetTasks.add(() -> {
+                for (int i = range[0]; i < range[1]; i++)
+                    resetEnv(i);
+                return null;
+            });
+            stepTasks.add(() -> {
+                for (int i = range[0]; i < range[1]; i++)
+                    stepEnv(i, actions[i]);
+                return null;
+            });
+        }
+    }
+
+    public PyTAGVec(GameType gameToPlay, String parameterConfigFile, List<AbstractPlayer> players, long seed,
+                    boolean isNormalized, int nEnvs) throws Exception {
+        this(gameToPlay, parameterConfigFile, players, seed, isNormalized, nEnvs, 1);
+    }
+
+    // splits [0, n) into (at most) k contiguous ranges of near-equal size
+    private static List<int[]> split(int n, int k) {
+        List<int[]> ranges = new ArrayList<>();
+        for (int t = 0; t < k; t++) {
+            int from = t * n / k, to = (t + 1) * n / k;
+            if (to > from)
+                ranges.add(new int[]{from, to});
+        }
+        return ranges;
+    }
+
+    /**
+     * Resets all the games, and fills the buffers with their first observations
+     */
+    public void reset() throws Exception {
+        run(resetTasks);
+    }
+
+    /**
+     * Plays actions[i] in game i, and then continues each game until the Python agent next has to decide.
+     * Finished games are reset automatically.
+     */
+    public void step(int[] actions) throws Exception {
+        if (actions.length != envs.length)
+            throw new IllegalArgumentException("Expected " + envs.length + " actions, but got " + actions.length);
+        this.actions = actions;
+        run(stepTasks);
+    }
+
+    private void run(List<Callable<Void>> tasks) throws Exception {
+        if (executor == null) {
+            for (Callable<Void> task : tasks)
+                task.call();
+            return;
+        }
+        for (Future<Void> future : executor.invokeAll(tasks)) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof Exception cause)
+                    throw cause;
+                throw e;
+            }
+        }
+    }
+
+    private void resetEnv(int i) throws Exception {
+        envs[i].reset();
+        if (actionMasks == null) {
+            synchronized (this) {
+                if (actionMasks == null) {
+                    actionSpace = envs[i].getActionSpace();
+                    actionMasks = new int[envs.length * actionSpace];
+                }
+            }
+        }
+        rewards[i] = 0.0;
+        dones[i] = false;
+        writeBuffers(i);
+    }
+
+    private void stepEnv(int i, int action) throws Exception {
+        PyTAG env = envs[i];
+        env.step(action);
+        rewards[i] = env.getReward();
+        dones[i] = env.isDone();
+        if (dones[i]) {
+            lastResults[i] = env.getPlayerResults().clone();
+            env.reset();
+        }
+        writeBuffers(i);
+    }
+
+    private void writeBuffers(int i) throws Exception {
+        PyTAG env = envs[i];
+        if (observationSpace > 0)  // games with only JSON observations have no vector
+            env.writeObservationVector(observations, i * observationSpace);
+        env.writeActionMask(actionMasks, i * actionSpace);
+        playerIDs[i] = env.getPlayerID();
+    }
+
+    /**
+     * Shuts down the threads used to step the games (if any)
+     */
+    public void close() {
+        if (executor != null)
+            executor.shutdownNow();
+    }
+
+    public int getNumEnvs() {
+        return envs.length;
+    }
+
+    public int getObservationSpace() {
+        return observationSpace;
+    }
+
+    /**
+     * Only known once reset() has been called
+     */
+    public int getActionSpace() {
+        return actionSpace;
+    }
+
+    public double[] getObservations() {
+        return observations;
+    }
+
+    public int[] getActionMasks() {
+        return actionMasks;
+    }
+
+    public double[] getRewards() {
+        return rewards;
+    }
+
+    public boolean[] getDones() {
+        return dones;
+    }
+
+    public int[] getPlayerIDs() {
+        return playerIDs;
+    }
+
+    /**
+     * @return the results of the last game to finish in game i (or null if none has finished yet)
+     */
+    public CoreConstants.GameResult[] getLastResults(int i) {
+        return lastResults[i];
+    }
+
+    /**
+     * @return the single game i, for anything not covered by the vectorised calls (such as JSON observations)
+     */
+    public PyTAG getEnv(int i) {
+        return envs[i];
+    }
+}
@@ -184,8 +184,7 @@ public class BoardNode extends Component {
 
         StringBuilder sb = new StringBuilder();
         sb.append("{id: " + componentID + "; maxNeighbours: " + maxNeighbours + "; ");
-        for(int prop_key : properties.keySet()) {
-            Property prop = properties.get(prop_key);
+        for (Property prop : getProperties().values()) {
             sb.append(prop.getHashString() + ": " + prop + "; ");
         }
 
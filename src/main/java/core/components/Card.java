@@ -3,7 +3,7 @@ package core.components;
 import core.CoreConstants;
 import core.properties.PropertyString;
 
-import static core.CoreConstants.nameHash;
+import static core.CoreConstants.nameKey;
 
 public class Card extends Component {
 
@@ -27,7 +27,7 @@ public class Card extends Component {
 
     @Override
     public String toString() {
-        PropertyString hashName =  (PropertyString)getProperty(nameHash);
+        PropertyString hashName =  (PropertyString)getProperty(nameKey);
         return hashName != null ? hashName.value : componentName;
     }
 
@@ -3,17 +3,23 @@ package core.components;
 import core.properties.*;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
-import utilities.Hash;
 import core.CoreConstants.ComponentType;
 
 import java.util.*;
 
 public abstract class Component {
     private static int ID = 0;  // All components receive a unique and final ID from this always increasing counter
+    private static final Property[] NO_PROPERTIES = new Property[0];
+    private static final int[] NO_SLOTS = new int[0];
 
     protected transient final int componentID;  // Unique ID of this component
     protected final ComponentType type;  // Type of this component
-    protected HashMap<Integer, Property> properties;  // Maps between integer key for the property and the property object
+    // The properties set, in order of the slots of their keys (see PropertyKey), which are held in propertySlots.
+    // Both are exactly nProperties long, however many property names have been registered. A new array of slots is
+    // made when a property is added, so copies of the component share them.
+    protected Property[] properties;
+    protected int[] propertySlots;
+    protected int nProperties;
     protected transient int ownerId = -1;  // By default belongs to the game
     protected String componentName;  // Name of this component
 
@@ -21,28 +27,32 @@ public abstract class Component {
         this.componentID = ID++;
         this.type = type;
         this.componentName = name;
-        this.properties = new HashMap<>();
+        this.properties = NO_PROPERTIES;
+        this.propertySlots = NO_SLOTS;
     }
 
     public Component(ComponentType type) {
         this.componentID = ID++;
         this.type = type;
         this.componentName = type.toString();
-        this.properties = new HashMap<>();
+        this.properties = NO_PROPERTIES;
+        this.propertySlots = NO_SLOTS;
     }
 
     protected Component(ComponentType type, String name, int componentID) {
         this.componentID = componentID;
         this.type = type;
         this.componentName = name;
-        this.properties = new HashMap<>();
+        this.properties = NO_PROPERTIES;
+        this.propertySlots = NO_SLOTS;
     }
 
     protected Component(ComponentType type, int componentID) {
         this.componentID = componentID;
         this.type = type;
         this.componentName = type.toString();
-        this.properties = new HashMap<>();
+        this.properties = NO_PROPERTIES;
+        this.propertySlots = NO_SLOTS;
     }
 
     /**
@@ -52,6 +62,16 @@ public abstract class Component {
     public abstract Component copy();
     public Component copy(int playerId) { return copy(); }
 
+    /**
+     * Components that never change once created (other than their owner) should override this to return true,
+     * and return themselves from copy() and copy(playerId).
+     * Containers can then share them between copies instead of copying them (see Deck).
+     * @return - true if this component is immutable.
+     */
+    public boolean isImmutable() {
+        return false;
+    }
+
     /**
      * Get and set the type of this component.
      */
@@ -61,11 +81,11 @@ public abstract class Component {
 
     /**
      * Get number of properties for this component.
-     * @return - int, size of properties map.
+     * @return - int, number of properties set.
      */
     public int getNumProperties()
     {
-        return properties.size();
+        return nProperties;
     }
 
     /**
@@ -103,25 +123,67 @@ public abstract class Component {
     }
 
     /**
-     * Get the full map of properties.
+     * Get the full map of properties. This is built on each call, so changes to it do not change the component.
      * @return - mapping from property integer key to property objects.
      */
     public Map<Integer, Property> getProperties() {
-        return properties;
+        Map<Integer, Property> map = new LinkedHashMap<>();
+        for (int i = 0; i < nProperties; i++)
+            map.put(properties[i].getHashKey(), properties[i]);
+        return map;
+    }
+
+    /**
+     * Gets a property from the properties.
+     * @param key key of the property to look for
+     * @return the property value. Null if it doesn't exist.
+     */
+    public Property getProperty(PropertyKey key)
+    {
+        int index = Arrays.binarySearch(propertySlots, key.getSlot());
+        return index >= 0 ? properties[index] : null;
     }
 
     /**
      * Gets a property from the properties.
-     * @param propId id of the property to look for
+     * @param propId id (name hash) of the property to look for
      * @return the property value. Null if it doesn't exist.
      */
     public Property getProperty(int propId)
     {
-        return properties.get(propId);
+        PropertyKey key = PropertyKey.forHash(propId);
+        return key == null ? null : getProperty(key);
     }
 
     public Property getProperty(String hashString) {
-        return properties.get(Hash.GetInstance().hash(hashString));
+        PropertyKey key = PropertyKey.find(hashString);
+        return key == null ? null : getProperty(key);
+    }
+
+    /**
+     * Typed accessors for properties that hold a single value.
+     * @param key key of the property to look for
+     * @param defaultValue value to return if the component does not have the property
+     * @return the value of the property
+     */
+    public int getIntProperty(PropertyKey key, int defaultValue) {
+        Property p = getProperty(key);
+        return p == null ? defaultValue : ((PropertyInt) p).value;
+    }
+
+    public long getLongProperty(PropertyKey key, long defaultValue) {
+        Property p = getProperty(key);
+        return p == null ? defaultValue : ((PropertyLong) p).value;
+    }
+
+    public boolean getBooleanProperty(PropertyKey key, boolean defaultValue) {
+        Property p = getProperty(key);
+        return p == null ? defaultValue : ((PropertyBoolean) p).value;
+    }
+
+    public String getStringProperty(PropertyKey key, String defaultValue) {
+        Property p = getProperty(key);
+        return p == null ? defaultValue : ((PropertyString) p).value;
     }
 
     /**
@@ -130,7 +192,24 @@ public abstract class Component {
      */
     public void setProperty(Property prop)
     {
-        properties.put(prop.getHashKey(), prop);
+        int slot = prop.getKey().getSlot();
+        int index = Arrays.binarySearch(propertySlots, slot);
+        if (index >= 0) {
+            properties[index] = prop;
+            return;
+        }
+        index = -index - 1;
+        int[] slots = new int[nProperties + 1];
+        Property[] props = new Property[nProperties + 1];
+        System.arraycopy(propertySlots, 0, slots, 0, index);
+        System.arraycopy(properties, 0, props, 0, index);
+        System.arraycopy(propertySlots, index, slots, index + 1, nProperties - index);
+        System.arraycopy(properties, index, props, index + 1, nProperties - index);
+        slots[index] = slot;
+        props[index] = prop;
+        propertySlots = slots;
+        properties = props;
+        nProperties++;
     }
 
     public void setProperties(Map<Integer, Property> props) {
@@ -210,11 +289,11 @@ public abstract class Component {
      */
     public void copyComponentTo(Component copyTo)
     {
-        copyTo.properties.clear();
-        for (int prop_key : this.properties.keySet()) {
-            Property newProp = this.properties.get(prop_key).copy();
-            copyTo.setProperty(newProp);
-        }
+        copyTo.properties = nProperties == 0 ? NO_PROPERTIES : new Property[nProperties];
+        for (int i = 0; i < nProperties; i++)
+            copyTo.properties[i] = properties[i].copy();
+        copyTo.propertySlots = propertySlots;
+        copyTo.nProperties = nProperties;
         copyTo.ownerId = ownerId;
         copyTo.componentName = componentName;
     }
@@ -226,7 +305,7 @@ public abstract class Component {
                 ", type=" + type +
                 ", ownerId=" + ownerId +
                 ", componentName='" + componentName + '\'' +
-                ", properties=" + properties +
+                ", properties=" + getProperties() +
                 '}';
     }
 
@@ -51,7 +51,8 @@ public class Counter extends Component {
     }
 
     public Counter copy() {
-        Counter copy = new Counter(values != null? values.clone() : null, valueIdx, minimum, maximum, componentName, componentID);
+        // values is never changed after construction, so copies can share it
+        Counter copy = new Counter(values, valueIdx, minimum, maximum, componentName, componentID);
         copyComponentTo(copy);
         return copy;
     }
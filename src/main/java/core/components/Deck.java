@@ -26,6 +26,9 @@ public class Deck<T extends Component> extends Component implements IComponentCo
 
     protected int capacity;  // Capacity of the deck (maximum number of elements)
     protected List<T> components;  // List of components in this deck
+    // True if components is also used by a copy of this deck (which is only done when all of them are immutable).
+    // The list is then copied before it is first changed (or handed out by getComponents()), by either deck
+    protected boolean sharedComponents;
     protected VisibilityMode visibility;
 
     public Deck(String name, VisibilityMode visibility) {
@@ -142,6 +145,7 @@ public class Deck<T extends Component> extends Component implements IComponentCo
      */
     public T pick(int idx) {
         if (!components.isEmpty() && idx < components.size() && idx >= 0) {
+            unshareComponents();
             T c = components.get(idx);
             components.remove(idx);
             return c;
@@ -221,6 +225,7 @@ public class Deck<T extends Component> extends Component implements IComponentCo
         if (c == null)
             throw new IllegalArgumentException("null cannot be added to a Deck");
         c.setOwnerId(ownerId);
+        unshareComponents();
         components.add(index, c);
         return capacity == -1 || components.size() <= capacity;
     }
@@ -255,6 +260,7 @@ public class Deck<T extends Component> extends Component implements IComponentCo
      * @return true if not over capacity, false otherwise.
      */
     public boolean add(Deck<T> d, int index) {
+        unshareComponents();
         components.addAll(index, d.components);
         for (T comp : d.components) {
             comp.setOwnerId(ownerId);
@@ -267,6 +273,7 @@ public class Deck<T extends Component> extends Component implements IComponentCo
     }
 
     public boolean add(Collection<T> d, int index) {
+        unshareComponents();
         components.addAll(index, d);
         for (T comp : d) {
             comp.setOwnerId(ownerId);
@@ -300,6 +307,7 @@ public class Deck<T extends Component> extends Component implements IComponentCo
      */
     public void remove(int idx) {
         if (idx >= 0 && idx < components.size()) {
+            unshareComponents();
             components.get(idx).setOwnerId(-1);
             components.remove(idx);
         } else {
@@ -323,6 +331,7 @@ public class Deck<T extends Component> extends Component implements IComponentCo
         for (T comp : components) {
             comp.setOwnerId(-1);
         }
+        unshareComponents();
         components.clear();
     }
 
@@ -332,6 +341,7 @@ public class Deck<T extends Component> extends Component implements IComponentCo
      * Shuffles the deck with a specific random object.
      */
     public void shuffle(Random rnd) {
+        unshareComponents();
         Collections.shuffle(components, rnd);
     }
 
@@ -343,6 +353,7 @@ public class Deck<T extends Component> extends Component implements IComponentCo
      * @param rnd       - random number generator used for shuffling
      */
     public void shuffle(int fromIndex, int toIndex, Random rnd) {
+        unshareComponents();
         List<T> subList = components.subList(fromIndex, toIndex);
         Collections.shuffle(subList, rnd);
         int i = 0;
@@ -357,6 +368,8 @@ public class Deck<T extends Component> extends Component implements IComponentCo
      */
     @Override
     public List<T> getComponents() {
+        // the caller may change the list
+        unshareComponents();
         return components;
     }
 
@@ -367,6 +380,7 @@ public class Deck<T extends Component> extends Component implements IComponentCo
      */
     public void setComponents(List<T> components) {
         this.components = components;
+        this.sharedComponents = false;
         for (T comp : components) {
             comp.setOwnerId(ownerId);
         }
@@ -403,6 +417,7 @@ public class Deck<T extends Component> extends Component implements IComponentCo
      */
     public void setComponent(int idx, T component) {
         component.setOwnerId(ownerId);
+        unshareComponents();
         components.set(idx, component);
     }
 
@@ -438,11 +453,15 @@ public class Deck<T extends Component> extends Component implements IComponentCo
 
     @SuppressWarnings("unchecked")
     protected void copyTo(Deck<T> deck) {
-        List<T> newComponents = new LinkedList<>();
-        for (T c : components) {
-            newComponents.add((T) c.copy());
+        if (allComponentsImmutable()) {
+            shareComponentsWith(deck);
+        } else {
+            List<T> newComponents = new LinkedList<>();
+            for (T c : components) {
+                newComponents.add((T) c.copy());
+            }
+            deck.components = newComponents;
         }
-        deck.components = newComponents;
         deck.capacity = capacity;
 
         //copy type and component.
@@ -452,17 +471,50 @@ public class Deck<T extends Component> extends Component implements IComponentCo
 
     @SuppressWarnings("unchecked")
     protected void copyTo(Deck<T> deck, int playerId) {
-        List<T> newComponents = new LinkedList<>();
-        for (T c : components) {
-            newComponents.add((T) c.copy(playerId));
+        if (allComponentsImmutable()) {
+            shareComponentsWith(deck);
+        } else {
+            List<T> newComponents = new LinkedList<>();
+            for (T c : components) {
+                newComponents.add((T) c.copy(playerId));
+            }
+            deck.components = newComponents;
         }
-        deck.components = newComponents;
         deck.capacity = capacity;
 
         //copy type and component.
         copyComponentTo(deck);
     }
 
+    private boolean allComponentsImmutable() {
+        for (T c : components) {
+            if (!c.isImmutable())
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Copy-on-write. The copy uses the same list of components as this deck, until one of them changes it.
+     * This is only safe if all the components are immutable, as they are then never copied.
+     */
+    private void shareComponentsWith(Deck<T> deck) {
+        deck.components = components;
+        deck.sharedComponents = true;
+        sharedComponents = true;
+    }
+
+    /**
+     * To be called before any change to the list of components. If the list is shared with another deck, then
+     * this deck takes its own copy of it first.
+     */
+    protected void unshareComponents() {
+        if (sharedComponents) {
+            components = new LinkedList<>(components);
+            sharedComponents = false;
+        }
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
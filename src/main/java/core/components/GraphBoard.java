@@ -14,8 +14,7 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.util.*;
 
-import static core.CoreConstants.imgHash;
-import static core.CoreConstants.nameHash;
+import static core.CoreConstants.nameKey;
 
 public class GraphBoard extends Component implements IComponentContainer<BoardNode> {
 
@@ -239,9 +238,9 @@ public class GraphBoard extends Component implements IComponentContainer<BoardNo
         String neighboursKey = (String) board.get("neighboursKey");
         int maxNeighbours = (int) (long) board.get("maxNeighbours");
 
-        properties.put(Hash.GetInstance().hash("boardType"), new PropertyString("boardType", boardType));
+        setProperty(new PropertyString("boardType", boardType));
         if (board.get("img") != null) {
-            properties.put(imgHash, new PropertyString("img", (String) board.get("img")));
+            setProperty(new PropertyString("img", (String) board.get("img")));
         }
 
         JSONArray nodeList = (JSONArray) board.get("nodes");
@@ -251,7 +250,7 @@ public class GraphBoard extends Component implements IComponentContainer<BoardNo
             JSONObject node = (JSONObject) o;
             BoardNode newBN = new BoardNode();
             newBN.loadBoardNode(node);
-            newBN.setComponentName(((PropertyString)newBN.getProperty(nameHash)).value);
+            newBN.setComponentName(((PropertyString)newBN.getProperty(nameKey)).value);
             newBN.setMaxNeighbours(maxNeighbours);
             boardNodes.put(newBN.componentID, newBN);
         }
@@ -10,6 +10,7 @@ import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
 import utilities.Pair;
 import utilities.Vector2D;
+import utilities.Zobrist;
 
 import java.io.FileReader;
 import java.io.IOException;
@@ -17,7 +18,6 @@ import java.util.*;
 import java.util.stream.Collectors;
 import java.util.Objects;
 
-import static core.CoreConstants.imgHash;
 import static utilities.Utils.getNeighbourhood;
 
 /**
@@ -30,6 +30,8 @@ public class GridBoard extends Component implements IComponentContainer<BoardNod
     private int height;  // Height of the board
 
     private BoardNode[][] grid;  // 2D grid representation of this board
+    // Zobrist hash of the contents of the grid, updated on every setElement() so that it never needs recomputing
+    private long zobristHash;
 
     protected GridBoard() {
         super(CoreConstants.ComponentType.BOARD);
@@ -46,6 +48,7 @@ public class GridBoard extends Component implements IComponentContainer<BoardNod
         this(width, height);
         for (int y = 0; y < height; y++)
             Arrays.fill(grid[y], defaultValue);
+        rehash();
     }
 
     public GridBoard(BoardNode[][] grid) {
@@ -53,6 +56,7 @@ public class GridBoard extends Component implements IComponentContainer<BoardNod
         this.width = grid[0].length;
         this.height = grid.length;
         this.grid = grid;
+        rehash();
     }
 
     protected GridBoard(BoardNode[][] grid, int ID) {
@@ -60,6 +64,15 @@ public class GridBoard extends Component implements IComponentContainer<BoardNod
         this.width = grid[0].length;
         this.height = grid.length;
         this.grid = grid;
+        rehash();
+    }
+
+    private GridBoard(BoardNode[][] grid, int ID, long zobristHash) {
+        super(CoreConstants.ComponentType.BOARD, ID);
+        this.width = grid[0].length;
+        this.height = grid.length;
+        this.grid = grid;
+        this.zobristHash = zobristHash;
     }
 
     protected GridBoard(int width, int height, int ID) {
@@ -74,6 +87,7 @@ public class GridBoard extends Component implements IComponentContainer<BoardNod
         this.width = orig.getWidth();
         this.height = orig.getHeight();
         this.grid = orig.grid.clone();
+        this.zobristHash = orig.zobristHash;
     }
 
     /**
@@ -132,6 +146,7 @@ public class GridBoard extends Component implements IComponentContainer<BoardNod
             if (w >= 0) System.arraycopy(this.grid[i], 0, grid[i + offsetY], offsetX, w);
         }
         this.grid = grid;
+        rehash();
     }
 
     /**
@@ -144,6 +159,7 @@ public class GridBoard extends Component implements IComponentContainer<BoardNod
      */
     public boolean setElement(int x, int y, BoardNode value) {
         if (x >= 0 && x < width && y >= 0 && y < height) {
+            zobristHash ^= cellKey(x, y, grid[y][x]) ^ cellKey(x, y, value);
             grid[y][x] = value;
             return true;
         } else
@@ -171,6 +187,28 @@ public class GridBoard extends Component implements IComponentContainer<BoardNod
         return getElement(pos.getX(), pos.getY());
     }
 
+    /**
+     * A Zobrist hash of which node is in each cell of the grid (as identified by its name and owner).
+     * This is maintained as the grid changes, so is O(1); equal grids always have the same hash.
+     * It does not track changes made directly to the nodes on the grid (rather than by setElement()), or to the
+     * array returned by getGridValues().
+     */
+    public long getZobristHash() {
+        return zobristHash;
+    }
+
+    private long cellKey(int x, int y, BoardNode node) {
+        if (node == null) return 0L;
+        return Zobrist.key((long) y * width + x, 31L * node.getComponentName().hashCode() + node.getOwnerId());
+    }
+
+    private void rehash() {
+        zobristHash = 0L;
+        for (int y = 0; y < height; y++)
+            for (int x = 0; x < width; x++)
+                zobristHash ^= cellKey(x, y, grid[y][x]);
+    }
+
     /**
      * Retrieves the grid.
      *
@@ -241,42 +279,41 @@ public class GridBoard extends Component implements IComponentContainer<BoardNod
 
     @Override
     public GridBoard copy() {
+        BoardNode[][] gridCopy = copyGrid();
+        GridBoard g = new GridBoard(gridCopy, componentID, zobristHash);
+        copyComponentTo(g);
+        return g;
+    }
+
+    public GridBoard copyNewID() {
+        BoardNode[][] gridCopy = copyGrid();
+        GridBoard g = new GridBoard(gridCopy);
+        copyComponentTo(g);
+        return g;
+    }
+
+    /**
+     * Copies every node on the grid, and then links the copies to each other as the originals are linked.
+     * Many grids have no links between nodes, and then the second pass (and the lookup map it needs) is skipped.
+     */
+    private BoardNode[][] copyGrid() {
         BoardNode[][] gridCopy = new BoardNode[getHeight()][getWidth()];
-        Map<Integer, BoardNode> nodeCopies = new HashMap<>();
+        boolean anyNeighbours = false;
         for (int i = 0; i < height; i++) {
             for (int j = 0; j < width; j++) {
                 if (grid[i][j] != null) {
                     gridCopy[i][j] = new BoardNode(grid[i][j]);
-                    nodeCopies.put(gridCopy[i][j].componentID, gridCopy[i][j]);
-                }
-            }
-        }
-        for (int i = 0; i < height; i++) {
-            for (int j = 0; j < width; j++) {
-                if (grid[i][j] != null) {
-                    for (Map.Entry<BoardNode, Double> neighbour : grid[i][j].getNeighbours().entrySet()) {
-                        gridCopy[i][j].addNeighbourWithCost(nodeCopies.get(neighbour.getKey().componentID), neighbour.getValue());
-                    }
-                    for (Map.Entry<BoardNode, Integer> neighbour : grid[i][j].getNeighbourSideMapping().entrySet()) {
-                        gridCopy[i][j].addNeighbourOnSide(nodeCopies.get(neighbour.getKey().componentID), neighbour.getValue());
-                    }
+                    anyNeighbours |= !grid[i][j].getNeighbours().isEmpty() || !grid[i][j].getNeighbourSideMapping().isEmpty();
                 }
             }
         }
-        GridBoard g = new GridBoard(gridCopy, componentID);
-        copyComponentTo(g);
-        return g;
-    }
-
-    public GridBoard copyNewID() {
-        BoardNode[][] gridCopy = new BoardNode[getHeight()][getWidth()];
+        if (!anyNeighbours)
+            return gridCopy;
         Map<Integer, BoardNode> nodeCopies = new HashMap<>();
         for (int i = 0; i < height; i++) {
             for (int j = 0; j < width; j++) {
-                if (grid[i][j] != null) {
-                    gridCopy[i][j] = new BoardNode(grid[i][j]);
+                if (gridCopy[i][j] != null)
                     nodeCopies.put(gridCopy[i][j].componentID, gridCopy[i][j]);
-                }
             }
         }
         for (int i = 0; i < height; i++) {
@@ -291,9 +328,7 @@ public class GridBoard extends Component implements IComponentContainer<BoardNod
                 }
             }
         }
-        GridBoard g = new GridBoard(gridCopy);
-        copyComponentTo(g);
-        return g;
+        return gridCopy;
     }
 
     public GridBoard emptyCopy() {
@@ -354,10 +389,11 @@ public class GridBoard extends Component implements IComponentContainer<BoardNod
         this.height = (int) (long) size.get(1);
 
         if (board.get("img") != null) {
-            properties.put(imgHash, new PropertyString((String) board.get("img")));
+            setProperty(new PropertyString("img", (String) board.get("img")));
         }
 
         this.grid = new BoardNode[height][width];
+        this.zobristHash = 0L;
 
         JSONArray grids = (JSONArray) board.get("grid");
         int y = 0;
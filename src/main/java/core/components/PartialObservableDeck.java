@@ -302,6 +302,7 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
     public void shuffleAndKeepVisibility(Random rnd) {
         Pair<List<T>, List<boolean[]>> shuffled = shuffleLists(components, elementVisibility, rnd);
         components = shuffled.a;
+        sharedComponents = false;
         elementVisibility = shuffled.b;
         applyVisibilityMode();
     }
@@ -35,6 +35,19 @@ public interface IStateFeatureVector extends IStateKey {
         return retValue;
     }
 
+    /**
+     * Writes the double array representation into buffer, so that a caller extracting the features of many states
+     * (such as a linear heuristic) can reuse one array rather than allocate a new one for each state.
+     * The default copies the result of doubleVector(state, playerID); implementations that can write their
+     * features directly into the buffer should override this.
+     *
+     * @param buffer must be at least as long as the feature vector
+     */
+    default void doubleVector(AbstractGameState state, int playerID, double[] buffer) {
+        double[] retValue = doubleVector(state, playerID);
+        System.arraycopy(retValue, 0, buffer, 0, retValue.length);
+    }
+
     default Object[] featureVector(AbstractGameState state, int playerID) {
             double[] retValue = doubleVector(state, playerID);
             Object[] retObject = new Object[names().length];
@@ -3,6 +3,8 @@ package core.interfaces;
 
 import core.AbstractGameState;
 
+import java.util.List;
+
 public interface IStateHeuristic {
 
     /**
@@ -14,6 +16,29 @@ public interface IStateHeuristic {
      */
     double evaluateState(AbstractGameState gs, int playerId);
 
+    /**
+     * Evaluates a batch of states for one player (for example all the successors of a state).
+     * This gives the same values as calling evaluateState() on each state, but heuristics that can evaluate a batch
+     * more efficiently than one state at a time (such as the linear ones) should override it.
+     * @param states - game states to evaluate.
+     * @param playerId - id of the player we're evaluating the states for.
+     * @param values - the value of states.get(i) is written to values[i]; this must be at least states.size() long.
+     */
+    default void evaluateStates(List<? extends AbstractGameState> states, int playerId, double[] values) {
+        for (int i = 0; i < states.size(); i++)
+            values[i] = evaluateState(states.get(i), playerId);
+    }
+
+    /**
+     * Evaluates one state for every player (as at the end of an MCTS rollout).
+     * @param gs - game state to evaluate.
+     * @param values - the value for player i is written to values[i]; this must be at least gs.getNPlayers() long.
+     */
+    default void evaluateAllPlayers(AbstractGameState gs, double[] values) {
+        for (int p = 0; p < gs.getNPlayers(); p++)
+            values[p] = evaluateState(gs, p);
+    }
+
     default double minValue() {
         return -1;
     }
@@ -21,4 +46,4 @@ public interface IStateHeuristic {
         return +1;
     }
 
-}
\ No newline at end of file
+}
@@ -1,25 +1,25 @@
 package core.properties;
 
-import utilities.Hash;
-
 public abstract class Property
 {
-    // Each property has a name associated, which gets hashed for storage in maps.
+    // Each property has a name associated, which is registered as a key with its own slot in the components.
+    protected final PropertyKey key;
     protected final String hashString;
     // Hash of property name
     protected final int hashKey;
 
-    public Property(String hashString, int hashKey) {
-        this.hashString = hashString;
-        this.hashKey = hashKey;
+    public Property(String hashString) {
+        this(PropertyKey.of(hashString));
     }
 
-    public Property(String hashString) {
-        this.hashString = hashString;
-        this.hashKey = Hash.GetInstance().hash(hashString);
+    protected Property(PropertyKey key) {
+        this.key = key;
+        this.hashString = key.getName();
+        this.hashKey = key.getHashKey();
     }
 
     // Getters
+    public PropertyKey getKey() {return key;}
     public String getHashString() {return hashString;}
     public int getHashKey() {return  hashKey;}
 
@@ -27,7 +27,7 @@ public abstract class Property
 
     /**
      * Creates a copy of this property.
-     * @return - a new Property object with the same hashString and hashKey.
+     * @return - a new Property object with the same key.
      */
     protected abstract Property _copy();
 
@@ -17,9 +17,9 @@ public class PropertyBoolean extends Property
         this.value = value;
     }
 
-    private PropertyBoolean(String hashString, int hashKey, boolean value)
+    private PropertyBoolean(PropertyKey key, boolean value)
     {
-        super(hashString, hashKey);
+        super(key);
         this.value = value;
     }
 
@@ -38,7 +38,7 @@ public class PropertyBoolean extends Property
     @Override
     protected Property _copy()
     {
-        return new PropertyBoolean(hashString, hashKey, value);
+        return new PropertyBoolean(key, value);
     }
 
 }
@@ -17,9 +17,9 @@ public class PropertyColor extends Property
         this.valueStr = valStr;
     }
 
-    private PropertyColor(String hashString, int hashKey, Color value, String valueStr)
+    private PropertyColor(PropertyKey key, Color value, String valueStr)
     {
-        super(hashString, hashKey);
+        super(key);
         this.value = value;
         this.valueStr = valueStr;
     }
@@ -38,6 +38,6 @@ public class PropertyColor extends Property
 
     @Override
     protected Property _copy() {
-        return new PropertyColor(hashString, hashKey, value, valueStr);
+        return new PropertyColor(key, value, valueStr);
     }
 }
@@ -11,9 +11,9 @@ public class PropertyInt extends Property
         this.value = value;
     }
 
-    private PropertyInt(String hashString, int hashKey, int value)
+    private PropertyInt(PropertyKey key, int value)
     {
-        super(hashString, hashKey);
+        super(key);
         this.value = value;
     }
 
@@ -33,7 +33,7 @@ public class PropertyInt extends Property
     @Override
     protected Property _copy()
     {
-        return new PropertyInt(hashString, hashKey, value);
+        return new PropertyInt(key, value);
     }
 
 }
@@ -17,9 +17,9 @@ public class PropertyIntArray extends Property
         }
     }
 
-    private PropertyIntArray(String hashString, int hashKey, int[] values)
+    private PropertyIntArray(PropertyKey key, int[] values)
     {
-        super(hashString, hashKey);
+        super(key);
         this.values = new int[values.length];
         System.arraycopy(values, 0, this.values, 0, values.length);
     }
@@ -55,7 +55,7 @@ public class PropertyIntArray extends Property
     @Override
     protected Property _copy()
     {
-        return new PropertyIntArray(hashString, hashKey, values);
+        return new PropertyIntArray(key, values);
     }
 
 }
@@ -18,9 +18,9 @@ public class PropertyIntArrayList extends Property
 
     }
 
-    private PropertyIntArrayList(String hashString, int hashKey, ArrayList<Integer> values)
+    private PropertyIntArrayList(PropertyKey key, ArrayList<Integer> values)
     {
-        super(hashString, hashKey);
+        super(key);
         this.values = new ArrayList<>();
         this.values.addAll(values);
     }
@@ -56,7 +56,7 @@ public class PropertyIntArrayList extends Property
     @Override
     protected Property _copy()
     {
-        return new PropertyIntArrayList(hashString, hashKey, values);
+        return new PropertyIntArrayList(key, values);
     }
 
 }
@@ -0,0 +1,79 @@
+package core.properties;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The name of a property, registered once for the whole run. Each distinct name gets a dense slot number, and
+ * components keep their properties in order of slot, so a lookup with a key is a binary search of a few ints rather
+ * than a String hash and a map lookup.
+ * <p>
+ * Keys are interned: PropertyKey.of() returns the same object for the same name, from any thread. Games should
+ * keep the keys they use in the forward model as constants, and call getProperty(key) with them. Lookups by a name
+ * that may never have been used should go through find(), which does not register it.
+ */
+public final class PropertyKey {
+    private static final ConcurrentHashMap<String, PropertyKey> byName = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<Integer, PropertyKey> byHash = new ConcurrentHashMap<>();
+    private static final AtomicInteger nextSlot = new AtomicInteger();
+
+    private final String name;
+    private final int hashKey;  // the hash of the name, as used by the older int-keyed lookups
+    private final int slot;
+
+    private PropertyKey(String name, int slot) {
+        this.name = name;
+        this.hashKey = name.hashCode();
+        this.slot = slot;
+    }
+
+    /**
+     * @param name - name of the property
+     * @return the key for this name, registering it if it is new.
+     */
+    public static PropertyKey of(String name) {
+        PropertyKey key = byName.get(name);
+        if (key != null)
+            return key;
+        return byName.computeIfAbsent(name, n -> {
+            PropertyKey k = new PropertyKey(n, nextSlot.getAndIncrement());
+            // if two names have the same hash, lookups by hash find the first (as they would have in a map)
+            byHash.putIfAbsent(k.hashKey, k);
+            return k;
+        });
+    }
+
+    /**
+     * @param name - name of the property
+     * @return the key for this name, or null if no property with this name has been registered. No component can
+     * hold a property with a name that has not been registered.
+     */
+    public static PropertyKey find(String name) {
+        return byName.get(name);
+    }
+
+    /**
+     * @param hashKey - hash of the name of the property (see utilities.Hash)
+     * @return the key with this hash, or null if no property with this hash has been registered.
+     */
+    public static PropertyKey forHash(int hashKey) {
+        return byHash.get(hashKey);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getHashKey() {
+        return hashKey;
+    }
+
+    public int getSlot() {
+        return slot;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
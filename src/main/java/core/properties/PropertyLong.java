@@ -10,9 +10,9 @@ public class PropertyLong extends Property
         this.value = value;
     }
 
-    public PropertyLong(String hashString, int hashKey, long value)
+    public PropertyLong(PropertyKey key, long value)
     {
-        super(hashString, hashKey);
+        super(key);
         this.value = value;
     }
 
@@ -33,7 +33,7 @@ public class PropertyLong extends Property
     @Override
     protected Property _copy()
     {
-        return new PropertyLong(hashString, hashKey, value);
+        return new PropertyLong(key, value);
     }
 
 }
@@ -19,9 +19,9 @@ public class PropertyLongArray extends Property
 
     }
 
-    public PropertyLongArray(String hashString, int hashKey, long[] values)
+    public PropertyLongArray(PropertyKey key, long[] values)
     {
-        super(hashString, hashKey);
+        super(key);
         this.values = new long[values.length];
         System.arraycopy(values, 0, this.values, 0, values.length);
     }
@@ -57,7 +57,7 @@ public class PropertyLongArray extends Property
     @Override
     protected Property _copy()
     {
-        return new PropertyLongArray(hashString, hashKey, values);
+        return new PropertyLongArray(key, values);
     }
 
 }
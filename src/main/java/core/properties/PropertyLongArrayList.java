@@ -18,9 +18,9 @@ public class PropertyLongArrayList extends Property
 
     }
 
-    public PropertyLongArrayList(String hashString, int hashKey, ArrayList<Long> values)
+    public PropertyLongArrayList(PropertyKey key, ArrayList<Long> values)
     {
-        super(hashString, hashKey);
+        super(key);
         this.values = new ArrayList<>();
         this.values.addAll(values);
     }
@@ -56,7 +56,7 @@ public class PropertyLongArrayList extends Property
     @Override
     protected Property _copy()
     {
-        return new PropertyLongArrayList(hashString, hashKey, values);
+        return new PropertyLongArrayList(key, values);
     }
 
 }
@@ -17,9 +17,9 @@ public class PropertyString extends Property
         this.value = value;
     }
 
-    public PropertyString (String hashString, int hashKey, String value)
+    public PropertyString (PropertyKey key, String value)
     {
-        super(hashString, hashKey);
+        super(key);
         this.value = value;
     }
 
@@ -40,7 +40,7 @@ public class PropertyString extends Property
     @Override
     protected Property _copy()
     {
-        return new PropertyString(hashString, hashKey, value);
+        return new PropertyString(key, value);
     }
 
 }
@@ -19,9 +19,9 @@ public class PropertyStringArray extends Property
 
     }
 
-    public PropertyStringArray(String hashString, int hashKey, String[] values)
+    public PropertyStringArray(PropertyKey key, String[] values)
     {
-        super(hashString, hashKey);
+        super(key);
         this.values = new String[values.length];
         System.arraycopy(values, 0, this.values, 0, values.length);
     }
@@ -57,7 +57,7 @@ public class PropertyStringArray extends Property
     @Override
     protected Property _copy()
     {
-        return new PropertyStringArray(hashString, hashKey, values);
+        return new PropertyStringArray(key, values);
     }
 
 }
@@ -21,9 +21,9 @@ public class PropertyVector2D extends Property
         this.values = new Vector2D(v.getX(), v.getY());
     }
 
-    public PropertyVector2D(String hashString, int hashKey, Vector2D v)
+    public PropertyVector2D(PropertyKey key, Vector2D v)
     {
-        super(hashString, hashKey);
+        super(key);
         this.values = new Vector2D(v.getX(), v.getY());
     }
 
@@ -43,7 +43,7 @@ public class PropertyVector2D extends Property
     @Override
     protected Property _copy()
     {
-        return new PropertyVector2D(hashString, hashKey, values);
+        return new PropertyVector2D(key, values);
     }
 
 }
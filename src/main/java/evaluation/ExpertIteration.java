@@ -6,6 +6,7 @@ import core.interfaces.*;
 import evaluation.listeners.ActionFeatureListener;
 import evaluation.listeners.FeatureListener;
 import evaluation.listeners.StateFeatureListener;
+import evaluation.loggers.ColumnarStatsLogger;
 import evaluation.loggers.FileStatsLogger;
 import evaluation.metrics.Event;
 import evaluation.optimisation.ITPSearchSpace;
@@ -41,7 +42,7 @@ public class ExpertIteration {
     double sampleRate;
     String[] stateDataFilesByIteration;
     String[] actionDataFilesByIteration;
-    boolean useRounds, useStateInAction;
+    boolean useRounds, useStateInAction, columnarData;
     String prefix = "EI";
     AbstractPlayer bestAgent = null;
     Map<String, Integer> tournamentWinsByAgent = new HashMap<>();
@@ -72,6 +73,7 @@ public class ExpertIteration {
         bicTimer = (int) config.get(RunArg.bicTimer);
         sampleRate = (double) config.get(RunArg.sampleRate);
         expertTime = (int) config.get(RunArg.expertTime);
+        columnarData = (boolean) config.get(RunArg.columnarData);
 
         params = AbstractParameters.createFromFile(gameToPlay, (String) config.get(RunArg.gameParams));
 
@@ -137,6 +139,14 @@ public class ExpertIteration {
         return restartAtIteration;
     }
 
+    private String dataSuffix() {
+        return columnarData ? ColumnarStatsLogger.SUFFIX : ".txt";
+    }
+
+    private IStatisticLogger createDataLogger(String fileName) {
+        return columnarData ? new ColumnarStatsLogger(fileName) : new FileStatsLogger(fileName, "\t", false);
+    }
+
     public void run() {
         iter = 0;
         boolean finished = false;
@@ -152,10 +162,10 @@ public class ExpertIteration {
             // we are restarting the process, so we need to load the data files from the previous iteration
             iter = restartAtIteration;
             if (stateLearnerFile != null) {
-                stateDataFilesByIteration[iter - 1] = dataDir + File.separator + String.format("State_%s_%02d.txt", prefix, iter - 1);
+                stateDataFilesByIteration[iter - 1] = dataDir + File.separator + String.format("State_%s_%02d%s", prefix, iter - 1, dataSuffix());
             }
             if (actionLearnerFile != null) {
-                actionDataFilesByIteration[iter - 1] = dataDir + File.separator + String.format("Action_%s_%02d.txt", prefix, iter - 1);
+                actionDataFilesByIteration[iter - 1] = dataDir + File.separator + String.format("Action_%s_%02d%s", prefix, iter - 1, dataSuffix());
             }
 
             // then load in the agents from the previous iterations
@@ -252,11 +262,11 @@ public class ExpertIteration {
                 case "MCTS" -> null; // covered by ActionListener
                 default -> throw new IllegalArgumentException("Unexpected value for expert: " + expert);
             };
-            String fileName = String.format("State_%s_%02d.txt", prefix, iter);
+            String fileName = String.format("State_%s_%02d%s", prefix, iter, dataSuffix());
             stateDataFilesByIteration[iter] = dataDir + File.separator + fileName;
             if (stateListener != null) {
                 stateListener.setSampleRate(sampleRate);
-                stateListener.setLogger(new FileStatsLogger(fileName, "\t", false));
+                stateListener.setLogger(createDataLogger(fileName));
                 stateListener.setOutputDirectory(dataDir);
                 tournament.addListener(stateListener);
             }
@@ -283,8 +293,8 @@ public class ExpertIteration {
                 default -> throw new IllegalArgumentException("Unexpected value for expert: " + expert);
             };
             actionListener.setSampleRate(sampleRate);
-            String fileName = String.format("Action_%s_%02d.txt", prefix, iter);
-            actionListener.setLogger(new FileStatsLogger(fileName, "\t", false));
+            String fileName = String.format("Action_%s_%02d%s", prefix, iter, dataSuffix());
+            actionListener.setLogger(createDataLogger(fileName));
             actionListener.setOutputDirectory(dataDir);
 
             tournament.addListener(actionListener);
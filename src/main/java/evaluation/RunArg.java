@@ -27,6 +27,10 @@ public enum RunArg {
             "\t This may be useful if you want to use the same destDir for multiple experiments.",
             false,
             new Usage[]{Usage.RunGames}),
+    asyncListeners("(Optional) If true (default is false), then each listener processes game events on its own background thread,\n" +
+            "\t with a copy of the game state, so that the games do not wait for metrics to be calculated and written.",
+            false,
+            new Usage[]{Usage.RunGames}),
     budget("The budget to be used by all agent (if they support the IAnyTime interface). \n" +
             "\t If non-zero then this will override the value in any JSON definitions.\n",
             0,
@@ -138,6 +142,13 @@ public enum RunArg {
     nPlayers("The number of players in each game. Overrides playerRange.",
             -1,
             new Usage[]{Usage.ParameterSearch, Usage.RunGames, Usage.ExpertIteration}),
+    nThreads("The number of threads to use to run games (default is 1).\n" +
+            "\t In a tournament, independent games are run concurrently, each thread with its own copy of\n" +
+            "\t the game and agents. The random seed used for each game is the same as when run on a single thread.\n" +
+            "\t In NTBEA, each trial evaluates a batch of the most promising settings from the neighbourhood concurrently,\n" +
+            "\t as are the evaluation games for the recommended settings.",
+            1,
+            new Usage[]{Usage.RunGames, Usage.ParameterSearch}),
     discretisation("The number of discretisation levels to use in NTBEAFunctions. Default is 10.",
             10,
             new Usage[]{Usage.ParameterSearch}),
@@ -211,6 +222,10 @@ public enum RunArg {
     expertTime("The multiplier to use for the expert's budget (if MCTS). Default is 10.",
             10,
             new Usage[]{Usage.ExpertIteration}),
+    columnarData("Whether to record the training data in a binary columnar format (true) rather than as tab-separated text (false).\n" +
+            "\t This is much faster to write and to load for large datasets, but is not human-readable. Defaults to false.",
+            false,
+            new Usage[]{Usage.ExpertIteration}),
     maxRecords("The maximum number of records to use for learning. Default is 10000.\n" +
             "Algorithms such as least squares can O(n^3), in which case we need to limit this (and you may have memory limits).\n",
             10000,
@@ -5,8 +5,10 @@ import core.actions.AbstractAction;
 import core.interfaces.IActionFeatureVector;
 import core.interfaces.IStateFeatureVector;
 import core.interfaces.IToJSON;
+import evaluation.loggers.ColumnarStatsLogger;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
+import players.learners.ColumnarData;
 import utilities.JSONUtils;
 import utilities.Pair;
 import utilities.Utils;
@@ -406,27 +408,40 @@ public class AutomatedFeatures implements IStateFeatureVector, IActionFeatureVec
 
         // load files...the columns should correspond to the underlying vector
         // while allowing for additional columns (for target values)
-        Pair<List<String>, List<List<String>>> data = Utils.loadDataWithHeader("\t", inputFiles);
-        List<String> headers = data.a;
-        List<List<String>> dataRows = data.b;
-
-        // We now want to convert the dataRows into dataColumns
+        List<String> headers;
         List<List<String>> dataColumns = new ArrayList<>();
-        for (int i = 0; i < headers.size(); i++) {
-            dataColumns.add(new ArrayList<>());
-        }
-        int count = 0;
-        for (List<String> row : dataRows) {
-            if (row.size() != headers.size()) {
-                System.err.println("Warning: Skipping row with inconsistent number of columns: " + row);
-                continue; // Skip rows with inconsistent number of columns
+        if (inputFiles.length > 0 && Arrays.stream(inputFiles).allMatch(ColumnarData::isColumnar)) {
+            // the data is already held by column
+            ColumnarData data = ColumnarData.load(maxRecords, inputFiles);
+            headers = Arrays.asList(data.header());
+            for (int i = 0; i < headers.size(); i++) {
+                List<String> column = new ArrayList<>(data.rows());
+                for (int row = 0; row < data.rows(); row++)
+                    column.add(data.getString(i, row));
+                dataColumns.add(column);
             }
+        } else {
+            Pair<List<String>, List<List<String>>> data = Utils.loadDataWithHeader("\t", inputFiles);
+            headers = data.a;
+            List<List<String>> dataRows = data.b;
+
+            // We now want to convert the dataRows into dataColumns
             for (int i = 0; i < headers.size(); i++) {
-                dataColumns.get(i).add(row.get(i));
+                dataColumns.add(new ArrayList<>());
             }
-            count++;
-            if (maxRecords > 0 && count >= maxRecords) {
-                break; // Stop processing if we reached the maximum number of records
+            int count = 0;
+            for (List<String> row : dataRows) {
+                if (row.size() != headers.size()) {
+                    System.err.println("Warning: Skipping row with inconsistent number of columns: " + row);
+                    continue; // Skip rows with inconsistent number of columns
+                }
+                for (int i = 0; i < headers.size(); i++) {
+                    dataColumns.get(i).add(row.get(i));
+                }
+                count++;
+                if (maxRecords > 0 && count >= maxRecords) {
+                    break; // Stop processing if we reached the maximum number of records
+                }
             }
         }
         List<List<?>> newDataColumns = new ArrayList<>(); // set up to take the new data (especially where we can just copy this from the old)
@@ -644,8 +659,12 @@ public class AutomatedFeatures implements IStateFeatureVector, IActionFeatureVec
             }
         }
 
-        Utils.writeDataWithHeader("\t", newColumnDetails.stream().map(r -> r.name).toList(),
-                newDataRows, outputFile);
+        if (outputFile.endsWith(ColumnarStatsLogger.SUFFIX))
+            ColumnarStatsLogger.writeDataWithHeader(newColumnDetails.stream().map(r -> r.name).toList(),
+                    newDataRows, outputFile);
+        else
+            Utils.writeDataWithHeader("\t", newColumnDetails.stream().map(r -> r.name).toList(),
+                    newDataRows, outputFile);
         return newDataRows;
     }
 
@@ -0,0 +1,19 @@
+package evaluation.features;
+
+import core.AbstractGameState;
+import core.interfaces.IStateKey;
+import utilities.Zobrist;
+
+/**
+ * Uses AbstractGameState.getStateHash() as the key. For games that maintain this incrementally this is O(1), and
+ * avoids building a String or feature vector for every state visited (for example as the MCGSStateKey of MCTS).
+ * <p>
+ * As with any hash there is a (very small) chance that two different states have the same key.
+ */
+public class StateHashKey implements IStateKey {
+
+    @Override
+    public Long getKey(AbstractGameState state, int playerId) {
+        return state.getStateHash() ^ Zobrist.key(Zobrist.PERSPECTIVE, playerId);
+    }
+}
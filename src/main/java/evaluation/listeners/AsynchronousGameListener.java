@@ -0,0 +1,197 @@
+package evaluation.listeners;
+
+import core.AbstractGameState;
+import core.Game;
+import core.actions.AbstractAction;
+import core.interfaces.IGameEvent;
+import evaluation.metrics.Event;
+
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Wraps a listener so that its events are processed on a background thread, and the Game does not have to wait
+ * for expensive metrics (or file writes) before it carries on with the next action.
+ * <p>
+ * Events are passed to the background thread through a bounded queue; if the listener falls behind by more than
+ * the capacity of the queue then the Game blocks until there is space, so memory use stays bounded.
+ * As the Game carries on changing its state, each event is queued with a copy of the state (and of the action),
+ * so the listener sees the state as it was when the event happened. Events of a type the listener does not
+ * listen to (see {@link IGameListener#listensTo}) are dropped on the Game's thread, and their state is not copied.
+ * <p>
+ * GAME_OVER is the exception: the Game waits until this (and everything queued before it) has been processed, so
+ * that anything the listener reads from getGame() at the end of a game (timings, players etc.) is for that game,
+ * and the listener is idle between games. report(), reset(), init() and setOutputDirectory() also wait for the queue
+ * to empty before they are passed on. Any other data a listener reads from getGame() (rather than the Event) will be
+ * as it is when the event is processed, not when it happened.
+ * <p>
+ * If the listener throws an exception then this is re-thrown (wrapped) on the Game's thread on the next call.
+ * <p>
+ * The background thread is started by the first event, and runs until close() is called.
+ */
+public class AsynchronousGameListener implements IGameListener {
+
+    public static final int DEFAULT_CAPACITY = 1024;
+    // queued by close() to tell the background thread to stop
+    private static final Runnable STOP = () -> {
+    };
+
+    private final IGameListener delegate;
+    private final BlockingQueue<Runnable> queue;
+    private Game game;
+    private Thread worker;
+    private volatile Throwable failure;
+
+    public AsynchronousGameListener(IGameListener delegate, int capacity) {
+        this.delegate = delegate;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    public AsynchronousGameListener(IGameListener delegate) {
+        this(delegate, DEFAULT_CAPACITY);
+    }
+
+    @Override
+    public void onEvent(Event event) {
+        checkFailure();
+        if (!delegate.listensTo(event.type))
+            return;
+        boolean gameOver = event.type == Event.GameEvent.GAME_OVER;
+        Event snapshot = gameOver ? event : snapshot(event);
+        Game eventGame = game;
+        submit(() -> {
+            delegate.setGame(eventGame);
+            delegate.onEvent(snapshot);
+        });
+        if (gameOver)
+            flush();
+    }
+
+    private static Event snapshot(Event event) {
+        AbstractGameState state = event.state == null ? null : event.state.copy();
+        AbstractAction action = event.action == null ? null : event.action.copy();
+        return Event.createEvent(event.type, state, action, event.playerID);
+    }
+
+    @Override
+    public boolean listensTo(IGameEvent eventType) {
+        return delegate.listensTo(eventType);
+    }
+
+    private void submit(Runnable task) {
+        if (worker == null) {
+            worker = new Thread(this::processQueue, "AsynchronousGameListener-" + delegate.getClass().getSimpleName());
+            worker.setDaemon(true);
+            worker.start();
+        }
+        try {
+            queue.put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while queueing an event for " + delegate, e);
+        }
+    }
+
+    private void processQueue() {
+        while (true) {
+            Runnable task;
+            try {
+                task = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (task == STOP)
+                return;
+            try {
+                task.run();
+            } catch (Throwable t) {
+                if (failure == null)
+                    failure = t;
+            }
+        }
+    }
+
+    /**
+     * Waits until every event queued so far has been processed by the listener
+     */
+    public void flush() {
+        if (worker != null) {
+            CountDownLatch done = new CountDownLatch(1);
+            submit(done::countDown);
+            try {
+                done.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for " + delegate + " to process its events", e);
+            }
+        }
+        checkFailure();
+    }
+
+    /**
+     * Waits until every event queued so far has been processed, and then stops the background thread.
+     * A later event will start a new one.
+     */
+    public void close() {
+        flush();
+        if (worker != null) {
+            submit(STOP);
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for " + delegate + " to stop", e);
+            }
+            worker = null;
+        }
+    }
+
+    private void checkFailure() {
+        Throwable t = failure;
+        if (t != null) {
+            failure = null;
+            throw new RuntimeException("Error processing event in " + delegate, t);
+        }
+    }
+
+    @Override
+    public void report() {
+        flush();
+        delegate.report();
+    }
+
+    @Override
+    public boolean setOutputDirectory(String... nestedDirectories) {
+        flush();
+        return delegate.setOutputDirectory(nestedDirectories);
+    }
+
+    @Override
+    public void setGame(Game game) {
+        this.game = game;
+    }
+
+    @Override
+    public Game getGame() {
+        return game;
+    }
+
+    @Override
+    public void reset() {
+        flush();
+        delegate.reset();
+    }
+
+    @Override
+    public void init(Game game, int nPlayersPerGame, Set<String> playerNames) {
+        flush();
+        this.game = game;
+        delegate.init(game, nPlayersPerGame, playerNames);
+    }
+
+    public IGameListener getDelegate() {
+        return delegate;
+    }
+}
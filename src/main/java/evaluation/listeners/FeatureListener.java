@@ -2,7 +2,9 @@ package evaluation.listeners;
 
 import core.*;
 import core.actions.AbstractAction;
+import core.interfaces.IGameEvent;
 import core.interfaces.IStatisticLogger;
+import evaluation.loggers.ColumnarStatsLogger;
 import evaluation.loggers.FileStatsLogger;
 import evaluation.metrics.Event;
 
@@ -68,10 +70,17 @@ public abstract class FeatureListener implements IGameListener {
         }
     }
 
+    @Override
+    public boolean listensTo(IGameEvent eventType) {
+        return eventType == frequency || eventType == Event.GameEvent.GAME_OVER;
+    }
+
     @Override
     public boolean setOutputDirectory(String... nestedDirectories) {
         if (logger instanceof FileStatsLogger fileLogger) {
             fileLogger.setOutPutDirectory(nestedDirectories);
+        } else if (logger instanceof ColumnarStatsLogger columnarLogger) {
+            columnarLogger.setOutPutDirectory(nestedDirectories);
         }
         return true;
     }
@@ -1,6 +1,7 @@
 package evaluation.listeners;
 
 import core.Game;
+import core.interfaces.IGameEvent;
 import evaluation.metrics.AbstractMetric;
 import evaluation.metrics.Event;
 import evaluation.metrics.GameMetrics;
@@ -26,6 +27,13 @@ public interface IGameListener {
      */
     void onEvent(Event event);
 
+    /**
+     * Whether this listener does anything with events of the given type. This lets a wrapper such as
+     * {@link AsynchronousGameListener} drop other events without copying their state.
+     */
+    default boolean listensTo(IGameEvent eventType) {
+        return true;
+    }
 
     /**
      * This is called when all processing is finished, for example after running a sequence of games
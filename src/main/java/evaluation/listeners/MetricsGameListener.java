@@ -6,6 +6,7 @@ import evaluation.metrics.AbstractMetric;
 import evaluation.metrics.Event;
 import evaluation.metrics.IDataLogger;
 import evaluation.metrics.IMetricsCollection;
+import evaluation.metrics.streaming.StreamingDataLogger;
 import evaluation.metrics.tablessaw.DataTableSaw;
 import utilities.Utils;
 
@@ -47,6 +48,10 @@ public class MetricsGameListener implements IGameListener {
     String destDir = "metrics/out/"; //by default
     boolean firstReport;
 
+    // If true, metrics summarise their data as it arrives (see StreamingDataLogger), rather than keeping every row
+    // in a table until report() is called
+    boolean streaming;
+
     public MetricsGameListener() {
     }
 
@@ -59,12 +64,23 @@ public class MetricsGameListener implements IGameListener {
     }
 
     public MetricsGameListener(IDataLogger.ReportDestination logTo, IDataLogger.ReportType[] dataTypes, AbstractMetric[] metrics) {
+        this(logTo, dataTypes, metrics, false);
+    }
+
+    /**
+     * @param streaming if true then the metrics keep running summaries of their data, so memory use does not grow with
+     *                  the number of games. Raw rows are then only kept if RawData (or RawDataPerEvent) is reported,
+     *                  and Plots are not available.
+     */
+    public MetricsGameListener(IDataLogger.ReportDestination logTo, IDataLogger.ReportType[] dataTypes, AbstractMetric[] metrics, boolean streaming) {
         reportDestinations = Collections.singletonList(logTo);
         this.reportTypes = Arrays.asList(dataTypes);
         this.metrics = new LinkedHashMap<>();
         this.firstReport = true;
+        this.streaming = streaming;
+        boolean keepRawData = reportTypes.contains(RawData) || reportTypes.contains(RawDataPerEvent);
         for (AbstractMetric m : metrics) {
-            m.setDataLogger(new DataTableSaw(m)); //todo this logger needs to be read from JSON
+            m.setDataLogger(streaming ? new StreamingDataLogger(m, keepRawData) : new DataTableSaw(m)); //todo this logger needs to be read from JSON
             this.metrics.put(m.getName(), m);
             eventsOfInterest.addAll(m.getEventTypes());
         }
@@ -95,6 +111,11 @@ public class MetricsGameListener implements IGameListener {
         }
     }
 
+    @Override
+    public boolean listensTo(IGameEvent eventType) {
+        return eventsOfInterest.contains(eventType);
+    }
+
     @Override
     public boolean setOutputDirectory(String... nestedDirectories) {
 
@@ -134,7 +155,14 @@ public class MetricsGameListener implements IGameListener {
             }
 
         // We also create raw data files for groups of metrics responding to the same event
-        if (reportTypes.contains(RawDataPerEvent)) {
+        // (this joins up the full tables, so when streaming each metric writes its own raw data instead)
+        if (reportTypes.contains(RawDataPerEvent) && streaming) {
+            for (AbstractMetric metric : metrics.values()) {
+                IDataLogger dataLogger = metric.getDataLogger();
+                dataLogger.getDefaultProcessor().processRawDataToFile(dataLogger, destDir, !firstReport);
+            }
+            firstReport = false;
+        } else if (reportTypes.contains(RawDataPerEvent)) {
             for (IGameEvent event : eventsOfInterest) {
                 List<AbstractMetric> eventMetrics = new ArrayList<>();
                 for (AbstractMetric metric : metrics.values()) {
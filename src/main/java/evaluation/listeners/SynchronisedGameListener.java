@@ -0,0 +1,95 @@
+package evaluation.listeners;
+
+import core.AbstractPlayer;
+import core.Game;
+import core.interfaces.IGameEvent;
+import evaluation.metrics.Event;
+
+import java.util.Set;
+
+/**
+ * Wraps a listener that is shared by several Games running on different threads (for example the worker
+ * Games of a parallel {@link evaluation.tournaments.RoundRobinTournament}).
+ * <p>
+ * Each worker Game gets its own wrapper, which remembers the Game it is attached to. All calls through to the
+ * shared listener are made while holding the listener's monitor, and the listener is re-bound to the calling
+ * Game before each event, so that anything it looks up via getGame() refers to the Game that raised the event.
+ */
+public class SynchronisedGameListener implements IGameListener {
+
+    private final IGameListener delegate;
+    private Game game;
+
+    public SynchronisedGameListener(IGameListener delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Passes the matchup that a Game is about to play to the delegate, if this is a TournamentMetricsGameListener.
+     * This is called once per game, before it starts; the delegate then keeps the data from that Game's events
+     * separate from any other Games it hears from.
+     */
+    public void setMatchup(Game game, Set<AbstractPlayer> matchup, Set<String> playerNames) {
+        if (delegate instanceof TournamentMetricsGameListener tmgl) {
+            synchronized (delegate) {
+                tmgl.tournamentInit(game, game.getGameState().getNPlayers(), playerNames, matchup);
+            }
+        }
+    }
+
+    @Override
+    public void onEvent(Event event) {
+        synchronized (delegate) {
+            delegate.setGame(game);
+            delegate.onEvent(event);
+        }
+    }
+
+    @Override
+    public boolean listensTo(IGameEvent eventType) {
+        // this only reads the configuration of the delegate, so does not need the lock
+        return delegate.listensTo(eventType);
+    }
+
+    @Override
+    public void report() {
+        synchronized (delegate) {
+            delegate.report();
+        }
+    }
+
+    @Override
+    public boolean setOutputDirectory(String... nestedDirectories) {
+        synchronized (delegate) {
+            return delegate.setOutputDirectory(nestedDirectories);
+        }
+    }
+
+    @Override
+    public void setGame(Game game) {
+        this.game = game;
+    }
+
+    @Override
+    public Game getGame() {
+        return game;
+    }
+
+    @Override
+    public void reset() {
+        synchronized (delegate) {
+            delegate.reset();
+        }
+    }
+
+    @Override
+    public void init(Game game, int nPlayersPerGame, Set<String> playerNames) {
+        synchronized (delegate) {
+            delegate.init(game, nPlayersPerGame, playerNames);
+        }
+    }
+
+    public IGameListener getDelegate() {
+        return delegate;
+    }
+}
@@ -27,7 +27,11 @@ public class TournamentMetricsGameListener extends MetricsGameListener {
     }
 
     public TournamentMetricsGameListener(IDataLogger.ReportDestination logTo, IDataLogger.ReportType[] dataTypes, AbstractMetric[] metrics) {
-        super(logTo, dataTypes, Arrays.stream(metrics).map(TournamentMetric::new).toArray(AbstractMetric[]::new));
+        this(logTo, dataTypes, metrics, false);
+    }
+
+    public TournamentMetricsGameListener(IDataLogger.ReportDestination logTo, IDataLogger.ReportType[] dataTypes, AbstractMetric[] metrics, boolean streaming) {
+        super(logTo, dataTypes, Arrays.stream(metrics).map(TournamentMetric::new).toArray(AbstractMetric[]::new), streaming);
     }
 
     public void tournamentInit(Game game, int nPlayersPerGame, Set<String> playerNames, Set<AbstractPlayer> matchup) {
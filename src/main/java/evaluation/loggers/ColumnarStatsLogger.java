@@ -0,0 +1,216 @@
+package evaluation.loggers;
+
+import core.interfaces.IStatisticLogger;
+import evaluation.summarisers.TAGStatSummary;
+import utilities.Utils;
+
+import java.io.*;
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * An alternative to FileStatsLogger for large volumes of training data (as recorded by the FeatureListeners), which
+ * writes a binary, columnar file that is much faster to write and to load than tab-separated text.
+ * It is read with players.learners.ColumnarData.
+ * <p>
+ * As with FileStatsLogger, the columns are fixed by the first record(Map), and each record is one row. Rows are
+ * buffered and written in blocks of BLOCK_SIZE, with each column of a block stored contiguously as:
+ * LONG (if every value is an integer type), DOUBLE (if every value is a number) or STRING (otherwise, with null
+ * written as "NA" as in the text files). Doubles are written in full, rather than to 3 significant figures.
+ * <p>
+ * The file layout is: MAGIC, VERSION, a compressed flag, and then (gzipped if compressed) the number of columns,
+ * their names, and the blocks; each block is its number of rows followed by each column (a type byte, then the
+ * values). A block of zero rows marks the end of the file. The file is only complete once processDataAndFinish()
+ * has been called.
+ */
+public class ColumnarStatsLogger implements IStatisticLogger {
+
+    public static final String SUFFIX = ".tagc";
+    public static final int MAGIC = 0x54414743;  // "TAGC"
+    public static final int VERSION = 1;
+    public static final byte LONG = 0, DOUBLE = 1, STRING = 2;
+    static final int BLOCK_SIZE = 4096;
+
+    private String fileName;
+    private final boolean compress;
+    private DataOutputStream out;
+    private String[] columns;
+    private Object[][] block;
+    private int rows;
+
+    /**
+     * @param fileName The full location of the file to write results to (any existing file is overwritten)
+     * @param compress Whether to gzip the data (which makes the file smaller, but slower to write and read)
+     */
+    public ColumnarStatsLogger(String fileName, boolean compress) {
+        this.fileName = fileName;
+        this.compress = compress;
+    }
+
+    public ColumnarStatsLogger(String fileName) {
+        this(fileName, false);
+    }
+
+    public void setOutPutDirectory(String... nestedDirectories) {
+        if (out != null) {
+            processDataAndFinish();
+        }
+        String folder = Utils.createDirectory(nestedDirectories);
+        this.fileName = folder + File.separator + this.fileName;
+    }
+
+    private void initialise(Collection<String> keys) {
+        columns = keys.toArray(new String[0]);
+        block = new Object[columns.length][BLOCK_SIZE];
+        rows = 0;
+        try {
+            OutputStream file = new BufferedOutputStream(new FileOutputStream(fileName), 1 << 16);
+            DataOutputStream header = new DataOutputStream(file);
+            header.writeInt(MAGIC);
+            header.writeInt(VERSION);
+            header.writeBoolean(compress);
+            header.flush();
+            out = compress ? new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(file, 1 << 16), 1 << 16)) : header;
+            out.writeInt(columns.length);
+            for (String column : columns)
+                out.writeUTF(column);
+        } catch (IOException e) {
+            throw new AssertionError("Problem opening file " + fileName + " : " + e.getMessage());
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void record(Map<String, ?> rawData) {
+        // first we preprocess data to remove nesting (as FileStatsLogger does)
+        Map<String, Object> data = new LinkedHashMap<>();
+        for (String key : rawData.keySet()) {
+            Object thing = rawData.get(key);
+            if (thing instanceof Map) {
+                data.putAll((Map<? extends String, ?>) thing);
+            } else {
+                data.put(key, thing);
+            }
+        }
+        if (out == null)
+            initialise(data.keySet());
+        for (int c = 0; c < columns.length; c++)
+            block[c][rows] = data.get(columns[c]);
+        rows++;
+        if (rows == BLOCK_SIZE)
+            writeBlock();
+    }
+
+    private void writeBlock() {
+        try {
+            out.writeInt(rows);
+            for (Object[] column : block) {
+                byte type = typeOf(column, rows);
+                out.writeByte(type);
+                for (int r = 0; r < rows; r++) {
+                    switch (type) {
+                        case LONG -> out.writeLong(((Number) column[r]).longValue());
+                        case DOUBLE -> out.writeDouble(((Number) column[r]).doubleValue());
+                        default -> out.writeUTF(column[r] == null ? "NA" : column[r].toString());
+                    }
+                    column[r] = null;
+                }
+            }
+        } catch (IOException e) {
+            throw new AssertionError("Problem writing to file " + fileName + " : " + e.getMessage());
+        }
+        rows = 0;
+    }
+
+    private static byte typeOf(Object[] column, int rows) {
+        byte retValue = LONG;
+        for (int r = 0; r < rows; r++) {
+            Object datum = column[r];
+            if (datum instanceof Integer || datum instanceof Long || datum instanceof Short || datum instanceof Byte)
+                continue;
+            if (datum instanceof Number)
+                retValue = DOUBLE;
+            else
+                return STRING;
+        }
+        return retValue;
+    }
+
+    @Override
+    public void record(String key, Object datum) {
+        // only record(Map) is supported, as for FileStatsLogger
+    }
+
+    /**
+     * Writes any buffered rows, and closes the file
+     */
+    @Override
+    public void processDataAndFinish() {
+        if (out == null) return;
+        try {
+            if (rows > 0)
+                writeBlock();
+            out.writeInt(0);
+            out.close();
+        } catch (IOException e) {
+            throw new AssertionError("Problem closing file " + fileName + " : " + e.getMessage());
+        }
+        out = null;
+    }
+
+    /**
+     * Rows are written in blocks, so this does nothing
+     */
+    @Override
+    public void processDataAndNotFinish() {
+    }
+
+    @Override
+    public Map<String, TAGStatSummary> summary() {
+        return new HashMap<>();
+    }
+
+    @Override
+    public ColumnarStatsLogger emptyCopy(String id) {
+        String[] fileParts = fileName.split(Pattern.quote("."));
+        if (fileParts.length != 2)
+            throw new AssertionError("Filename does not conform to expected <stem>.<type>");
+        return new ColumnarStatsLogger(fileParts[0] + "_" + id + "." + fileParts[1], compress);
+    }
+
+    /**
+     * The columnar equivalent of Utils.writeDataWithHeader(). Any String that is a number is written as one, so
+     * that data which has been through a text file is still stored (and loaded) as numeric columns.
+     */
+    public static void writeDataWithHeader(List<String> names, List<List<Object>> rows, String outputFile) {
+        ColumnarStatsLogger logger = new ColumnarStatsLogger(outputFile);
+        logger.initialise(names);  // so that the file has a header even with no rows
+        for (List<Object> row : rows) {
+            Map<String, Object> data = new LinkedHashMap<>();
+            for (int i = 0; i < names.size(); i++)
+                data.put(names.get(i), asNumberIfPossible(row.get(i)));
+            logger.record(data);
+        }
+        logger.processDataAndFinish();
+    }
+
+    private static Object asNumberIfPossible(Object datum) {
+        if (datum instanceof String s && !s.isEmpty() && (Character.isDigit(s.charAt(0)) || s.charAt(0) == '-' || s.charAt(0) == '.')) {
+            try {
+                return s.indexOf('.') < 0 && s.indexOf('e') < 0 && s.indexOf('E') < 0 ? (Object) Long.parseLong(s) : (Object) Double.parseDouble(s);
+            } catch (NumberFormatException e) {
+                return datum;
+            }
+        }
+        return datum;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public boolean isCompressed() {
+        return compress;
+    }
+}
@@ -17,6 +17,8 @@ import static utilities.Utils.createDirectory;
 public class TournamentMetric extends AbstractMetric {
     // Data logger, wrapper around a library that logs data into a table
     private final Map<Set<AbstractPlayer>, IDataLogger> dataLoggers = new HashMap<>();
+    // The logger of the matchup each Game is currently playing (there is more than one Game in a parallel tournament)
+    private final Map<Game, IDataLogger> gameLoggers = new IdentityHashMap<>();
 
     AbstractMetric wrappedMetric;
 
@@ -36,6 +38,10 @@ public class TournamentMetric extends AbstractMetric {
      * might want to listen to events for internal saving of information, but not actually record it in the data table.
      */
     protected boolean _run(MetricsGameListener listener, Event e, Map<String, Object> records) {
+        // this is called before anything is recorded, so we can switch to the logger of the Game that raised the event
+        IDataLogger gameLogger = gameLoggers.get(listener.getGame());
+        if (gameLogger != null)
+            dataLogger = gameLogger;
         return wrappedMetric._run(listener, e, records);
     }
 
@@ -67,26 +73,21 @@ public class TournamentMetric extends AbstractMetric {
         return wrappedMetric.getColumns(nPlayersPerGame, playerNames);
     }
 
+    /**
+     * Called once per game, before it starts, with the matchup the Game is about to play. Data from the events of
+     * that Game then go to the logger for the matchup.
+     */
     public void tournamentInit(Game game, int nPlayers, Set<String> playerNames, Set<AbstractPlayer> matchup) {
-        // Create a data logger for this matchup
+        // Find (or create) the data logger for this matchup
         // TODO this counts same matchup if same type of players are in, regardless of order
         // If order matters (E.G. to see first player advantage), then this should be adjusted
-        Set<AbstractPlayer> matchupSet = new HashSet<>(matchup);
-        IDataLogger loggerRecorded = null;
-        for (Set<AbstractPlayer> key : dataLoggers.keySet()) {
-            if (new HashSet<>(key).containsAll(matchup) && matchupSet.containsAll(key)) {
-                loggerRecorded = dataLoggers.get(key);
-                break;
-            }
-        }
-        if (loggerRecorded != null) {
-            setDataLogger(loggerRecorded);
-        } else {
-            IDataLogger logger = dataLogger.create();
-            dataLoggers.put(matchup, logger);
-            logger.init(game, nPlayers, playerNames);
-            setDataLogger(logger);
-        }
+        IDataLogger logger = dataLoggers.computeIfAbsent(new HashSet<>(matchup), key -> {
+            IDataLogger newLogger = dataLogger.create();
+            newLogger.init(game, nPlayers, playerNames);
+            return newLogger;
+        });
+        gameLoggers.put(game, logger);
+        setDataLogger(logger);
     }
 
     /**
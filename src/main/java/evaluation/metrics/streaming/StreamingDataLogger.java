@@ -0,0 +1,247 @@
+package evaluation.metrics.streaming;
+
+import core.Game;
+import evaluation.metrics.AbstractMetric;
+import evaluation.metrics.Event;
+import evaluation.metrics.IDataLogger;
+import evaluation.metrics.IDataProcessor;
+import evaluation.summarisers.TAGStreamingStatSummary;
+
+import java.util.*;
+
+/**
+ * A data logger that summarises each column as the data arrives, rather than keeping every row (as DataTableSaw
+ * does), so that memory use does not grow with the number of games played.
+ * <p>
+ * Numeric (Integer and Double) columns keep a TAGStreamingStatSummary. Other columns keep the number of times
+ * each value has occurred, overall and - for metrics that record more than once per game - the statistics over
+ * games of the count per game of each value (as TableSawDataProcessor summarises the progression of categorical
+ * data through a game).
+ * <p>
+ * Rows from different games may be interleaved (as they are when games are run in parallel), so the counts are kept
+ * for each game separately, and a game is only summarised when its GAME_OVER row has been recorded, or (for metrics
+ * that do not record GAME_OVER) when the per-game statistics are asked for.
+ * <p>
+ * Raw rows are only kept if keepRawData is true, and are then released each time they are written out.
+ * Plots are not supported, as they need the raw data.
+ */
+public class StreamingDataLogger implements IDataLogger {
+
+    final AbstractMetric metric;
+    final boolean keepRawData;
+
+    // Column name to type, in the order the columns were added
+    final Map<String, Class<?>> columns = new LinkedHashMap<>();
+    final Map<String, TAGStreamingStatSummary> numeric = new HashMap<>();
+    final Map<String, Map<String, Long>> occurrences = new HashMap<>();
+
+    // Counts of each category in each game not yet summarised (GameID -> column -> category -> count), and the
+    // statistics of these over the games summarised
+    final Map<String, Map<String, Map<String, Integer>>> gameOccurrences = new LinkedHashMap<>();
+    final Map<String, Map<String, TAGStreamingStatSummary>> occurrencesPerGame = new HashMap<>();
+    String currentGameID;  // of the current row
+    boolean currentRowEndsGame;
+    int gamesSummarised;
+
+    // Rows are worked out from the order data is added: a row ends when a column it already has is added to again
+    final Set<String> currentRow = new HashSet<>();
+    int rows;
+    final List<Map<String, Object>> rawRows = new ArrayList<>();
+    boolean rawDataWritten;
+
+    public StreamingDataLogger(AbstractMetric metric, boolean keepRawData) {
+        this.metric = metric;
+        this.keepRawData = keepRawData;
+    }
+
+    public StreamingDataLogger(AbstractMetric metric) {
+        this(metric, false);
+    }
+
+    @Override
+    public void reset() {
+        columns.clear();
+        numeric.clear();
+        occurrences.clear();
+        gameOccurrences.clear();
+        occurrencesPerGame.clear();
+        currentGameID = null;
+        currentRowEndsGame = false;
+        gamesSummarised = 0;
+        currentRow.clear();
+        rows = 0;
+        rawRows.clear();
+        rawDataWritten = false;
+    }
+
+    @Override
+    public void init(Game game, int nPlayersPerGame, Set<String> playerNames) {
+        for (Map.Entry<String, Class<?>> entry : metric.getDefaultColumns().entrySet())
+            columns.putIfAbsent(entry.getKey(), entry.getValue());
+        for (Map.Entry<String, Class<?>> entry : metric.getColumns(nPlayersPerGame, playerNames).entrySet()) {
+            if (!columns.containsKey(entry.getKey())) {
+                columns.put(entry.getKey(), entry.getValue());
+                // Keep the name of the column
+                metric.addColumnName(entry.getKey());
+            }
+        }
+    }
+
+    @Override
+    public void addData(String columnName, Object data) {
+        Class<?> type = columns.get(columnName);
+        if (type == null)
+            throw new IllegalArgumentException("Column " + columnName + " was not declared by " + metric.getName());
+        if (!currentRow.add(columnName)) {
+            currentRow.clear();
+            currentRow.add(columnName);
+        }
+        if (currentRow.size() == 1) {
+            // the last row is complete, so if it was the end of its game then the game can be summarised
+            if (currentRowEndsGame)
+                summariseGame(currentGameID);
+            currentRowEndsGame = false;
+            rows++;
+            if (keepRawData)
+                rawRows.add(new LinkedHashMap<>());
+        }
+        if (keepRawData)
+            rawRows.get(rawRows.size() - 1).put(columnName, data);
+
+        if (columnName.equals("GameID") && data != null)
+            currentGameID = data.toString();
+        if (columnName.equals("Event") && Event.GameEvent.GAME_OVER.name().equals(data))
+            currentRowEndsGame = true;
+        // only the metric's own columns are summarised (the default ones, such as GameID, would grow with every game)
+        if (data == null || !metric.getColumnNames().contains(columnName))
+            return;
+        if (type == Integer.class || type == Double.class) {
+            numeric.computeIfAbsent(columnName, TAGStreamingStatSummary::new).add((Number) data);
+        } else {
+            String value = data.toString();
+            occurrences.computeIfAbsent(columnName, k -> new HashMap<>()).merge(value, 1L, Long::sum);
+            gameOccurrences.computeIfAbsent(String.valueOf(currentGameID), k -> new HashMap<>())
+                    .computeIfAbsent(columnName, k -> new HashMap<>()).merge(value, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Adds the counts of each category in the game to the per-game statistics, and forgets them. A category that has
+     * not been seen before is given a count of zero for all the games already summarised.
+     */
+    void summariseGame(String gameID) {
+        if (gameID == null)
+            return;
+        Map<String, Map<String, Integer>> game = gameOccurrences.remove(gameID);
+        if (game == null)
+            game = Collections.emptyMap();
+        for (String column : metric.getColumnNames()) {
+            Map<String, Integer> counts = game.getOrDefault(column, Collections.emptyMap());
+            Map<String, TAGStreamingStatSummary> stats = occurrencesPerGame.computeIfAbsent(column, k -> new HashMap<>());
+            for (String category : counts.keySet()) {
+                if (!stats.containsKey(category)) {
+                    TAGStreamingStatSummary ss = new TAGStreamingStatSummary(category);
+                    for (int g = 0; g < gamesSummarised; g++)
+                        ss.add(0);
+                    stats.put(category, ss);
+                }
+            }
+            for (Map.Entry<String, TAGStreamingStatSummary> entry : stats.entrySet())
+                entry.getValue().add(counts.getOrDefault(entry.getKey(), 0));
+        }
+        gamesSummarised++;
+    }
+
+    // Summarises every game that has not been, whether or not it has ended
+    void summariseAllGames() {
+        if (currentRowEndsGame) {
+            summariseGame(currentGameID);
+            currentRowEndsGame = false;
+        }
+        for (String gameID : new ArrayList<>(gameOccurrences.keySet()))
+            summariseGame(gameID);
+    }
+
+    /**
+     * @return the number of rows recorded (whether or not they are kept)
+     */
+    public int rows() {
+        return rows;
+    }
+
+    public Map<String, Class<?>> getColumns() {
+        return columns;
+    }
+
+    public TAGStreamingStatSummary getNumericSummary(String column) {
+        return numeric.get(column);
+    }
+
+    public Map<String, Long> getOccurrences(String column) {
+        return occurrences.getOrDefault(column, Collections.emptyMap());
+    }
+
+    /**
+     * The statistics over games of the number of times each value occurred in a game. Any game in progress is
+     * counted as complete.
+     */
+    public Map<String, TAGStreamingStatSummary> getOccurrencesPerGame(String column) {
+        summariseAllGames();
+        return occurrencesPerGame.getOrDefault(column, Collections.emptyMap());
+    }
+
+    public AbstractMetric getMetric() {
+        return metric;
+    }
+
+    @Override
+    public IDataProcessor getDefaultProcessor() {
+        return new StreamingDataProcessor();
+    }
+
+    /**
+     * Releases the raw rows; the summaries are kept
+     */
+    @Override
+    public void flush() {
+        rawRows.clear();
+    }
+
+    @Override
+    public IDataLogger copy() {
+        StreamingDataLogger logger = new StreamingDataLogger(metric, keepRawData);
+        logger.columns.putAll(columns);
+        numeric.forEach((k, v) -> logger.numeric.put(k, v.copy()));
+        occurrences.forEach((k, v) -> logger.occurrences.put(k, new HashMap<>(v)));
+        gameOccurrences.forEach((id, game) -> {
+            Map<String, Map<String, Integer>> counts = new HashMap<>();
+            game.forEach((k, v) -> counts.put(k, new HashMap<>(v)));
+            logger.gameOccurrences.put(id, counts);
+        });
+        occurrencesPerGame.forEach((k, v) -> {
+            Map<String, TAGStreamingStatSummary> stats = new HashMap<>();
+            v.forEach((c, ss) -> stats.put(c, ss.copy()));
+            logger.occurrencesPerGame.put(k, stats);
+        });
+        logger.currentGameID = currentGameID;
+        logger.currentRowEndsGame = currentRowEndsGame;
+        logger.gamesSummarised = gamesSummarised;
+        logger.currentRow.addAll(currentRow);
+        logger.rows = rows;
+        rawRows.forEach(r -> logger.rawRows.add(new LinkedHashMap<>(r)));
+        logger.rawDataWritten = rawDataWritten;
+        return logger;
+    }
+
+    @Override
+    public IDataLogger emptyCopy() {
+        StreamingDataLogger logger = new StreamingDataLogger(metric, keepRawData);
+        logger.columns.putAll(columns);
+        return logger;
+    }
+
+    @Override
+    public IDataLogger create() {
+        return new StreamingDataLogger(metric, keepRawData);
+    }
+}
@@ -0,0 +1,153 @@
+package evaluation.metrics.streaming;
+
+import evaluation.metrics.IDataLogger;
+import evaluation.metrics.IDataProcessor;
+import evaluation.summarisers.TAGStreamingStatSummary;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.*;
+
+import static utilities.Utils.createDirectory;
+
+/**
+ * Reports the data held by a StreamingDataLogger. The summary files mirror those of TableSawDataProcessor (one csv per
+ * column of the metric, in summaries/metricName/), but are produced from the running summaries.
+ */
+public class StreamingDataProcessor implements IDataProcessor {
+
+    @Override
+    public void processRawDataToConsole(IDataLogger logger) {
+        StreamingDataLogger sdl = (StreamingDataLogger) logger;
+        if (!sdl.keepRawData) {
+            System.out.println("Raw data is not kept for " + sdl.metric.getName());
+            return;
+        }
+        System.out.println();
+        System.out.println(String.join("\t", sdl.columns.keySet()));
+        for (Map<String, Object> row : sdl.rawRows)
+            System.out.println(String.join("\t", rowValues(sdl, row)));
+    }
+
+    /**
+     * Appends the raw rows kept since the last write to metricName.csv, and then releases them
+     */
+    @Override
+    public void processRawDataToFile(IDataLogger logger, String folderName, boolean append) {
+        StreamingDataLogger sdl = (StreamingDataLogger) logger;
+        if (!sdl.keepRawData) {
+            System.out.println("Raw data is not kept for " + sdl.metric.getName());
+            return;
+        }
+        File file = new File(folderName + "/" + sdl.metric.getName() + ".csv");
+        boolean appending = (append || sdl.rawDataWritten) && file.exists();
+        try (PrintWriter writer = new PrintWriter(new FileWriter(file, appending))) {
+            if (!appending)
+                writer.println(csvLine(sdl.columns.keySet()));
+            for (Map<String, Object> row : sdl.rawRows)
+                writer.println(csvLine(rowValues(sdl, row)));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        sdl.rawDataWritten = true;
+        sdl.flush();
+    }
+
+    private static List<String> rowValues(StreamingDataLogger sdl, Map<String, Object> row) {
+        List<String> values = new ArrayList<>();
+        for (String column : sdl.columns.keySet()) {
+            Object o = row.get(column);
+            values.add(o == null ? "" : o.toString());
+        }
+        return values;
+    }
+
+    private static String csvLine(Collection<String> values) {
+        StringBuilder sb = new StringBuilder();
+        for (String value : values) {
+            if (sb.length() > 0) sb.append(",");
+            if (value.contains(",") || value.contains("\"") || value.contains("\n"))
+                sb.append("\"").append(value.replace("\"", "\"\"")).append("\"");
+            else
+                sb.append(value);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @return a table (header first) for each of the metric's columns that has data, keyed on the column name
+     */
+    protected Map<String, List<List<String>>> summariseData(StreamingDataLogger sdl) {
+        // as in TableSawDataProcessor, categorical data is summarised per game if the metric records more than once per game
+        boolean progression = sdl.metric.getGamesCompleted() < sdl.rows();
+        Map<String, List<List<String>>> summaries = new LinkedHashMap<>();
+        for (String column : sdl.columns.keySet()) {
+            if (!sdl.metric.getColumnNames().contains(column))
+                continue;
+            List<List<String>> table = new ArrayList<>();
+            TAGStreamingStatSummary ss = sdl.getNumericSummary(column);
+            if (ss != null) {
+                table.add(List.of("Measure", "Value"));
+                for (Map.Entry<String, Object> entry : ss.getSummary().entrySet())
+                    table.add(List.of(entry.getKey(), String.valueOf(entry.getValue())));
+            } else if (progression) {
+                Map<String, TAGStreamingStatSummary> perGame = sdl.getOccurrencesPerGame(column);
+                if (perGame.isEmpty()) continue;
+                table.add(List.of("Category", "Games", "Mean", "Std. Dev", "Min", "Median", "Max"));
+                perGame.entrySet().stream()
+                        .sorted(Comparator.comparingDouble((Map.Entry<String, TAGStreamingStatSummary> e) -> e.getValue().mean()).reversed())
+                        .forEach(e -> table.add(List.of(e.getKey(), String.valueOf(e.getValue().n()),
+                                String.valueOf(e.getValue().mean()), String.valueOf(e.getValue().sd()),
+                                String.valueOf(e.getValue().min()), String.valueOf(e.getValue().median()),
+                                String.valueOf(e.getValue().max()))));
+            } else {
+                Map<String, Long> counts = sdl.getOccurrences(column);
+                if (counts.isEmpty()) continue;
+                table.add(List.of("Category", "Count"));
+                counts.entrySet().stream()
+                        .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                        .forEach(e -> table.add(List.of(e.getKey(), String.valueOf(e.getValue()))));
+            }
+            summaries.put(column, table);
+        }
+        return summaries;
+    }
+
+    @Override
+    public void processSummaryToConsole(IDataLogger logger) {
+        StreamingDataLogger sdl = (StreamingDataLogger) logger;
+        for (Map.Entry<String, List<List<String>>> summary : summariseData(sdl).entrySet()) {
+            System.out.println();
+            System.out.println(sdl.metric.getName() + "_" + summary.getKey());
+            for (List<String> row : summary.getValue())
+                System.out.println(String.join("\t", row));
+        }
+    }
+
+    @Override
+    public void processSummaryToFile(IDataLogger logger, String folderName) {
+        StreamingDataLogger sdl = (StreamingDataLogger) logger;
+        String folder = createDirectory(folderName + "/summaries/" + sdl.metric.getName());
+        for (Map.Entry<String, List<List<String>>> summary : summariseData(sdl).entrySet()) {
+            String fileName = folder + sdl.metric.getName() + "_" + summary.getKey() + ".csv";
+            try (PrintWriter writer = new PrintWriter(new FileWriter(fileName))) {
+                for (List<String> row : summary.getValue())
+                    writer.println(csvLine(row));
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    @Override
+    public void processPlotToConsole(IDataLogger logger) {
+        System.out.println("Plot report to console not implemented yet");
+    }
+
+    @Override
+    public void processPlotToFile(IDataLogger logger, String folderName) {
+        System.out.println("Plots need the raw data, so are not available for " + ((StreamingDataLogger) logger).metric.getName());
+    }
+}
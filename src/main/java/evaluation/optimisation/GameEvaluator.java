@@ -74,6 +74,15 @@ public class GameEvaluator implements SolutionEvaluator {
             throw new AssertionError("Insufficient Opponents to avoid duplicates");
     }
 
+    @Override
+    public GameEvaluator copy(long seed) {
+        GameEvaluator retValue = new GameEvaluator(game, params, nPlayers, opponents, stateHeuristic, gameHeuristic, avoidOppDupes);
+        retValue.rnd = new Random(seed);
+        retValue.debug = debug;
+        retValue.listeners = new ArrayList<>(listeners);
+        return retValue;
+    }
+
     @Override
     public void reset() {
         nEvals = 0;
@@ -90,35 +99,50 @@ public class GameEvaluator implements SolutionEvaluator {
      */
     @Override
     public double evaluate(int[] settings) {
-        if (debug)
-            System.out.printf("Starting evaluation %d of %s at %tT%n", nEvals,
-                    Arrays.toString(settings), System.currentTimeMillis());
-        Object configuredThing = searchSpace.instantiate(settings);
-        boolean tuningPlayer = configuredThing instanceof AbstractPlayer;
-        boolean tuningGame = configuredThing instanceof Game;
-
-        Game newGame = tuningGame ? (Game) configuredThing : game.createGameInstance(nPlayers, gameParams);
-        // we assign one player to each team (the default for a game is each player being their own team of 1)
-        int nTeams = newGame.getGameState().getNTeams();
-
-        // We can reduce variance here by cycling the teamIndex on each iteration
-        // If we're not tuning the player, then setting index to -99 means we just use the provided opponents list
-        // in setupPlayers()
-        int teamIndex = tuningPlayer ? nEvals % nTeams : -99;
-
-        // We generally one game per evaluation, unless we are in 'Stable' mode,
-        // in which case we reduce variance by running one game for each position the tuned agent can be in
-        if (params.mode == StableNTBEA && !tuningPlayer)
-            throw new AssertionError("StableNTBEA mode requires tuning of player");
-        int gamesToRun = params.mode == StableNTBEA ? nTeams : 1;
-        long seed = rnd.nextLong();
+        Game newGame;
+        int nTeams, teamIndex, gamesToRun;
+        long seed;
+        boolean tuningPlayer, tuningGame;
+        List<List<AbstractPlayer>> playersPerGame = new ArrayList<>();
+        // Everything that uses shared state (the evaluation count, random number generator and search space) is done
+        // while holding the lock. The games themselves are then run without it, so that several threads can
+        // evaluate settings at the same time (see BatchEvaluator)
+        synchronized (this) {
+            if (debug)
+                System.out.printf("Starting evaluation %d of %s at %tT%n", nEvals,
+                        Arrays.toString(settings), System.currentTimeMillis());
+            Object configuredThing = searchSpace.instantiate(settings);
+            tuningPlayer = configuredThing instanceof AbstractPlayer;
+            tuningGame = configuredThing instanceof Game;
+
+            newGame = tuningGame ? (Game) configuredThing : game.createGameInstance(nPlayers, gameParams);
+            // we assign one player to each team (the default for a game is each player being their own team of 1)
+            nTeams = newGame.getGameState().getNTeams();
+
+            // We can reduce variance here by cycling the teamIndex on each iteration
+            // If we're not tuning the player, then setting index to -99 means we just use the provided opponents list
+            // in setupPlayers()
+            teamIndex = tuningPlayer ? nEvals % nTeams : -99;
+
+            // We generally one game per evaluation, unless we are in 'Stable' mode,
+            // in which case we reduce variance by running one game for each position the tuned agent can be in
+            if (params.mode == StableNTBEA && !tuningPlayer)
+                throw new AssertionError("StableNTBEA mode requires tuning of player");
+            gamesToRun = params.mode == StableNTBEA ? nTeams : 1;
+            seed = rnd.nextLong();
+            for (int loop = 0; loop < gamesToRun; loop++) {
+                int thisTeamIndex = teamIndex == -99 ? -99 : (teamIndex + loop) % nTeams;
+                playersPerGame.add(setupPlayers(thisTeamIndex, nTeams, settings));
+            }
+            nEvals++;
+        }
+
         double retValue = 0.0;
         for (int loop = 0; loop < gamesToRun; loop++) {
             int thisTeamIndex = teamIndex == -99 ? -99 : (teamIndex + loop) % nTeams;
-            List<AbstractPlayer> allPlayers = setupPlayers(thisTeamIndex, nTeams, settings);
 
             // always reset the random seed for each new game
-            newGame.reset(allPlayers, seed);
+            newGame.reset(playersPerGame.get(loop), seed);
             newGame.run();
 
             int playerOnTeam = -1;
@@ -131,8 +155,6 @@ public class GameEvaluator implements SolutionEvaluator {
                 throw new AssertionError("No Player found on team " + thisTeamIndex);
             retValue += (tuningGame ? gameHeuristic.evaluateGame(newGame) : stateHeuristic.evaluateState(newGame.getGameState(), playerOnTeam)) / gamesToRun;
         }
-
-        nEvals++;
         return retValue;
     }
 
@@ -141,7 +163,7 @@ public class GameEvaluator implements SolutionEvaluator {
         // create a random permutation of opponents - this is used if we want to avoid opponent duplicates
         // if we allow duplicates, then we randomise them all independently
         List<Integer> opponentOrdering = IntStream.range(0, opponents.size()).boxed().collect(toList());
-        Collections.shuffle(opponentOrdering);
+        Collections.shuffle(opponentOrdering, rnd);
         int count = 0;
         for (int i = 0; i < nTeams; i++) {
             if (params.mode != CoopNTBEA && i != teamIndex) {
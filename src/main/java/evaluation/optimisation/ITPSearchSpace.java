@@ -153,7 +153,7 @@ public class ITPSearchSpace<T> extends AgentSearchSpace<T> {
     }
 
     @Override
-    public T instantiate(int[] settings) {
+    public synchronized T instantiate(int[] settings) {
         // we first need to update itp with the specified parameters, and then instantiate
         setTo(settings);
         return itp.instantiate();
@@ -249,7 +249,7 @@ public class ITPSearchSpace<T> extends AgentSearchSpace<T> {
     }
 
 
-    public JSONObject constructAgentJSON(int[] settings) {
+    public synchronized JSONObject constructAgentJSON(int[] settings) {
         // we first need to update itp with the specified parameters, and then instantiate
         setTo(settings);
         Map<String, Integer> settingsMap = IntStream.range(0, settings.length).boxed().collect(toMap(this::name, i -> settings[i]));
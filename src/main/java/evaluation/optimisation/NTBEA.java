@@ -23,6 +23,7 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.Callable;
 import java.util.function.IntToDoubleFunction;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -34,8 +35,7 @@ import static java.util.stream.Collectors.joining;
 public class NTBEA {
 
     NTBEAParameters params;
-    NTupleSystem landscapeModel;
-    NTupleBanditEA searchFramework;
+    BatchEvaluator batchEvaluator;
     List<Object> winnersPerRun = new ArrayList<>();
     List<int[]> winnerSettings = new ArrayList<>();
     List<int[]> elites = new ArrayList<>();
@@ -51,8 +51,7 @@ public class NTBEA {
 
     protected NTBEA(NTBEAParameters parameters) {
         this.params = parameters;
-        landscapeModel = new NTupleSystem(params);
-        searchFramework = new NTupleBanditEA(landscapeModel, params);
+        batchEvaluator = new BatchEvaluator(params.nThreads);
     }
 
     public NTBEA(NTBEAParameters parameters, NTBEAFunction function, int discretisationLevel) {
@@ -60,7 +59,7 @@ public class NTBEA {
         this.function = function;
         this.discretisationLevel = discretisationLevel;
 
-        evaluator = new FunctionEvaluator(function, landscapeModel.getSearchSpace());
+        evaluator = new FunctionEvaluator(function, params.searchSpace);
     }
 
     public NTBEA(NTBEAParameters parameters, GameType game, int nPlayers) {
@@ -158,17 +157,24 @@ public class NTBEA {
      */
     public Pair<Object, int[]> run() {
 
+        // Check for existence of the output file for each iteration. If it already exists, then we
+        // load the file, convert it to add to winnerSettings, and skip this iteration.
+        // The other iterations are independent of each other, so are all run first (at the same time if we have
+        // several threads), and then recorded in order
+        List<Integer> iterationsToRun = IntStream.range(0, params.repeats)
+                .filter(i -> !(new File(iterationFilename(i)).exists() && params.searchSpace instanceof ITPSearchSpace<?>))
+                .boxed().collect(Collectors.toList());
+        Map<Integer, RunResult> results = runIterations(iterationsToRun);
         for (currentIteration = 0; currentIteration < params.repeats; currentIteration++) {
-            // Check for existence of the output file. If it already exists, then we
-            // load the file, convert it to add to winnerSettings. Then skip this iteration
-            String iterationFilename = params.destDir + File.separator + "Recommended_" + currentIteration + ".json";
-            if ((new File(iterationFilename)).exists() && params.searchSpace instanceof ITPSearchSpace<?> itp) {
+            String iterationFilename = iterationFilename(currentIteration);
+            RunResult result = results.get(currentIteration);
+            if (result == null && params.searchSpace instanceof ITPSearchSpace<?> itp) {
                 int[] settings = itp.settingsFromJSON(iterationFilename);
                 winnerSettings.add(settings);
                 winnersPerRun.add(itp.instantiate(settings));
                 System.out.println("NTBEA for iteration " + currentIteration + " has already completed - skipping");
             } else {
-                runIteration();
+                recordIteration(result);
                 if (params.searchSpace instanceof ITPSearchSpace<?> itp) {
                     itp.writeAgentJSON(winnerSettings.get(winnerSettings.size() - 1), iterationFilename);
                 }
@@ -328,31 +334,72 @@ public class NTBEA {
         return f.exists();
     }
 
-    protected void runTrials() {
-        evaluator.reset();
-        searchFramework.runTrial(evaluator, params.iterationsPerRun);
+    private String iterationFilename(int iteration) {
+        return params.destDir + File.separator + "Recommended_" + iteration + ".json";
     }
 
-    protected void runIteration() {
-        landscapeModel.reset();
+    /**
+     * The outcome of one NTBEA iteration: the landscape model it built, and the best settings sampled, with their score
+     */
+    protected record RunResult(NTupleSystem landscapeModel, int[] settings, Pair<Double, Double> score) {
+    }
 
-        runTrials();
+    /**
+     * Runs each of the iterations. With more than one thread and more than one iteration, the iterations are run at
+     * the same time, and each then evaluates its settings in turn on its own thread.
+     *
+     * @return the result of each iteration
+     */
+    protected Map<Integer, RunResult> runIterations(List<Integer> iterations) {
+        Map<Integer, RunResult> retValue = new HashMap<>();
+        if (batchEvaluator.getNThreads() > 1 && iterations.size() > 1) {
+            BatchEvaluator singleThread = new BatchEvaluator(1);
+            List<Callable<RunResult>> tasks = iterations.stream()
+                    .map(i -> (Callable<RunResult>) () -> runIteration(i, singleThread))
+                    .collect(Collectors.toList());
+            List<RunResult> results = batchEvaluator.run(tasks);
+            for (int i = 0; i < iterations.size(); i++)
+                retValue.put(iterations.get(i), results.get(i));
+        } else {
+            for (int iteration : iterations)
+                retValue.put(iteration, runIteration(iteration, batchEvaluator));
+        }
+        return retValue;
+    }
 
-        if (params.verbose)
-            landscapeModel.logResults(params);
+    /**
+     * Each iteration has its own landscape model, search and evaluator, with random seeds taken from the main seed
+     * and the number of the iteration. The result of an iteration therefore does not depend on any other
+     * iterations being run at the same time.
+     */
+    protected RunResult runIteration(int iteration, BatchEvaluator iterationBatchEvaluator) {
+        Random seeds = new Random(params.seed + (long) iteration);
+        NTupleSystem landscapeModel = new NTupleSystem(params);
+        NTupleBanditEA searchFramework = new NTupleBanditEA(landscapeModel, params, iterationBatchEvaluator);
+        searchFramework.setRandom(new Random(seeds.nextLong()));
+        SolutionEvaluator iterationEvaluator = evaluator.copy(seeds.nextLong());
+        iterationEvaluator.reset();
+        searchFramework.runTrial(iterationEvaluator, params.iterationsPerRun);
 
         int[] thisWinnerSettings = landscapeModel.getBestSampled();
 
         // now run the evaluation games on the final recommendation (if any...if not we report the NTBEA landscape estimate)
         Pair<Double, Double> scoreOfBestAgent = params.evalGames == 0
-                ? new Pair<>(landscapeModel.getMeanEstimate(landscapeModel.getBestSampled()), 0.0)
-                : evaluateWinner(thisWinnerSettings);
+                ? new Pair<>(landscapeModel.getMeanEstimate(thisWinnerSettings), 0.0)
+                : evaluateWinner(thisWinnerSettings, iterationEvaluator, iterationBatchEvaluator);
+        return new RunResult(landscapeModel, thisWinnerSettings, scoreOfBestAgent);
+    }
+
+    protected void recordIteration(RunResult result) {
+        if (params.verbose)
+            result.landscapeModel().logResults(params);
 
+        int[] thisWinnerSettings = result.settings();
         if (params.searchSpace instanceof ITPSearchSpace<?> itp) {
             winnersPerRun.add(itp.instantiate(thisWinnerSettings));
         }
         winnerSettings.add(thisWinnerSettings);
-        Pair<Pair<Double, Double>, int[]> resultToReport = new Pair<>(scoreOfBestAgent, thisWinnerSettings);
+        Pair<Pair<Double, Double>, int[]> resultToReport = new Pair<>(result.score(), thisWinnerSettings);
         if (params.verbose)
             printDetailsOfRun(resultToReport);
         if (!params.logFile.isEmpty()) {
@@ -369,10 +416,9 @@ public class NTBEA {
         return retValue;
     }
 
-    protected Pair<Double, Double> evaluateWinner(int[] winnerSettings) {
+    protected Pair<Double, Double> evaluateWinner(int[] winnerSettings, SolutionEvaluator evaluator, BatchEvaluator batchEvaluator) {
 
-        double[] results = IntStream.range(0, params.evalGames)
-                .mapToDouble(answer -> evaluator.evaluate(winnerSettings)).toArray();
+        double[] results = batchEvaluator.evaluate(evaluator, Collections.nCopies(params.evalGames, winnerSettings));
         Arrays.sort(results);
         double avg = Arrays.stream(results).average().orElse(0.0);
         double stdErr = Math.sqrt(Arrays.stream(results).map(d -> Math.pow(d - avg, 2.0)).sum()) / (params.evalGames - 1.0);
@@ -59,6 +59,7 @@ public class NTBEAParameters extends TunableParameters<NTBEA> {
     public boolean byTeam = false;
     public GameType gameType;
     public int nPlayers;
+    public int nThreads = 1;
 
     public NTBEAParameters() {
         addTunableParameter("iterations", 1000);
@@ -146,6 +147,7 @@ public class NTBEAParameters extends TunableParameters<NTBEA> {
         byTeam = (boolean) args.get(RunArg.byTeam);
         gameType = GameType.valueOf(args.get(RunArg.game).toString());
         nPlayers = (int) args.get(RunArg.nPlayers);
+        nThreads = (int) args.get(RunArg.nThreads);
         gameParams = args.get(RunArg.gameParams).equals("") ? null :
                 AbstractParameters.createFromFile(gameType, (String) args.get(RunArg.gameParams));
 
@@ -230,6 +232,7 @@ public class NTBEAParameters extends TunableParameters<NTBEA> {
         ntp.destDir = destDir;
         ntp.gameType = gameType;
         ntp.nPlayers = nPlayers;
+        ntp.nThreads = nThreads;
         ntp.logFile = logFile;
         return ntp;
     }
@@ -0,0 +1,88 @@
+package evaluation.optimisation.ntbea;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Evaluates a batch of settings with a SolutionEvaluator, spreading the evaluations over a pool of threads.
+ * The same pool is also used by NTBEA to make several independent runs at once.
+ * <p>
+ * The SolutionEvaluator must be safe to call from several threads at once (GameEvaluator, FunctionEvaluator and
+ * NTBEAEvaluator all are). The results are returned in the order of the batch, so that the caller can then add them
+ * to a LandscapeModel from a single thread, and in the same order whatever the number of threads.
+ */
+public class BatchEvaluator {
+
+    final int nThreads;
+    private ExecutorService executor;
+
+    public BatchEvaluator(int nThreads) {
+        this.nThreads = Math.max(nThreads, 1);
+    }
+
+    public int getNThreads() {
+        return nThreads;
+    }
+
+    /**
+     * @param evaluator The evaluator to use
+     * @param batch     The settings to evaluate. The same settings may appear more than once (each is evaluated separately)
+     * @return The fitness of each entry in the batch
+     */
+    public double[] evaluate(SolutionEvaluator evaluator, List<int[]> batch) {
+        List<Callable<Double>> tasks = new ArrayList<>(batch.size());
+        for (int[] settings : batch)
+            tasks.add(() -> evaluator.evaluate(settings));
+        List<Double> results = run(tasks);
+        double[] retValue = new double[batch.size()];
+        for (int i = 0; i < retValue.length; i++)
+            retValue[i] = results.get(i);
+        return retValue;
+    }
+
+    /**
+     * Runs the tasks on the pool of threads (or in turn on this thread if we only have one), and waits for them all.
+     * A task must not itself wait for other tasks run by this BatchEvaluator, as it would then hold one of the threads
+     * those tasks need.
+     *
+     * @return The result of each task, in the same order as the tasks
+     */
+    public <T> List<T> run(List<? extends Callable<T>> tasks) {
+        List<T> retValue = new ArrayList<>(tasks.size());
+        try {
+            if (nThreads == 1 || tasks.size() == 1) {
+                for (Callable<T> task : tasks)
+                    retValue.add(task.call());
+                return retValue;
+            }
+            if (executor == null) {
+                // daemon threads, so that an unfinished optimisation never keeps the JVM alive
+                executor = Executors.newFixedThreadPool(nThreads, r -> {
+                    Thread t = new Thread(r, "NTBEA-evaluator");
+                    t.setDaemon(true);
+                    return t;
+                });
+            }
+            List<Future<T>> results = new ArrayList<>(tasks.size());
+            for (Callable<T> task : tasks)
+                results.add(executor.submit(task));
+            for (Future<T> result : results)
+                retValue.add(result.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for NTBEA evaluations", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Error in NTBEA evaluation", e.getCause());
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Error in NTBEA evaluation", e);
+        }
+        return retValue;
+    }
+}
@@ -70,6 +70,12 @@ public class NTBEAEvaluator implements SolutionEvaluator {
         return fun.functionValue(f);
     }
 
+    @Override
+    public NTBEAEvaluator copy(long seed) {
+        // each evaluation is a complete NTBEA run of its own, so there is no state to copy
+        return this;
+    }
+
     @Override
     public SearchSpace searchSpace() {
         return searchSpace;
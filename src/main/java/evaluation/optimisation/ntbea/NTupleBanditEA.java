@@ -1,10 +1,10 @@
 package evaluation.optimisation.ntbea;
 
 import evaluation.optimisation.NTBEAParameters;
+import utilities.Pair;
 import utilities.StatSummary;
 
-import java.util.Arrays;
-import java.util.Random;
+import java.util.*;
 
 /**
  * Created by sml on 09/01/2017.
@@ -18,25 +18,51 @@ public class NTupleBanditEA {
     // they are only explored IN THE FITNESS LANDSCAPE MODEL, not by sampling the fitness function
     int nNeighbours;
     int nSamples = 1;
+    // With more than one thread, each trial evaluates a batch of the most promising points from the neighbourhood
+    final BatchEvaluator batchEvaluator;
 
     public NTupleBanditEA(LandscapeModel model, NTBEAParameters params) {
+        this(model, params, new BatchEvaluator(params.nThreads));
+    }
+
+    public NTupleBanditEA(LandscapeModel model, NTBEAParameters params, BatchEvaluator batchEvaluator) {
         landscapeModel = model;
         this.nNeighbours = params.neighbourhoodSize;
         this.nSamples = params.evaluationsPerTrial;
+        this.batchEvaluator = batchEvaluator;
     }
 
-    StatSummary fitness(SolutionEvaluator evaluator, int[] sol) {
-        StatSummary ss = new StatSummary();
-        for (int i = 0; i < nSamples; i++) {
-            double fitness = evaluator.evaluate(sol);
-            ss.add(fitness);
+    /**
+     * Evaluates each point in the batch nSamples times (concurrently if we have more than one thread)
+     *
+     * @return the mean fitness of each point
+     */
+    double[] fitness(SolutionEvaluator evaluator, List<int[]> batch) {
+        List<int[]> allSamples = new ArrayList<>(batch.size() * nSamples);
+        for (int[] sol : batch)
+            for (int i = 0; i < nSamples; i++)
+                allSamples.add(sol);
+        double[] results = batchEvaluator.evaluate(evaluator, allSamples);
+        double[] retValue = new double[batch.size()];
+        for (int b = 0; b < batch.size(); b++) {
+            StatSummary ss = new StatSummary();
+            for (int i = 0; i < nSamples; i++)
+                ss.add(results[b * nSamples + i]);
+            retValue[b] = ss.mean();
         }
-        return ss;
+        return retValue;
     }
 
     Random rnd = new Random();
     SolutionEvaluator evaluator;
 
+    /**
+     * Sets the random number generator used to pick the starting point and the neighbours in each trial.
+     */
+    public void setRandom(Random rnd) {
+        this.rnd = rnd;
+    }
+
     public void runTrial(SolutionEvaluator evaluator, int nEvals) {
         this.evaluator = evaluator;
         // set  up some convenient reference
@@ -48,26 +74,27 @@ public class NTupleBanditEA {
         // then each time around the loop try the following
         // create a neighbourhood set of points and pick the best one that combines its exploitation and evaluation scores
 
-        int[] p = SearchSpaceUtil.randomPoint(searchSpace);
-
-        for (int i = 0; i < nEvals; i++) {
-            // each time around the loop we make one fitness evaluation of p
-            // and add this NEW information to the memory
-            double fitness;
-            if (nSamples == 1) {
-                fitness = evaluator.evaluate(p);
-            } else {
-                fitness = fitness(evaluator, p).mean();
-            }
-
-            landscapeModel.addPoint(p, fitness);
+        int[] p = SearchSpaceUtil.randomPoint(searchSpace, rnd);
+        // one thread per evaluation, so with several samples per point we evaluate fewer points in each batch
+        int pointsPerBatch = Math.max(1, batchEvaluator.getNThreads() / nSamples);
+        List<int[]> batch = new ArrayList<>();
+        batch.add(p);
+
+        int evalsDone = 0;
+        while (evalsDone < nEvals) {
+            // each time around the loop we make one fitness evaluation of each point in the batch
+            // and add this NEW information to the memory. The model is only updated from this thread, once the
+            // whole batch has been evaluated, and in batch order
+            double[] fitness = fitness(evaluator, batch);
+            for (int b = 0; b < batch.size(); b++)
+                landscapeModel.addPoint(batch.get(b), fitness[b]);
+            evalsDone += batch.size();
 
             // and then explore the neighbourhood around p, balancing exploration and exploitation
             // we currently hardcode one mutation function to randomly change one setting at a time
 
             int nDims = searchSpace.nDims();
-            double bestSoFar = Double.NEGATIVE_INFINITY;
-            int[] settingToTryNext = new int[0];
+            List<Pair<int[], Double>> neighbours = new ArrayList<>(nNeighbours);
             for (int n = 0; n < nNeighbours; n++) {
                 int[] pp = Arrays.copyOf(p, p.length);
                 boolean mutation = false;
@@ -86,15 +113,24 @@ public class NTupleBanditEA {
                 }
 
                 double estimatedUpperBound = landscapeModel.getUpperBound(pp);
-                if (estimatedUpperBound > bestSoFar) {
-                    settingToTryNext = pp;
-                    bestSoFar = estimatedUpperBound;
-                }
+                if (estimatedUpperBound > Double.NEGATIVE_INFINITY)
+                    neighbours.add(new Pair<>(pp, estimatedUpperBound));
             }
 
-            if (settingToTryNext.length == 0)
-                settingToTryNext = p;
-            p = settingToTryNext;
+            // The next batch is the distinct neighbours with the highest upper bounds (the sort is stable, so
+            // ties go to the first sampled), and the best of these is the centre of the next neighbourhood
+            neighbours.sort(Comparator.comparingDouble(n -> -n.b));
+            int batchSize = Math.min(pointsPerBatch, nEvals - evalsDone);
+            batch = new ArrayList<>(batchSize);
+            for (Pair<int[], Double> neighbour : neighbours) {
+                if (batch.size() >= batchSize)
+                    break;
+                if (batch.stream().noneMatch(b -> Arrays.equals(b, neighbour.a)))
+                    batch.add(neighbour.a);
+            }
+            if (batch.isEmpty())
+                batch.add(p);
+            p = batch.get(0);
         }
     }
 }
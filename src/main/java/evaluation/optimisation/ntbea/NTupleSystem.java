@@ -61,7 +61,7 @@ public class NTupleSystem implements LandscapeModel {
     }
 
     @Override
-    public void reset() {
+    public synchronized void reset() {
         sampledPoints = new ArrayList<>();
         for (NTuple t : tuples) {
             t.reset();
@@ -78,8 +78,12 @@ public class NTupleSystem implements LandscapeModel {
         return searchSpace;
     }
 
+    /**
+     * Thread-safe; although NTupleBanditEA only ever updates the model from one thread, after each batch of
+     * evaluations has completed
+     */
     @Override
-    public void addPoint(int[] datapoint, double value) {
+    public synchronized void addPoint(int[] datapoint, double value) {
         for (NTuple tuple : tuples) {
             tuple.add(datapoint, value);
         }
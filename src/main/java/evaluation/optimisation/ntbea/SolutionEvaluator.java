@@ -31,5 +31,12 @@ public interface SolutionEvaluator {
      */
     int nEvals();
 
+    /**
+     * @param seed Seed for the random number generator of the copy
+     * @return An evaluator that evaluates settings in the same way as this one, but with its own state and random
+     * number generator, so that a separate optimisation run can use it at the same time as this one is used
+     */
+    SolutionEvaluator copy(long seed);
+
 }
 
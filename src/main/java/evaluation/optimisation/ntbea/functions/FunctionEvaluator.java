@@ -24,7 +24,7 @@ public class FunctionEvaluator implements SolutionEvaluator {
     }
 
     @Override
-    public double evaluate(int[] input) {
+    public synchronized double evaluate(int[] input) {
         nEvals++;
         return rnd.nextDouble() < actualBaseValue(input) ? 1.0 : 0.0;
     }
@@ -38,6 +38,13 @@ public class FunctionEvaluator implements SolutionEvaluator {
         return fun.functionValue(settings);
     }
 
+    @Override
+    public FunctionEvaluator copy(long seed) {
+        FunctionEvaluator retValue = new FunctionEvaluator(fun, searchSpace);
+        retValue.rnd = new Random(seed);
+        return retValue;
+    }
+
     @Override
     public SearchSpace searchSpace() {
         return searchSpace;
@@ -0,0 +1,258 @@
+package evaluation.summarisers;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static evaluation.summarisers.TAGStatSummary.StatType.Numeric;
+
+/**
+ * Statistics of a stream of numbers in constant memory, for when there are too many to keep (as
+ * TAGNumericStatSummary does). The mean and variance are kept with Welford's running update, and the quartiles
+ * are estimated with the P-Squared algorithm (Jain and Chlamtac, 1985), which keeps five markers per quantile
+ * and is exact for the first five values.
+ */
+public class TAGStreamingStatSummary extends TAGStatSummary {
+
+    public static final double[] QUANTILES = {0.25, 0.5, 0.75};
+
+    private double mean, m2, sum;
+    private double min, max;
+    private P2Quantile[] quantiles;
+
+    public TAGStreamingStatSummary() {
+        this("");
+    }
+
+    public TAGStreamingStatSummary(String name) {
+        super(name, Numeric);
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        mean = 0;
+        m2 = 0;
+        sum = 0;
+        min = Double.POSITIVE_INFINITY;
+        max = Double.NEGATIVE_INFINITY;
+        quantiles = new P2Quantile[QUANTILES.length];
+        for (int i = 0; i < QUANTILES.length; i++)
+            quantiles[i] = new P2Quantile(QUANTILES[i]);
+    }
+
+    public void add(double d) {
+        n++;
+        sum += d;
+        double delta = d - mean;
+        mean += delta / n;
+        m2 += delta * (d - mean);
+        if (d < min) min = d;
+        if (d > max) max = d;
+        for (P2Quantile q : quantiles)
+            q.add(d);
+    }
+
+    public void add(Number number) {
+        add(number.doubleValue());
+    }
+
+    public double mean() {
+        return n == 0 ? Double.NaN : mean;
+    }
+
+    public double variance() {
+        return n < 2 ? 0.0 : m2 / (n - 1);
+    }
+
+    public double sd() {
+        return Math.sqrt(variance());
+    }
+
+    public double stdErr() {
+        return sd() / Math.sqrt(n);
+    }
+
+    public double sum() {
+        return sum;
+    }
+
+    public double min() {
+        return min;
+    }
+
+    public double max() {
+        return max;
+    }
+
+    public double median() {
+        return quantile(0.5);
+    }
+
+    /**
+     * @param p one of the QUANTILES
+     * @return the estimate of the p-quantile of the values added so far
+     */
+    public double quantile(double p) {
+        for (P2Quantile q : quantiles)
+            if (q.p == p)
+                return q.estimate();
+        throw new IllegalArgumentException("Quantile " + p + " is not tracked; use one of " + Arrays.toString(QUANTILES));
+    }
+
+    /**
+     * The values are not kept, so there are no elements to return
+     */
+    @Override
+    public List<Double> getElements() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public TAGStreamingStatSummary copy() {
+        TAGStreamingStatSummary ss = new TAGStreamingStatSummary(name);
+        ss.n = n;
+        ss.mean = mean;
+        ss.m2 = m2;
+        ss.sum = sum;
+        ss.min = min;
+        ss.max = max;
+        for (int i = 0; i < quantiles.length; i++)
+            ss.quantiles[i] = quantiles[i].copy();
+        return ss;
+    }
+
+    @Override
+    public Map<String, Object> getSummary() {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("Count", n);
+        data.put("Sum", sum());
+        data.put("Mean", mean());
+        data.put("Min", min());
+        data.put("Q1", quantile(0.25));
+        data.put("Median", median());
+        data.put("Q3", quantile(0.75));
+        data.put("Max", max());
+        data.put("Range", max() - min());
+        data.put("Variance", variance());
+        data.put("Std. Dev", sd());
+        return data;
+    }
+
+    @Override
+    public String toString() {
+        String s = (name == null) ? "" : (name + "\n");
+        s += " min    = " + min() + "\n" +
+                " q1     = " + quantile(0.25) + "\n" +
+                " median = " + median() + "\n" +
+                " q3     = " + quantile(0.75) + "\n" +
+                " max    = " + max() + "\n" +
+                " ave    = " + mean() + "\n" +
+                " sd     = " + sd() + "\n" +
+                " se     = " + stdErr() + "\n" +
+                " n      = " + n + "\n";
+        return s;
+    }
+
+    /**
+     * The P-Squared estimator of a single quantile. Five markers track the minimum, the p/2, p and (1+p)/2
+     * quantiles and the maximum; after each value their heights are adjusted with a piecewise-parabolic fit
+     * whenever a marker drifts at least one position from where it should be.
+     */
+    static class P2Quantile {
+        final double p;
+        final double[] height = new double[5];
+        final double[] position = new double[5];
+        final double[] desired = new double[5];
+        final double[] increment = new double[5];
+        int count;
+
+        P2Quantile(double p) {
+            this.p = p;
+        }
+
+        void add(double x) {
+            if (count < 5) {
+                height[count++] = x;
+                if (count == 5) {
+                    Arrays.sort(height);
+                    for (int i = 0; i < 5; i++)
+                        position[i] = i + 1;
+                    desired[0] = 1;
+                    desired[1] = 1 + 2 * p;
+                    desired[2] = 1 + 4 * p;
+                    desired[3] = 3 + 2 * p;
+                    desired[4] = 5;
+                    increment[0] = 0;
+                    increment[1] = p / 2;
+                    increment[2] = p;
+                    increment[3] = (1 + p) / 2;
+                    increment[4] = 1;
+                }
+                return;
+            }
+            count++;
+
+            // find the cell k such that height[k] <= x < height[k+1], extending the extremes if needed
+            int k;
+            if (x < height[0]) {
+                height[0] = x;
+                k = 0;
+            } else if (x >= height[4]) {
+                height[4] = x;
+                k = 3;
+            } else {
+                k = 0;
+                while (x >= height[k + 1])
+                    k++;
+            }
+            for (int i = k + 1; i < 5; i++)
+                position[i]++;
+            for (int i = 0; i < 5; i++)
+                desired[i] += increment[i];
+
+            for (int i = 1; i < 4; i++) {
+                double d = desired[i] - position[i];
+                if ((d >= 1 && position[i + 1] - position[i] > 1) || (d <= -1 && position[i - 1] - position[i] < -1)) {
+                    int s = d > 0 ? 1 : -1;
+                    double candidate = parabolic(i, s);
+                    height[i] = height[i - 1] < candidate && candidate < height[i + 1] ? candidate : linear(i, s);
+                    position[i] += s;
+                }
+            }
+        }
+
+        private double parabolic(int i, int s) {
+            return height[i] + s / (position[i + 1] - position[i - 1]) *
+                    ((position[i] - position[i - 1] + s) * (height[i + 1] - height[i]) / (position[i + 1] - position[i]) +
+                            (position[i + 1] - position[i] - s) * (height[i] - height[i - 1]) / (position[i] - position[i - 1]));
+        }
+
+        private double linear(int i, int s) {
+            return height[i] + s * (height[i + s] - height[i]) / (position[i + s] - position[i]);
+        }
+
+        double estimate() {
+            if (count == 0)
+                return Double.NaN;
+            if (count >= 5)
+                return height[2];
+            // too few values for the markers, so use the (nearest rank) quantile of those we have
+            double[] sorted = Arrays.copyOf(height, count);
+            Arrays.sort(sorted);
+            return sorted[(int) Math.round(p * (count - 1))];
+        }
+
+        P2Quantile copy() {
+            P2Quantile q = new P2Quantile(p);
+            System.arraycopy(height, 0, q.height, 0, 5);
+            System.arraycopy(position, 0, q.position, 0, 5);
+            System.arraycopy(desired, 0, q.desired, 0, 5);
+            System.arraycopy(increment, 0, q.increment, 0, 5);
+            q.count = count;
+            return q;
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package evaluation.tournaments;
 
 import core.AbstractParameters;
+import core.AbstractGameState;
 import core.AbstractPlayer;
+import core.Game;
 import evaluation.RunArg;
+import evaluation.listeners.AsynchronousGameListener;
 import evaluation.listeners.IGameListener;
+import evaluation.listeners.SynchronisedGameListener;
 import evaluation.listeners.TournamentMetricsGameListener;
 import games.GameType;
 import org.apache.commons.math3.linear.EigenDecomposition;
@@ -15,6 +19,10 @@ import utilities.*;
 import java.io.File;
 import java.io.FileWriter;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -56,6 +64,16 @@ public class RoundRobinTournament extends AbstractTournament {
     String seedFile;
     Random seedRnd;
 
+    // Parallel execution: if nThreads > 1 then each game is submitted to the executor, and run on a per-thread Game
+    int nThreads;
+    // If true then each listener is wrapped in an AsynchronousGameListener when it is added to a Game
+    boolean asyncListeners;
+    // all the AsynchronousGameListeners created by run(), so that their threads can be stopped at the end
+    final List<AsynchronousGameListener> asyncWrappers = Collections.synchronizedList(new ArrayList<>());
+    ExecutorService executor;
+    ThreadLocal<Game> workerGames;
+    List<Future<?>> pendingGames = new ArrayList<>();
+
     /**
      * Create a round robin tournament, which plays all agents against all others.
      *
@@ -151,6 +169,8 @@ public class RoundRobinTournament extends AbstractTournament {
         this.randomSeed = ((Number) config.getOrDefault(RunArg.seed, System.currentTimeMillis())).longValue();
         this.seedRnd = new Random(randomSeed);
         this.randomGameParams = (boolean) config.getOrDefault(RunArg.randomGameParams, false);
+        this.nThreads = (int) config.getOrDefault(RunArg.nThreads, 1);
+        this.asyncListeners = (boolean) config.getOrDefault(RunArg.asyncListeners, false);
 
         this.name = String.format("Game: %s, Players: %d, Mode: %s, TotalGames: %d, GamesPerMatchup: %d",
                 gameToPlay.name(), playersPerGame, tournamentMode, actualGames, gamesPerMatchup);
@@ -174,7 +194,12 @@ public class RoundRobinTournament extends AbstractTournament {
 
         for (IGameListener gameTracker : listeners) {
             gameTracker.init(game, nPlayers, agentNames);
-            game.addListener(gameTracker);
+            game.addListener(wrapListener(gameTracker));
+        }
+
+        if (nThreads > 1) {
+            executor = Executors.newFixedThreadPool(nThreads);
+            workerGames = ThreadLocal.withInitial(this::createWorkerGame);
         }
 
         LinkedList<Integer> matchUp = new LinkedList<>();
@@ -192,12 +217,62 @@ public class RoundRobinTournament extends AbstractTournament {
             }
             createAndRunMatchUp(matchUp);
         }
+        if (executor != null) {
+            awaitPendingGames();
+            executor.shutdown();
+            executor = null;
+        }
+        for (AsynchronousGameListener listener : asyncWrappers)
+            listener.close();
+        asyncWrappers.clear();
         reportResults();
 
         for (IGameListener listener : listeners)
             listener.report();
     }
 
+    /**
+     * Creates the Game used by one worker thread in parallel mode. This has its own game state and forward model,
+     * and each shared listener is wrapped so that events from different threads are delivered one at a time.
+     */
+    protected Game createWorkerGame() {
+        AbstractParameters params = game.getGameState().getGameParameters().copy();
+        Game workerGame = game.getGameType().createGameInstance(nPlayers, params);
+        for (IGameListener listener : listeners) {
+            IGameListener synchronised = new SynchronisedGameListener(listener);
+            workerGame.addListener(wrapListener(synchronised));
+        }
+        return workerGame;
+    }
+
+    /**
+     * @return the listener to add to a Game; this is wrapped in an AsynchronousGameListener if asyncListeners is set
+     */
+    private IGameListener wrapListener(IGameListener listener) {
+        if (!asyncListeners)
+            return listener;
+        AsynchronousGameListener wrapper = new AsynchronousGameListener(listener);
+        asyncWrappers.add(wrapper);
+        return wrapper;
+    }
+
+    /**
+     * Waits for all games submitted to the executor to finish. Any exception thrown in a worker is re-thrown here.
+     */
+    protected void awaitPendingGames() {
+        try {
+            for (Future<?> pending : pendingGames)
+                pending.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for tournament games to finish", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Error running tournament game", e.getCause());
+        } finally {
+            pendingGames.clear();
+        }
+    }
+
     protected List<Integer> loadSeedsFromFile() {
         // we open seedFile, and read in the comma-delimited list of seeds, and put this in an array
         try {
@@ -342,12 +417,28 @@ public class RoundRobinTournament extends AbstractTournament {
 
         // TODO : Not sure this is the ideal place for this...ask Raluca
         Set<String> agentNames = agents.stream().map(AbstractPlayer::toString).collect(Collectors.toSet());
+        // (in parallel mode this is done by each worker's SynchronisedGameListener instead)
         for (IGameListener listener : listeners) {
-            if (listener instanceof TournamentMetricsGameListener) {
+            if (executor == null && listener instanceof TournamentMetricsGameListener) {
                 ((TournamentMetricsGameListener) listener).tournamentInit(game, nPlayers, agentNames, new HashSet<>(matchUpPlayers));
             }
         }
 
+        if (executor != null) {
+            // Each game is run as a separate task, with its own copies of the agents (made here, on the main thread)
+            // The matchUpPlayers are still used as the key for any per-matchup metrics, as in the sequential case
+            Set<AbstractPlayer> matchupKey = new HashSet<>(matchUpPlayers);
+            List<Integer> agentIDs = new ArrayList<>(agentIDsInThisGame);
+            for (int i = 0; i < nGames; i++) {
+                long seed = seeds.get(i);
+                List<AbstractPlayer> gamePlayers = new ArrayList<>();
+                for (int agentID : agentIDs)
+                    gamePlayers.add(this.agents.get(agentID).copy());
+                pendingGames.add(executor.submit(() -> runWorkerGame(agentIDs, gamePlayers, seed, matchupKey, agentNames)));
+            }
+            return;
+        }
+
         // Run the game N = gamesPerMatchUp times with these players
         for (int i = 0; i < nGames; i++) {
             // if tournamentSeeds > 0, then we are running this many tournaments, each with a different random seed fixed for the whole tournament
@@ -361,72 +452,107 @@ public class RoundRobinTournament extends AbstractTournament {
             }
 
             game.run();  // Always running tournaments without visuals
-            GameResult[] results = game.getGameState().getPlayerResults();
-
-            int numDraws = 0;
-            for (int j = 0; j < matchUpPlayers.size(); j++) {
-                nGamesPlayed[agentIDsInThisGame.get(j)] += 1;
-                for (int k = 0; k < matchUpPlayers.size(); k++) {
-                    if (k != j) {
-                        nGamesPlayedPerOpponent[agentIDsInThisGame.get(j)][agentIDsInThisGame.get(k)] += 1;
-                    }
+            recordGameResult(agentIDsInThisGame, game.getGameState());
+        }
+    }
+
+    /**
+     * Runs a single game on the Game instance owned by the current worker thread.
+     */
+    private void runWorkerGame(List<Integer> agentIDsInThisGame, List<AbstractPlayer> matchUpPlayers, long seed,
+                               Set<AbstractPlayer> matchup, Set<String> agentNames) {
+        Game workerGame = workerGames.get();
+        for (IGameListener listener : workerGame.getListeners()) {
+            if (listener instanceof AsynchronousGameListener agl)
+                listener = agl.getDelegate();
+            if (listener instanceof SynchronisedGameListener sgl)
+                sgl.setMatchup(workerGame, matchup, agentNames);
+        }
+
+        workerGame.reset(matchUpPlayers, seed);
+        if (randomGameParams) {
+            workerGame.getGameState().getGameParameters().randomize();
+            synchronized (this) {
+                System.out.println("Game parameters: " + workerGame.getGameState().getGameParameters());
+            }
+        }
+        workerGame.run();
+        recordGameResult(agentIDsInThisGame, workerGame.getGameState());
+    }
+
+    /**
+     * Adds the result of one completed game to the tournament totals.
+     * This is synchronized as in parallel mode it is called from the worker threads.
+     *
+     * @param agentIDsInThisGame - IDs of agents participating in the game.
+     * @param finalState         - the game state at the end of the game.
+     */
+    protected synchronized void recordGameResult(List<Integer> agentIDsInThisGame, AbstractGameState finalState) {
+        GameResult[] results = finalState.getPlayerResults();
+        int nAgents = agentIDsInThisGame.size();
+
+        int numDraws = 0;
+        for (int j = 0; j < nAgents; j++) {
+            nGamesPlayed[agentIDsInThisGame.get(j)] += 1;
+            for (int k = 0; k < nAgents; k++) {
+                if (k != j) {
+                    nGamesPlayedPerOpponent[agentIDsInThisGame.get(j)][agentIDsInThisGame.get(k)] += 1;
                 }
+            }
 
-                // now we need to be careful if we have a team game, as the agents are indexed by Team, not player
-                if (byTeam) {
-                    for (int player = 0; player < game.getGameState().getNPlayers(); player++) {
-                        if (game.getGameState().getTeam(player) == j) {
-                            numDraws += updatePoints(results, agentIDsInThisGame, agentIDsInThisGame.get(j), player);
-                            break; // we stop after one player on the team to avoid double counting
-                        }
+            // now we need to be careful if we have a team game, as the agents are indexed by Team, not player
+            if (byTeam) {
+                for (int player = 0; player < finalState.getNPlayers(); player++) {
+                    if (finalState.getTeam(player) == j) {
+                        numDraws += updatePoints(finalState, results, agentIDsInThisGame, agentIDsInThisGame.get(j), player);
+                        break; // we stop after one player on the team to avoid double counting
                     }
-                } else {
-                    numDraws += updatePoints(results, agentIDsInThisGame, agentIDsInThisGame.get(j), j);
                 }
+            } else {
+                numDraws += updatePoints(finalState, results, agentIDsInThisGame, agentIDsInThisGame.get(j), j);
             }
+        }
 
-            if (numDraws > 0) {
-                double pointsPerDraw = 1.0 / numDraws;
-                for (int j = 0; j < matchUpPlayers.size(); j++) {
-                    if (results[j] == GameResult.DRAW_GAME) pointsPerPlayer[agentIDsInThisGame.get(j)] += pointsPerDraw;
-                    if (results[j] == GameResult.DRAW_GAME)
-                        pointsPerPlayerSquared[agentIDsInThisGame.get(j)] += pointsPerDraw * pointsPerDraw;
-                }
+        if (numDraws > 0) {
+            double pointsPerDraw = 1.0 / numDraws;
+            for (int j = 0; j < nAgents; j++) {
+                if (results[j] == GameResult.DRAW_GAME) pointsPerPlayer[agentIDsInThisGame.get(j)] += pointsPerDraw;
+                if (results[j] == GameResult.DRAW_GAME)
+                    pointsPerPlayerSquared[agentIDsInThisGame.get(j)] += pointsPerDraw * pointsPerDraw;
             }
+        }
 
-            if (verbose) {
-                StringBuffer sb = new StringBuffer();
-                sb.append("[");
-                for (int j = 0; j < matchUpPlayers.size(); j++) {
-                    for (int player = 0; player < game.getGameState().getNPlayers(); player++) {
-                        if (game.getGameState().getTeam(player) == j) {
-                            sb.append(results[player]).append(",");
-                            break; // we stop after one player on the team to avoid double counting
-                        }
+        if (verbose) {
+            StringBuffer sb = new StringBuffer();
+            sb.append("[");
+            for (int j = 0; j < nAgents; j++) {
+                for (int player = 0; player < finalState.getNPlayers(); player++) {
+                    if (finalState.getTeam(player) == j) {
+                        sb.append(results[player]).append(",");
+                        break; // we stop after one player on the team to avoid double counting
                     }
                 }
-                sb.setCharAt(sb.length() - 1, ']');
-                System.out.println(sb);
             }
-
+            sb.setCharAt(sb.length() - 1, ']');
+            System.out.println(sb);
         }
-        totalGamesRun += nGames;
+        totalGamesRun++;
     }
 
-    private int updatePoints(GameResult[] results, List<Integer> matchUpPlayers, int j, int player) {
+    private int updatePoints(AbstractGameState finalState, GameResult[] results, List<Integer> matchUpPlayers, int j, int player) {
         // j is the index of the agent in the matchup; player is the corresponding player number in the game
-        int ordinalPos = game.getGameState().getOrdinalPosition(player);
+        int ordinalPos = finalState.getOrdinalPosition(player);
         rankPerPlayer[j] += ordinalPos;
         rankPerPlayerSquared[j] += ordinalPos * ordinalPos;
 
-        for (int playerPos = 0; playerPos < game.getGameState().getNPlayers(); playerPos++) {
+        for (int playerPos = 0; playerPos < finalState.getNPlayers(); playerPos++) {
             if (playerPos != player) {
-                int ordinalOther = game.getGameState().getOrdinalPosition(playerPos);
+                int ordinalOther = finalState.getOrdinalPosition(playerPos);
                 ordinalDeltaPerOpponent[j][matchUpPlayers.get(playerPos)] += ordinalOther - ordinalPos;
             }
         }
 
-        scorePerPlayer[j] += game.getGameState().getGameScore(player);
+        scorePerPlayer[j] += finalState.getGameScore(player);
 
         if (results[player] == GameResult.WIN_GAME) {
             pointsPerPlayer[j] += 1;
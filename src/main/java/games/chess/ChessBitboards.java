@@ -0,0 +1,100 @@
+package games.chess;
+
+/**
+ * Attack tables for bitboards, where square x + 8 * y is bit (x + 8 * y) of a long (a1 = bit 0, h8 = bit 63).
+ * <p>
+ * Knights, kings and pawns use a precomputed table of the squares they attack from each square. Sliding pieces use
+ * precomputed rays in each of the eight directions: the attacks along a ray are the ray from the square, less the
+ * ray beyond the first blocker (found with a single bit scan). This needs no magic numbers and only 8 * 64 longs,
+ * at the cost of one bit scan per direction.
+ */
+public final class ChessBitboards {
+
+    // Directions, as (dx, dy). The first four increase the square index, the last four decrease it.
+    public static final int NORTH = 0, EAST = 1, NORTH_EAST = 2, NORTH_WEST = 3,
+            SOUTH = 4, WEST = 5, SOUTH_WEST = 6, SOUTH_EAST = 7;
+    private static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {-1, 1}, {0, -1}, {-1, 0}, {-1, -1}, {1, -1}};
+
+    static final long[][] RAYS = new long[8][64];
+    static final long[] KNIGHT_ATTACKS = new long[64];
+    static final long[] KING_ATTACKS = new long[64];
+    // PAWN_ATTACKS[player][square] is the squares attacked by a pawn of that player (white = 0 moves up the board)
+    static final long[][] PAWN_ATTACKS = new long[2][64];
+
+    static {
+        int[][] knightMoves = {{2, 1}, {2, -1}, {-2, 1}, {-2, -1}, {1, 2}, {1, -2}, {-1, 2}, {-1, -2}};
+        for (int sq = 0; sq < 64; sq++) {
+            int x = sq & 7, y = sq >>> 3;
+            for (int d = 0; d < 8; d++) {
+                for (int i = 1; ; i++) {
+                    int nx = x + i * DIRECTIONS[d][0], ny = y + i * DIRECTIONS[d][1];
+                    if (!onBoard(nx, ny)) break;
+                    RAYS[d][sq] |= bit(nx, ny);
+                }
+                int kx = x + DIRECTIONS[d][0], ky = y + DIRECTIONS[d][1];
+                if (onBoard(kx, ky))
+                    KING_ATTACKS[sq] |= bit(kx, ky);
+            }
+            for (int[] move : knightMoves) {
+                if (onBoard(x + move[0], y + move[1]))
+                    KNIGHT_ATTACKS[sq] |= bit(x + move[0], y + move[1]);
+            }
+            for (int dx = -1; dx <= 1; dx += 2) {
+                if (onBoard(x + dx, y + 1))
+                    PAWN_ATTACKS[0][sq] |= bit(x + dx, y + 1);
+                if (onBoard(x + dx, y - 1))
+                    PAWN_ATTACKS[1][sq] |= bit(x + dx, y - 1);
+            }
+        }
+    }
+
+    private ChessBitboards() {
+    }
+
+    private static boolean onBoard(int x, int y) {
+        return x >= 0 && x < 8 && y >= 0 && y < 8;
+    }
+
+    public static int square(int x, int y) {
+        return x + 8 * y;
+    }
+
+    public static long bit(int x, int y) {
+        return 1L << square(x, y);
+    }
+
+    /**
+     * @return the squares attacked from square in the given direction, up to and including the first piece in occupied
+     */
+    public static long rayAttacks(int direction, int square, long occupied) {
+        long attacks = RAYS[direction][square];
+        long blockers = attacks & occupied;
+        if (blockers != 0) {
+            int first = direction < 4 ? Long.numberOfTrailingZeros(blockers) : 63 - Long.numberOfLeadingZeros(blockers);
+            attacks ^= RAYS[direction][first];
+        }
+        return attacks;
+    }
+
+    public static long rookAttacks(int square, long occupied) {
+        return rayAttacks(NORTH, square, occupied) | rayAttacks(EAST, square, occupied)
+                | rayAttacks(SOUTH, square, occupied) | rayAttacks(WEST, square, occupied);
+    }
+
+    public static long bishopAttacks(int square, long occupied) {
+        return rayAttacks(NORTH_EAST, square, occupied) | rayAttacks(NORTH_WEST, square, occupied)
+                | rayAttacks(SOUTH_EAST, square, occupied) | rayAttacks(SOUTH_WEST, square, occupied);
+    }
+
+    public static long knightAttacks(int square) {
+        return KNIGHT_ATTACKS[square];
+    }
+
+    public static long kingAttacks(int square) {
+        return KING_ATTACKS[square];
+    }
+
+    public static long pawnAttacks(int player, int square) {
+        return PAWN_ATTACKS[player][square];
+    }
+}
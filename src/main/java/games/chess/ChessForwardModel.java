@@ -15,6 +15,8 @@ import java.util.ArrayList;
 
 import java.util.List;
 
+import static games.chess.ChessBitboards.*;
+
 
 public class ChessForwardModel extends StandardForwardModel {
 
@@ -22,8 +24,7 @@ public class ChessForwardModel extends StandardForwardModel {
     protected void _setup(AbstractGameState firstState) {
 
         ChessGameState chessState = (ChessGameState) firstState;
-        chessState.blackPieces.clear();
-        chessState.whitePieces.clear(); 
+        chessState.clearBoard();
         
         
         //Add pieces to the board
@@ -62,7 +63,7 @@ public class ChessForwardModel extends StandardForwardModel {
         ChessGameState chessState = (ChessGameState) gameState;
         int playerId = chessState.getCurrentPlayer();
         for (ChessPiece piece : chessState.getPlayerPieces(playerId)) {
-            actions.addAll(computeAvailableActionsPiece(chessState, piece));
+            computeAvailableActionsPiece(chessState, piece, actions);
         }
 
 
@@ -70,36 +71,33 @@ public class ChessForwardModel extends StandardForwardModel {
     }
 
 
-    protected List<AbstractAction> computeAvailableActionsPiece(ChessGameState chessState, ChessPiece piece) {
-        List<AbstractAction> actions = new ArrayList<>();
-        int[] position = piece.getPosition();
-        int x = position[0];
-        int y = position[1];
+    protected void computeAvailableActionsPiece(ChessGameState chessState, ChessPiece piece, List<AbstractAction> actions) {
+        int x = piece.getX();
+        int y = piece.getY();
         int playerId = piece.getOwnerId();
         ChessPiece.ChessPieceType type = piece.getChessPieceType();
         switch (type) {
             case KING:
-                actions.addAll(computeAvailableActionsKing(chessState, x, y, playerId));
+                computeAvailableActionsKing(chessState, x, y, playerId, actions);
                 break;
             case PAWN:
-                actions.addAll(computeAvailableActionsPawn(chessState, x, y, playerId));
+                computeAvailableActionsPawn(chessState, x, y, playerId, actions);
                 break;
             case ROOK:
-                actions.addAll(computeAvailableActionsRook(chessState, x, y, playerId));
+                computeAvailableActionsRook(chessState, x, y, playerId, actions);
                 break;
             case BISHOP:
-                actions.addAll(computeAvailableActionsBishop(chessState, x, y, playerId));
+                computeAvailableActionsBishop(chessState, x, y, playerId, actions);
                 break;
             case QUEEN:
                 // Queen can move like both a rook and a bishop
-                actions.addAll(computeAvailableActionsRook(chessState, x, y, playerId));
-                actions.addAll(computeAvailableActionsBishop(chessState, x, y, playerId));
+                computeAvailableActionsRook(chessState, x, y, playerId, actions);
+                computeAvailableActionsBishop(chessState, x, y, playerId, actions);
                 break;
             case KNIGHT:
-                actions.addAll(computeAvailableActionsKnight(chessState, x, y, playerId));
+                computeAvailableActionsKnight(chessState, x, y, playerId, actions);
                 break;
         }
-        return actions;
     }
 
     protected boolean isWithinBounds(int x, int y) {
@@ -107,115 +105,23 @@ public class ChessForwardModel extends StandardForwardModel {
     }
 
     protected int isOccupiedBy(ChessGameState chessState, int x, int y) {
-
-        ChessPiece piece = chessState.getPiece(x, y);
-        if (piece == null) {
-            return -1;
-        }
-        // Check if the piece belongs to the same player
-        return piece.getOwnerId(); // Return the player ID of the piece
+        return chessState.isOccupiedBy(x, y);
     }
+
     protected boolean isCellThreatened(ChessGameState chessState, int x, int y, int playerId) {
         // Check if the cell is threatened by any piece from playerId
-        for (ChessPiece piece : chessState.getPlayerPieces(playerId)) {
-            int[] position = piece.getPosition();
-            int pieceX = position[0];
-            int pieceY = position[1];
-            
-            boolean canMove = true;
-            ChessPiece.ChessPieceType type = piece.getChessPieceType();
-            switch (type) {
-                case KING:
-                    // King can move one square in any direction
-                    if (Math.abs(pieceX - x) <= 1 && Math.abs(pieceY - y) <= 1) {
-                        return true;
-                    }
-                    break;
-                case PAWN:
-                    // Pawn can attack diagonally
-                    int direction = (playerId == 0) ? 1 : -1; // White moves up, Black moves down
-                    if ((x == pieceX - 1 || x == pieceX + 1) && y == pieceY + direction) {
-                        return true; // Pawn can attack diagonally
-                    }
-                    break;
-                case ROOK:
-                    // Rook can move any number of squares horizontally or vertically but we need to check for obstacles
-                    // Check if the rook is in the same row or column as the target cell
-                    if (pieceX == x || pieceY == y) {
-                        // Check if there are no pieces between the rook and the target cell
-                        int stepX = (x - pieceX) == 0 ? 0 : (x - pieceX) / Math.abs(x - pieceX);
-                        int stepY = (y - pieceY) == 0 ? 0 : (y - pieceY) / Math.abs(y - pieceY);
-                        if (stepX == 0 && stepY == 0) {
-                            canMove = false; // Cannot move to the same cell (it would be captured)
-                        }
-                        for (int i = 1; i < Math.max(Math.abs(x - pieceX), Math.abs(y - pieceY)); i++) {
-                            int checkX = pieceX + i * stepX;
-                            int checkY = pieceY + i * stepY;
-                            if (isOccupiedBy(chessState, checkX, checkY) != -1) {
-                                canMove = false;
-                                break; // There is a piece in the way, so the rook cannot attack
-                            }
-                        }
-                        if (canMove) {
-                            return true; // Rook can attack the target cell
-                        }
-                    }
-                    break;
-                case BISHOP:
-                    // Bishop can move any number of squares diagonally
-                    if (Math.abs(pieceX - x) == Math.abs(pieceY - y) && pieceX != x) {
-                        // Check if there are no pieces between the bishop and the target cell
-                        int stepX = (x - pieceX) / Math.abs(x - pieceX);
-                        int stepY = (y - pieceY) / Math.abs(y - pieceY);
-                        for (int i = 1; i < Math.abs(x - pieceX); i++) {
-                            int checkX = pieceX + i * stepX;
-                            int checkY = pieceY + i * stepY;
-                            if (isOccupiedBy(chessState, checkX, checkY) != -1) {
-                                canMove = false;
-                                break; // There is a piece in the way, so the bishop cannot attack
-                            }
-                        }
-                        if (canMove) {
-                            return true; // Bishop can attack the target cell
-                        }
-                    }
-                    break;
-                case QUEEN:
-                    // Queen can move like both a rook and a bishop
-                    if (pieceX == x || pieceY == y || ((Math.abs(pieceX - x) == Math.abs(pieceY - y) && pieceX != x))) {
-                        // Check if there are no pieces between the queen and the target cell
-                        int stepX = (x - pieceX) == 0 ? 0 : (x - pieceX) / Math.abs(x - pieceX);
-                        int stepY = (y - pieceY) == 0 ? 0 : (y - pieceY) / Math.abs(y - pieceY);
-                        if (stepX == 0 && stepY == 0) {
-                            canMove = false; // Cannot move to the same cell (it would be captured)
-                        }
-                        for (int i = 1; i < Math.max(Math.abs(x - pieceX), Math.abs(y - pieceY)); i++) {
-                            int checkX = pieceX + i * stepX;
-                            int checkY = pieceY + i * stepY;
-                            if (isOccupiedBy(chessState, checkX, checkY) != -1) {
-                                canMove = false;
-                                break;
-                            }
-                        }
-                        if (canMove) {
-                            return true; // Queen can attack the target cell
-                        }
-                    }
-                    break;
-                case KNIGHT:
-                    // Knight can move in an "L" shape: two squares in one direction and one square perpendicular
-                    if ((Math.abs(pieceX - x) == 2 && Math.abs(pieceY - y) == 1) || (Math.abs(pieceX - x) == 1 && Math.abs(pieceY - y) == 2)) {
-                        return true;
-                    }
-                    break;
-            }
-        }
+        return chessState.isCellThreatened(x, y, playerId);
+    }
 
-        return false; 
+    /**
+     * Checks whether a move of the piece of playerId at (x, y) to (newX, newY), capturing anything there, would
+     * leave their king in check. This uses the bitboards of the state, rather than making the move on a copy.
+     */
+    protected boolean CheckAfterMove(ChessGameState chessState, int playerId, int x, int y, int newX, int newY) {
+        return chessState.leavesKingInCheck(playerId, square(x, y), square(newX, newY), -1);
     }
 
-    protected List<AbstractAction> computeAvailableActionsKing(ChessGameState chessState, int x, int y, int playerId) {
-        List<AbstractAction> actions = new ArrayList<>();
+    protected void computeAvailableActionsKing(ChessGameState chessState, int x, int y, int playerId, List<AbstractAction> actions) {
         int newX, newY;
         // King can move one square in any direction
         for (int dx = -1; dx <= 1; dx++) {
@@ -223,9 +129,8 @@ public class ChessForwardModel extends StandardForwardModel {
                 if (dx == 0 && dy == 0) continue; // Skip the current position
                 newX = x + dx;
                 newY = y + dy;
-                MovePiece move = new MovePiece(x, y, newX, newY);
-                if (isWithinBounds(newX, newY) && isOccupiedBy(chessState, newX, newY) != playerId && !CheckAfterMove(chessState, move)) {
-                    actions.add(move);
+                if (isWithinBounds(newX, newY) && isOccupiedBy(chessState, newX, newY) != playerId && !CheckAfterMove(chessState, playerId, x, y, newX, newY)) {
+                    actions.add(new MovePiece(x, y, newX, newY));
                 }
             }
         }
@@ -236,312 +141,126 @@ public class ChessForwardModel extends StandardForwardModel {
 
         ChessPiece rookChessPiece = chessState.getPiece(0, y);
         if (kingChessPiece.getMoved() == ChessPiece.MovedState.NOT_MOVED && rookChessPiece != null && rookChessPiece.getOwnerId() == playerId && rookChessPiece.getMoved() == ChessPiece.MovedState.NOT_MOVED) {
-            Castle move = new Castle(Castle.CastleType.QUEEN_SIDE);
             if (isOccupiedBy(chessState, 1, y) == -1 && isOccupiedBy(chessState, 2, y) == -1 && isOccupiedBy(chessState, 3, y) == -1 && !isInCheck(chessState, playerId) && !isCellThreatened(chessState, x-2, y, 1-playerId) && !isCellThreatened(chessState, x-1, y, 1-playerId)) {
-                actions.add(move);
+                actions.add(new Castle(Castle.CastleType.QUEEN_SIDE));
             }
         }
         // Check for castling to the right (kingside)
         rookChessPiece = chessState.getPiece(7, y);
         if (kingChessPiece.getMoved() == ChessPiece.MovedState.NOT_MOVED && rookChessPiece != null && rookChessPiece.getOwnerId() == playerId && rookChessPiece.getMoved() == ChessPiece.MovedState.NOT_MOVED) {
-            Castle move = new Castle(Castle.CastleType.KING_SIDE);
             if (isOccupiedBy(chessState, 5, y) == -1 && isOccupiedBy(chessState, 6, y) == -1 && !isInCheck(chessState, playerId) && !isCellThreatened(chessState, x+2, y, 1-playerId) && !isCellThreatened(chessState, x+1, y, 1-playerId)) {
-                actions.add(move);
+                actions.add(new Castle(Castle.CastleType.KING_SIDE));
             }
         }
+    }
 
-        
-        return actions;
+    private void addPawnMoves(int x, int y, int newX, int newY, List<AbstractAction> actions) {
+        //check if the pawn is on the last row for promotion
+        if (newY == 0 || newY == 7) {
+            // Pawn can be promoted to any piece type (except king)
+            for (ChessPiece.ChessPieceType type : ChessPiece.ChessPieceType.values()) {
+                if (type != ChessPiece.ChessPieceType.KING) {
+                    actions.add(new Promotion(x, y, newX, newY, type));
+                }
+            }
+        } else {
+            actions.add(new MovePiece(x, y, newX, newY));
+        }
     }
 
-    protected List<AbstractAction> computeAvailableActionsPawn(ChessGameState chessState, int x, int y, int playerId) {
-        List<AbstractAction> actions = new ArrayList<>();
+    protected void computeAvailableActionsPawn(ChessGameState chessState, int x, int y, int playerId, List<AbstractAction> actions) {
         int newX, newY;
         ChessPiece enPassantTarget;
-        AbstractAction move;
         // Pawn can move one square forward, or two squares forward if it hasn't moved yet
         int direction = (playerId == 0) ? 1 : -1; // White moves up, Black moves down
         newX = x;
         newY = y + direction;
-        move = new MovePiece(x, y, newX, newY);
-        if (isWithinBounds(newX, newY) && isOccupiedBy(chessState, newX, newY) == -1 && !CheckAfterMove(chessState, move)) {
-            //check if the pawn is on the last row for promotion
-            if (newY == 0 || newY == 7) {
-                // Pawn can be promoted to any piece type (except king)
-                for (ChessPiece.ChessPieceType type : ChessPiece.ChessPieceType.values()) {
-                    if (type != ChessPiece.ChessPieceType.KING) {
-                        actions.add(new Promotion(x, y, newX, newY, type));
-                    }
-                }
-            } else {
-                actions.add(move);
-            }
+        if (isWithinBounds(newX, newY) && isOccupiedBy(chessState, newX, newY) == -1 && !CheckAfterMove(chessState, playerId, x, y, newX, newY)) {
+            addPawnMoves(x, y, newX, newY, actions);
         }
         // Check for null piece
         if (chessState.getPiece(x, y) == null) {
-            return actions; // No piece to move, return empty actions
+            return; // No piece to move
         }
 
 
         // Check for double move
         if (chessState.getPiece(x, y).getMoved() == ChessPiece.MovedState.NOT_MOVED) {
             newY = y + 2 * direction;
-            move = new MovePiece(x, y, newX, newY);
-            if (isWithinBounds(newX, newY) && isOccupiedBy(chessState, newX, newY) == -1 && isOccupiedBy(chessState, x, y + direction) == -1 && !CheckAfterMove(chessState, move)) {
-                actions.add(move);
+            if (isWithinBounds(newX, newY) && isOccupiedBy(chessState, newX, newY) == -1 && isOccupiedBy(chessState, x, y + direction) == -1 && !CheckAfterMove(chessState, playerId, x, y, newX, newY)) {
+                actions.add(new MovePiece(x, y, newX, newY));
             }
         }
-        // Check for captures
-        newX = x - 1;
+        // Check for captures, to the left and then to the right
         newY = y + direction;
-        move = new MovePiece(x, y, newX, newY);
-        if (isWithinBounds(newX, newY) && isOccupiedBy(chessState, newX, newY) == 1-playerId && !CheckAfterMove(chessState, move)) {
-            //Check for promotion
-            if (newY == 0 || newY == 7) {
-                // Pawn can be promoted to any piece type (except king)
-                for (ChessPiece.ChessPieceType type : ChessPiece.ChessPieceType.values()) {
-                    if (type != ChessPiece.ChessPieceType.KING) {
-                        actions.add(new Promotion(x, y, newX, newY, type));
-                    }
-                }
-            } else
-                actions.add(new MovePiece(x, y, newX, newY));
-        }
-        //Enpassant logic
-        enPassantTarget = isWithinBounds(newX, y) ? chessState.getPiece(newX, y) : null;
-        move = new EnPassant(x, y, newX);
-        if (isWithinBounds(newX, newY) && enPassantTarget != null && enPassantTarget.getChessPieceType() == ChessPiece.ChessPieceType.PAWN &&
-         enPassantTarget.getEnPassant() && enPassantTarget.getOwnerId() == 1-playerId  && !CheckAfterMove(chessState, move)) {
-            actions.add(move);
-        }
-
-
-        newX = x + 1;
-        move = new MovePiece(x, y, newX, newY);
-        if (isWithinBounds(newX, newY) && isOccupiedBy(chessState, newX, newY) == 1-playerId && !CheckAfterMove(chessState, move)) {
-            //Check for promotion
-            if (newY == 0 || newY == 7) {
-                // Pawn can be promoted to any piece type (except king)
-                for (ChessPiece.ChessPieceType type : ChessPiece.ChessPieceType.values()) {
-                    if (type != ChessPiece.ChessPieceType.KING) {
-                        actions.add(new Promotion(x, y, newX, newY, type));
-                    }
-                }
-            } else
-                actions.add(new MovePiece(x, y, newX, newY));
+        for (newX = x - 1; newX <= x + 1; newX += 2) {
+            if (isWithinBounds(newX, newY) && isOccupiedBy(chessState, newX, newY) == 1-playerId && !CheckAfterMove(chessState, playerId, x, y, newX, newY)) {
+                addPawnMoves(x, y, newX, newY, actions);
+            }
+            //Enpassant logic
+            enPassantTarget = isWithinBounds(newX, y) ? chessState.getPiece(newX, y) : null;
+            if (isWithinBounds(newX, newY) && enPassantTarget != null && enPassantTarget.getChessPieceType() == ChessPiece.ChessPieceType.PAWN &&
+                    enPassantTarget.getEnPassant() && enPassantTarget.getOwnerId() == 1-playerId &&
+                    !chessState.leavesKingInCheck(playerId, square(x, y), square(newX, newY), square(newX, y))) {
+                actions.add(new EnPassant(x, y, newX));
+            }
         }
+    }
 
-        //Enpassant logic
-        enPassantTarget = isWithinBounds(newX, y) ? chessState.getPiece(newX, y) : null;
-        move = new EnPassant(x, y, newX);
-        if (isWithinBounds(newX, newY) && enPassantTarget != null && enPassantTarget.getChessPieceType() == ChessPiece.ChessPieceType.PAWN &&
-         enPassantTarget.getEnPassant() && enPassantTarget.getOwnerId() == 1-playerId  && !CheckAfterMove(chessState, move)) {
-            actions.add(move);
+    // adds the moves along one direction that do not leave the king in check, in order out from the piece
+    private void addSlidingMoves(ChessGameState chessState, int x, int y, int playerId, int direction, List<AbstractAction> actions) {
+        int from = square(x, y);
+        long occupied = chessState.occupancy[0] | chessState.occupancy[1];
+        // the ray stops at the first piece, which can be captured if it is an opponent's
+        long targets = rayAttacks(direction, from, occupied) & ~chessState.occupancy[playerId];
+        while (targets != 0) {
+            int to = direction < 4 ? Long.numberOfTrailingZeros(targets) : 63 - Long.numberOfLeadingZeros(targets);
+            targets &= ~(1L << to);
+            if (!chessState.leavesKingInCheck(playerId, from, to, -1))
+                actions.add(new MovePiece(x, y, to & 7, to >>> 3));
         }
+    }
 
-        return actions;
+    protected void computeAvailableActionsRook(ChessGameState chessState, int x, int y, int playerId, List<AbstractAction> actions) {
+        // Rook can move any number of squares horizontally or vertically, until blocked
+        // Right, left, forward and then backward
+        addSlidingMoves(chessState, x, y, playerId, EAST, actions);
+        addSlidingMoves(chessState, x, y, playerId, WEST, actions);
+        addSlidingMoves(chessState, x, y, playerId, NORTH, actions);
+        addSlidingMoves(chessState, x, y, playerId, SOUTH, actions);
     }
 
-    protected List<MovePiece> computeAvailableActionsRook(ChessGameState chessState, int x, int y, int playerId) {
-        List<MovePiece> actions = new ArrayList<>();
-        int newX, newY;
-        // Rook can move any number of squares horizontally or vertically, but we need to check for obstacles
-        // Horizontal moves
-        // Right direction
-        for (int i = 1; i < 8-x; i++) {
-            newX = x + i;
-            newY = y;
-            MovePiece move = new MovePiece(x, y, newX, newY);
-            boolean check = CheckAfterMove(chessState, move);
-            int occupiedBy = isOccupiedBy(chessState, newX, newY);
-            if (occupiedBy == -1 && !check) {
-                actions.add(new MovePiece(x, y, newX, newY));
-            } else if (occupiedBy == playerId) {
-                break; // Stop if blocked by own piece
-            } else if (occupiedBy == 1-playerId && !check) {
-                actions.add(new MovePiece(x, y, newX, newY));
-                break; // Stop after capturing
-            } else if (occupiedBy == 1-playerId && check) {
-                break; // Can't capture because it leaves the king in check. Stop looking further (blocked by enemy piece)
-            }
-        }
-        // Left direction
-        for (int i = 1; i <= x; i++) {
-            newX = x - i;
-            newY = y;
-            MovePiece move = new MovePiece(x, y, newX, newY);
-            boolean check = CheckAfterMove(chessState, move);
-            int occupiedBy = isOccupiedBy(chessState, newX, newY);
-            if (occupiedBy == -1 && !check) {
-                actions.add(new MovePiece(x, y, newX, newY));
-            } else if (occupiedBy == playerId) {
-                break; // Stop if blocked by own piece
-            } else if (occupiedBy == 1-playerId && !check) {
-                actions.add(new MovePiece(x, y, newX, newY));
-                break; // Stop after capturing
-            } else if (occupiedBy == 1-playerId && check) {
-                break; // Can't capture because it leaves the king in check. Stop looking further (blocked by enemy piece)
-            }
-        }
-        // Forward direction
-        for (int i = 1; i < 8-y; i++) {
-            newX = x;
-            newY = y + i;
-            MovePiece move = new MovePiece(x, y, newX, newY);
-            boolean check = CheckAfterMove(chessState, move);
-            int occupiedBy = isOccupiedBy(chessState, newX, newY);
-            if (occupiedBy == -1 && !check) {
-                actions.add(new MovePiece(x, y, newX, newY));
-            } else if (occupiedBy == playerId) {
-                break; // Stop if blocked by own piece
-            } else if (occupiedBy == 1-playerId && !check) {
-                actions.add(new MovePiece(x, y, newX, newY));
-                break; // Stop after capturing
-            } else if (occupiedBy == 1-playerId && check) {
-                break; // Can't capture because it leaves the king in check. Stop looking further (blocked by enemy piece)
-            }
-        }
-        // Backward direction
-        for (int i = 1; i <= y; i++) {
-            newX = x;
-            newY = y - i;
-            MovePiece move = new MovePiece(x, y, newX, newY);
-            boolean check = CheckAfterMove(chessState, move);
-            int occupiedBy = isOccupiedBy(chessState, newX, newY);
-            if (occupiedBy == -1 && !check) {
-                actions.add(new MovePiece(x, y, newX, newY));
-            } else if (occupiedBy == playerId) {
-                break; // Stop if blocked by own piece
-            } else if (occupiedBy == 1-playerId && !check) {
-                actions.add(new MovePiece(x, y, newX, newY));
-                break; // Stop after capturing
-            } else if (occupiedBy == 1-playerId && check) {
-                break; // Can't capture because it leaves the king in check. Stop looking further (blocked by enemy piece)
-            }
-        }
-        return actions;
+    protected void computeAvailableActionsBishop(ChessGameState chessState, int x, int y, int playerId, List<AbstractAction> actions) {
+        // Bishop can move any number of squares diagonally, until blocked
+        // Forward-right, forward-left, backward-right and then backward-left
+        addSlidingMoves(chessState, x, y, playerId, NORTH_EAST, actions);
+        addSlidingMoves(chessState, x, y, playerId, NORTH_WEST, actions);
+        addSlidingMoves(chessState, x, y, playerId, SOUTH_EAST, actions);
+        addSlidingMoves(chessState, x, y, playerId, SOUTH_WEST, actions);
     }
 
-    protected List<MovePiece> computeAvailableActionsBishop(ChessGameState chessState, int x, int y, int playerId) {
-        List<MovePiece> actions = new ArrayList<>();
-        int newX, newY;
-        // Bishop can move any number of squares diagonally, but we need to check for obstacles
-        // Diagonal moves
-        // Forward-right direction
-        for (int i = 1; i < 8-x && i < 8-y; i++) {
-            newX = x + i;
-            newY = y + i;
-            MovePiece move = new MovePiece(x, y, newX, newY);
-            boolean check = CheckAfterMove(chessState, move);
-            int occupiedBy = isOccupiedBy(chessState, newX, newY);
-            if (occupiedBy == -1 && !check) {
-                actions.add(new MovePiece(x, y, newX, newY));
-            } else if (occupiedBy == playerId) {
-                break; // Stop if blocked by own piece
-            } else if (occupiedBy == 1-playerId && !check) {
-                actions.add(new MovePiece(x, y, newX, newY));
-                break; // Stop after capturing
-            } else if (occupiedBy == 1-playerId && check) {
-                break; // Can't capture because it leaves the king in check. Stop looking further (blocked by enemy piece)
-            }
-        }
-        // Forward-left direction
-        for (int i = 1; i <= x && i < 8-y; i++) {
-            newX = x - i;
-            newY = y + i;
-            MovePiece move = new MovePiece(x, y, newX, newY);
-            boolean check = CheckAfterMove(chessState, move);
-            int occupiedBy = isOccupiedBy(chessState, newX, newY);
-            if (occupiedBy == -1 && !check) {
-                actions.add(new MovePiece(x, y, newX, newY));
-            } else if (occupiedBy == playerId) {
-                break; // Stop if blocked by own piece
-            } else if (occupiedBy == 1-playerId && !check) {
-                actions.add(new MovePiece(x, y, newX, newY));
-                break; // Stop after capturing
-            } else if (occupiedBy == 1-playerId && check) {
-                break; // Can't capture because it leaves the king in check. Stop looking further (blocked by enemy piece)
-            }
-        }
-        // Backward-right direction
-        for (int i = 1; i < 8-x && i <= y; i++) {
-            newX = x + i;
-            newY = y - i;
-            MovePiece move = new MovePiece(x, y, newX, newY);
-            boolean check = CheckAfterMove(chessState, move);
-            int occupiedBy = isOccupiedBy(chessState, newX, newY);
-            if (occupiedBy == -1 && !check) {
-                actions.add(new MovePiece(x, y, newX, newY));
-            } else if (occupiedBy == playerId) {
-                break; // Stop if blocked by own piece
-            } else if (occupiedBy == 1-playerId && !check) {
-                actions.add(new MovePiece(x, y, newX, newY));
-                break; // Stop after capturing
-            } else if (occupiedBy == 1-playerId && check) {
-                break; // Can't capture because it leaves the king in check. Stop looking further (blocked by enemy piece)
-            }
-        }
-        // Backward-left direction
-        for (int i = 1; i <= x && i <= y; i++) {
-            newX = x - i;
-            newY = y - i;
-            MovePiece move = new MovePiece(x, y, newX, newY);
-            boolean check = CheckAfterMove(chessState, move);
-            int occupiedBy = isOccupiedBy(chessState, newX, newY);
-            if (occupiedBy == -1 && !check) {
-                actions.add(new MovePiece(x, y, newX, newY));
-            } else if (occupiedBy == playerId) {
-                break; // Stop if blocked by own piece
-            } else if (occupiedBy == 1-playerId && !check) {
-                actions.add(new MovePiece(x, y, newX, newY));
-                break; // Stop after capturing
-            } else if (occupiedBy == 1-playerId && check) {
-                break; // Can't capture because it leaves the king in check. Stop looking further (blocked by enemy piece)
-            }
-        }
-        return actions;
-    }   
+    private static final int[][] knightMoves = {
+            {2, 1}, {2, -1}, {-2, 1}, {-2, -1},
+            {1, 2}, {1, -2}, {-1, 2}, {-1, -2}
+    };
 
-    protected List<MovePiece> computeAvailableActionsKnight(ChessGameState chessState, int x, int y, int playerId) {
-        List<MovePiece> actions = new ArrayList<>();
+    protected void computeAvailableActionsKnight(ChessGameState chessState, int x, int y, int playerId, List<AbstractAction> actions) {
         int newX, newY;
         // Knight can move in an "L" shape: two squares in one direction and one square perpendicular
-        int[][] moves = {
-                {2, 1}, {2, -1}, {-2, 1}, {-2, -1},
-                {1, 2}, {1, -2}, {-1, 2}, {-1, -2}
-        };
-        for (int[] move : moves) {
+        for (int[] move : knightMoves) {
             newX = x + move[0];
             newY = y + move[1];
-            MovePiece movePiece = new MovePiece(x, y, newX, newY);
             // Check if the new position is within bounds and not occupied by own piece
-            if (isWithinBounds(newX, newY) && isOccupiedBy(chessState, newX, newY) != playerId && !CheckAfterMove(chessState, movePiece)) {
-                actions.add(movePiece);
+            if (isWithinBounds(newX, newY) && isOccupiedBy(chessState, newX, newY) != playerId && !CheckAfterMove(chessState, playerId, x, y, newX, newY)) {
+                actions.add(new MovePiece(x, y, newX, newY));
             }
         }
-        return actions;
-    }
-
-    protected boolean CheckAfterMove(ChessGameState chessState, AbstractAction action) {
-        
-        // Check if any opponent piece can attack the king's position after a move
-        int playerId = chessState.getCurrentPlayer();
-        ChessGameState nextGameState = chessState._copy(playerId);
-        action.execute(nextGameState);
-        int[] kingPosition = nextGameState.getKingPosition(playerId);
-        int kingX = kingPosition[0];
-        int kingY = kingPosition[1];
-        return isCellThreatened(nextGameState, kingX, kingY, 1-playerId);
     }
 
     protected boolean isInCheck(AbstractGameState gameState, int playerId) {
         // Check if the player's king is in check
-        ChessGameState chessState = (ChessGameState) gameState;
-        int[] kingPosition = chessState.getKingPosition(playerId);
-        int kingX = kingPosition[0];
-        int kingY = kingPosition[1];
         // Check if any opponent piece can attack the king's position
-        return isCellThreatened(chessState, kingX, kingY, 1-playerId);
+        return ((ChessGameState) gameState).isInCheck(playerId);
     }
 
     protected void checkGameEnd(ChessGameState chessState) {
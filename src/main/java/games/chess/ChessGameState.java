@@ -9,13 +9,24 @@ import games.GameType;
 import games.chess.actions.MovePiece;
 import games.chess.components.ChessPiece;
 
+import utilities.Zobrist;
+
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 
-
+import static games.chess.ChessBitboards.*;
+
+/**
+ * The pieces are kept both as ChessPiece objects on the ChessBoard (for the actions and the GUI), and as bitboards
+ * (one long per player and piece type, see ChessBitboards), which are kept in step by setPiece() and deletePiece().
+ * Move generation and check detection use the bitboards, so that testing whether a move leaves the king in check
+ * does not need a copy of the state.
+ * <p>
+ * The board also has a Zobrist hash, updated as pieces are placed and removed, which is used for the repetition rule.
+ * So a piece on the board should only be changed through this class (or be taken off the board first).
+ */
 public class ChessGameState extends AbstractGameState {
 
     ChessBoard board = new ChessBoard();
@@ -23,8 +34,17 @@ public class ChessGameState extends AbstractGameState {
     List<ChessPiece> whitePieces = new ArrayList<>();
     //List of black pieces
     List<ChessPiece> blackPieces = new ArrayList<>();
-    //Game state counts 
-    Map<Integer, Integer> gameStateCounts = new HashMap<>();
+
+    // pieceBitboards[player * 6 + type.ordinal()] has a bit set for each square with such a piece
+    long[] pieceBitboards = new long[12];
+    long[] occupancy = new long[2];
+    // the Zobrist key of the piece on each square (as it was placed), and the XOR of these
+    long[] squareKeys = new long[64];
+    long boardHash;
+
+    // Keys of the positions since the last pawn move or capture (earlier positions can never be repeated)
+    long[] positionKeys = new long[16];
+    int nPositions;
 
     //Number of moves without a pawn move or capture
     int halfMoveClock = 0;
@@ -53,65 +73,43 @@ public class ChessGameState extends AbstractGameState {
     @Override
     protected ChessGameState _copy(int playerId) {
         ChessGameState copy = new ChessGameState(getGameParameters(), getNPlayers());
-        copy.whitePieces = new ArrayList<>();
-        copy.whitePieces.addAll(whitePieces.stream().map(ChessPiece::copy).toList());
-        copy.blackPieces = new ArrayList<>();
-        copy.blackPieces.addAll(blackPieces.stream().map(ChessPiece::copy).toList());
-        copy.gameStateCounts = new HashMap<>(gameStateCounts);
+        // each piece is copied once, and the same copy goes on the board and in the list of its player's pieces
+        ChessPiece[][] squares = new ChessPiece[8][8];
+        copy.whitePieces = copyPieces(whitePieces, squares);
+        copy.blackPieces = copyPieces(blackPieces, squares);
+        copy.board = new ChessBoard(squares, board.getComponentID());
+        copy.pieceBitboards = pieceBitboards.clone();
+        copy.occupancy = occupancy.clone();
+        copy.squareKeys = squareKeys.clone();
+        copy.boardHash = boardHash;
+        copy.positionKeys = Arrays.copyOf(positionKeys, Math.max(nPositions + 8, 16));
+        copy.nPositions = nPositions;
         copy.halfMoveClock = halfMoveClock;
-        copy.board = (ChessBoard) board.copy();
         return copy;
     }
 
 
+    private static List<ChessPiece> copyPieces(List<ChessPiece> pieces, ChessPiece[][] squares) {
+        List<ChessPiece> copies = new ArrayList<>(pieces.size());
+        for (ChessPiece piece : pieces) {
+            ChessPiece copy = piece.copy();
+            squares[copy.getX()][copy.getY()] = copy;
+            copies.add(copy);
+        }
+        return copies;
+    }
+
+    @Override
+    protected long _getStateHash() {
+        return boardHash;
+    }
+
     @Override
     protected double _getHeuristicScore(int playerId) {
         if (isNotTerminal()) {
             // Simple value for each piece on the board, weighted by its type. Find the difference between the two players.
-            double playerScore = 0.0; 
-            double opponentScore = 0.0;
-            for (ChessPiece piece : getPlayerPieces(1 - playerId)) {   
-                ChessPiece.ChessPieceType type = piece.getChessPieceType();
-                switch (type) {
-                    case PAWN:
-                        opponentScore += 1;
-                        break;
-                    case KNIGHT:
-                    case BISHOP:
-                        opponentScore += 3;
-                        break;
-                    case ROOK:
-                        opponentScore += 5;
-                        break;
-                    case QUEEN:
-                        opponentScore += 9;
-                        break;
-                    case KING:
-                        opponentScore += 0;
-                        break;
-                }
-            }
-            for (ChessPiece piece : getPlayerPieces(playerId)) {
-                ChessPiece.ChessPieceType type = piece.getChessPieceType();
-                switch (type) {
-                    case PAWN:
-                        playerScore += 1;
-                        break;
-                    case KNIGHT:
-                    case BISHOP:
-                        playerScore += 3;
-                        break;
-                    case ROOK:
-                        playerScore += 5;
-                        break;
-                    case QUEEN:
-                        playerScore += 9;
-                        break;
-                    case KING:
-                        playerScore += 0;
-                        break;
-                }
-            }
+            double playerScore = material(playerId);
+            double opponentScore = material(1 - playerId);
             //Reward check
             if (isInCheck(1-playerId)) {
                 playerScore += 1;
@@ -127,6 +125,16 @@ public class ChessGameState extends AbstractGameState {
         }
     }
 
+    // Simple value for each piece on the board, weighted by its type
+    private double material(int playerId) {
+        int base = playerId * 6;
+        return Long.bitCount(pieceBitboards[base + ChessPiece.ChessPieceType.PAWN.ordinal()])
+                + 3 * Long.bitCount(pieceBitboards[base + ChessPiece.ChessPieceType.KNIGHT.ordinal()])
+                + 3 * Long.bitCount(pieceBitboards[base + ChessPiece.ChessPieceType.BISHOP.ordinal()])
+                + 5 * Long.bitCount(pieceBitboards[base + ChessPiece.ChessPieceType.ROOK.ordinal()])
+                + 9 * Long.bitCount(pieceBitboards[base + ChessPiece.ChessPieceType.QUEEN.ordinal()]);
+    }
+
     @Override
     public double getGameScore(int playerId) {
         if (isNotTerminal()) {
@@ -138,18 +146,22 @@ public class ChessGameState extends AbstractGameState {
 
     @Override
     protected boolean _equals(Object o) {
+        // (AbstractGameState.equals() has already compared the core state, and calls this)
         return o instanceof ChessGameState that &&
-                super.equals(o) &&
                 this.halfMoveClock == that.halfMoveClock &&
                 this.whitePieces.equals(that.whitePieces) &&
                 this.blackPieces.equals(that.blackPieces) &&
-                this.gameStateCounts.equals(that.gameStateCounts) &&
+                this.nPositions == that.nPositions &&
+                Arrays.equals(this.positionKeys, 0, nPositions, that.positionKeys, 0, nPositions) &&
                 this.board.equals(that.board);
     }
     
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), halfMoveClock, whitePieces, blackPieces, gameStateCounts, board);
+        int positionsHash = 1;
+        for (int i = 0; i < nPositions; i++)
+            positionsHash = 31 * positionsHash + Long.hashCode(positionKeys[i]);
+        return Objects.hash(super.hashCode(), halfMoveClock, whitePieces, blackPieces, positionsHash, board);
     }
 
     public ChessBoard getBoard() {
@@ -158,6 +170,10 @@ public class ChessGameState extends AbstractGameState {
 
     public void setPiece(int x, int y, ChessPiece piece) {
         board.setPiece(x, y, piece);
+        if (piece == null)
+            clearSquare(square(x, y));
+        else
+            placeOnSquare(square(x, y), piece);
         if (piece != null) {
             if (piece.getOwnerId() == 0) {
                 whitePieces.add(piece);
@@ -187,6 +203,7 @@ public class ChessGameState extends AbstractGameState {
         }
         int[] position = piece.getPosition();
         board.setPiece(position[0], position[1], null); // Remove the piece from the board
+        clearSquare(square(position[0], position[1]));
         if (piece.getOwnerId() == 0) {
             whitePieces.remove(piece);
         } else if (piece.getOwnerId() == 1) {
@@ -194,6 +211,61 @@ public class ChessGameState extends AbstractGameState {
         }
     }
 
+    /**
+     * Changes the type of the piece (which must be on the board), for a pawn promotion
+     */
+    public void promote(ChessPiece piece, ChessPiece.ChessPieceType type) {
+        piece.setChessPieceType(type);
+        placeOnSquare(square(piece.getX(), piece.getY()), piece);
+    }
+
+    private static long pieceKey(int square, ChessPiece piece) {
+        // everything that ChessPiece.equals() compares, other than the position
+        int code = ((piece.getChessPieceType().ordinal() * 2 + piece.getOwnerId()) * 3 + piece.getMoved().ordinal()) * 2
+                + (piece.getEnPassant() ? 1 : 0);
+        return Zobrist.key(square, code);
+    }
+
+    private void clearSquare(int square) {
+        long bit = 1L << square;
+        if (((occupancy[0] | occupancy[1]) & bit) == 0)
+            return;
+        for (int i = 0; i < pieceBitboards.length; i++)
+            pieceBitboards[i] &= ~bit;
+        occupancy[0] &= ~bit;
+        occupancy[1] &= ~bit;
+        boardHash ^= squareKeys[square];
+        squareKeys[square] = 0L;
+    }
+
+    private void placeOnSquare(int square, ChessPiece piece) {
+        clearSquare(square);
+        int owner = piece.getOwnerId();
+        if (owner != 0 && owner != 1)
+            throw new IllegalArgumentException("Invalid player ID: " + owner);
+        long bit = 1L << square;
+        pieceBitboards[owner * 6 + piece.getChessPieceType().ordinal()] |= bit;
+        occupancy[owner] |= bit;
+        squareKeys[square] = pieceKey(square, piece);
+        boardHash ^= squareKeys[square];
+    }
+
+    /**
+     * Removes all the pieces, for the start of a game
+     */
+    void clearBoard() {
+        for (ChessPiece[] column : board.getBoard())
+            Arrays.fill(column, null);
+        whitePieces.clear();
+        blackPieces.clear();
+        Arrays.fill(pieceBitboards, 0L);
+        Arrays.fill(occupancy, 0L);
+        Arrays.fill(squareKeys, 0L);
+        boardHash = 0L;
+        nPositions = 0;
+        halfMoveClock = 0;
+    }
+
     public void updatePiecePosition(ChessPiece piece, int x, int y) {
         deletePiece(piece); // Remove the piece from its original position
         piece.setPosition(x, y); // Update the piece's position
@@ -202,130 +274,70 @@ public class ChessGameState extends AbstractGameState {
 
 
     public int[] getKingPosition(int playerId) {
-        for (ChessPiece piece : getPlayerPieces(playerId)) {
-            if (piece.getChessPieceType() == ChessPiece.ChessPieceType.KING) {
-                return piece.getPosition();
-            }
-        }
-        throw new IllegalArgumentException("King not found for player " + playerId);
+        int square = kingSquare(playerId);
+        return new int[]{square & 7, square >>> 3};
+    }
+
+    int kingSquare(int playerId) {
+        long king = pieceBitboards[playerId * 6 + ChessPiece.ChessPieceType.KING.ordinal()];
+        if (king == 0)
+            throw new IllegalArgumentException("King not found for player " + playerId);
+        return Long.numberOfTrailingZeros(king);
     }
 
     //A few duplicate methods from the forward model to use in the heuristic function. TODO: decide wheter to have them here or in the forward model, might want to use legal moves in the future.
     public boolean isInCheck(int playerId) {
-        // Check if the player's king is in check
-        int[] kingPosition = this.getKingPosition(playerId);
-        int kingX = kingPosition[0];
-        int kingY = kingPosition[1];
         // Check if any opponent piece can attack the king's position
-        return isCellThreatened(kingX, kingY, 1-playerId);
+        return isSquareAttacked(kingSquare(playerId), 1 - playerId, occupancy[0] | occupancy[1], -1L);
     }
 
     public int isOccupiedBy(int x, int y) {
-        ChessPiece piece = getPiece(x, y);
-        if (piece == null) {
-            return -1;
-        }
-        // Check if the piece belongs to the same player
-        return piece.getOwnerId(); // Return the player ID of the piece
+        long bit = bit(x, y);
+        if ((occupancy[0] & bit) != 0) return 0;
+        if ((occupancy[1] & bit) != 0) return 1;
+        return -1;
     }
 
     public boolean isCellThreatened(int x, int y, int playerId) {
         // Check if the cell is threatened by any piece from playerId
-        for (ChessPiece piece : getPlayerPieces(playerId)) {
-            int[] position = piece.getPosition();
-            int pieceX = position[0];
-            int pieceY = position[1];
-            
-            boolean canMove = true;
-            ChessPiece.ChessPieceType type = piece.getChessPieceType();
-            switch (type) {
-                case KING:
-                    // King can move one square in any direction
-                    if (Math.abs(pieceX - x) <= 1 && Math.abs(pieceY - y) <= 1) {
-                        return true;
-                    }
-                    break;
-                case PAWN:
-                    // Pawn can attack diagonally
-                    int direction = (playerId == 0) ? 1 : -1; // White moves up, Black moves down
-                    if ((x == pieceX - 1 || x == pieceX + 1) && y == pieceY + direction) {
-                        return true; // Pawn can attack diagonally
-                    }
-                    break;
-                case ROOK:
-                    // Rook can move any number of squares horizontally or vertically but we need to check for obstacles
-                    // Check if the rook is in the same row or column as the target cell
-                    if (pieceX == x || pieceY == y) {
-                        // Check if there are no pieces between the rook and the target cell
-                        int stepX = (x - pieceX) == 0 ? 0 : (x - pieceX) / Math.abs(x - pieceX);
-                        int stepY = (y - pieceY) == 0 ? 0 : (y - pieceY) / Math.abs(y - pieceY);
-                        if (stepX == 0 && stepY == 0) {
-                            canMove = false; // Cannot move to the same cell (it would be captured)
-                        }
-                        for (int i = 1; i < Math.max(Math.abs(x - pieceX), Math.abs(y - pieceY)); i++) {
-                            int checkX = pieceX + i * stepX;
-                            int checkY = pieceY + i * stepY;
-                            if (isOccupiedBy(checkX, checkY) != -1) {
-                                canMove = false;
-                                break; // There is a piece in the way, so the rook cannot attack
-                            }
-                        }
-                        if (canMove) {
-                            return true; // Rook can attack the target cell
-                        }
-                    }
-                    break;
-                case BISHOP:
-                    // Bishop can move any number of squares diagonally
-                    if (Math.abs(pieceX - x) == Math.abs(pieceY - y) && pieceX != x) {
-                        // Check if there are no pieces between the bishop and the target cell
-                        int stepX = (x - pieceX) / Math.abs(x - pieceX);
-                        int stepY = (y - pieceY) / Math.abs(y - pieceY);
-                        for (int i = 1; i < Math.abs(x - pieceX); i++) {
-                            int checkX = pieceX + i * stepX;
-                            int checkY = pieceY + i * stepY;
-                            if (isOccupiedBy(checkX, checkY) != -1) {
-                                canMove = false;
-                                break; // There is a piece in the way, so the bishop cannot attack
-                            }
-                        }
-                        if (canMove) {
-                            return true; // Bishop can attack the target cell
-                        }
-                    }
-                    break;
-                case QUEEN:
-                    // Queen can move like both a rook and a bishop
-                    if (pieceX == x || pieceY == y || (Math.abs(pieceX - x) == Math.abs(pieceY - y) && pieceX != x)) {
-                        // Check if there are no pieces between the queen and the target cell
-                        int stepX = (x - pieceX) == 0 ? 0 : (x - pieceX) / Math.abs(x - pieceX);
-                        int stepY = (y - pieceY) == 0 ? 0 : (y - pieceY) / Math.abs(y - pieceY);
-                        if (stepX == 0 && stepY == 0) {
-                            canMove = false; // Cannot move to the same cell (it would be captured)
-                        }
-                        for (int i = 1; i < Math.max(Math.abs(x - pieceX), Math.abs(y - pieceY)); i++) {
-                            int checkX = pieceX + i * stepX;
-                            int checkY = pieceY + i * stepY;
-                            if (isOccupiedBy(checkX, checkY) != -1) {
-                                canMove = false;
-                                break;
-                            }
-                        }
-                        if (canMove) {
-                            return true; // Queen can attack the target cell
-                        }
-                    }
-                    break;
-                case KNIGHT:
-                    // Knight can move in an "L" shape: two squares in one direction and one square perpendicular
-                    if ((Math.abs(pieceX - x) == 2 && Math.abs(pieceY - y) == 1) || (Math.abs(pieceX - x) == 1 && Math.abs(pieceY - y) == 2)) {
-                        return true;
-                    }
-                    break;
-            }
-        }
+        return isSquareAttacked(square(x, y), playerId, occupancy[0] | occupancy[1], -1L);
+    }
 
-        return false; 
+    /**
+     * @param occupied the squares with a piece on them
+     * @param attackers the squares on which pieces of playerId may attack from (to leave out a piece that is captured)
+     * @return true if any piece of playerId on attackers attacks square
+     */
+    boolean isSquareAttacked(int square, int playerId, long occupied, long attackers) {
+        long[] pieces = pieceBitboards;
+        int base = playerId * 6;
+        if ((pawnAttacks(1 - playerId, square) & pieces[base + ChessPiece.ChessPieceType.PAWN.ordinal()] & attackers) != 0)
+            return true;
+        if ((knightAttacks(square) & pieces[base + ChessPiece.ChessPieceType.KNIGHT.ordinal()] & attackers) != 0)
+            return true;
+        if ((kingAttacks(square) & pieces[base + ChessPiece.ChessPieceType.KING.ordinal()] & attackers) != 0)
+            return true;
+        long queens = pieces[base + ChessPiece.ChessPieceType.QUEEN.ordinal()];
+        long straight = (pieces[base + ChessPiece.ChessPieceType.ROOK.ordinal()] | queens) & attackers;
+        if (straight != 0 && (rookAttacks(square, occupied) & straight) != 0)
+            return true;
+        long diagonal = (pieces[base + ChessPiece.ChessPieceType.BISHOP.ordinal()] | queens) & attackers;
+        return diagonal != 0 && (bishopAttacks(square, occupied) & diagonal) != 0;
+    }
+
+    /**
+     * Checks whether moving the piece of playerId on square from to square to would leave their king in check,
+     * without making the move.
+     *
+     * @param captured the square of a piece captured en passant, or -1 (a piece on to is always captured)
+     */
+    public boolean leavesKingInCheck(int playerId, int from, int to, int captured) {
+        long fromBit = 1L << from, toBit = 1L << to;
+        long removed = captured < 0 ? toBit : toBit | (1L << captured);
+        long occupied = ((occupancy[0] | occupancy[1]) & ~fromBit & ~removed) | toBit;
+        long king = pieceBitboards[playerId * 6 + ChessPiece.ChessPieceType.KING.ordinal()];
+        int kingSquare = (king & fromBit) != 0 ? to : kingSquare(playerId);
+        return isSquareAttacked(kingSquare, 1 - playerId, occupied, ~removed);
     }
 
     protected List<AbstractAction> computeAvailableActionsKing(int x, int y, int playerId) {
@@ -376,16 +388,17 @@ public class ChessGameState extends AbstractGameState {
     }
     public boolean AddCheckRepetitionCount() {
         // Check if the current board state has been seen before
-        int boardHash = Objects.hash(board.hashCode(), getCurrentPlayer());
-        if (gameStateCounts.containsKey(boardHash)) {
-            gameStateCounts.put(boardHash, gameStateCounts.get(boardHash) + 1);
-            if (gameStateCounts.get(boardHash) >= 3) { 
-                return true; // Draw by repetition
-            }
-        } else {
-            gameStateCounts.put(boardHash, 1); // Add the new board state to the map
-        }
-        return false; // No draw by repetition
+        if (halfMoveClock == 0)
+            nPositions = 0; // a pawn move or capture can never be undone, so no earlier position can come up again
+        long positionKey = boardHash ^ Zobrist.key(64, getCurrentPlayer());
+        if (nPositions == positionKeys.length)
+            positionKeys = Arrays.copyOf(positionKeys, nPositions * 2);
+        positionKeys[nPositions++] = positionKey;
+        int count = 0;
+        for (int i = 0; i < nPositions; i++)
+            if (positionKeys[i] == positionKey)
+                count++;
+        return count >= 3; // Draw by repetition
     }
     
     public String getChessCoordinates(int x, int y) {
@@ -397,9 +410,10 @@ public class ChessGameState extends AbstractGameState {
 
     public void resetEnPassant() {
         for (ChessPiece piece : getPlayerPieces(getCurrentPlayer())){
-            if (piece.getChessPieceType() == ChessPiece.ChessPieceType.PAWN) {
+            if (piece.getChessPieceType() == ChessPiece.ChessPieceType.PAWN && piece.getEnPassant()) {
                 piece.setEnPassant(false); // Reset en passant for all pawns
-                board.setPiece(piece.getPosition()[0], piece.getPosition()[1], piece); // Update the board with the new piece state
+                board.setPiece(piece.getX(), piece.getY(), piece); // Update the board with the new piece state
+                placeOnSquare(square(piece.getX(), piece.getY()), piece);
             }
         }
     }
@@ -410,7 +424,7 @@ public class ChessGameState extends AbstractGameState {
         sb.append("Chess Game State Hash:").append(hashCode()).append("\n");
         sb.append("White Pieces: ").append(whitePieces.hashCode()).append("\n");
         sb.append("Black Pieces: ").append(blackPieces.hashCode()).append("\n");
-        sb.append("Game State Counts: ").append(gameStateCounts.hashCode()).append("\n");
+        sb.append("Positions since last capture or pawn move: ").append(nPositions).append("\n");
         sb.append("Half Move Clock: ").append(halfMoveClock).append("\n");
         sb.append("Board:\n").append(board.hashCode()).append("\n");
         return sb.toString();
@@ -38,11 +38,13 @@ public class Castle extends AbstractAction {
         if (castleType == CastleType.KING_SIDE) {
             // Move the king and rook to their new positions for king-side castling
             rook = gs.getPiece(kingPos[0] + 3, kingPos[1]);
+            setMoved(king, rook);
             gs.updatePiecePosition(king, kingPos[0] + 2, kingPos[1]);
             gs.updatePiecePosition(rook, kingPos[0] + 1, kingPos[1]);
         } else if (castleType == CastleType.QUEEN_SIDE) {
             // Move the king and rook to their new positions for queen-side castling
             rook = gs.getPiece(kingPos[0] - 4, kingPos[1]);
+            setMoved(king, rook);
             gs.updatePiecePosition(king, kingPos[0] - 2, kingPos[1]);
             gs.updatePiecePosition(rook, kingPos[0] - 1, kingPos[1]);
         } else {
@@ -50,13 +52,15 @@ public class Castle extends AbstractAction {
             return false;
         }
 
-        // Set the moved flags.
-        king.setMoved(MovedState.MOVED); // Set the moved flag for the king
-        rook.setMoved(MovedState.MOVED); // Set the moved flag for the roo
-           
         return true;
     }
 
+    // Set the moved flags. This is done before the pieces are moved, so that the state records them as moved
+    private void setMoved(ChessPiece king, ChessPiece rook) {
+        king.setMoved(MovedState.MOVED); // Set the moved flag for the king
+        rook.setMoved(MovedState.MOVED); // Set the moved flag for the rook
+    }
+
     @Override
     public Castle copy() {
         // immutable        
@@ -34,7 +34,7 @@ public class Promotion extends AbstractAction {
 
         ChessPiece piece = chessGameState.getPiece(targetX, targetY);
         if (piece != null && piece.getChessPieceType() == ChessPieceType.PAWN) {
-            piece.setChessPieceType(newPieceType);
+            chessGameState.promote(piece, newPieceType);
         }
         return true;
     }
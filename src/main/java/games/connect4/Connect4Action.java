@@ -0,0 +1,37 @@
+package games.connect4;
+
+import core.AbstractGameState;
+import core.actions.SetGridValueAction;
+
+/**
+ * Drops a token into a column. This is still a SetGridValueAction (for the GUI and anything else that reads the
+ * cell it sets), but is executed on the bitboards of Connect4GameState rather than on a GridBoard.
+ * The instances are created once per game and shared by all copies of the state.
+ */
+public class Connect4Action extends SetGridValueAction {
+
+    private final int player;
+
+    public Connect4Action(int gridBoard, int x, int y, int valueID, int player) {
+        super(gridBoard, x, y, valueID);
+        this.player = player;
+    }
+
+    @Override
+    public boolean execute(AbstractGameState gs) {
+        Connect4GameState state = (Connect4GameState) gs;
+        if (state.getColumnHeight(getX()) != state.getHeight() - 1 - getY())
+            return false;  // not the lowest empty cell in the column
+        state.dropToken(getX(), player);
+        return true;
+    }
+
+    public int getPlayer() {
+        return player;
+    }
+
+    @Override
+    public Connect4Action copy() {
+        return this;
+    }
+}
@@ -5,20 +5,49 @@ import core.AbstractParameters;
 import core.components.BoardNode;
 import core.components.Component;
 import core.components.GridBoard;
-import core.components.Token;
 import core.interfaces.IGridGameState;
 import core.interfaces.IPrintable;
 import games.GameType;
 import utilities.Pair;
+import utilities.Zobrist;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Objects;
 
+/**
+ * The board is held as one bitboard per player, plus the height of each column. Each column has one bit per row
+ * (bottom row first) and one spare bit above the top row that is always zero, so that lines running off the top or
+ * bottom of a column stop there rather than wrapping into the next column. The bitboards take more than one long
+ * for all but the smallest grids, so each is an array of words.
+ * <p>
+ * Dropping a token sets one bit, and checking for a win only looks along the four lines through that token, so
+ * neither allocates or scans the board; a copy is a couple of array copies.
+ * <p>
+ * The GridBoard returned by getGridBoard() (for the GUI, actions and anything else that expects one) is built from
+ * the bitboards when first asked for, and then kept up to date on demand.
+ */
 public class Connect4GameState extends AbstractGameState implements IPrintable, IGridGameState {
 
+    int width, height;
+    // the number of bits used by each column (height plus the empty bit above it)
+    int stride;
+    // the steps between the bits of adjacent cells on each of the four lines through a cell:
+    // vertical, horizontal, and the two diagonals
+    int[] lineSteps;
+    long[][] bitboards;  // indexed by player
+    int[] heights;  // the number of tokens in each column
+    int tokensPlaced;
+    long boardHash;
+
+    // an empty board, shared by all copies, that gives the materialised board its component ID
+    GridBoard emptyBoard;
+    // the drop action for each player and cell, shared by all copies (the actions are immutable)
+    Connect4Action[][][] dropActions;
     GridBoard gridBoard;
+    boolean gridBoardStale;
+
     LinkedList<Pair<Integer, Integer>> winnerCells;
 
     public Connect4GameState(AbstractParameters gameParameters, int nPlayers) {
@@ -27,12 +56,121 @@ public class Connect4GameState extends AbstractGameState implements IPrintable,
         gridBoard = null;
     }
 
+    /**
+     * Sets up an empty board
+     */
+    void initBoard(int width, int height) {
+        this.width = width;
+        this.height = height;
+        stride = height + 1;
+        lineSteps = new int[]{1, stride, stride + 1, stride - 1};
+        int words = (width * stride + 63) / 64;
+        bitboards = new long[getNPlayers()][words];
+        heights = new int[width];
+        tokensPlaced = 0;
+        boardHash = 0L;
+        emptyBoard = new GridBoard(width, height, new BoardNode(Connect4Constants.emptyCell));
+        dropActions = new Connect4Action[getNPlayers()][width][height];
+        for (int p = 0; p < getNPlayers(); p++)
+            for (int x = 0; x < width; x++)
+                for (int y = 0; y < height; y++)
+                    dropActions[p][x][y] = new Connect4Action(emptyBoard.getComponentID(), x, y,
+                            Connect4Constants.playerMapping.get(p).getComponentID(), p);
+        gridBoard = null;
+        gridBoardStale = false;
+        winnerCells = new LinkedList<>();
+    }
+
+    private int bitIndex(int x, int y) {
+        // y counts down from the top of the grid, while bits count up from the bottom of the column
+        return x * stride + (height - 1 - y);
+    }
+
+    private boolean isSet(long[] board, int bit) {
+        return bit >= 0 && bit < width * stride && (board[bit >>> 6] & (1L << bit)) != 0;
+    }
+
     /**
      * This returns the player id of the token at the given position. Or -1 if this is empty.
      */
     public int getPlayerAt(int x, int y) {
-        BoardNode token = gridBoard.getElement(x, y);
-        return token == null ? -1 : token.getOwnerId();
+        int bit = bitIndex(x, y);
+        for (int p = 0; p < bitboards.length; p++)
+            if (isSet(bitboards[p], bit))
+                return p;
+        return -1;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * @return the number of tokens in column x
+     */
+    public int getColumnHeight(int x) {
+        return heights[x];
+    }
+
+    public boolean isBoardFull() {
+        return tokensPlaced == width * height;
+    }
+
+    /**
+     * @return the action that drops a token for player into column x (which must not be full)
+     */
+    Connect4Action getDropAction(int player, int x) {
+        return dropActions[player][x][height - 1 - heights[x]];
+    }
+
+    /**
+     * Drops a token for player into column x.
+     *
+     * @return the row (y co-ordinate) that the token lands in
+     */
+    int dropToken(int x, int player) {
+        int bit = x * stride + heights[x];
+        bitboards[player][bit >>> 6] |= 1L << bit;
+        heights[x]++;
+        tokensPlaced++;
+        boardHash ^= Zobrist.key(bit, player);
+        gridBoardStale = true;
+        return height - heights[x];
+    }
+
+    // the number of consecutive tokens of the owner of bit, from bit onwards in the direction of step
+    private int run(long[] board, int bit, int step, int max) {
+        int count = 0;
+        for (int i = bit + step; count < max && isSet(board, i); i += step)
+            count++;
+        return count;
+    }
+
+    /**
+     * Checks the four lines through the token at (x, y) for at least winCount tokens in a row.
+     *
+     * @return the cells of the first winCount tokens in the line found, or null if there is none
+     */
+    LinkedList<Pair<Integer, Integer>> findLine(int x, int y, int winCount) {
+        int player = getPlayerAt(x, y);
+        if (player < 0)
+            return null;
+        long[] board = bitboards[player];
+        int bit = bitIndex(x, y);
+        for (int step : lineSteps) {
+            int back = run(board, bit, -step, winCount - 1);
+            if (back + 1 + run(board, bit, step, winCount - 1 - back) >= winCount) {
+                LinkedList<Pair<Integer, Integer>> cells = new LinkedList<>();
+                for (int i = 0, b = bit - back * step; i < winCount; i++, b += step)
+                    cells.add(new Pair<>(b / stride, height - 1 - b % stride));
+                return cells;
+            }
+        }
+        return null;
     }
 
     @Override
@@ -43,7 +181,7 @@ public class Connect4GameState extends AbstractGameState implements IPrintable,
     @Override
     protected List<Component> _getAllComponents() {
         return new ArrayList<>() {{
-            add(gridBoard);
+            add(getGridBoard());
             addAll(Connect4Constants.playerMapping);
         }};
     }
@@ -51,13 +189,45 @@ public class Connect4GameState extends AbstractGameState implements IPrintable,
     @Override
     protected AbstractGameState _copy(int playerId) {
         Connect4GameState s = new Connect4GameState(gameParameters.copy(), getNPlayers());
-        s.gridBoard = gridBoard.copy();
+        _copyInto(s, playerId);
+        return s;
+    }
+
+    @Override
+    protected boolean _copyInto(AbstractGameState target, int playerId) {
+        Connect4GameState s = (Connect4GameState) target;
+        if (s.emptyBoard != emptyBoard) {
+            // a fresh copy (or a recycled state from a different game) gets its own arrays, and builds its board when asked
+            s.width = width;
+            s.height = height;
+            s.stride = stride;
+            s.lineSteps = lineSteps;
+            s.bitboards = new long[bitboards.length][];
+            for (int p = 0; p < bitboards.length; p++)
+                s.bitboards[p] = bitboards[p].clone();
+            s.heights = heights.clone();
+            s.emptyBoard = emptyBoard;
+            s.dropActions = dropActions;
+            s.gridBoard = null;
+        } else {
+            for (int p = 0; p < bitboards.length; p++)
+                System.arraycopy(bitboards[p], 0, s.bitboards[p], 0, bitboards[p].length);
+            System.arraycopy(heights, 0, s.heights, 0, heights.length);
+        }
+        s.tokensPlaced = tokensPlaced;
+        s.boardHash = boardHash;
+        s.gridBoardStale = true;
 
         s.winnerCells.clear();
         for (Pair<Integer, Integer> wC : this.winnerCells)
             s.winnerCells.add(wC.copy());
+        return true;
+    }
 
-        return s;
+    @Override
+    protected long _getStateHash() {
+        // the board is the only thing that changes in the game (other than the core state)
+        return boardHash;
     }
 
     @Override
@@ -76,9 +246,9 @@ public class Connect4GameState extends AbstractGameState implements IPrintable,
     @Override
     protected boolean _equals(Object o) {
         if (this == o) return true;
+        // (AbstractGameState.equals() has already compared the core state, and calls this)
         if (!(o instanceof Connect4GameState that)) return false;
-        if (!super.equals(o)) return false;
-        return Objects.equals(gridBoard, that.gridBoard);
+        return width == that.width && height == that.height && Arrays.deepEquals(bitboards, that.bitboards);
     }
 
     @Override
@@ -86,13 +256,14 @@ public class Connect4GameState extends AbstractGameState implements IPrintable,
         StringBuilder sb = new StringBuilder();
         sb.append("{");
 
-        for (int y = 0; y < gridBoard.getHeight(); y++) {
-            for (int x = 0; x < gridBoard.getWidth(); x++) {
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
                 if (y != 0 || x != 0) {
                     sb.append(",");
                 }
-                BoardNode t = gridBoard.getElement(x, y);
-                sb.append("\"").append("Grid_").append(x).append('_').append(y).append("\":\"").append(t.getComponentName()).append("\"");
+                int player = getPlayerAt(x, y);
+                String t = player < 0 ? Connect4Constants.emptyCell : Connect4Constants.playerMapping.get(player).getComponentName();
+                sb.append("\"").append("Grid_").append(x).append('_').append(y).append("\":\"").append(t).append("\"");
             }
         }
 
@@ -102,17 +273,36 @@ public class Connect4GameState extends AbstractGameState implements IPrintable,
 
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), gridBoard);
+        return 31 * super.hashCode() + Arrays.deepHashCode(bitboards);
     }
 
+    /**
+     * The board as a GridBoard. This is built from the bitboards the first time it is needed after a change, so
+     * should not be called on every step of a search.
+     */
     @Override
     public GridBoard getGridBoard() {
+        if (gridBoard == null) {
+            gridBoard = emptyBoard.copy();
+            gridBoardStale = true;
+        }
+        if (gridBoardStale) {
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    int player = getPlayerAt(x, y);
+                    BoardNode node = player < 0 ? emptyBoard.getElement(x, y) : Connect4Constants.playerMapping.get(player);
+                    if (!gridBoard.getElement(x, y).getComponentName().equals(node.getComponentName()))
+                        gridBoard.setElement(x, y, node);
+                }
+            }
+            gridBoardStale = false;
+        }
         return gridBoard;
     }
 
     @Override
     public void printToConsole() {
-        System.out.println(gridBoard.toString());
+        System.out.println(getGridBoard().toString());
     }
 
     void registerWinningCells(LinkedList<Pair<Integer, Integer>> winnerCells) {
@@ -1,11 +1,8 @@
 package games.connect4;
 import core.AbstractGameState;
-import core.components.BoardNode;
-import core.components.Token;
 import core.interfaces.IStateFeatureVector;
 import core.interfaces.IStateKey;
 
-import java.util.Arrays;
 import java.util.stream.IntStream;
 
 public class Connect4StateVector implements IStateFeatureVector, IStateKey {
@@ -17,18 +14,27 @@ public class Connect4StateVector implements IStateFeatureVector, IStateKey {
     @Override
     public double[] doubleVector(AbstractGameState gs, int playerID) {
         Connect4GameState state = (Connect4GameState) gs;
-        String playerChar = Connect4Constants.playerMapping.get(playerID).getComponentName();
+        double[] retValue = new double[state.getWidth() * state.getHeight()];
+        doubleVector(gs, playerID, retValue);
+        return retValue;
+    }
 
-        return Arrays.stream(state.gridBoard.flattenGrid()).mapToDouble(c -> {
-            String pos = c.getComponentName();
-            if (pos.equals(playerChar)) {
-                return 1.0;
-            } else if (pos.equals(Connect4Constants.emptyCell)) {
-                return 0.0;
-            } else { // opponent's piece
-                return -1.0;
+    @Override
+    public void doubleVector(AbstractGameState gs, int playerID, double[] buffer) {
+        // reads the bitboards directly, rather than building the GridBoard
+        Connect4GameState state = (Connect4GameState) gs;
+        for (int y = 0; y < state.getHeight(); y++) {
+            for (int x = 0; x < state.getWidth(); x++) {
+                int owner = state.getPlayerAt(x, y);
+                if (owner == playerID) {
+                    buffer[y * state.getWidth() + x] = 1.0;
+                } else if (owner == -1) {
+                    buffer[y * state.getWidth() + x] = 0.0;
+                } else { // opponent's piece
+                    buffer[y * state.getWidth() + x] = -1.0;
+                }
             }
-        }).toArray();
+        }
     }
 
     @Override
@@ -1,5 +1,6 @@
 package games.descent2e;
 
+import core.properties.PropertyKey;
 import utilities.Hash;
 
 public class DescentConstants {
@@ -17,4 +18,14 @@ public class DescentConstants {
     public final static int abilityHash = Hash.GetInstance().hash("ability");
     public final static int setupHash = Hash.GetInstance().hash("setup");
 
+    public final static PropertyKey archetypeKey = PropertyKey.of("archetype");
+    public final static PropertyKey classKey = PropertyKey.of("class");
+    public final static PropertyKey passiveKey = PropertyKey.of("passive");
+    public final static PropertyKey actionKey = PropertyKey.of("action");
+    public final static PropertyKey equipmentTypeKey = PropertyKey.of("equipmentType");
+    public final static PropertyKey attackTypeKey = PropertyKey.of("attackType");
+    public final static PropertyKey attackPowerKey = PropertyKey.of("attackPower");
+    public final static PropertyKey weaponSurgesKey = PropertyKey.of("weaponSurges");
+    public final static PropertyKey tempPlacementKey = PropertyKey.of("tempPlacement");
+
 }
@@ -121,7 +121,7 @@ public class DescentForwardModel extends StandardForwardModel {
             figure.getNActionsExecuted().setMaximum(nActionsPerFigure);
             figure.setComponentName("Hero: " + figure.getComponentName());  // For reference in rules
 
-            String archetypeName = figure.getProperty("archetype").toString();
+            String archetypeName = figure.getProperty(archetypeKey).toString();
             Archetype archetype = Archetype.valueOf(archetypeName);
             archetypes.remove(archetype);
 
@@ -296,7 +296,7 @@ public class DescentForwardModel extends StandardForwardModel {
         boolean announce = false;
         if (announce) {
             for (Hero hero : dgs.heroes) {
-                System.out.println(hero.getComponentName().replace("Hero: ", "") + " - " + hero.getProperty("archetype") + " (" + hero.getProperty("class") + ") - " +
+                System.out.println(hero.getComponentName().replace("Hero: ", "") + " - " + hero.getProperty(archetypeKey) + " (" + hero.getProperty(classKey) + ") - " +
                         hero.getAttributeValue(Health) + " HP - " + hero.getHandEquipment().toString() + " - " + hero.getPosition().toString());
             }
             for (List<Monster> monsters : dgs.getMonsters()) {
@@ -540,7 +540,7 @@ public class DescentForwardModel extends StandardForwardModel {
                 tileCoords.remove(option);
                 BoardNode position = dgs.masterBoard.getElement(option.getX(), option.getY());
                 if (position.getComponentName().equals("plain") &&
-                        ((PropertyInt) position.getProperty(playersHash)).value == -1) {
+                        ((PropertyInt) position.getProperty(playersKey)).value == -1) {
                     //if (position.getComponentName().equals("plain") && !Move.checkCollision(dgs, monster, option)) {
                     // TODO: some monsters want to spawn in lava/water.
                     // This can be top-left corner, check if the other tiles are valid too
@@ -552,7 +552,7 @@ public class DescentForwardModel extends StandardForwardModel {
                             BoardNode tile = dgs.masterBoard.getElement(thisTile.getX(), thisTile.getY());
                             if (tile == null || !tile.getComponentName().equals("plain") ||
                                     !tileCoords.contains(thisTile) ||
-                                    ((PropertyInt) tile.getProperty(playersHash)).value != -1) {
+                                    ((PropertyInt) tile.getProperty(playersKey)).value != -1) {
                                 canPlace = false;
                             }
                         }
@@ -1273,6 +1273,8 @@ public class DescentForwardModel extends StandardForwardModel {
                     }
                 }
             }
+            // Build the distance and line of sight tables now, so that every copy of the state shares them
+            dgs.getMapTables();
         } else {
 //            System.out.println("Tiles for the map not found");
         }
@@ -1751,11 +1753,11 @@ public class DescentForwardModel extends StandardForwardModel {
             master.setProperties(monsterDef.get(act + "-master").getProperties());
             master.setComponentName(name + " master");
 
-            PropertyStringArray passives = (PropertyStringArray) master.getProperty("passive");
+            PropertyStringArray passives = (PropertyStringArray) master.getProperty(passiveKey);
             if (passives != null)
                 master.setPassivesAndSurges(passives.getValues());
 
-            PropertyStringArray actions = ((PropertyStringArray) master.getProperty("action"));
+            PropertyStringArray actions = ((PropertyStringArray) master.getProperty(actionKey));
             if (actions != null) {
                 master.setActions(actions.getValues());
             }
@@ -1809,11 +1811,11 @@ public class DescentForwardModel extends StandardForwardModel {
                 minion.setProperties(monsterDef.get(act + "-minion").getProperties());
                 minion.setComponentName(name + " minion " + (i + 1));
 
-                passives = (PropertyStringArray) minion.getProperty("passive");
+                passives = (PropertyStringArray) minion.getProperty(passiveKey);
                 if (passives != null)
                     minion.setPassivesAndSurges(passives.getValues());
 
-                actions = ((PropertyStringArray) minion.getProperty("action"));
+                actions = ((PropertyStringArray) minion.getProperty(actionKey));
                 if (actions != null)
                     minion.setActions(actions.getValues());
 
@@ -1877,7 +1879,7 @@ public class DescentForwardModel extends StandardForwardModel {
             tileCoords.remove(option);
             BoardNode position = dgs.masterBoard.getElement(option.getX(), option.getY());
             if (position.getComponentName().equals("plain") &&
-                    ((PropertyInt) position.getProperty(playersHash)).value == -1) {
+                    ((PropertyInt) position.getProperty(playersKey)).value == -1) {
                 // TODO: some monsters want to spawn in lava/water.
                 // This can be top-left corner, check if the other tiles are valid too
                 boolean canPlace = true;
@@ -1888,7 +1890,7 @@ public class DescentForwardModel extends StandardForwardModel {
                         BoardNode tile = dgs.masterBoard.getElement(thisTile.getX(), thisTile.getY());
                         if (tile == null || !tile.getComponentName().equals("plain") ||
                                 !tileCoords.contains(thisTile) ||
-                                ((PropertyInt) tile.getProperty(playersHash)).value != -1) {
+                                ((PropertyInt) tile.getProperty(playersKey)).value != -1) {
                             canPlace = false;
                         }
                     }
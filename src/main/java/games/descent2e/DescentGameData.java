@@ -33,6 +33,7 @@ public class DescentGameData extends AbstractGameData {
     List<Quest> quests;
     List<Quest> sideQuests;
     HashMap<String, HashMap<String, Monster>> monsters;
+    DescentMapTables mapTables;
 
     @Override
     public void load(String dataPath) {
@@ -357,6 +358,17 @@ public class DescentGameData extends AbstractGameData {
         return monsters;
     }
 
+    /**
+     * @return the distance and line of sight tables for the master board, which are built the first time they are
+     * needed for a new board
+     */
+    public DescentMapTables getMapTables(GridBoard masterBoard) {
+        if (mapTables == null || !mapTables.isFor(masterBoard)) {
+            mapTables = new DescentMapTables(masterBoard);
+        }
+        return mapTables;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -407,6 +419,7 @@ public class DescentGameData extends AbstractGameData {
             }
             copy.monsters.put(k, monsterDef);
         }
+        copy.mapTables = mapTables;  // never changed, so shared by all copies
         return copy;
     }
 }
@@ -304,6 +304,13 @@ public class DescentGameState extends AbstractGameState implements IPrintable {
         return masterBoard;
     }
 
+    /**
+     * @return the precomputed distances, neighbours and lines of sight for the master board
+     */
+    public DescentMapTables getMapTables() {
+        return data.getMapTables(masterBoard);
+    }
+
     public List<Hero> getHeroes() {
         return heroes;
     }
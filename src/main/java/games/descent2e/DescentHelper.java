@@ -15,15 +15,15 @@ import games.descent2e.actions.items.RerollAttributeTest;
 import games.descent2e.actions.monsterfeats.MonsterAbilities;
 import games.descent2e.components.*;
 import games.descent2e.components.tokens.DToken;
-import utilities.LineOfSight;
 import utilities.Pair;
 import utilities.Vector2D;
 
 import java.util.*;
 
-import static core.CoreConstants.coordinateHash;
-import static core.CoreConstants.playersHash;
+import static core.CoreConstants.coordinateKey;
+import static core.CoreConstants.playersKey;
 import static games.descent2e.components.Figure.Attribute.MovePoints;
+import static games.descent2e.DescentConstants.passiveKey;
 
 public class DescentHelper {
 
@@ -57,29 +57,31 @@ public class DescentHelper {
             attackingTiles.add(anchorTile);
         }
 
+        DescentMapTables tables = dgs.getMapTables();
+        int[] attackingCells = getCells(tables, attackingTiles);
+
         // Find valid neighbours in master graph - used for melee attacks
-        for (BoardNode currentTile : attackingTiles) {
+        for (int currentCell : attackingCells) {
 
-            Set<BoardNode> neighbours = currentTile.getNeighbours().keySet();
+            int[] neighbours = tables.getNeighbours(currentCell);
 
             // Reach attacks can target up to two spaces away
             if (reach)
             {
-                Set<BoardNode> neighboursOfNeighbours = new HashSet<>();
-                for (BoardNode neighbour : currentTile.getNeighbours().keySet()) {
-                    neighboursOfNeighbours.addAll(neighbour.getNeighbours().keySet());
+                Set<Integer> neighboursOfNeighbours = new TreeSet<>();
+                for (int neighbour : tables.getNeighbours(currentCell)) {
+                    for (int n : tables.getNeighbours(neighbour)) neighboursOfNeighbours.add(n);
                 }
-                neighbours = neighboursOfNeighbours;
-                attackingTiles.forEach(neighbours::remove);
+                for (int a : attackingCells) neighboursOfNeighbours.remove(a);
+                neighbours = neighboursOfNeighbours.stream().mapToInt(Integer::intValue).toArray();
             }
 
-            for (BoardNode neighbour : neighbours) {
-                if (neighbour == null) continue;
-                int neighbourID = ((PropertyInt) neighbour.getProperty(playersHash)).value;
+            for (int neighbour : neighbours) {
+                int neighbourID = tables.getOccupant(dgs.masterBoard, neighbour);
                 if (neighbourID != -1) {
                     Figure other = (Figure) dgs.getComponentById(neighbourID);
                     // Checks to make sure that there is a line of sight before approving the attack action
-                    if (hasLineOfSight(dgs, ((PropertyVector2D) currentTile.getProperty("coordinates")).values, ((PropertyVector2D) neighbour.getProperty("coordinates")).values)) {
+                    if (tables.hasLineOfSight(dgs.masterBoard, currentCell, neighbour)) {
                         if (f instanceof Monster && other instanceof Hero) {
                             // Monster attacks a hero
                             if (!targets.contains(other.getComponentID())) {
@@ -119,34 +121,23 @@ public class DescentHelper {
             attackingTiles.addAll(getAttackingTiles(f.getComponentID(), anchorTile, attackingTiles));
         }
 
-        // Find valid neighbours of neighbours in master graph - used for ranged attacks
-        for (BoardNode currentTile : attackingTiles) {
-            Set<BoardNode> rangedTargets = currentTile.getNeighbours().keySet();
-
-            // Only finds neighbours up to a set maximum range
-            for (int i = 1; i < RangedAttack.MAX_RANGE; i++) {
-
-                Set<BoardNode> startTargets = rangedTargets;
+        DescentMapTables tables = dgs.getMapTables();
+        int[] attackingCells = getCells(tables, attackingTiles);
 
-                for (BoardNode possibleTarget : startTargets) {
-                    // Collects all possible neighbours of neighbours, and adds them to the list of potential target locations
-                    Set<BoardNode> newTargets = new HashSet<>(possibleTarget.getNeighbours().keySet());
-                    newTargets.addAll(rangedTargets);
-                    rangedTargets = newTargets;
-                }
-            }
+        // Find all cells within walking distance of the maximum range - used for ranged attacks
+        for (int currentCell : attackingCells) {
+            for (int neighbour = 0; neighbour < tables.getNCells(); neighbour++) {
+                int distance = tables.getDistance(currentCell, neighbour);
+                if (distance < 1 || distance > RangedAttack.MAX_RANGE) continue;
+                // Prevents the attacker from trying to shoot itself
+                if (contains(attackingCells, neighbour)) continue;
 
-            // Prevents the attacker from trying to shoot itself
-            attackingTiles.forEach(rangedTargets::remove);
-
-            for (BoardNode neighbour : rangedTargets) {
-                if (neighbour == null) continue;
-                int neighbourID = ((PropertyInt) neighbour.getProperty(playersHash)).value;
+                int neighbourID = tables.getOccupant(dgs.masterBoard, neighbour);
                 if (neighbourID != -1) {
                     Figure other = (Figure) dgs.getComponentById(neighbourID);
 
                     // Checks to make sure that there is a line of sight before approving the attack action
-                    if (hasLineOfSight(dgs, ((PropertyVector2D) currentTile.getProperty("coordinates")).values, ((PropertyVector2D) neighbour.getProperty("coordinates")).values)) {
+                    if (tables.hasLineOfSight(dgs.masterBoard, currentCell, neighbour)) {
                         if (f instanceof Monster && other instanceof Hero) {
                             // Monster attacks a hero
                             targets.add(other.getComponentID());
@@ -167,6 +158,22 @@ public class DescentHelper {
         return targets;
     }
 
+    // The cell numbers of the tiles (in the master board's tables)
+    private static int[] getCells(DescentMapTables tables, List<BoardNode> tiles) {
+        int[] cells = new int[tiles.size()];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = tables.indexOf(((PropertyVector2D) tiles.get(i).getProperty(coordinateKey)).values);
+        }
+        Arrays.sort(cells);
+        return cells;
+    }
+
+    private static boolean contains(int[] cells, int cell) {
+        for (int c : cells)
+            if (c == cell) return true;
+        return false;
+    }
+
     public static List<BoardNode> getAttackingTiles(Integer f, BoardNode startTile, List<BoardNode> attackingTiles) {
 
         List<BoardNode> newTiles = new ArrayList<>(attackingTiles);
@@ -175,7 +182,7 @@ public class DescentHelper {
         for (BoardNode neighbour : startTile.getNeighbours().keySet()) {
             if (neighbour == null) continue;
             if (newTiles.contains(neighbour)) continue;
-            int neighbourID = ((PropertyInt) neighbour.getProperty(playersHash)).value;
+            int neighbourID = ((PropertyInt) neighbour.getProperty(playersKey)).value;
             if (neighbourID == f)
             {
                 newTiles.addAll(getAttackingTiles(f, neighbour, newTiles));
@@ -189,61 +196,22 @@ public class DescentHelper {
         return newTiles;
     }
 
+    /**
+     * Checks for a line of sight between two points of the master board: every point on a straight line between
+     * them must be a cell, connected to the one before it, and not occupied by a figure (other than those at either
+     * end, as large figures do not block their own lines of sight).
+     */
     public static boolean hasLineOfSight(DescentGameState dgs, Vector2D startPoint, Vector2D endPoint){
-        int counter = 0;
-        boolean hasLineOfSight = true;
-
-        ArrayList<Vector2D> containedPoints = LineOfSight.bresenhamsLineAlgorithm(startPoint, endPoint);
-
-        BoardNode startTile = dgs.masterBoard.getElement(startPoint.getX(), startPoint.getY());
-        int start = ((PropertyInt) startTile.getProperty(playersHash)).value;
-
-        BoardNode targetTile = dgs.masterBoard.getElement(endPoint.getX(), endPoint.getY());
-        int target = ((PropertyInt) targetTile.getProperty(playersHash)).value;
-
-        // For each coordinate in the line, check:
-        // 1) Does the coordinate have its board node
-        // 2) Is the board node empty (no character on location)
-        // 3) Is the board node connected to previously checked board node
-        // If any of these are false, then there is no LOS
-        for (int i = 1; i < containedPoints.size(); i++){
-
-            Vector2D previousPoint = containedPoints.get(i - 1);
-            Vector2D point = containedPoints.get(i);
-
-            // Check 1) Does the board node exist at this coordinate
-            BoardNode currentTile = dgs.masterBoard.getElement(point.getX(), point.getY());
-            if (currentTile == null){
-                hasLineOfSight = false;
-                break;
-            }
-
-            // Check 2) Is the board node empty (or, if either figure is large, not occupied by itself or the target)
-            int owner = ((PropertyInt) currentTile.getProperty(playersHash)).value;
-            if (owner != -1 && i != containedPoints.size() - 1){
-                if (owner != target && owner != start){
-                    hasLineOfSight = false;
-                    break;
-                }
-            }
-
-            // Check 3) Is the board node connected to previous board node
-            BoardNode previousTile = dgs.masterBoard.getElement(previousPoint.getX(), previousPoint.getY());
-            if (!previousTile.getNeighbours().containsKey(currentTile)){
-                hasLineOfSight = false;
-                break;
-            }
-        }
-
-        if (hasLineOfSight)
-            counter++;
-
-        return (counter > 0);
+        DescentMapTables tables = dgs.getMapTables();
+        int start = tables.indexOf(startPoint);
+        int end = tables.indexOf(endPoint);
+        if (start == -1 || end == -1) return false;
+        return tables.hasLineOfSight(dgs.masterBoard, start, end);
     }
 
     public static List<AbstractAction> moveActions(DescentGameState dgs, Figure f) {
 
-        Map<Vector2D, Pair<Double, List<Vector2D>>> allAdjacentNodes = getAllAdjacentNodes(dgs, f);
+        Map<Vector2D, Pair<Double, List<Vector2D>>> allAdjacentNodes = getAllAdjacentNodes(dgs, f, f.getAttributeValue(Figure.Attribute.MovePoints));
         //Map<Vector2D, Pair<Double, List<Vector2D>>> allPointOfInterests = getAllPointOfInterests(dgs, f);
 
         //allAdjacentNodes.putAll(allPointOfInterests);
@@ -294,9 +262,9 @@ public class DescentHelper {
             BoardNode figureNode = dgs.masterBoard.getElement(point.getX(), point.getY());
             Set<BoardNode> neighbours = figureNode.getNeighbours().keySet();
             for (BoardNode neighbourNode : neighbours){
-                PropertyInt figureOnLocation = (PropertyInt) neighbourNode.getProperty(playersHash);
+                PropertyInt figureOnLocation = (PropertyInt) neighbourNode.getProperty(playersKey);
                 if (figureOnLocation.value == -1){
-                    Vector2D loc = ((PropertyVector2D) neighbourNode.getProperty(coordinateHash)).values;
+                    Vector2D loc = ((PropertyVector2D) neighbourNode.getProperty(coordinateKey)).values;
 
                     // TODO: use actual A* instead of 0
                     //Double movementCost =  a_star_distance(figureNode, neighboutNode)
@@ -310,95 +278,114 @@ public class DescentHelper {
         return movePointOfInterest;
     }
 
-    private static HashMap<Vector2D, Pair<Double,List<Vector2D>>> getAllAdjacentNodes(DescentGameState dgs, Figure figure){
-        Vector2D figureLocation = figure.getPosition();
-        BoardNode figureNode = dgs.getMasterBoard().getElement(figureLocation.getX(), figureLocation.getY());
+    /**
+     * Finds the empty cells the figure can move to, each with the cheapest cost to get there (up to maxCost) and the
+     * path taken. Figures can move through cells with friendly figures, but not stop on them.
+     */
+    private static HashMap<Vector2D, Pair<Double,List<Vector2D>>> getAllAdjacentNodes(DescentGameState dgs, Figure figure, double maxCost){
+        DescentMapTables tables = dgs.getMapTables();
+        GridBoard board = dgs.getMasterBoard();
+        int nCells = tables.getNCells();
+        int start = tables.indexOf(figure.getPosition());
         String figureType = figure.getTokenType();
 
-        //<Board Node, Cost to get there>
-        HashMap<BoardNode, Pair<Double,List<Vector2D>>> expandedBoardNodes = new HashMap<>();
-        HashMap<BoardNode, Pair<Double,List<Vector2D>>> nodesToBeExpanded = new HashMap<>();
-        HashMap<BoardNode, Pair<Double,List<Vector2D>>> allAdjacentNodes = new HashMap<>();
-
-        nodesToBeExpanded.put(figureNode, new Pair<>(0.0, new ArrayList<>()));
+        // Dijkstra's search through the cells that can be moved through (the start, and those of friendly figures),
+        // keeping the cheapest way to each cell that can be moved to
+        byte[] cellTypes = new byte[nCells];
+        double[] throughCost = new double[nCells];
+        double[] toCost = new double[nCells];
+        int[] throughPrevious = new int[nCells];
+        int[] toPrevious = new int[nCells];
+        Arrays.fill(throughCost, Double.POSITIVE_INFINITY);
+        Arrays.fill(toCost, Double.POSITIVE_INFINITY);
+
+        PriorityQueue<Pair<Double, Integer>> nodesToBeExpanded = new PriorityQueue<>(
+                Comparator.comparingDouble((Pair<Double, Integer> p) -> p.a).thenComparingInt(p -> p.b));
+        throughCost[start] = 0;
+        throughPrevious[start] = -1;
+        nodesToBeExpanded.add(new Pair<>(0.0, start));
         while (!nodesToBeExpanded.isEmpty()){
-            // Pick a node to expand, and remove it from the map
-            Map.Entry<BoardNode,Pair<Double,List<Vector2D>>> entry = nodesToBeExpanded.entrySet().iterator().next();
-            BoardNode expandingNode = entry.getKey();
-            double expandingNodeCost = entry.getValue().a;
-            List<Vector2D> expandingNodePath = entry.getValue().b;
-            nodesToBeExpanded.remove(expandingNode);
-
-            // Go through all the neighbour nodes
-            HashMap<BoardNode, Double> neighbours = expandingNode.getNeighbours();
-            for (BoardNode neighbour : neighbours.keySet()){
-                Vector2D loc = ((PropertyVector2D) neighbour.getProperty(coordinateHash)).values;
-
-                double costToMoveToNeighbour = expandingNode.getNeighbourCost(neighbour);
-                double totalCost = expandingNodeCost + costToMoveToNeighbour;
-                List<Vector2D> totalPath = new ArrayList<>(expandingNodePath);
-                if (totalPath.contains(loc)) continue;
-                totalPath.add(loc);
-                boolean isFriendly = false;
-                boolean isEmpty = DescentTypes.TerrainType.isWalkableTerrain(neighbour.getComponentName());
-
-                PropertyInt figureOnLocation = (PropertyInt)neighbour.getProperty(playersHash);
-                if (figureOnLocation.value != -1) {
-                    isEmpty = false;
-                    Figure neighbourFigure = (Figure) dgs.getComponentById(figureOnLocation.value);
-
-                    if (neighbourFigure != null) {
-                        // If our current figure is the same as our neighbour (in the case of large figures), we can move into the neighbour tile
-                        if (figure.equals(neighbourFigure)) {
-                            isEmpty = true;
-                        }
-                        // If our current figure is the same team as the neighbour (Hero or Monster), we can move through it
-                        else if (figureType.equals(neighbourFigure.getTokenType())) {
-                            isFriendly = true;
-                        }
-                        // If our current figure is a monster with the Scamper passive, we can move through Hero figures as if they were friendly
-                        else if (figureType == "Monster") {
-                            if ((((Monster) figure).hasPassive(MonsterAbilities.MonsterPassive.SCAMPER)) && neighbourFigure.getTokenType().equals("Hero"))
-                                isFriendly = true;
-                        }
-                    }
-                    // If, for whatever reason, our Heroes are allowed to ignore enemies entirely when moving
-                    // We can move through all other figures as if they were friendly
-                    if (figure.canIgnoreEnemies())
-                    {
-                        isFriendly = true;
-                    }
+            Pair<Double, Integer> entry = nodesToBeExpanded.poll();
+            int expanding = entry.b;
+            if (entry.a > throughCost[expanding]) continue;  // already expanded more cheaply
+
+            int[] neighbours = tables.getNeighbours(expanding);
+            double[] costs = tables.getNeighbourCosts(expanding);
+            for (int k = 0; k < neighbours.length; k++) {
+                int neighbour = neighbours[k];
+                double totalCost = throughCost[expanding] + costs[k];
+                if (totalCost > maxCost) continue;
+
+                if (cellTypes[neighbour] == 0) {
+                    cellTypes[neighbour] = getCellType(dgs, tables, board, neighbour, figure, figureType);
                 }
-
-                if (isFriendly){
-                    //if the node is friendly and not expanded - add it to the expansion list
-                    if(!expandedBoardNodes.containsKey(neighbour)){
-                        nodesToBeExpanded.put(neighbour, new Pair<>(totalCost, totalPath));
-                        //if the node is friendly and expanded but the cost was higher - add it to the expansion list
-                    } else if (expandedBoardNodes.containsKey(neighbour) && expandedBoardNodes.get(neighbour).a > totalCost){
-                        expandedBoardNodes.remove(neighbour);
-                        nodesToBeExpanded.put(neighbour, new Pair<>(totalCost, totalPath));
+                if (cellTypes[neighbour] == FRIENDLY_CELL) {
+                    if (throughCost[neighbour] > totalCost) {
+                        throughCost[neighbour] = totalCost;
+                        throughPrevious[neighbour] = expanding;
+                        nodesToBeExpanded.add(new Pair<>(totalCost, neighbour));
                     }
-                } else if (isEmpty) {
-                    //if the node is empty - add it to adjacentNodeList
-                    if (!allAdjacentNodes.containsKey(neighbour) || allAdjacentNodes.get(neighbour).a > totalCost){
-                        allAdjacentNodes.put(neighbour, new Pair<>(totalCost, totalPath));
+                } else if (cellTypes[neighbour] == EMPTY_CELL) {
+                    if (toCost[neighbour] > totalCost) {
+                        toCost[neighbour] = totalCost;
+                        toPrevious[neighbour] = expanding;
                     }
                 }
-                expandedBoardNodes.put(neighbour, new Pair<>(totalCost, totalPath));
             }
         }
 
         //Return list of coordinates
         HashMap<Vector2D, Pair<Double,List<Vector2D>>> allAdjacentLocations = new HashMap<>();
-        for (BoardNode boardNode : allAdjacentNodes.keySet()){
-            Vector2D loc = ((PropertyVector2D) boardNode.getProperty(coordinateHash)).values;
-            allAdjacentLocations.put(loc, allAdjacentNodes.get(boardNode));
+        for (int cell = 0; cell < nCells; cell++) {
+            if (toCost[cell] == Double.POSITIVE_INFINITY) continue;
+            LinkedList<Vector2D> path = new LinkedList<>();
+            path.add(tables.getPosition(cell));
+            for (int c = toPrevious[cell]; c != start; c = throughPrevious[c]) {
+                path.addFirst(tables.getPosition(c));
+            }
+            allAdjacentLocations.put(tables.getPosition(cell), new Pair<>(toCost[cell], new ArrayList<>(path)));
         }
 
         return allAdjacentLocations;
     }
 
+    private static final byte BLOCKED_CELL = 1, EMPTY_CELL = 2, FRIENDLY_CELL = 3;
+
+    // Whether the figure can move through the cell (friendly), stop on it (empty), or neither
+    private static byte getCellType(DescentGameState dgs, DescentMapTables tables, GridBoard board, int cell, Figure figure, String figureType) {
+        boolean isFriendly = false;
+        boolean isEmpty = DescentTypes.TerrainType.isWalkableTerrain(tables.getNode(board, cell).getComponentName());
+
+        int figureOnLocation = tables.getOccupant(board, cell);
+        if (figureOnLocation != -1) {
+            isEmpty = false;
+            Figure neighbourFigure = (Figure) dgs.getComponentById(figureOnLocation);
+
+            if (neighbourFigure != null) {
+                // If our current figure is the same as our neighbour (in the case of large figures), we can move into the neighbour tile
+                if (figure.equals(neighbourFigure)) {
+                    isEmpty = true;
+                }
+                // If our current figure is the same team as the neighbour (Hero or Monster), we can move through it
+                else if (figureType.equals(neighbourFigure.getTokenType())) {
+                    isFriendly = true;
+                }
+                // If our current figure is a monster with the Scamper passive, we can move through Hero figures as if they were friendly
+                else if (figureType == "Monster") {
+                    if ((((Monster) figure).hasPassive(MonsterAbilities.MonsterPassive.SCAMPER)) && neighbourFigure.getTokenType().equals("Hero"))
+                        isFriendly = true;
+                }
+            }
+            // If, for whatever reason, our Heroes are allowed to ignore enemies entirely when moving
+            // We can move through all other figures as if they were friendly
+            if (figure.canIgnoreEnemies())
+            {
+                isFriendly = true;
+            }
+        }
+        return isFriendly ? FRIENDLY_CELL : isEmpty ? EMPTY_CELL : BLOCKED_CELL;
+    }
+
     // Pair<final position, final orientation> -> pair<movement cost to get there, list of positions to travel through to get there>
     private static Map<Pair<Vector2D, Monster.Direction>, Pair<Double,List<Vector2D>>> getPossibleRotationsForMoveActions(Map<Vector2D, Pair<Double,List<Vector2D>>> allAdjacentNodes, DescentGameState dgs, Figure figure){
 
@@ -443,7 +430,7 @@ public class DescentHelper {
 
                             if (spaceOccupied != null)
                             {
-                                PropertyInt figureOnLocation = (PropertyInt) spaceOccupied.getProperty(playersHash);
+                                PropertyInt figureOnLocation = (PropertyInt) spaceOccupied.getProperty(playersKey);
                                 if (!DescentTypes.TerrainType.isWalkableTerrain(spaceOccupied.getComponentName()) ||
                                         figureOnLocation.value != -1 && figureOnLocation.value != figure.getComponentID())
                                 {
@@ -528,9 +515,9 @@ public class DescentHelper {
     public static List<DescentAction> getOtherEquipmentActions(Hero figure) {
         List<DescentAction> actions = new ArrayList<>();
         for (DescentCard equipment : figure.getOtherEquipment().getComponents()) {
-            Property passive = equipment.getProperty("passive");
+            Property passive = equipment.getProperty(passiveKey);
             if (passive != null) {
-                String pass = String.valueOf(equipment.getProperty("passive"));
+                String pass = String.valueOf(equipment.getProperty(passiveKey));
                 if (pass.contains(";")) {
                     String[] passives = pass.split(";");
                     for (String s : passives) {
@@ -592,58 +579,17 @@ public class DescentHelper {
     }
 
     public static int bfsLee(DescentGameState dgs, Vector2D start, Vector2D end) {
-        // Breadth-First Search Lee Algorithm
-        // Used to find the shortest path between two points
+        // The shortest path between two points (in moves, ignoring figures and terrain costs), as found by a
+        // Breadth-First Search (Lee Algorithm) from every cell when the map was set up
         // Used for the Heroes/Monsters to find the shortest path to their target enemy
-
-        GridBoard board = dgs.getMasterBoard();
+        DescentMapTables tables = dgs.getMapTables();
+        int from = tables.indexOf(start);
+        int to = tables.indexOf(end);
 
         // Ensure that both start and end points are valid
-        if (board.getElement(start) == null || board.getElement(end) == null)
+        if (from == -1 || to == -1)
             return -1;
-
-        boolean[][] visited = new boolean[board.getWidth()][board.getHeight()];
-        visited[start.getX()][start.getY()] = true;
-
-        // Distance from the source cell is initialized to 0
-        Queue<Pair<BoardNode, Integer>> queue = new LinkedList<>();
-        queue.add(new Pair<BoardNode, Integer>((BoardNode) board.getElement(start), 0));
-
-        // BFS starting from start cell
-        while (!queue.isEmpty())
-        {
-            Pair<BoardNode, Integer> curr = queue.peek();
-            BoardNode node = curr.a;
-
-            Vector2D currLoc = ((PropertyVector2D) node.getProperty(coordinateHash)).values;
-
-            // If we have reached the destination cell, we are done
-            if (currLoc.equals(end))
-                return curr.b;
-
-            // Otherwise dequeue the front cell in the queue and enqueue its adjacent cells
-            queue.poll();
-
-            for (BoardNode neighbour : node.getNeighbours().keySet())
-            {
-                if (neighbour == null) continue;
-                Vector2D nextLoc = ((PropertyVector2D) neighbour.getProperty(coordinateHash)).values;
-                if (!checkValid(nextLoc.getX(), nextLoc.getY(), board)) continue;
-                if (!visited[nextLoc.getX()][nextLoc.getY()])
-                {
-                    visited[nextLoc.getX()][nextLoc.getY()] = true;
-                    queue.add(new Pair<>(neighbour, curr.b + 1));
-                }
-            }
-        }
-
-        return -1;
-    }
-
-    // Check whether given cell(row,col) is a valid cell or not
-    static boolean checkValid(int row, int col, GridBoard board)
-    {
-        return ((row >= 0) && (row < board.getWidth()) && (col >= 0) && (col < board.getHeight()));
+        return tables.getDistance(from, to);
     }
 
     public static String gridCounter(DescentGameState dgs, int figureId, Vector2D startPos, List<Vector2D> positionsTravelled) {
@@ -652,9 +598,9 @@ public class DescentHelper {
         StringBuilder coords = new StringBuilder();
         for (Component node : grid) {
             if (node != null) {
-                if (((PropertyInt) node.getProperty(playersHash)).value == figureId) {
+                if (((PropertyInt) node.getProperty(playersKey)).value == figureId) {
                     counter++;
-                    coords.append(node.getProperty("coordinates").toString()+"; ");
+                    coords.append(node.getProperty(coordinateKey).toString()+"; ");
                 }
             }
         }
@@ -0,0 +1,268 @@
+package games.descent2e;
+
+import core.components.BoardNode;
+import core.components.GridBoard;
+import core.properties.PropertyInt;
+import utilities.LineOfSight;
+import utilities.Vector2D;
+
+import java.util.*;
+
+import static core.CoreConstants.playersKey;
+
+/**
+ * Tables of everything about a quest's master board that does not change during the game: which cells exist, how
+ * they are connected (and at what movement cost), the shortest walking distance between every pair of cells, and
+ * which pairs of cells could see each other if no figures were in the way.
+ * <p>
+ * Cells are numbered in row order. The tables are built from the board's neighbour graph when the map is set up,
+ * and shared by all copies of the game state (see DescentGameData.getMapTables()), so they must not be changed.
+ * Lines of sight are worked out one source cell at a time, the first time that cell is looked from. Figures are not
+ * part of the tables: hasLineOfSight() checks the cells along the stored line for blocking figures on each query, so
+ * nothing needs to be recalculated when figures move.
+ */
+public class DescentMapTables {
+
+    private final int boardID;
+    private final int width, height;
+    private final int nCells;
+    private final int[] cellIndex;  // cell number for each x + y * width, or -1 if there is no cell there
+    private final int[] cellX, cellY;
+    private final int[][] neighbours;
+    private final double[][] neighbourCosts;
+    // walking distance (in moves, ignoring terrain costs and figures) from each cell to each other cell, or -1
+    private final short[][] distances;
+    private final LineOfSightRow[] lineOfSight;
+
+    DescentMapTables(GridBoard board) {
+        boardID = board.getComponentID();
+        width = board.getWidth();
+        height = board.getHeight();
+
+        cellIndex = new int[width * height];
+        Arrays.fill(cellIndex, -1);
+        Map<BoardNode, Integer> nodeIndex = new IdentityHashMap<>();
+        List<BoardNode> nodes = new ArrayList<>();
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                BoardNode node = board.getElement(x, y);
+                if (node != null) {
+                    cellIndex[x + y * width] = nodes.size();
+                    nodeIndex.put(node, nodes.size());
+                    nodes.add(node);
+                }
+            }
+        }
+        nCells = nodes.size();
+        cellX = new int[nCells];
+        cellY = new int[nCells];
+        for (int i = 0; i < width * height; i++) {
+            if (cellIndex[i] != -1) {
+                cellX[cellIndex[i]] = i % width;
+                cellY[cellIndex[i]] = i / width;
+            }
+        }
+
+        neighbours = new int[nCells][];
+        neighbourCosts = new double[nCells][];
+        for (int i = 0; i < nCells; i++) {
+            HashMap<BoardNode, Double> links = nodes.get(i).getNeighbours();
+            int[] n = new int[links.size()];
+            double[] c = new double[links.size()];
+            int count = 0;
+            for (Map.Entry<BoardNode, Double> e : links.entrySet()) {
+                Integer j = e.getKey() == null ? null : nodeIndex.get(e.getKey());
+                if (j == null) continue;  // not on this board
+                n[count] = j;
+                c[count++] = e.getValue();
+            }
+            // sorted, so that searches expand neighbours in the same order every time
+            Integer[] order = new Integer[count];
+            for (int k = 0; k < count; k++) order[k] = k;
+            Arrays.sort(order, Comparator.comparingInt(k -> n[k]));
+            neighbours[i] = new int[count];
+            neighbourCosts[i] = new double[count];
+            for (int k = 0; k < count; k++) {
+                neighbours[i][k] = n[order[k]];
+                neighbourCosts[i][k] = c[order[k]];
+            }
+        }
+
+        distances = new short[nCells][];
+        int[] queue = new int[nCells];
+        for (int from = 0; from < nCells; from++) {
+            short[] row = new short[nCells];
+            Arrays.fill(row, (short) -1);
+            row[from] = 0;
+            int head = 0, tail = 0;
+            queue[tail++] = from;
+            while (head < tail) {
+                int i = queue[head++];
+                for (int j : neighbours[i]) {
+                    if (row[j] == -1) {
+                        row[j] = (short) (row[i] + 1);
+                        queue[tail++] = j;
+                    }
+                }
+            }
+            distances[from] = row;
+        }
+
+        lineOfSight = new LineOfSightRow[nCells];
+    }
+
+    /**
+     * @return true if these are the tables for this board (or a copy of it)
+     */
+    boolean isFor(GridBoard board) {
+        return board.getComponentID() == boardID && board.getWidth() == width && board.getHeight() == height;
+    }
+
+    public int getNCells() {
+        return nCells;
+    }
+
+    /**
+     * @return the number of the cell at (x, y), or -1 if there is no cell there
+     */
+    public int indexOf(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) return -1;
+        return cellIndex[x + y * width];
+    }
+
+    public int indexOf(Vector2D position) {
+        return indexOf(position.getX(), position.getY());
+    }
+
+    public int getX(int cell) {
+        return cellX[cell];
+    }
+
+    public int getY(int cell) {
+        return cellY[cell];
+    }
+
+    /**
+     * @return a new Vector2D with the position of the cell on the master board
+     */
+    public Vector2D getPosition(int cell) {
+        return new Vector2D(cellX[cell], cellY[cell]);
+    }
+
+    public BoardNode getNode(GridBoard board, int cell) {
+        return board.getElement(cellX[cell], cellY[cell]);
+    }
+
+    /**
+     * @return the component ID of the figure on the cell of this board, or -1 if it is empty
+     */
+    public int getOccupant(GridBoard board, int cell) {
+        return ((PropertyInt) getNode(board, cell).getProperty(playersKey)).value;
+    }
+
+    /**
+     * @return the cells next to this one, in order. This array must not be changed.
+     */
+    public int[] getNeighbours(int cell) {
+        return neighbours[cell];
+    }
+
+    /**
+     * @return the cost of moving to each of getNeighbours(cell). This array must not be changed.
+     */
+    public double[] getNeighbourCosts(int cell) {
+        return neighbourCosts[cell];
+    }
+
+    public boolean areNeighbours(int from, int to) {
+        for (int n : neighbours[from])
+            if (n == to) return true;
+        return false;
+    }
+
+    /**
+     * @return the number of moves needed to walk from one cell to the other, ignoring figures and terrain costs,
+     * or -1 if there is no way between them
+     */
+    public int getDistance(int from, int to) {
+        return distances[from][to];
+    }
+
+    /**
+     * @return true if there would be a line of sight between the cells with no figures on the board
+     */
+    public boolean hasLineOfSight(int from, int to) {
+        return lineOfSightFrom(from).isClear(to);
+    }
+
+    /**
+     * Checks for a line of sight between two cells of the board, which is blocked by any figure in the way other
+     * than those on the two cells (large figures do not block their own lines of sight).
+     */
+    public boolean hasLineOfSight(GridBoard board, int from, int to) {
+        LineOfSightRow row = lineOfSightFrom(from);
+        if (!row.isClear(to)) return false;
+        int start = getOccupant(board, from);
+        int target = getOccupant(board, to);
+        for (int k = row.lineStart[to]; k < row.lineStart[to + 1]; k++) {
+            int owner = getOccupant(board, row.lineCells[k]);
+            if (owner != -1 && owner != target && owner != start)
+                return false;
+        }
+        return true;
+    }
+
+    private LineOfSightRow lineOfSightFrom(int from) {
+        // Rows are only ever added, and all copies would build the same row, so this needs no locking
+        LineOfSightRow row = lineOfSight[from];
+        if (row == null) {
+            row = new LineOfSightRow(from);
+            lineOfSight[from] = row;
+        }
+        return row;
+    }
+
+    /**
+     * The lines of sight from one cell to every other. A line (as drawn by LineOfSight.bresenhamsLineAlgorithm())
+     * is clear if every point on it is a cell, and each is a neighbour of the one before; for clear lines the cells
+     * strictly between the two ends are kept, to be checked for figures.
+     */
+    private final class LineOfSightRow {
+        final long[] clear;
+        final int[] lineStart;  // lineCells[lineStart[to] .. lineStart[to + 1]) are the cells between from and to
+        final int[] lineCells;
+
+        LineOfSightRow(int from) {
+            long[] clear = new long[(nCells + 63) >>> 6];
+            int[] lineStart = new int[nCells + 1];
+            int[] lineCells = new int[nCells];
+            int size = 0;
+            Vector2D start = getPosition(from);
+            for (int to = 0; to < nCells; to++) {
+                lineStart[to] = size;
+                ArrayList<Vector2D> points = LineOfSight.bresenhamsLineAlgorithm(start, getPosition(to));
+                int[] cells = new int[points.size()];
+                boolean isClear = true;
+                cells[0] = from;
+                for (int i = 1; i < points.size() && isClear; i++) {
+                    cells[i] = indexOf(points.get(i));
+                    isClear = cells[i] != -1 && areNeighbours(cells[i - 1], cells[i]);
+                }
+                if (!isClear) continue;
+                clear[to >>> 6] |= 1L << to;
+                for (int i = 1; i < cells.length - 1; i++) {
+                    if (size == lineCells.length) lineCells = Arrays.copyOf(lineCells, size * 2);
+                    lineCells[size++] = cells[i];
+                }
+            }
+            lineStart[nCells] = size;
+            this.clear = clear;
+            this.lineStart = lineStart;
+            this.lineCells = Arrays.copyOf(lineCells, size);
+        }
+
+        boolean isClear(int to) {
+            return (clear[to >>> 6] & (1L << to)) != 0;
+        }
+    }
+}
@@ -18,6 +18,8 @@ import java.util.*;
 
 import static evaluation.metrics.Event.GameEvent.*;
 import static games.descent2e.components.Figure.Attribute.Health;
+import static games.descent2e.DescentConstants.archetypeKey;
+import static games.descent2e.DescentConstants.classKey;
 
 public class DescentMetrics implements IMetricsCollection {
 
@@ -307,8 +309,8 @@ public class DescentMetrics implements IMetricsCollection {
             for (int i = 0; i < dgs.getHeroes().size(); i++) {
                 Hero hero = dgs.getHeroes().get(i);
                 records.put("Hero " + (i + 1), hero.getName().replace("Hero: ", ""));
-                records.put("Hero " + (i + 1) + " Archetype", hero.getProperty("archetype").toString());
-                records.put("Hero " + (i + 1) + " Class", hero.getProperty("class").toString());
+                records.put("Hero " + (i + 1) + " Archetype", hero.getProperty(archetypeKey).toString());
+                records.put("Hero " + (i + 1) + " Class", hero.getProperty(classKey).toString());
                 records.put("Hero " + (i + 1) + " Used Feat", !hero.isFeatAvailable());
             }
             return true;
@@ -769,7 +771,7 @@ public class DescentMetrics implements IMetricsCollection {
             List<String> setup = new ArrayList<>();
             for (Hero hero : dgs.getHeroes())
             {
-                String h = hero.getComponentName().replace("Hero: ", "") + " - " + hero.getProperty("archetype") + " (" + hero.getProperty("class") + ") - " +
+                String h = hero.getComponentName().replace("Hero: ", "") + " - " + hero.getProperty(archetypeKey) + " (" + hero.getProperty(classKey) + ") - " +
                         hero.getAttributeValue(Health) + " HP - " + hero.getHandEquipment().toString() + " - " + hero.getPosition().toString();
                 setup.add(h);
             }
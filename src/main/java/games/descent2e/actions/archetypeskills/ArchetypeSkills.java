@@ -17,6 +17,8 @@ import games.descent2e.components.tokens.DToken;
 import java.util.*;
 
 import static games.descent2e.DescentHelper.*;
+import static core.CoreConstants.nameKey;
+import static games.descent2e.DescentConstants.equipmentTypeKey;
 
 public class ArchetypeSkills {
 
@@ -33,7 +35,7 @@ public class ArchetypeSkills {
             // If the skill is exhausted, skip it
             if(f.isExhausted(skill)) continue;
 
-            switch(skill.getProperty("name").toString())
+            switch(skill.getProperty(nameKey).toString())
             {
                 // Berserker
                 case "Rage":
@@ -59,7 +61,7 @@ public class ArchetypeSkills {
                         if (hand != null) {
                             boolean hasMagicOrRuneItem = false;
                             for (DescentCard item : hand.getComponents()) {
-                                String[] equipmentType = ((PropertyStringArray) item.getProperty("equipmentType")).getValues();
+                                String[] equipmentType = ((PropertyStringArray) item.getProperty(equipmentTypeKey)).getValues();
                                 if (equipmentType == null) continue;
                                 if (Arrays.asList(equipmentType).contains("Magic") || Arrays.asList(equipmentType).contains("Rune")) {
                                     hasMagicOrRuneItem = true;
@@ -14,6 +14,7 @@ import java.util.List;
 import java.util.Objects;
 
 import static utilities.Utils.getNeighbourhood;
+import static core.CoreConstants.nameKey;
 
 public class Heal extends DescentAction {
 
@@ -52,7 +53,7 @@ public class Heal extends DescentAction {
         String string = "Heal " + targetName + " for 1 Red Power Die";
         Component card = gameState.getComponentById(cardID);
         if (card != null) {
-            string = card.getProperty("name").toString() + ": " + string;
+            string = card.getProperty(nameKey).toString() + ": " + string;
         }
         if (healthRecovered > 0)
             string += " (" + healthRecovered + " Health)";
@@ -23,6 +23,7 @@ import static games.descent2e.DescentHelper.inRange;
 import static games.descent2e.actions.Triggers.*;
 import static games.descent2e.actions.attack.MeleeAttack.AttackPhase.*;
 import static games.descent2e.actions.attack.MeleeAttack.Interrupters.*;
+import static games.descent2e.DescentConstants.actionKey;
 
 public class MeleeAttack extends DescentAction implements IExtendedSequence {
 
@@ -272,7 +273,7 @@ public class MeleeAttack extends DescentAction implements IExtendedSequence {
             Deck<DescentCard> myEquipment = f.getHandEquipment();
             for (DescentCard equipment : myEquipment.getComponents())
             {
-                String action = String.valueOf(equipment.getProperty("action"));
+                String action = String.valueOf(equipment.getProperty(actionKey));
                 if(action.contains(";"))
                 {
                     String[] actions = action.split(";");
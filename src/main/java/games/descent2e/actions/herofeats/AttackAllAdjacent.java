@@ -13,6 +13,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import static games.descent2e.DescentHelper.inRange;
+import static games.descent2e.DescentConstants.equipmentTypeKey;
 
 public class AttackAllAdjacent extends MultiAttack {
 
@@ -42,7 +43,7 @@ public class AttackAllAdjacent extends MultiAttack {
             if (hand == null || hand.getSize() == 0) return false;
             boolean hasMagicItem = false;
             for (DescentCard item : hand.getComponents()) {
-                String[] equipmentType = ((PropertyStringArray) item.getProperty("equipmentType")).getValues();
+                String[] equipmentType = ((PropertyStringArray) item.getProperty(equipmentTypeKey)).getValues();
                 if (equipmentType == null) continue;
                 if (Arrays.asList(equipmentType).contains("Magic")) {
                     hasMagicItem = true;
@@ -15,6 +15,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import static games.descent2e.DescentHelper.getMeleeTargets;
+import static games.descent2e.DescentConstants.equipmentTypeKey;
 
 public class MagicAttackAll extends DescentAction {
     public MagicAttackAll() {
@@ -56,7 +57,7 @@ public class MagicAttackAll extends DescentAction {
             boolean hasMagicItem = false;
             for (DescentCard item: hand.getComponents())
             {
-                String[] equipmentType = ((PropertyStringArray) item.getProperty("equipmentType")).getValues();
+                String[] equipmentType = ((PropertyStringArray) item.getProperty(equipmentTypeKey)).getValues();
                 if (equipmentType == null) continue;
                 if (Arrays.asList(equipmentType).contains("Magic")) {
                     hasMagicItem = true;
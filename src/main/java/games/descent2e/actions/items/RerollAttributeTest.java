@@ -10,6 +10,7 @@ import games.descent2e.components.*;
 import javassist.runtime.Desc;
 
 import java.util.Objects;
+import static core.CoreConstants.nameKey;
 
 public class RerollAttributeTest extends DescentAction {
     int figureID = -1;
@@ -24,7 +25,7 @@ public class RerollAttributeTest extends DescentAction {
     @Override
     public String getString(AbstractGameState gameState) {
         DicePool dice = ((DescentGameState) gameState).getAttributeDicePool();
-        String cardName = gameState.getComponentById(cardID).getProperty("name").toString();
+        String cardName = gameState.getComponentById(cardID).getProperty(nameKey).toString();
         String attributeTestName = gameState.currentActionInProgress() instanceof AttributeTest ? ((AttributeTest) gameState.currentActionInProgress()).getAttributeTestName().split(":")[0] : "";
         String retval = cardName + ": Reroll " + attributeTestName + " (";
         int size = dice.getComponents().size();
@@ -11,6 +11,7 @@ import games.descent2e.components.Figure;
 import games.descent2e.components.Hero;
 
 import java.util.Objects;
+import static core.CoreConstants.nameKey;
 
 public class Shield extends DescentAction {
 
@@ -26,7 +27,7 @@ public class Shield extends DescentAction {
 
     @Override
     public String getString(AbstractGameState gameState) {
-        return "Exhaust " + gameState.getComponentById(cardID).getProperty("name") + " for +" + value + " shield to defense roll";
+        return "Exhaust " + gameState.getComponentById(cardID).getProperty(nameKey) + " for +" + value + " shield to defense roll";
     }
 
     public String toString() {
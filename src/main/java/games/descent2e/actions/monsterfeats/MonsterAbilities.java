@@ -18,6 +18,7 @@ import java.util.List;
 
 import static games.descent2e.DescentHelper.getAttackingTiles;
 import static games.descent2e.DescentHelper.inRange;
+import static core.CoreConstants.coordinateKey;
 
 public class MonsterAbilities {
 
@@ -74,7 +75,7 @@ public class MonsterAbilities {
                             for (Hero h : heroes) {
                                 if (targets.contains(h.getComponentID())) continue;
                                 Vector2D other = h.getPosition();
-                                if (inRange(((PropertyVector2D) currentTile.getProperty("coordinates")).values, other, 3)) {
+                                if (inRange(((PropertyVector2D) currentTile.getProperty(coordinateKey)).values, other, 3)) {
                                     targets.add(h.getComponentID());
                                 }
                             }
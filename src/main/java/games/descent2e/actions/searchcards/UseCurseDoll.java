@@ -18,7 +18,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
-import static core.CoreConstants.playersHash;
+import static core.CoreConstants.playersKey;
 import static utilities.Utils.getNeighbourhood;
 
 public class UseCurseDoll extends DescentAction implements IExtendedSequence {
@@ -72,7 +72,7 @@ public class UseCurseDoll extends DescentAction implements IExtendedSequence {
             for (Vector2D n : neighbours) {
                 BoardNode bn = board.getElement(n.getX(), n.getY());
                 if (bn != null) {
-                    PropertyInt figureAtNode = ((PropertyInt) bn.getProperty(playersHash));
+                    PropertyInt figureAtNode = ((PropertyInt) bn.getProperty(playersKey));
                     if (figureAtNode != null && figureAtNode.value != -1) {
                         Figure f = (Figure) dgs.getComponentById(figureAtNode.value);
                         if (f instanceof Hero && !f.getConditions().isEmpty()) {
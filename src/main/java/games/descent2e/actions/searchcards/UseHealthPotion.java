@@ -18,7 +18,7 @@ import utilities.Vector2D;
 import java.util.ArrayList;
 import java.util.List;
 
-import static core.CoreConstants.playersHash;
+import static core.CoreConstants.playersKey;
 import static utilities.Utils.getNeighbourhood;
 
 public class UseHealthPotion extends DescentAction implements IExtendedSequence {
@@ -67,7 +67,7 @@ public class UseHealthPotion extends DescentAction implements IExtendedSequence
             for (Vector2D n : neighbours) {
                 BoardNode bn = board.getElement(n.getX(), n.getY());
                 if (bn != null) {
-                    PropertyInt figureAtNode = ((PropertyInt) bn.getProperty(playersHash));
+                    PropertyInt figureAtNode = ((PropertyInt) bn.getProperty(playersKey));
                     if (figureAtNode != null && figureAtNode.value != -1) {
                         Figure f = (Figure) dgs.getComponentById(figureAtNode.value);
                         if (f instanceof Hero) {
@@ -14,6 +14,7 @@ import utilities.Vector2D;
 
 import static games.descent2e.DescentHelper.hasLineOfSight;
 import static games.descent2e.DescentHelper.inRange;
+import static core.CoreConstants.nameKey;
 
 public class GreedyAction extends SearchAction {
     public GreedyAction() {
@@ -47,7 +48,7 @@ public class GreedyAction extends SearchAction {
         if (skills == null || skills.getSize() == 0) return false;
 
         for (DescentCard skill : (hero.getSkills().getComponents())) {
-            if (skill.getProperty("name").toString().equals("Greedy")) {
+            if (skill.getProperty(nameKey).toString().equals("Greedy")) {
                 Vector2D loc = hero.getPosition();
                 for (DToken token : gs.getTokens()) {
                     if (token.getDescentTokenType() == DescentTypes.DescentToken.Search) {
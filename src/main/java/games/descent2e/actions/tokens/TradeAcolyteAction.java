@@ -19,7 +19,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 
-import static core.CoreConstants.playersHash;
+import static core.CoreConstants.playersKey;
 import static utilities.Utils.getNeighbourhood;
 
 /**
@@ -57,7 +57,7 @@ public class TradeAcolyteAction extends TokenAction<TradeAcolyteAction> implemen
             for (Vector2D n : neighbours) {
                 BoardNode bn = board.getElement(n.getX(), n.getY());
                 if (bn != null) {
-                    PropertyInt figureAtNode = ((PropertyInt) bn.getProperty(playersHash));
+                    PropertyInt figureAtNode = ((PropertyInt) bn.getProperty(playersKey));
                     if (figureAtNode != null && figureAtNode.value != -1) {
                         Figure f = (Figure) dgs.getComponentById(figureAtNode.value);
                         if (f instanceof Hero) {
@@ -116,7 +116,7 @@ public class TradeAcolyteAction extends TokenAction<TradeAcolyteAction> implemen
             for (Vector2D n : neighbours) {
                 BoardNode bn = board.getElement(n.getX(), n.getY());
                 if (bn != null) {
-                    PropertyInt figureAtNode = ((PropertyInt) bn.getProperty(playersHash));
+                    PropertyInt figureAtNode = ((PropertyInt) bn.getProperty(playersKey));
                     if (figureAtNode != null && figureAtNode.value != -1) {
                         Figure f = (Figure) dgs.getComponentById(figureAtNode.value);
                         if (f instanceof Hero) {
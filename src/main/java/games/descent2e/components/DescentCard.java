@@ -8,6 +8,9 @@ import games.descent2e.actions.attack.Surge;
 
 import java.util.*;
 import java.util.stream.Collectors;
+import static games.descent2e.DescentConstants.attackPowerKey;
+import static games.descent2e.DescentConstants.attackTypeKey;
+import static games.descent2e.DescentConstants.weaponSurgesKey;
 
 public class DescentCard extends Card {
     // Currently this is immutable, with no internal state
@@ -22,15 +25,15 @@ public class DescentCard extends Card {
         super(data.getComponentName());
 
         this.setProperties(data.getProperties());
-        Property at = data.getProperty("attackType");
+        Property at = data.getProperty(attackTypeKey);
         if (at != null) {
             attackType = AttackType.valueOf(at.toString().toUpperCase(Locale.ROOT));
-            PropertyStringArray attPower = (PropertyStringArray) data.getProperty("attackPower");
+            PropertyStringArray attPower = (PropertyStringArray) data.getProperty(attackPowerKey);
             dicePool = DicePool.constructDicePool(attPower.getValues());
         }
-        Property ws = data.getProperty("weaponSurges");
+        Property ws = data.getProperty(weaponSurgesKey);
         if (ws != null) {
-            PropertyStringArray wSurges = (PropertyStringArray) data.getProperty("weaponSurges");
+            PropertyStringArray wSurges = (PropertyStringArray) data.getProperty(weaponSurgesKey);
             weaponSurges = Arrays.stream(wSurges.getValues())
                     .map(d -> Surge.valueOf(d.toUpperCase(Locale.ROOT)))
                     .collect(Collectors.toList());
@@ -24,7 +24,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
-import static core.CoreConstants.coordinateHash;
+import static core.CoreConstants.coordinateKey;
 
 public class TileBuildGUI extends AbstractGUIManager {
     TileBuildGridBoardView view;
@@ -161,7 +161,7 @@ public class TileBuildGUI extends AbstractGUIManager {
                     Path p = dgs.pathfinder.getPath(dgs, node1.getComponentID(), node2.getComponentID());
                     ArrayList<Vector2D> points = new ArrayList<>();
                     for (int i : p.points) {
-                        points.add(((PropertyVector2D) (dgs.getComponentById(i)).getProperty(coordinateHash)).values);
+                        points.add(((PropertyVector2D) (dgs.getComponentById(i)).getProperty(coordinateKey)).values);
                     }
                     view.path = points;
                 }
@@ -253,7 +253,7 @@ public class DescentGridBoardView extends ComponentView implements IScreenHighli
                     // TODO ugly version
 
                     String imagePath = dataPath;
-                    if (((PropertyColor) m.getProperty(colorHash)).valueStr.equals("red")) {
+                    if (((PropertyColor) m.getProperty(colorKey)).valueStr.equals("red")) {
                         imagePath += path.replace(".png", "-master.png");
                     } else {
                         imagePath += path;
@@ -412,7 +412,7 @@ public class DescentGridBoardView extends ComponentView implements IScreenHighli
                     boolean connected = false;
                     for (BoardNode nn : bn.getNeighbours().keySet()) {
                         if (nn == null) continue;
-                        Vector2D location = ((PropertyVector2D) nn.getProperty(coordinateHash)).values;
+                        Vector2D location = ((PropertyVector2D) nn.getProperty(coordinateKey)).values;
                         if (location.equals(n)) {
                             connected = true;
                             break;
@@ -467,7 +467,7 @@ public class DescentGridBoardView extends ComponentView implements IScreenHighli
         Stroke s = g.getStroke();
         for (BoardNode nn : bn.getNeighbours().keySet()) {
             if (nn == null) continue;
-            Vector2D location = ((PropertyVector2D) nn.getProperty(coordinateHash)).values;
+            Vector2D location = ((PropertyVector2D) nn.getProperty(coordinateKey)).values;
             int xC2 = offsetX + location.getX() * descentItemSize;
             int yC2 = offsetY + location.getY() * descentItemSize;
 
@@ -268,6 +268,14 @@ public class DominionGameState extends AbstractGameState implements IPrintable {
     @Override
     protected AbstractGameState _copy(int playerId) {
         DominionGameState retValue = new DominionGameState(((DominionParameters) gameParameters).shallowCopy(), nPlayers);
+        _copyInto(retValue, playerId);
+        return retValue;
+    }
+
+    @Override
+    protected boolean _copyInto(AbstractGameState target, int playerId) {
+        DominionGameState retValue = (DominionGameState) target;
+        retValue.cardsIncludedInGame.clear();
         for (CardType ct : cardsIncludedInGame.keySet()) {
             retValue.cardsIncludedInGame.put(ct, cardsIncludedInGame.get(ct));
         }
@@ -316,10 +324,13 @@ public class DominionGameState extends AbstractGameState implements IPrintable {
         retValue.spentSoFar = spentSoFar;
         retValue.additionalSpendAvailable = additionalSpendAvailable;
 
-        retValue.defenceStatus = defenceStatus.clone();
+        if (retValue.defenceStatus == null)
+            retValue.defenceStatus = defenceStatus.clone();
+        else
+            System.arraycopy(defenceStatus, 0, retValue.defenceStatus, 0, defenceStatus.length);
 
         retValue.delayedActions = delayedActions.stream().map(IDelayedAction::copy).collect(toList());
-        return retValue;
+        return true;
     }
 
     /**
@@ -5,6 +5,7 @@ import core.AbstractParameters;
 import core.components.Component;
 import core.interfaces.IStateHeuristic;
 import games.GameType;
+import utilities.Zobrist;
 
 import java.util.*;
 
@@ -26,6 +27,8 @@ public class DBGameState extends AbstractGameState {
     HashMap<DBCell, Integer> cellToOwnerMap;  // Mapping from each cell to its owner, if complete
     HashMap<DBEdge, Integer> edgeToOwnerMap;  // Mapping from each edge to its owner, if placed
     boolean lastActionDidNotScore;
+    // Zobrist hash of the owners of the edges and cells, updated by setEdgeOwner() and setCellOwner()
+    long ownerHash;
 
     /**
      * Constructor. Initialises some generic game state variables.
@@ -59,6 +62,7 @@ public class DBGameState extends AbstractGameState {
         dbgs.nCellsPerPlayer = nCellsPerPlayer.clone();
         dbgs.cellToOwnerMap = (HashMap<DBCell, Integer>) cellToOwnerMap.clone();
         dbgs.edgeToOwnerMap = (HashMap<DBEdge, Integer>) edgeToOwnerMap.clone();
+        dbgs.ownerHash = ownerHash;
         dbgs.heuristic = heuristic;
         return dbgs;
     }
@@ -84,6 +88,12 @@ public class DBGameState extends AbstractGameState {
         return nCellsPerPlayer[playerId];
     }
 
+    @Override
+    protected long _getStateHash() {
+        // the edges and cells never change, and the cell counts follow from the cell owners
+        return lastActionDidNotScore ? ~ownerHash : ownerHash;
+    }
+
     @Override
     public boolean _equals(Object o) {
         if (this == o) return true;
@@ -159,6 +169,25 @@ public class DBGameState extends AbstractGameState {
         }
         return retValue;
     }
+    public void setEdgeOwner(DBEdge edge, int player) {
+        Integer previous = edgeToOwnerMap.put(edge, player);
+        ownerHash ^= edgeKey(edge, previous) ^ edgeKey(edge, player);
+    }
+
+    public void setCellOwner(DBCell cell, int player) {
+        Integer previous = cellToOwnerMap.put(cell, player);
+        ownerHash ^= cellKey(cell, previous) ^ cellKey(cell, player);
+    }
+
+    // edges and cells are told apart by the lowest bit of the feature
+    private static long edgeKey(DBEdge edge, Integer owner) {
+        return owner == null ? 0L : Zobrist.key(2L * Integer.toUnsignedLong(edge.hashCode()), owner);
+    }
+
+    private static long cellKey(DBCell cell, Integer owner) {
+        return owner == null ? 0L : Zobrist.key(2L * Integer.toUnsignedLong(cell.hashCode()) + 1, owner);
+    }
+
     public boolean getLastActionDidNotScore(){return lastActionDidNotScore;}
     public void setLastActionDidNotScore(boolean value){
         lastActionDidNotScore = value;}
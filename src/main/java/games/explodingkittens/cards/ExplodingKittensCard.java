@@ -103,6 +103,11 @@ public class ExplodingKittensCard extends Card {
         return this; // immutable
     }
 
+    @Override
+    public boolean isImmutable() {
+        return true;
+    }
+
     @Override
     public String toString() {
         return cardType.name();
@@ -71,18 +71,34 @@ public class LoveLetterGameState extends AbstractGameState implements IPrintable
     @Override
     protected AbstractGameState _copy(int playerId) {
         LoveLetterGameState llgs = new LoveLetterGameState(gameParameters.copy(), getNPlayers());
+        _copyInto(llgs, playerId);
+        return llgs;
+    }
+
+    @Override
+    protected boolean _copyInto(AbstractGameState target, int playerId) {
+        LoveLetterGameState llgs = (LoveLetterGameState) target;
         llgs.drawPile = drawPile.copy();
         llgs.reserveCards = reserveCards.copy();
         llgs.removedCard = removedCard.copy();
-        llgs.playerHandCards = new ArrayList<>();
-        llgs.playerDiscardCards = new ArrayList<>();
+        if (llgs.playerHandCards == null) {
+            llgs.playerHandCards = new ArrayList<>();
+            llgs.playerDiscardCards = new ArrayList<>();
+            llgs.effectProtection = effectProtection.clone();
+            llgs.currentlyActive = currentlyActive.clone();
+            llgs.affectionTokens = affectionTokens.clone();
+        } else {
+            // a recycled target, so we can reuse its lists and arrays
+            llgs.playerHandCards.clear();
+            llgs.playerDiscardCards.clear();
+            System.arraycopy(effectProtection, 0, llgs.effectProtection, 0, effectProtection.length);
+            System.arraycopy(currentlyActive, 0, llgs.currentlyActive, 0, currentlyActive.length);
+            System.arraycopy(affectionTokens, 0, llgs.affectionTokens, 0, affectionTokens.length);
+        }
         for (int i = 0; i < getNPlayers(); i++) {
             llgs.playerHandCards.add(playerHandCards.get(i).copy());
             llgs.playerDiscardCards.add(playerDiscardCards.get(i).copy());
         }
-        llgs.effectProtection = effectProtection.clone();
-        llgs.currentlyActive = currentlyActive.clone();
-        llgs.affectionTokens = affectionTokens.clone();
 
         if (getCoreGameParameters().partialObservable && playerId != -1) {
             // Draw pile, some reserve cards and other player's hand is possibly hidden. Mix all together and draw randoms
@@ -111,7 +127,7 @@ public class LoveLetterGameState extends AbstractGameState implements IPrintable
                 }
             }
         }
-        return llgs;
+        return true;
     }
 
     @Override
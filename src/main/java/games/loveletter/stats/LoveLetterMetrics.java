@@ -240,7 +240,7 @@ public class LoveLetterMetrics implements IMetricsCollection {
                 victim = Integer.parseInt(text[1].trim());
                 return false;
             } else {
-                AbstractAction action = e.state.getHistory().get(e.state.getHistory().size() - 1).b;  // Last action played
+                AbstractAction action = e.state.getHistoryAt(e.state.getHistorySize() - 1).b;  // Last action played
                 if (action instanceof PlayCard) {
                     PlayCard pc = (PlayCard) action;
                     if (killer != -1) {
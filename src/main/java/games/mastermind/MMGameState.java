@@ -96,6 +96,13 @@ public class MMGameState extends AbstractGameState {
 
     }
 
+    @Override
+    protected long _getStateHash() {
+        // activeRow and activeCol follow from the pegs placed so far. The answer code is left out: it does not change
+        // during a game and is hidden from the player, so states that differ only in it look the same to them
+        return guessBoard.getZobristHash() ^ Long.rotateLeft(resultBoard.getZobristHash(), 32);
+    }
+
     @Override
     protected boolean _equals(Object o) {
         if (this == o) return true;
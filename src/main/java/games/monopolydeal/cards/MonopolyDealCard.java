@@ -51,6 +51,10 @@ public class MonopolyDealCard extends Card{
             return cardCopy;
         }
     }
+    @Override
+    public boolean isImmutable() {
+        return !isPropertyCard();
+    }
 
     // We do not use super.hashCode/equals as part of this.hashCode/equals because we want cards to be the same, even if they have different component ids
     @Override
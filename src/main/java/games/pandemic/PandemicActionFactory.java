@@ -32,7 +32,7 @@ class PandemicActionFactory {
         Deck<Card> playerHand = ((Deck<Card>) pgs.getComponentActingPlayer(playerHandHash));
         String roleString = pgs.getPlayerRoleActingPlayer();
         PropertyString playerLocationName = (PropertyString) pgs.getComponentActingPlayer(playerCardHash)
-                .getProperty(playerLocationHash);
+                .getProperty(playerLocationKey);
         BoardNode playerLocationNode = pgs.world.getNodeByProperty(nameHash, playerLocationName);
         int activePlayer = pgs.getTurnOrder().getCurrentPlayer(pgs);
 
@@ -40,12 +40,12 @@ class PandemicActionFactory {
         Set<AbstractAction> actions = new HashSet<>(getMoveActions(pgs, activePlayer, playerHand));
 
         // Build research station, discard card corresponding to current player location to build one, if not already there.
-        if (!((PropertyBoolean) playerLocationNode.getProperty(researchStationHash)).value
+        if (!((PropertyBoolean) playerLocationNode.getProperty(researchStationKey)).value
                 && ! roleString.equals("Operations Expert")) {
             int card_in_hand = -1;
             for (int idx = 0; idx < playerHand.getSize(); idx++) {
                 Card card = playerHand.getComponents().get(idx);
-                Property cardName = card.getProperty(nameHash);
+                Property cardName = card.getProperty(nameKey);
                 if (cardName.equals(playerLocationName)) {
                     card_in_hand = idx;
                     break;
@@ -59,7 +59,7 @@ class PandemicActionFactory {
         }
 
         // Treat disease
-        PropertyIntArray cityInfections = (PropertyIntArray)playerLocationNode.getProperty(infectionHash);
+        PropertyIntArray cityInfections = (PropertyIntArray)playerLocationNode.getProperty(infectionKey);
         for (int i = 0; i < cityInfections.getValues().length; i++){
             if (cityInfections.getValues()[i] > 0){
                 boolean treatAll = roleString.equals("Medic");
@@ -70,7 +70,7 @@ class PandemicActionFactory {
 
         // Share knowledge, give or take card, player can only have 7 cards
         // Both players have to be at the same city
-        List<Integer> playersInSameLocation = ((PropertyIntArrayList)playerLocationNode.getProperty(playersHash)).getValues();
+        List<Integer> playersInSameLocation = ((PropertyIntArrayList)playerLocationNode.getProperty(playersKey)).getValues();
         for (int i : playersInSameLocation) {
             if (i != activePlayer) {
                 // Give card
@@ -85,10 +85,10 @@ class PandemicActionFactory {
         }
 
         // Discover a cure, cards of the same colour at a research station
-        if (((PropertyBoolean) playerLocationNode.getProperty(researchStationHash)).value) {
+        if (((PropertyBoolean) playerLocationNode.getProperty(researchStationKey)).value) {
             ArrayList<Integer>[] colorCounter = new ArrayList[colors.length];
             for (Card card : playerHand.getComponents()) {
-                Property p = card.getProperty(colorHash);
+                Property p = card.getProperty(colorKey);
                 if (p != null) {
                     // Only city cards have colours, events don't
                     String color = ((PropertyColor) p).valueStr;
@@ -133,7 +133,7 @@ class PandemicActionFactory {
                                                  int giver, Deck<Card> giverDeck, String giverRole, int receiver) {
         for (int j = 0; j < giverDeck.getSize(); j++) {
             Card card = giverDeck.getComponents().get(j);
-            if (giverRole.equals("Researcher") || (card.getProperty(nameHash)).equals(playerLocation)) {
+            if (giverRole.equals("Researcher") || (card.getProperty(nameKey)).equals(playerLocation)) {
                 actions.add(new ShareKnowledge(giver, receiver, j));
             }
         }
@@ -159,14 +159,14 @@ class PandemicActionFactory {
                 } else {
                     // List all the other nodes with combination of all the city cards in hand
                     PropertyString playerLocationProperty = (PropertyString) pgs.getComponent(playerCardHash, playerIdx)
-                            .getProperty(playerLocationHash);
+                            .getProperty(playerLocationKey);
                     String playerLocationName = playerLocationProperty.value;
                     for (BoardNode bn : pgs.world.getBoardNodes()) {
-                        if (playerLocationName.equals(((PropertyString)bn.getProperty(nameHash)).value)) continue;
+                        if (playerLocationName.equals(((PropertyString)bn.getProperty(nameKey)).value)) continue;
 
                         for (int c = 0; c < playerHand.getSize(); c++) {
-                            if (playerHand.getComponents().get(c).getProperty(colorHash) != null) {
-                                actions.add(new MovePlayerWithCard(MovePlayer.MoveType.OperationsExpert, playerIdx, ((PropertyString) bn.getProperty(nameHash)).value, c, playerIdx));
+                            if (playerHand.getComponents().get(c).getProperty(colorKey) != null) {
+                                actions.add(new MovePlayerWithCard(MovePlayer.MoveType.OperationsExpert, playerIdx, ((PropertyString) bn.getProperty(nameKey)).value, c, playerIdx));
                             }
                         }
                     }
@@ -178,7 +178,7 @@ class PandemicActionFactory {
                 String[] locations = new String[pgs.getNPlayers()];
                 for (int i = 0; i < pgs.getNPlayers(); i++) {
                     locations[i] = ((PropertyString) pgs.getComponent(playerCardHash, i)
-                            .getProperty(playerLocationHash)).value;
+                            .getProperty(playerLocationKey)).value;
                 }
                 for (int j = 0; j < pgs.getNPlayers(); j++) {
                     for (int i = 0; i < pgs.getNPlayers(); i++) {
@@ -204,7 +204,7 @@ class PandemicActionFactory {
                     List<Card> infDiscard = playerDiscardDeck.getComponents();
                     for (int i = 0; i < infDiscard.size(); i++) {
                         Card card = infDiscard.get(i);
-                        if (card.getProperty(countryHash) == null) {
+                        if (card.getProperty(countryKey) == null) {
                             actions.add(new DrawCard(playerDiscardDeck.getComponentID(), plannerDeck.getComponentID(), i));
                         }
                     }
@@ -254,27 +254,27 @@ class PandemicActionFactory {
         Set<AbstractAction> actions = new HashSet<>();
 
         PropertyString playerLocationProperty = (PropertyString) pgs.getComponent(playerCardHash, playerId)
-                .getProperty(playerLocationHash);
+                .getProperty(playerLocationKey);
         String playerLocationName = playerLocationProperty.value;
         BoardNode playerLocationNode = pgs.world.getNodeByProperty(nameHash, playerLocationProperty);
         Set<BoardNode> neighbours = playerLocationNode.getNeighbours().keySet();
 
         // Drive / Ferry add actions for travelling to immediate cities
         for (BoardNode otherCity : neighbours){
-            actions.add(new MovePlayer(MovePlayer.MoveType.DriveFerry, playerId, ((PropertyString)otherCity.getProperty(nameHash)).value));
+            actions.add(new MovePlayer(MovePlayer.MoveType.DriveFerry, playerId, ((PropertyString)otherCity.getProperty(nameKey)).value));
         }
 
         // Iterate over all the cities in the world
         for (BoardNode bn: pgs.world.getBoardNodes()) {
-            String destination = ((PropertyString) bn.getProperty(nameHash)).value;
+            String destination = ((PropertyString) bn.getProperty(nameKey)).value;
 
             if (!neighbours.contains(bn)) {  // Ignore neighbours, already covered in Drive/Ferry actions
                 for (int c = 0; c < playerHand.getSize(); c++){
                     Card card = playerHand.getComponents().get(c);
 
                     //  Check if card has country to determine if it is city card or not
-                    if ((card.getProperty(countryHash)) != null){
-                        String cardCity = ((PropertyString)card.getProperty(nameHash)).value;
+                    if ((card.getProperty(countryKey)) != null){
+                        String cardCity = ((PropertyString)card.getProperty(nameKey)).value;
                         if (playerLocationName.equals(cardCity)){
                             // Charter flight, discard card that matches your city and travel to any city
                             // Only add the ones that are different from the current location
@@ -292,7 +292,7 @@ class PandemicActionFactory {
 
         // Shuttle flight, move from city with research station to any other research station
         // If current city has research station, add every city that has research stations
-        if (((PropertyBoolean)playerLocationNode.getProperty(researchStationHash)).value) {
+        if (((PropertyBoolean)playerLocationNode.getProperty(researchStationKey)).value) {
             for (String station: pgs.researchStationLocations){
                 actions.add(new MovePlayer(MovePlayer.MoveType.ShuttleFlight, playerId, station));
             }
@@ -331,7 +331,7 @@ class PandemicActionFactory {
         int nCards = ph.getSize();
         for (int cp = 0; cp < nCards; cp++) {
             Card card = ph.getComponents().get(cp);
-            if (((PropertyString)card.getProperty(nameHash)).value.equals("Resilient Population")) {
+            if (((PropertyString)card.getProperty(nameKey)).value.equals("Resilient Population")) {
                 for (int idx = 0; idx < nInfectDiscards; idx++) {
                     acts.add(new RemoveComponentFromDeck<Card>(ph.getComponentID(), playerDiscard.getComponentID(), cp, infectionDiscard.getComponentID(), idx));
                 }
@@ -355,7 +355,7 @@ class PandemicActionFactory {
         actions.add(new DoNothing());  // Can always do nothing
 
         for (Card card: playerHand.getComponents()){
-            Property p  = card.getProperty(colorHash);
+            Property p  = card.getProperty(colorKey);
             if (p == null){
                 // Event cards don't have colour
                 int cardIdx = playerHand.getComponents().indexOf(card);
@@ -373,7 +373,7 @@ class PandemicActionFactory {
      */
     static List<AbstractAction> actionsFromEventCard(PandemicGameState pgs, Card card, int deckFrom, int deckTo, int cardIdx){
         Set<AbstractAction> actions = new HashSet<>();
-        String cardString = ((PropertyString)card.getProperty(nameHash)).value;
+        String cardString = ((PropertyString)card.getProperty(nameKey)).value;
         int playerIdx = pgs.getCurrentPlayer();
 
         switch (cardString) {
@@ -381,10 +381,10 @@ class PandemicActionFactory {
 //                System.out.println("Airlift");
 //            System.out.println("Move any 1 pawn to any city. Get permission before moving another player's pawn.");
                 for (BoardNode bn: pgs.world.getBoardNodes()) {
-                    String cityName = ((PropertyString) bn.getProperty(nameHash)).value;
+                    String cityName = ((PropertyString) bn.getProperty(nameKey)).value;
                     for (int i = 0; i < pgs.getNPlayers(); i++) {
                         // Check if player is already there
-                        String pLocation = ((PropertyString) pgs.getComponent(playerCardHash, i).getProperty(playerLocationHash)).value;
+                        String pLocation = ((PropertyString) pgs.getComponent(playerCardHash, i).getProperty(playerLocationKey)).value;
                         if (pLocation.equals(cityName)) continue;
                         actions.add(new MovePlayerWithCard(MovePlayer.MoveType.Airlift, i, cityName, cardIdx, playerIdx));
                     }
@@ -400,8 +400,8 @@ class PandemicActionFactory {
             case "Government Grant":
                 // "Add 1 research station to any city (no City card needed)."
                 for (BoardNode bn: pgs.world.getBoardNodes()) {
-                    if (!((PropertyBoolean) bn.getProperty(researchStationHash)).value) {
-                        String cityName = ((PropertyString) bn.getProperty(nameHash)).value;
+                    if (!((PropertyBoolean) bn.getProperty(researchStationKey)).value) {
+                        String cityName = ((PropertyString) bn.getProperty(nameKey)).value;
                         actions.addAll(getResearchStationActions(pgs, cityName, card, deckFrom, deckTo, cardIdx));
                     }
                 }
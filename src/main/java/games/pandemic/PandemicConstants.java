@@ -1,5 +1,6 @@
 package games.pandemic;
 
+import core.properties.PropertyKey;
 import utilities.Hash;
 
 import java.util.ArrayList;
@@ -21,6 +22,11 @@ public class PandemicConstants {
     public final static int edgeHash = Hash.GetInstance().hash("edge");
     public final static int effectHash = Hash.GetInstance().hash("effect");
 
+    public final static PropertyKey playerLocationKey = PropertyKey.of("playerLocation");
+    public final static PropertyKey researchStationKey = PropertyKey.of("Research Stations");
+    public final static PropertyKey infectionKey = PropertyKey.of("infection");
+    public final static PropertyKey countryKey = PropertyKey.of("country");
+
     // mostly for setup
     public final static int playerDeckHash = Hash.GetInstance().hash("Player Deck");
     public final static int playerDeckDiscardHash = Hash.GetInstance().hash("Player Deck Discard");
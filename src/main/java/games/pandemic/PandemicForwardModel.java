@@ -26,8 +26,8 @@ import java.util.*;
 
 import static core.CoreConstants.VisibilityMode.HIDDEN_TO_ALL;
 import static core.CoreConstants.VisibilityMode.VISIBLE_TO_ALL;
-import static core.CoreConstants.nameHash;
 import static core.CoreConstants.playerHandHash;
+import static core.CoreConstants.nameKey;
 import static games.pandemic.PandemicActionFactory.*;
 import static games.pandemic.PandemicConstants.*;
 import static games.pandemic.actions.MovePlayer.placePlayer;
@@ -213,7 +213,7 @@ public class PandemicForwardModel extends AbstractRuleBasedForwardModel {
         Deck<Card> eventCards = _data.findDeck("Events");
         pp.nEventCards = 0;
         for (Card c: eventCards.getComponents()) {
-            String name = ((PropertyString)c.getProperty(nameHash)).value;
+            String name = ((PropertyString)c.getProperty(nameKey)).value;
             if (pp.survivalRules && !name.equals("Airlift") && !name.equals("Government Grant")) continue;
             playerDeck.add(c);
             pp.nEventCards++;
@@ -360,6 +360,7 @@ public class PandemicForwardModel extends AbstractRuleBasedForwardModel {
         else return getPlayerActions(pgs);
     }
 
+    @Override
     public PandemicForwardModel copy() {
         PandemicForwardModel retValue = new PandemicForwardModel(copyRoot());
         retValue.decisionPlayerID = decisionPlayerID;
@@ -214,7 +214,7 @@ public class PandemicGameState extends AbstractGameStateWithTurnOrder implements
     }
     public String getPlayerRole(int i) {
         Card playerCard = ((Card) getComponent(playerCardHash, i));
-        return ((PropertyString) playerCard.getProperty(nameHash)).value;
+        return ((PropertyString) playerCard.getProperty(nameKey)).value;
     }
     public GraphBoard getWorld() {
         return world;
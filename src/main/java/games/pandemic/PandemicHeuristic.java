@@ -61,7 +61,7 @@ public class PandemicHeuristic extends TunableParameters implements IStateHeuris
 
         int playerAtResStation = 0;
         for (String resStationLocation: pgs.researchStationLocations){
-            if (((PropertyString) pgs.getComponentActingPlayer(playerCardHash).getProperty(playerLocationHash)).value.equals(resStationLocation)){
+            if (((PropertyString) pgs.getComponentActingPlayer(playerCardHash).getProperty(playerLocationKey)).value.equals(resStationLocation)){
                 playerAtResStation = 1;
             }
 
@@ -12,6 +12,7 @@ import games.pandemic.PandemicGameState;
 import java.util.Objects;
 
 import static core.CoreConstants.nameHash;
+import static core.CoreConstants.nameKey;
 
 public class AddResearchStation extends AbstractAction {
     protected String city;
@@ -28,7 +29,7 @@ public class AddResearchStation extends AbstractAction {
             bn.setProperty(new PropertyBoolean("Research Stations", true));
             Counter rStationCounter = (Counter) pgs.getComponent(PandemicConstants.researchStationHash);
             rStationCounter.decrement(1); // We have one less research station
-            pgs.addResearchStation(((PropertyString) bn.getProperty(nameHash)).value);
+            pgs.addResearchStation(((PropertyString) bn.getProperty(nameKey)).value);
             return true;
         }
         return false;
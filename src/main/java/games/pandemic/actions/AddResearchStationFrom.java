@@ -10,6 +10,7 @@ import games.pandemic.PandemicGameState;
 import java.util.Objects;
 
 import static core.CoreConstants.nameHash;
+import static core.CoreConstants.nameKey;
 
 
 public class AddResearchStationFrom extends AddResearchStation {
@@ -30,7 +31,7 @@ public class AddResearchStationFrom extends AddResearchStation {
         BoardNode bn = pgs.getWorld().getNodeByStringProperty(nameHash, fromCity);
         if (bn != null) {
             bn.setProperty(new PropertyBoolean("Research Stations", false));
-            pgs.removeResearchStation(((PropertyString) bn.getProperty(nameHash)).value);
+            pgs.removeResearchStation(((PropertyString) bn.getProperty(nameKey)).value);
         }
 
         return success;
@@ -41,28 +41,28 @@ public class InfectCity extends DrawCard {
 
         PandemicGameState pgs = (PandemicGameState)gs;
         Card infectingCard = getCard(gs);
-        PropertyColor color = (PropertyColor) infectingCard.getProperty(colorHash);
+        PropertyColor color = (PropertyColor) infectingCard.getProperty(colorKey);
         Counter diseaseCounter = (Counter) pgs.getComponent(Hash.GetInstance().hash("Disease " + color.valueStr));
 
         boolean disease_eradicated = diseaseCounter.getValue() == 2;
         if (!disease_eradicated) {  // Only infect if disease is not eradicated
             Counter diseaseCubeCounter = (Counter) pgs.getComponent(Hash.GetInstance().hash("Disease Cube " + color.valueStr));
             int colorIdx = Utils.indexOf(colors, color.valueStr);
-            PropertyString city = (PropertyString) infectingCard.getProperty(nameHash);
+            PropertyString city = (PropertyString) infectingCard.getProperty(nameKey);
 
             BoardNode bn = pgs.getWorld().getNodeByStringProperty(nameHash, city.value);
             if (bn != null) {
                 // check if quarantine specialist is on that node
-                PropertyIntArrayList players = (PropertyIntArrayList)bn.getProperty(playersHash);
+                PropertyIntArrayList players = (PropertyIntArrayList)bn.getProperty(playersKey);
                 for (int playerIdx: players.getValues()){
                     Card playerCard = (Card) pgs.getComponent(PandemicConstants.playerCardHash, playerIdx);
-                    String roleString = ((PropertyString)playerCard.getProperty(nameHash)).value;
+                    String roleString = ((PropertyString)playerCard.getProperty(nameKey)).value;
                     if (roleString.equals("Quarantine Specialist")){
                         // no infection or outbreak
                         return true;
                     }
                 }
-                PropertyIntArray infectionArray = (PropertyIntArray) bn.getProperty(infectionHash);
+                PropertyIntArray infectionArray = (PropertyIntArray) bn.getProperty(infectionKey);
                 int[] array = infectionArray.getValues();
 
                 // Add count cubes to this city
@@ -108,14 +108,14 @@ public class InfectCity extends DrawCard {
         // Find neighbouring board nodes
         for (BoardNode b2 : n.getNeighbours().keySet()){
 
-            PropertyIntArrayList players = (PropertyIntArrayList)b2.getProperty(playersHash);
+            PropertyIntArrayList players = (PropertyIntArrayList)b2.getProperty(playersKey);
             for (int playerIdx: players.getValues()){
                 Card playerCard = (Card)pgs.getComponent(PandemicConstants.playerCardHash, playerIdx);
-                String roleString = ((PropertyString)playerCard.getProperty(nameHash)).value;
+                String roleString = ((PropertyString)playerCard.getProperty(nameKey)).value;
                 if (!roleString.equals("Quarantine Specialist")) {
                     // no infection or outbreak in the city where the QS is placed
                     // Try to add a disease cube here
-                    PropertyIntArray infectionArray = (PropertyIntArray) b2.getProperty(infectionHash);
+                    PropertyIntArray infectionArray = (PropertyIntArray) b2.getProperty(infectionKey);
                     int[] array = infectionArray.getValues();
                     if (array[colorIdx] == maxCubesPerCity) {
                         // Chain outbreak
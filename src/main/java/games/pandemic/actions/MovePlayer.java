@@ -11,7 +11,7 @@ import games.pandemic.PandemicConstants;
 import java.util.Objects;
 
 import static core.CoreConstants.nameHash;
-import static core.CoreConstants.playersHash;
+import static core.CoreConstants.playersKey;
 
 
 public class MovePlayer extends AbstractAction {
@@ -38,7 +38,7 @@ public class MovePlayer extends AbstractAction {
     @Override
     public boolean execute(AbstractGameState gs) {
         PandemicGameState pgs = (PandemicGameState) gs;
-        PropertyString prop = (PropertyString) pgs.getComponent(PandemicConstants.playerCardHash, playerToMove).getProperty(PandemicConstants.playerLocationHash);
+        PropertyString prop = (PropertyString) pgs.getComponent(PandemicConstants.playerCardHash, playerToMove).getProperty(PandemicConstants.playerLocationKey);
         removePlayer((PandemicGameState)gs, prop.value, playerToMove);
         placePlayer((PandemicGameState)gs, destination, playerToMove);
         return true;
@@ -52,7 +52,7 @@ public class MovePlayer extends AbstractAction {
 
     public static void placePlayer(PandemicGameState gs, String city, int playerIdx) {
         BoardNode bn = gs.getWorld().getNodeByStringProperty(nameHash, city);
-        PropertyIntArrayList prop = (PropertyIntArrayList) bn.getProperty(playersHash);
+        PropertyIntArrayList prop = (PropertyIntArrayList) bn.getProperty(playersKey);
         prop.getValues().add(playerIdx);
 
         Card playerCard = (Card) gs.getComponent(PandemicConstants.playerCardHash, playerIdx);
@@ -61,7 +61,7 @@ public class MovePlayer extends AbstractAction {
 
     public static void removePlayer(PandemicGameState gs, String city, int playerIdx) {
         BoardNode bn = gs.getWorld().getNodeByStringProperty(nameHash, city);
-        PropertyIntArrayList prop = (PropertyIntArrayList) bn.getProperty(playersHash);
+        PropertyIntArrayList prop = (PropertyIntArrayList) bn.getProperty(playersKey);
         prop.getValues().remove(Integer.valueOf(playerIdx));
 
         Card playerCard = (Card) gs.getComponent(PandemicConstants.playerCardHash, playerIdx);
@@ -9,8 +9,8 @@ import games.pandemic.PandemicGameState;
 
 import java.util.Objects;
 
-import static core.CoreConstants.nameHash;
 import static core.CoreConstants.playerHandHash;
+import static core.CoreConstants.nameKey;
 
 /**
  * DrawCard wrapper with intermediate giver player ID and receiver player ID as intermediates for more information.
@@ -80,7 +80,7 @@ public class ShareKnowledge extends DrawCard {
 
     @Override
     public String getString(AbstractGameState gameState) {
-        return "Share Knowledge: " + giver + " gives " + ((PropertyString)(getCard(gameState).getProperty(nameHash))).value + " to " + receiver;
+        return "Share Knowledge: " + giver + " gives " + ((PropertyString)(getCard(gameState).getProperty(nameKey))).value + " to " + receiver;
     }
 
     public int getGiver() {
@@ -45,7 +45,7 @@ public class TreatDisease extends AbstractAction {
 
         BoardNode bn = pgs.getWorld().getNodeByStringProperty(nameHash, city);
         if (bn != null) {
-            PropertyIntArray infectionArray = (PropertyIntArray) bn.getProperty(infectionHash);
+            PropertyIntArray infectionArray = (PropertyIntArray) bn.getProperty(infectionKey);
             int[] array = infectionArray.getValues();
 
             boolean disease_cured = diseaseToken.getValue() > 0;
@@ -112,9 +112,9 @@ public class PandemicBoardView extends JComponent {
 
         Collection<BoardNode> bList = graphBoard.getBoardNodes();
         for (BoardNode b : bList) {
-            Vector2D poss = ((PropertyVector2D) b.getProperty(coordinateHash)).values;
+            Vector2D poss = ((PropertyVector2D) b.getProperty(coordinateKey)).values;
             Vector2D pos = new Vector2D((int)(poss.getX()*scale), (int)(poss.getY()*scale));
-            boardNodeLocations.put(((PropertyString) b.getProperty(nameHash)).value,
+            boardNodeLocations.put(((PropertyString) b.getProperty(nameKey)).value,
                     new Rectangle(pos.getX() - nodeSize / 2, pos.getY() - nodeSize / 2, nodeSize, nodeSize));
         }
 
@@ -219,9 +219,9 @@ public class PandemicBoardView extends JComponent {
         boardNodeLocations = new HashMap<>();
         Collection<BoardNode> bList = graphBoard.getBoardNodes();
         for (BoardNode b : bList) {
-            Vector2D poss = ((PropertyVector2D) b.getProperty(coordinateHash)).values;
+            Vector2D poss = ((PropertyVector2D) b.getProperty(coordinateKey)).values;
             Vector2D pos = new Vector2D((int)(poss.getX()*scale), (int)(poss.getY()*scale));
-            boardNodeLocations.put(((PropertyString) b.getProperty(nameHash)).value,
+            boardNodeLocations.put(((PropertyString) b.getProperty(nameKey)).value,
                     new Rectangle(pos.getX() - nodeSize / 2, pos.getY() - nodeSize / 2, nodeSize, nodeSize));
         }
         outbreakMarkerGap = (int)(45 * scale);
@@ -261,13 +261,13 @@ public class PandemicBoardView extends JComponent {
         // Draw nodes
         Collection<BoardNode> bList = graphBoard.getBoardNodes();
         for (BoardNode b: bList) {
-            Vector2D poss = ((PropertyVector2D) b.getProperty(coordinateHash)).values;
+            Vector2D poss = ((PropertyVector2D) b.getProperty(coordinateKey)).values;
             Vector2D pos = new Vector2D((int)(poss.getX()*scale) + panX, (int)(poss.getY()*scale) + panY);
             PropertyBoolean edge = ((PropertyBoolean)b.getProperty(edgeHash));
 
             Set<BoardNode> bns = b.getNeighbours().keySet();
             for (BoardNode b2: bns) {
-                Vector2D poss2 = ((PropertyVector2D) b2.getProperty(coordinateHash)).values;
+                Vector2D poss2 = ((PropertyVector2D) b2.getProperty(coordinateKey)).values;
                 Vector2D pos2 = new Vector2D((int)(poss2.getX()*scale) + panX, (int)(poss2.getY()*scale) + panY);
                 PropertyBoolean edge2 = ((PropertyBoolean)b2.getProperty(edgeHash));
 
@@ -283,13 +283,13 @@ public class PandemicBoardView extends JComponent {
             }
 
             g.setColor(Color.black);
-            g.drawString(((PropertyString)b.getProperty(nameHash)).value, pos.getX(), pos.getY() - nodeSize/2 - playerPawnSize);
+            g.drawString(((PropertyString)b.getProperty(nameKey)).value, pos.getX(), pos.getY() - nodeSize/2 - playerPawnSize);
         }
 
         HashSet<String> locationsHighlights = getLocationsHighlighted();
         for (BoardNode b : bList) {
-            String name = ((PropertyString)b.getProperty(nameHash)).value;
-            Vector2D poss = ((PropertyVector2D) b.getProperty(coordinateHash)).values;
+            String name = ((PropertyString)b.getProperty(nameKey)).value;
+            Vector2D poss = ((PropertyVector2D) b.getProperty(coordinateKey)).values;
             Vector2D pos = new Vector2D((int)(poss.getX()*scale) + panX, (int)(poss.getY()*scale) + panY);
 
             Stroke s = g.getStroke();
@@ -299,7 +299,7 @@ public class PandemicBoardView extends JComponent {
                 g.drawOval(pos.getX() - nodeSize /2, pos.getY() - nodeSize /2, nodeSize, nodeSize);
             }
 
-            g.setColor(Utils.stringToColor(((PropertyColor) b.getProperty(colorHash)).valueStr));
+            g.setColor(Utils.stringToColor(((PropertyColor) b.getProperty(colorKey)).valueStr));
             g.fillOval(pos.getX() - nodeSize /2, pos.getY() - nodeSize /2, nodeSize, nodeSize);
 
             if (!locationsHighlights.contains(name)) {
@@ -311,7 +311,7 @@ public class PandemicBoardView extends JComponent {
             g.setColor(Color.black);
 
             // Check if a research stations is here, draw just underneath the node
-            PropertyBoolean isStation = (PropertyBoolean) b.getProperty(researchStationHash);
+            PropertyBoolean isStation = (PropertyBoolean) b.getProperty(researchStationKey);
             if (isStation.value) {
                 // Draw research station here
                 g.setColor(Color.WHITE);
@@ -322,7 +322,7 @@ public class PandemicBoardView extends JComponent {
             }
 
             // Check if there are players here
-            PropertyIntArrayList prop = (PropertyIntArrayList) b.getProperty(playersHash);
+            PropertyIntArrayList prop = (PropertyIntArrayList) b.getProperty(playersKey);
             ArrayList<Integer> players = prop.getValues();
             for (int p: players) {
                 // This player is here, draw them just above the node
@@ -342,7 +342,7 @@ public class PandemicBoardView extends JComponent {
 
                 // Find color of player
                 Card playerCard = (Card) gameState.getComponent(PandemicConstants.playerCardHash, p);
-                PropertyColor color = (PropertyColor) playerCard.getProperty(colorHash);
+                PropertyColor color = (PropertyColor) playerCard.getProperty(colorKey);
                 g.setColor(Utils.stringToColor(color.valueStr));
                 g.fillOval(x, y, playerPawnSize, playerPawnSize);
                 g.setColor(Color.black);
@@ -354,7 +354,7 @@ public class PandemicBoardView extends JComponent {
             }
 
             // Draw disease cubes on top of the node
-            int[] array = ((PropertyIntArray) b.getProperty(infectionHash)).getValues();
+            int[] array = ((PropertyIntArray) b.getProperty(infectionKey)).getValues();
             int total = 0;
             for (int cube: array) {
                 total += cube;
@@ -536,7 +536,7 @@ public class PandemicBoardView extends JComponent {
                 Deck<Card> handCards = (Deck<Card>) gameState.getComponent(playerHandHash, i);
                 for (int j : handCardHighlights[i]) {
                     if (j < handCards.getSize())
-                        highlights.add(((PropertyString) handCards.get(j).getProperty(nameHash)).value);
+                        highlights.add(((PropertyString) handCards.get(j).getProperty(nameKey)).value);
                 }
             }
         }
@@ -13,10 +13,10 @@ import utilities.Utils;
 
 import java.awt.*;
 
-import static games.pandemic.PandemicConstants.countryHash;
 import static games.pandemic.PandemicConstants.effectHash;
-import static core.CoreConstants.colorHash;
-import static core.CoreConstants.nameHash;
+import static games.pandemic.PandemicConstants.countryKey;
+import static core.CoreConstants.colorKey;
+import static core.CoreConstants.nameKey;
 
 public class PandemicCardView extends CardView {
     private Image background, secondaryBG;
@@ -39,7 +39,7 @@ public class PandemicCardView extends CardView {
 
         String dataPath = "data/pandemic/img/";
         if (c != null) {
-            Property country = c.getProperty(countryHash);
+            Property country = c.getProperty(countryKey);
             Property pop = c.getProperty(Hash.GetInstance().hash("population"));
             Property act = c.getProperty(Hash.GetInstance().hash("action"));
             Property effect = c.getProperty(effectHash);
@@ -72,7 +72,7 @@ public class PandemicCardView extends CardView {
         String dataPath = "data/pandemic/img/";
         Image background = null;
         if (c != null) {
-            Property country = c.getProperty(countryHash);
+            Property country = c.getProperty(countryKey);
             Property pop = c.getProperty(Hash.GetInstance().hash("population"));
             Property act = c.getProperty(Hash.GetInstance().hash("action"));
             if (country != null) {
@@ -127,13 +127,13 @@ public class PandemicCardView extends CardView {
         }
 
         if (card != null) {
-            Property name = card.getProperty(nameHash);
+            Property name = card.getProperty(nameKey);
             boolean event = false;
             if (card.getProperty(effectHash) != null) {
                 // Event card
                 event = true;
             }
-            PropertyColor col = (PropertyColor)card.getProperty(colorHash);
+            PropertyColor col = (PropertyColor)card.getProperty(colorKey);
             if (col != null) {
                 Color c = Utils.stringToColor(col.valueStr);
                 if (c != null && background == null) {
@@ -366,8 +366,8 @@ public class PandemicGUIManager extends AbstractGUIManager implements IScreenHig
                 } else {
                     getCardView(i, c, j);
                 }
-                if (c.getProperty(colorHash) != null) {
-                    colourCount[Utils.indexOf(colors, ((PropertyColor) c.getProperty(colorHash)).valueStr)]++;
+                if (c.getProperty(colorKey) != null) {
+                    colourCount[Utils.indexOf(colors, ((PropertyColor) c.getProperty(colorKey)).valueStr)]++;
                 } else {
                     eventCount++;
                 }
@@ -396,7 +396,7 @@ public class PandemicGUIManager extends AbstractGUIManager implements IScreenHig
             updateCardHighlightDisplay();
             if (newTurn) {
                 PropertyString playerLocationProperty = (PropertyString) this.gameState.getComponent(playerCardHash, activePlayer)
-                        .getProperty(playerLocationHash);
+                        .getProperty(playerLocationKey);
                 String playerLocationName = playerLocationProperty.value;
                 JOptionPane.showMessageDialog(parent, "It's your turn! You are in " + playerLocationName + ". Current game phase: " + this.gameState.getGamePhase());
             }
@@ -475,7 +475,7 @@ public class PandemicGUIManager extends AbstractGUIManager implements IScreenHig
                 }
             } else if (action instanceof AddResearchStation) {
                 Card playerRole = (Card) this.gameState.getComponentActingPlayer(playerCardHash);
-                String playerLocation = ((PropertyString)playerRole.getProperty(playerLocationHash)).value;
+                String playerLocation = ((PropertyString)playerRole.getProperty(playerLocationKey)).value;
                 String toCity = ((AddResearchStation) action).getCity();
 
                 if (bnHighlights.contains(toCity) || playerLocation.equals(toCity)) {
@@ -527,7 +527,7 @@ public class PandemicGUIManager extends AbstractGUIManager implements IScreenHig
                     }
 
                     if (Arrays.equals(selectedOrder, cardOrder)) {
-                        String name = ((PropertyString)eventCard.getProperty(nameHash)).value;
+                        String name = ((PropertyString)eventCard.getProperty(nameKey)).value;
                         actionButtons[k].setVisible(true);
                         actionButtons[k++].setButtonAction(action, "Play: " + name);
                     }
@@ -543,7 +543,7 @@ public class PandemicGUIManager extends AbstractGUIManager implements IScreenHig
                     int selected = bufferHighlights.get(0);
 
                     if (infectionCard == selected) {
-                        String name = ((PropertyString) eventCard.getProperty(nameHash)).value;
+                        String name = ((PropertyString) eventCard.getProperty(nameKey)).value;
                         actionButtons[k].setVisible(true);
                         actionButtons[k++].setButtonAction(action, "Play: " + name);
                     }
@@ -553,7 +553,7 @@ public class PandemicGUIManager extends AbstractGUIManager implements IScreenHig
                     int idx = ((DrawCard) action).getFromIndex();
                     Card c = (Card) playerHands[id].get(idx).getComponent();
                     if (c != null) {
-                        String name = ((PropertyString)c.getProperty(nameHash)).value;
+                        String name = ((PropertyString)c.getProperty(nameKey)).value;
                         // Action name should be just "Discard" for card selected in hand
                         actionButtons[k].setVisible(true);
                         actionButtons[k++].setButtonAction(action, "Discard: " + name);
@@ -571,7 +571,7 @@ public class PandemicGUIManager extends AbstractGUIManager implements IScreenHig
                                     if (((DrawCard) action).getFromIndex() == selected) {
                                         Card c = deck.get(selected);
                                         if (c != null) {
-                                            String name = ((PropertyString) c.getProperty(nameHash)).value;
+                                            String name = ((PropertyString) c.getProperty(nameKey)).value;
                                             actionButtons[k].setVisible(true);
                                             actionButtons[k++].setButtonAction(action, "Choose: " + name);
                                         }
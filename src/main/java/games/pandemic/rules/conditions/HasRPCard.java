@@ -8,8 +8,8 @@ import core.rules.Node;
 import core.rules.nodetypes.ConditionNode;
 import games.pandemic.PandemicGameState;
 
-import static core.CoreConstants.nameHash;
 import static core.CoreConstants.playerHandHash;
+import static core.CoreConstants.nameKey;
 
 @SuppressWarnings("unchecked")
 public class HasRPCard extends ConditionNode {
@@ -34,7 +34,7 @@ public class HasRPCard extends ConditionNode {
             int nCards = ph.getSize();
             for (int cp = 0; cp < nCards; cp++) {
                 Card card = ph.getComponents().get(cp);
-                if (((PropertyString)card.getProperty(nameHash)).value.equals("Resilient Population")) {
+                if (((PropertyString)card.getProperty(nameKey)).value.equals("Resilient Population")) {
                     return true;
                 }
             }
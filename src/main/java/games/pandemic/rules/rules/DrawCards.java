@@ -10,8 +10,8 @@ import core.rules.nodetypes.RuleNode;
 import games.pandemic.PandemicConstants;
 import games.pandemic.PandemicGameState;
 import static games.pandemic.PandemicConstants.playerDeckHash;
-import static core.CoreConstants.nameHash;
 import static core.CoreConstants.playerHandHash;
+import static core.CoreConstants.nameKey;
 
 public class DrawCards extends RuleNode {
 
@@ -44,7 +44,7 @@ public class DrawCards extends RuleNode {
 
             Card c = tempDeck.draw();  // Check the drawn card
             // If epidemic card, do epidemic, only one per draw
-            if (((PropertyString) c.getProperty(nameHash)).value.hashCode() == PandemicConstants.epidemicCard) {
+            if (((PropertyString) c.getProperty(nameKey)).value.hashCode() == PandemicConstants.epidemicCard) {
                 epidemic = true;
             } else {  // Otherwise, give card to player
                 if (playerHand != null) {
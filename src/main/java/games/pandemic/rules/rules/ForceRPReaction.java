@@ -11,8 +11,8 @@ import games.pandemic.PandemicGameState;
 
 import static games.pandemic.PandemicConstants.plannerDeckHash;
 import static games.pandemic.PandemicGameState.PandemicGamePhase.RPReaction;
-import static core.CoreConstants.nameHash;
 import static core.CoreConstants.playerHandHash;
+import static core.CoreConstants.nameKey;
 
 @SuppressWarnings("unchecked")
 public class ForceRPReaction extends RuleNode {
@@ -39,7 +39,7 @@ public class ForceRPReaction extends RuleNode {
             int nCards = ph.getSize();
             for (int cp = 0; cp < nCards; cp++) {
                 Card card = ph.get(cp);
-                if (((PropertyString)card.getProperty(nameHash)).value.equals("Resilient Population")) {
+                if (((PropertyString)card.getProperty(nameKey)).value.equals("Resilient Population")) {
                     ((PandemicTurnOrder)pgs.getTurnOrder()).addReactivePlayer(i);
                     pgs.setGamePhase(RPReaction);
                     return false;
@@ -50,7 +50,7 @@ public class ForceRPReaction extends RuleNode {
         int nCards = plannerDeck.getSize();
         if (nCards > 0) {
             Card card = plannerDeck.get(0);
-            if (((PropertyString)card.getProperty(nameHash)).value.equals("Resilient Population")) {
+            if (((PropertyString)card.getProperty(nameKey)).value.equals("Resilient Population")) {
                 // Find planner player
                 for (int p = 0; p < pgs.getNPlayers(); p++) {
                     if (pgs.getPlayerRole(p).equals("Contingency Planner")) {
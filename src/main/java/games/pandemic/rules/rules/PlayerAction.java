@@ -17,7 +17,8 @@ import games.pandemic.actions.TreatDisease;
 import utilities.Hash;
 
 import static core.CoreConstants.playerHandHash;
-import static core.CoreConstants.nameHash;
+import static core.CoreConstants.nameKey;
+import static games.pandemic.PandemicConstants.countryKey;
 
 public class PlayerAction extends core.rules.rulenodes.PlayerAction {
 
@@ -54,7 +55,7 @@ public class PlayerAction extends core.rules.rulenodes.PlayerAction {
             } else if (action instanceof MovePlayer) {
                 // if player is Medic and a disease has been cured, then it should remove all cubes when entering the city
                 Card playerCard = (Card) pgs.getComponent(PandemicConstants.playerCardHash, playerIdx);
-                String roleString = ((PropertyString) playerCard.getProperty(nameHash)).value;
+                String roleString = ((PropertyString) playerCard.getProperty(nameKey)).value;
 
                 if (roleString.equals("Medic")) {
                     for (String color : PandemicConstants.colors) {
@@ -78,7 +79,7 @@ public class PlayerAction extends core.rules.rulenodes.PlayerAction {
             // Check if this was an event action or a reaction. These actions are always played with the event card.
 //            Card eventCard = action.getCard(gs);
 //            if (eventCard == null && !(action instanceof RearrangeDeckOfCards) ||  // No card played, and not Forecast - step 2 action played
-//                    eventCard != null && eventCard.getProperty(countryHash) != null  // Card played, but not event
+//                    eventCard != null && eventCard.getProperty(countryKey) != null  // Card played, but not event
 //                    || pto.reactionsFinished()) {  // Reactions have finished
 //                // Notify turn step only if an event card was not played, or if this was a reaction.
 //                // Event cards are free.
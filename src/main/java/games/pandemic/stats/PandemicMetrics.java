@@ -20,7 +20,7 @@ import java.util.*;
 
 import static core.CoreConstants.GameResult.WIN_GAME;
 import static games.pandemic.PandemicConstants.colors;
-import static games.pandemic.PandemicConstants.infectionHash;
+import static games.pandemic.PandemicConstants.infectionKey;
 
 @SuppressWarnings("unused")
 public class PandemicMetrics implements IMetricsCollection {
@@ -133,7 +133,7 @@ public class PandemicMetrics implements IMetricsCollection {
         int count = 0;
 
         for (BoardNode bn: pgs.getWorld().getBoardNodes()) {
-            PropertyIntArray infectionArray = (PropertyIntArray) bn.getProperty(infectionHash);
+            PropertyIntArray infectionArray = (PropertyIntArray) bn.getProperty(infectionKey);
             int[] array = infectionArray.getValues();
             for (int a: array) {
                 if (a >= pp.getMaxCubesPerCity() -1) {
@@ -117,6 +117,11 @@ public class PowerGridCard extends Card {
     @Override
     public Card copy() { return this; } 
 
+    @Override
+    public boolean isImmutable() {
+        return true;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -32,6 +32,11 @@ public class ResPlayerCards extends Card {
         return this;
     }
 
+    @Override
+    public boolean isImmutable() {
+        return true;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
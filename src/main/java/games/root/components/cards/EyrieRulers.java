@@ -31,6 +31,11 @@ public class EyrieRulers extends Card {
         return this;  // All final
     }
 
+    @Override
+    public boolean isImmutable() {
+        return true;
+    }
+
     @Override
     public String toString(){
         return ruler.name();
@@ -59,18 +59,38 @@ public class SGGameState extends AbstractGameState {
     @Override
     protected SGGameState _copy(int playerId) {
         SGGameState copy = new SGGameState(gameParameters.copy(), getNPlayers());
+        _copyInto(copy, playerId);
+        return copy;
+    }
 
-        copy.playerScore = new Counter[getNPlayers()];
-        copy.playedCardTypes = new HashMap[getNPlayers()];
-        copy.playedCardTypesAllGame = new HashMap[getNPlayers()];
-        copy.pointsPerCardType = new HashMap[getNPlayers()];
-        copy.playedCards = new ArrayList<>();
+    @Override
+    protected boolean _copyInto(AbstractGameState target, int playerId) {
+        SGGameState copy = (SGGameState) target;
+
+        // a recycled target already has the arrays, lists and maps, which we clear and refill
+        if (copy.playerScore == null) {
+            copy.playerScore = new Counter[getNPlayers()];
+            copy.playedCardTypes = new HashMap[getNPlayers()];
+            copy.playedCardTypesAllGame = new HashMap[getNPlayers()];
+            copy.pointsPerCardType = new HashMap[getNPlayers()];
+            copy.playedCards = new ArrayList<>();
+            copy.playerHands = new ArrayList<>();
+            copy.cardChoices = new ArrayList<>();
+            for (int i = 0; i < getNPlayers(); i++) {
+                copy.playedCardTypes[i] = new HashMap<>();
+                copy.playedCardTypesAllGame[i] = new HashMap<>();
+                copy.pointsPerCardType[i] = new HashMap<>();
+            }
+        }
+        copy.playedCards.clear();
+        copy.playerHands.clear();
+        copy.cardChoices.clear();
         for (int i = 0; i < getNPlayers(); i++) {
             copy.playedCards.add(playedCards.get(i).copy());
             copy.playerScore[i] = playerScore[i].copy();
-            copy.playedCardTypes[i] = new HashMap<>();
-            copy.playedCardTypesAllGame[i] = new HashMap<>();
-            copy.pointsPerCardType[i] = new HashMap<>();
+            copy.playedCardTypes[i].clear();
+            copy.playedCardTypesAllGame[i].clear();
+            copy.pointsPerCardType[i].clear();
             for (SGCard.SGCardType ct : playedCardTypes[i].keySet()) {
                 copy.playedCardTypes[i].put(ct, playedCardTypes[i].get(ct).copy());
                 copy.playedCardTypesAllGame[i].put(ct, playedCardTypesAllGame[i].get(ct).copy());
@@ -82,7 +102,6 @@ public class SGGameState extends AbstractGameState {
         copy.deckRotations = deckRotations;
 
         // Copy player hands
-        copy.playerHands = new ArrayList<>();
         for (Deck<SGCard> d : playerHands) {
             copy.playerHands.add(d.copy());
         }
@@ -90,7 +109,6 @@ public class SGGameState extends AbstractGameState {
         // Other decks
         copy.drawPile = drawPile.copy();
         copy.discardPile = discardPile.copy();
-        copy.cardChoices = new ArrayList<>();
 
         if (playerId == -1) {
             for (int i = 0; i < getNPlayers(); i++) {
@@ -136,7 +154,7 @@ public class SGGameState extends AbstractGameState {
             }
         }
 
-        return copy;
+        return true;
     }
 
     /**
@@ -11,6 +11,7 @@ import games.terraformingmars.actions.*;
 import games.terraformingmars.components.Award;
 import games.terraformingmars.components.Milestone;
 import games.terraformingmars.components.TMCard;
+import games.terraformingmars.components.TMCounters;
 import games.terraformingmars.components.TMMapTile;
 import games.terraformingmars.rules.requirements.TagOnCardRequirement;
 import utilities.Vector2D;
@@ -30,29 +31,27 @@ public class TMForwardModel extends StandardForwardModelWithTurnOrder {
         TMGameState gs = (TMGameState) firstState;
         TMGameParameters params = (TMGameParameters) firstState.getGameParameters();
 
-        gs.playerResources = new HashMap[gs.getNPlayers()];
-        gs.playerProduction = new HashMap[gs.getNPlayers()];
+        gs.playerResources = new TMCounters[gs.getNPlayers()];
+        gs.playerProduction = new TMCounters[gs.getNPlayers()];
         gs.playerResourceMap = new HashSet[gs.getNPlayers()];
         gs.playerDiscountEffects = new HashMap[gs.getNPlayers()];
-        gs.playerResourceIncreaseGen = new HashMap[gs.getNPlayers()];
+        gs.playerResourceIncreaseGen = new boolean[gs.getNPlayers()][TMTypes.Resource.values().length];
 
         for (int i = 0; i < gs.getNPlayers(); i++) {
-            gs.playerResources[i] = new HashMap<>();
-            gs.playerProduction[i] = new HashMap<>();
-            gs.playerResourceIncreaseGen[i] = new HashMap<>();
+            gs.playerResources[i] = new TMCounters<>(TMTypes.Resource.class);
+            gs.playerProduction[i] = new TMCounters<>(TMTypes.Resource.class);
             for (TMTypes.Resource res : TMTypes.Resource.values()) {
                 int startingRes = params.startingResources.get(res);
                 if (res == TR && gs.getNPlayers() == 1) {
                     startingRes = params.soloTR;
                 }
-                gs.playerResources[i].put(res, new Counter(startingRes, 0, params.maxPoints, res.toString() + "-" + i));
+                gs.playerResources[i].add(res, startingRes, 0, params.maxPoints, res.toString() + "-" + i);
                 if (params.startingProduction.containsKey(res)) {
                     int startingProduction = params.startingProduction.get(res);
                     if (params.expansions.contains(TMTypes.Expansion.CorporateEra))
                         startingProduction = 0;  // No production in corporate era
-                    gs.playerProduction[i].put(res, new Counter(startingProduction, params.minimumProduction.get(res), params.maxPoints, res + "-prod-" + i));
+                    gs.playerProduction[i].add(res, startingProduction, params.minimumProduction.get(res), params.maxPoints, res + "-prod-" + i);
                 }
-                gs.playerResourceIncreaseGen[i].put(res, false);
             }
             gs.playerResourceMap[i] = new HashSet<>();
             // By default, players can exchange steel for X MC and titanium for X MC. More may be added
@@ -135,11 +134,8 @@ public class TMForwardModel extends StandardForwardModelWithTurnOrder {
         gs.projectCards.shuffle(gs.getRnd());
         gs.corpCards.shuffle(gs.getRnd());
 
-        HashMap<TMTypes.Tag, Counter>[] playerCardsPlayedTags;
         HashSet<AbstractAction>[] playerCardsPlayedEffects;
         HashSet<AbstractAction>[] playerCardsPlayedActions;
-        HashMap<TMTypes.CardType, Counter>[] playerCardsPlayedTypes;
-        HashMap<TMTypes.Tile, Counter>[] tilesPlaced;
 
         gs.playerCorporations = new TMCard[gs.getNPlayers()];
         gs.playerCardChoice = new Deck[gs.getNPlayers()];
@@ -155,23 +151,23 @@ public class TMForwardModel extends StandardForwardModelWithTurnOrder {
             gs.playerCardPoints[i] = new Counter(0, 0, params.maxPoints, "Points of p" + i);
         }
 
-        gs.playerTilesPlaced = new HashMap[gs.getNPlayers()];
-        gs.playerCardsPlayedTypes = new HashMap[gs.getNPlayers()];
-        gs.playerCardsPlayedTags = new HashMap[gs.getNPlayers()];
+        gs.playerTilesPlaced = new TMCounters[gs.getNPlayers()];
+        gs.playerCardsPlayedTypes = new TMCounters[gs.getNPlayers()];
+        gs.playerCardsPlayedTags = new TMCounters[gs.getNPlayers()];
         gs.playerExtraActions = new HashSet[gs.getNPlayers()];
         gs.playerPersistingEffects = new HashSet[gs.getNPlayers()];
         for (int i = 0; i < gs.getNPlayers(); i++) {
-            gs.playerTilesPlaced[i] = new HashMap<>();
+            gs.playerTilesPlaced[i] = new TMCounters<>(TMTypes.Tile.class);
             for (TMTypes.Tile t : TMTypes.Tile.values()) {
-                gs.playerTilesPlaced[i].put(t, new Counter(0, 0, params.maxPoints, t.name() + " tiles placed player " + i));
+                gs.playerTilesPlaced[i].add(t, 0, 0, params.maxPoints, t.name() + " tiles placed player " + i);
             }
-            gs.playerCardsPlayedTypes[i] = new HashMap<>();
+            gs.playerCardsPlayedTypes[i] = new TMCounters<>(TMTypes.CardType.class);
             for (TMTypes.CardType t : TMTypes.CardType.values()) {
-                gs.playerCardsPlayedTypes[i].put(t, new Counter(0, 0, params.maxPoints, t.name() + " cards played player " + i));
+                gs.playerCardsPlayedTypes[i].add(t, 0, 0, params.maxPoints, t.name() + " cards played player " + i);
             }
-            gs.playerCardsPlayedTags[i] = new HashMap<>();
+            gs.playerCardsPlayedTags[i] = new TMCounters<>(TMTypes.Tag.class);
             for (TMTypes.Tag t : TMTypes.Tag.values()) {
-                gs.playerCardsPlayedTags[i].put(t, new Counter(0, 0, params.maxPoints, t.name() + " cards played player " + i));
+                gs.playerCardsPlayedTags[i].add(t, 0, 0, params.maxPoints, t.name() + " cards played player " + i);
             }
             gs.playerExtraActions[i] = new HashSet<>();
             gs.playerPersistingEffects[i] = new HashSet<>();
@@ -321,9 +317,7 @@ public class TMForwardModel extends StandardForwardModelWithTurnOrder {
                         c.actionPlayed = false;
                     }
                     // Reset resource increase
-                    for (TMTypes.Resource res : TMTypes.Resource.values()) {
-                        gs.playerResourceIncreaseGen[i].put(res, false);
-                    }
+                    Arrays.fill(gs.playerResourceIncreaseGen[i], false);
                 }
 
                 // Next generation
@@ -47,12 +47,12 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
     HashSet<Effect>[] playerPersistingEffects;
 
     // Player-specific counters
-    HashMap<TMTypes.Resource, Counter>[] playerResources;
-    HashMap<TMTypes.Resource, Boolean>[] playerResourceIncreaseGen;  // True if this resource was increased this gen
-    HashMap<TMTypes.Resource, Counter>[] playerProduction;
-    HashMap<TMTypes.Tag, Counter>[] playerCardsPlayedTags;
-    HashMap<TMTypes.CardType, Counter>[] playerCardsPlayedTypes;
-    HashMap<TMTypes.Tile, Counter>[] playerTilesPlaced;
+    TMCounters<TMTypes.Resource>[] playerResources;
+    boolean[][] playerResourceIncreaseGen;  // True if this resource (by ordinal) was increased this gen
+    TMCounters<TMTypes.Resource>[] playerProduction;
+    TMCounters<TMTypes.Tag>[] playerCardsPlayedTags;
+    TMCounters<TMTypes.CardType>[] playerCardsPlayedTypes;
+    TMCounters<TMTypes.Tile>[] playerTilesPlaced;
     Counter[] playerCardPoints;  // Points gathered by playing cards
 
     // Player cards
@@ -104,12 +104,8 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
             addAll(Arrays.asList(playerComplicatedPointCards));
             addAll(Arrays.asList(playedCards));
             addAll(Arrays.asList(playerCardPoints));
+            // (the player counters are not included, see getCounter())
             for (int i = 0; i < getNPlayers(); i++) {
-                addAll(playerResources[i].values());
-                addAll(playerProduction[i].values());
-                addAll(playerCardsPlayedTags[i].values());
-                addAll(playerTilesPlaced[i].values());
-                addAll(playerCardsPlayedTypes[i].values());
                 if (playerCorporations[i] != null) {
                     add(playerCorporations[i]);
                 }
@@ -166,12 +162,12 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
         copy.playerResourceMap = new HashSet[getNPlayers()];
         copy.playerPersistingEffects = new HashSet[getNPlayers()];
         copy.playerDiscountEffects = new HashMap[getNPlayers()];
-        copy.playerResources = new HashMap[getNPlayers()];
-        copy.playerResourceIncreaseGen = new HashMap[getNPlayers()];
-        copy.playerProduction = new HashMap[getNPlayers()];
-        copy.playerCardsPlayedTags = new HashMap[getNPlayers()];
-        copy.playerCardsPlayedTypes = new HashMap[getNPlayers()];
-        copy.playerTilesPlaced = new HashMap[getNPlayers()];
+        copy.playerResources = new TMCounters[getNPlayers()];
+        copy.playerResourceIncreaseGen = new boolean[getNPlayers()][];
+        copy.playerProduction = new TMCounters[getNPlayers()];
+        copy.playerCardsPlayedTags = new TMCounters[getNPlayers()];
+        copy.playerCardsPlayedTypes = new TMCounters[getNPlayers()];
+        copy.playerTilesPlaced = new TMCounters[getNPlayers()];
         copy.playerCardPoints = new Counter[getNPlayers()];
         copy.playerComplicatedPointCards = new Deck[getNPlayers()];
         copy.playedCards = new Deck[getNPlayers()];
@@ -181,12 +177,12 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
             copy.playerResourceMap[i] = new HashSet<>();
             copy.playerPersistingEffects[i] = new HashSet<>();
             copy.playerDiscountEffects[i] = new HashMap<>();
-            copy.playerResources[i] = new HashMap<>();
-            copy.playerResourceIncreaseGen[i] = new HashMap<>();
-            copy.playerProduction[i] = new HashMap<>();
-            copy.playerCardsPlayedTags[i] = new HashMap<>();
-            copy.playerCardsPlayedTypes[i] = new HashMap<>();
-            copy.playerTilesPlaced[i] = new HashMap<>();
+            copy.playerResources[i] = playerResources[i].copy();
+            copy.playerResourceIncreaseGen[i] = playerResourceIncreaseGen[i].clone();
+            copy.playerProduction[i] = playerProduction[i].copy();
+            copy.playerCardsPlayedTags[i] = playerCardsPlayedTags[i].copy();
+            copy.playerCardsPlayedTypes[i] = playerCardsPlayedTypes[i].copy();
+            copy.playerTilesPlaced[i] = playerTilesPlaced[i].copy();
             copy.playerCardPoints[i] = playerCardPoints[i].copy();
             copy.playerComplicatedPointCards[i] = playerComplicatedPointCards[i].copy();
             copy.playedCards[i] = playedCards[i].copy();
@@ -205,22 +201,6 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
             for (Effect e : playerPersistingEffects[i]) {
                 copy.playerPersistingEffects[i].add(e.copy());
             }
-            for (TMTypes.Resource r : playerResources[i].keySet()) {
-                copy.playerResources[i].put(r, playerResources[i].get(r).copy());
-                copy.playerResourceIncreaseGen[i].put(r, playerResourceIncreaseGen[i].get(r));
-            }
-            for (TMTypes.Resource r : playerProduction[i].keySet()) {
-                copy.playerProduction[i].put(r, playerProduction[i].get(r).copy());
-            }
-            for (TMTypes.Tag t : playerCardsPlayedTags[i].keySet()) {
-                copy.playerCardsPlayedTags[i].put(t, playerCardsPlayedTags[i].get(t).copy());
-            }
-            for (TMTypes.CardType t : playerCardsPlayedTypes[i].keySet()) {
-                copy.playerCardsPlayedTypes[i].put(t, playerCardsPlayedTypes[i].get(t).copy());
-            }
-            for (TMTypes.Tile t : playerTilesPlaced[i].keySet()) {
-                copy.playerTilesPlaced[i].put(t, playerTilesPlaced[i].get(t).copy());
-            }
         }
 
         // Player-specific hidden info
@@ -282,7 +262,7 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
 
     @Override
     public double getGameScore(int playerId) {
-        return playerResources[playerId].get(TMTypes.Resource.TR).getValue();
+        return playerResources[playerId].getValue(TMTypes.Resource.TR);
 //        return countPoints(playerId);
     }
 
@@ -304,7 +284,7 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
                 && Arrays.equals(playerDiscountEffects, that.playerDiscountEffects)
                 && Arrays.equals(playerPersistingEffects, that.playerPersistingEffects)
                 && Arrays.equals(playerResources, that.playerResources)
-                && Arrays.equals(playerResourceIncreaseGen, that.playerResourceIncreaseGen)
+                && Arrays.deepEquals(playerResourceIncreaseGen, that.playerResourceIncreaseGen)
                 && Arrays.equals(playerProduction, that.playerProduction)
                 && Arrays.equals(playerCardsPlayedTags, that.playerCardsPlayedTags)
                 && Arrays.equals(playerCardsPlayedTypes, that.playerCardsPlayedTypes)
@@ -329,7 +309,7 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
         result = 31 * result + Arrays.hashCode(playerDiscountEffects);
         result = 31 * result + Arrays.hashCode(playerPersistingEffects);
         result = 31 * result + Arrays.hashCode(playerResources);
-        result = 31 * result + Arrays.hashCode(playerResourceIncreaseGen);
+        result = 31 * result + Arrays.deepHashCode(playerResourceIncreaseGen);
         result = 31 * result + Arrays.hashCode(playerProduction);
         result = 31 * result + Arrays.hashCode(playerCardsPlayedTags);
         result = 31 * result + Arrays.hashCode(playerCardsPlayedTypes);
@@ -384,7 +364,7 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
         result = 31 * result + Arrays.hashCode(playerDiscountEffects);
         result = 31 * result + Arrays.hashCode(playerPersistingEffects);
         result = 31 * result + Arrays.hashCode(playerResources);
-        result = 31 * result + Arrays.hashCode(playerResourceIncreaseGen);
+        result = 31 * result + Arrays.deepHashCode(playerResourceIncreaseGen);
         sb.append(result).append("|9|");
         result = Arrays.hashCode(playerProduction);
         sb.append(result).append("|10|");
@@ -411,11 +391,11 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
      * Public API
      */
 
-    public HashMap<TMTypes.Resource, Counter>[] getPlayerProduction() {
+    public TMCounters<TMTypes.Resource>[] getPlayerProduction() {
         return playerProduction;
     }
 
-    public HashMap<TMTypes.Resource, Counter>[] getPlayerResources() {
+    public TMCounters<TMTypes.Resource>[] getPlayerResources() {
         return playerResources;
     }
 
@@ -439,11 +419,11 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
         return playerHands;
     }
 
-    public HashMap<TMTypes.Tag, Counter>[] getPlayerCardsPlayedTags() {
+    public TMCounters<TMTypes.Tag>[] getPlayerCardsPlayedTags() {
         return playerCardsPlayedTags;
     }
 
-    public HashMap<TMTypes.CardType, Counter>[] getPlayerCardsPlayedTypes() {
+    public TMCounters<TMTypes.CardType>[] getPlayerCardsPlayedTypes() {
         return playerCardsPlayedTypes;
     }
 
@@ -451,7 +431,7 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
         return playerExtraActions;
     }
 
-    public HashMap<TMTypes.Tile, Counter>[] getPlayerTilesPlaced() {
+    public TMCounters<TMTypes.Tile>[] getPlayerTilesPlaced() {
         return playerTilesPlaced;
     }
 
@@ -506,7 +486,10 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
         return generation;
     }
 
-    public HashMap<TMTypes.Resource, Boolean>[] getPlayerResourceIncreaseGen() {
+    /**
+     * @return for each player, whether each resource (by ordinal) has been increased this generation
+     */
+    public boolean[][] getPlayerResourceIncreaseGen() {
         return playerResourceIncreaseGen;
     }
 
@@ -597,6 +580,24 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
         return which;
     }
 
+    /**
+     * Finds a counter by its component ID. The players' resource, production, tag, card type and tile counters are
+     * not components of the state (see TMCounters), so are looked up here rather than with getComponentById().
+     *
+     * @return the counter, or null if there is none with this ID
+     */
+    public Counter getCounter(int componentID) {
+        for (int i = 0; i < getNPlayers(); i++) {
+            for (TMCounters<?> counters : new TMCounters<?>[]{playerResources[i], playerProduction[i],
+                    playerCardsPlayedTags[i], playerCardsPlayedTypes[i], playerTilesPlaced[i]}) {
+                Counter c = counters.getById(componentID);
+                if (c != null) return c;
+            }
+        }
+        Component c = getComponentById(componentID);
+        return c instanceof Counter ? (Counter) c : null;
+    }
+
     public static TMTypes.GlobalParameter counterToGP(Counter c) {
         return Utils.searchEnum(TMTypes.GlobalParameter.class, c.getComponentName());
     }
@@ -627,14 +628,14 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
         if (from == null || from.size() > 0) {
             int sum = 0;
             if (itself || from != null && from.contains(to))
-                sum = playerResources[player].get(to).getValue();  // All resources can be exchanged for themselves at rate 1.0
+                sum = playerResources[player].getValue(to);  // All resources can be exchanged for themselves at rate 1.0
 
             // Add resources that this player can use as the "to" resource for this action
             for (ResourceMapping resMap : playerResourceMap[player]) {
                 if ((from == null || from.contains(resMap.from))
                         && resMap.to == to
                         && (resMap.requirement == null || resMap.requirement.testCondition(card))) {
-                    int n = playerResources[player].get(resMap.from).getValue();
+                    int n = playerResources[player].getValue(resMap.from);
                     sum += n * resMap.rate;
                 }
             }
@@ -655,7 +656,7 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
         HashSet<TMTypes.Resource> resources = new HashSet<>();
         for (ResourceMapping resMap : playerResourceMap[player]) {
             if ((from == null || resMap.from == from) && resMap.to == to && (resMap.requirement == null || resMap.requirement.testCondition(card))) {
-                if (playerResources[player].get(resMap.from).getValue() > 0) {
+                if (playerResources[player].getValue(resMap.from) > 0) {
                     resources.add(resMap.from);
                 }
             }
@@ -664,7 +665,7 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
     }
 
     public void playerPay(int player, TMTypes.Resource resource, int amount) {
-        playerResources[player].get(resource).decrement(Math.abs(amount));
+        playerResources[player].increment(resource, -Math.abs(amount));
     }
 
     public double getResourceMapRate(TMTypes.Resource from, TMTypes.Resource to) {
@@ -724,15 +725,15 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
 
     public boolean hasPlacedTile(int player) {
         for (TMTypes.Tile t : playerTilesPlaced[player].keySet()) {
-            if (t.canBeOwned() && playerTilesPlaced[player].get(t).getValue() > 0) return true;
+            if (t.canBeOwned() && playerTilesPlaced[player].getValue(t) > 0) return true;
         }
         return false;
     }
 
     public boolean anyTilesPlaced() {
         for (int i = 0; i < getNPlayers(); i++) {
-            for (Counter c : playerTilesPlaced[i].values()) {
-                if (c.getValue() > 0) return true;
+            for (TMTypes.Tile t : playerTilesPlaced[i].keySet()) {
+                if (playerTilesPlaced[i].getValue(t) > 0) return true;
             }
         }
         return getNPlayers() == 1;
@@ -740,14 +741,14 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
 
     public boolean anyTilesPlaced(TMTypes.Tile type) {
         for (int i = 0; i < getNPlayers(); i++) {
-            if (playerTilesPlaced[i].get(type).getValue() > 0) return true;
+            if (playerTilesPlaced[i].getValue(type) > 0) return true;
         }
         return getNPlayers() == 1 && (type == TMTypes.Tile.City || type == TMTypes.Tile.Greenery);
     }
 
     public int countPoints(int player) {
         // Add TR
-        int points = playerResources[player].get(TMTypes.Resource.TR).getValue();
+        int points = playerResources[player].getValue(TMTypes.Resource.TR);
         // Add milestones
         points += countPointsMilestones(player);
         // Add awards
@@ -824,7 +825,7 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
     public int countPointsBoard(int player) {
         int points = 0;
         // Greeneries
-        points += playerTilesPlaced[player].get(TMTypes.Tile.Greenery).getValue();
+        points += playerTilesPlaced[player].getValue(TMTypes.Tile.Greenery);
         // Add cities on board
         for (int i = 0; i < board.getHeight(); i++) {
             for (int j = 0; j < board.getWidth(); j++) {
@@ -858,7 +859,7 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
                 if (card.pointsResource != null) {
                     points += card.nPoints * card.nResourcesOnCard;
                 } else if (card.pointsTag != null) {
-                    points += card.nPoints * playerCardsPlayedTags[player].get(card.pointsTag).getValue();
+                    points += card.nPoints * playerCardsPlayedTags[player].getValue(card.pointsTag);
                 } else if (card.pointsTile != null) {
                     if (card.pointsTileAdjacent && card.mapTileIDTilePlaced >= 0) {  // TODO: mapTileIDPlaced should have been set in this case, bug
                         // only adjacent tiles count
@@ -871,7 +872,7 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
                             }
                         }
                     } else {
-                        points += card.nPoints * playerTilesPlaced[player].get(card.pointsTile).getValue();
+                        points += card.nPoints * playerTilesPlaced[player].getValue(card.pointsTile);
                     }
                 } else if (card.getComponentName().equalsIgnoreCase("capital")) {
                     // x VP per Ocean adjacent
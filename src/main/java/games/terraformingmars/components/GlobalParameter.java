@@ -44,7 +44,7 @@ public class GlobalParameter extends Counter {
 
                 // Player gets TR
                 gs.getPlayerResources()[player].get(TMTypes.Resource.TR).increment(1);
-                gs.getPlayerResourceIncreaseGen()[player].put(TMTypes.Resource.TR, true);
+                gs.getPlayerResourceIncreaseGen()[player][TMTypes.Resource.TR.ordinal()] = true;
 
                 // Params increase, check bonuses
                 for (Bonus b : gs.getBonuses()) {
@@ -57,7 +57,7 @@ public class GlobalParameter extends Counter {
 
     @Override
     public GlobalParameter copy() {
-        GlobalParameter copy = new GlobalParameter(values != null? values.clone() : null, valueIdx, minimum, maximum, componentName, componentID);
+        GlobalParameter copy = new GlobalParameter(values, valueIdx, minimum, maximum, componentName, componentID);
         for (Pair<Integer, Integer> p: increases) {
             copy.increases.add(p.copy());
         }
@@ -0,0 +1,288 @@
+package games.terraformingmars.components;
+
+import core.components.Counter;
+
+import java.util.*;
+
+/**
+ * A player's counters for the values of an enum (resources, production, tags, card types or tiles), held as an int
+ * array indexed by ordinal rather than a map of Counter components.
+ * <p>
+ * The names, component IDs and bounds of the counters never change during a game, so are shared by all copies;
+ * copying this only copies the array of values. get() still returns a Counter for code that expects one: this is
+ * a view that reads and writes the array, and keeps the same component ID in every copy of the state, so actions
+ * can refer to it by ID (see TMGameState.getCounter()). The views are only created when asked for.
+ */
+public class TMCounters<E extends Enum<E>> {
+    private final E[] keys;  // all values of the enum
+    private final Set<E> keySet;  // the values that have a counter
+    private final String[] names;  // null for values without a counter
+    private final int[] componentIDs;
+    private int[] minimum, maximum;
+    private boolean ownBounds;  // false if the bounds are shared with a copy, and must be copied before changing
+    private int[] values;
+    private Counter[] views;
+
+    public TMCounters(Class<E> type) {
+        keys = type.getEnumConstants();
+        keySet = EnumSet.noneOf(type);
+        names = new String[keys.length];
+        componentIDs = new int[keys.length];
+        minimum = new int[keys.length];
+        maximum = new int[keys.length];
+        ownBounds = true;
+        values = new int[keys.length];
+        views = new Counter[keys.length];
+    }
+
+    private TMCounters(TMCounters<E> other) {
+        keys = other.keys;
+        keySet = other.keySet;
+        names = other.names;
+        componentIDs = other.componentIDs;
+        minimum = other.minimum;
+        maximum = other.maximum;
+        values = other.values.clone();
+        views = new Counter[keys.length];
+    }
+
+    /**
+     * Adds a counter for key, with a new component ID. Only used when setting up the game.
+     */
+    public void add(E key, int value, int minimum, int maximum, String name) {
+        int i = key.ordinal();
+        keySet.add(key);
+        names[i] = name;
+        this.minimum[i] = minimum;
+        this.maximum[i] = maximum;
+        values[i] = value;
+        views[i] = new CounterView(i);
+        componentIDs[i] = views[i].getComponentID();
+    }
+
+    public TMCounters<E> copy() {
+        // the copy shares the bounds with this, so neither can change them in place any more
+        ownBounds = false;
+        return new TMCounters<>(this);
+    }
+
+    public boolean containsKey(E key) {
+        return names[key.ordinal()] != null;
+    }
+
+    /**
+     * @return the values of the enum that have a counter, in order
+     */
+    public Set<E> keySet() {
+        return Collections.unmodifiableSet(keySet);
+    }
+
+    /**
+     * @return the counter for key, or null if there is none
+     */
+    public Counter get(E key) {
+        return view(key.ordinal());
+    }
+
+    /**
+     * @return the counter with this component ID, or null if none of these counters has it
+     */
+    public Counter getById(int componentID) {
+        for (int i = 0; i < componentIDs.length; i++) {
+            if (componentIDs[i] == componentID && names[i] != null)
+                return view(i);
+        }
+        return null;
+    }
+
+    public Collection<Counter> values() {
+        List<Counter> counters = new ArrayList<>();
+        for (E key : keySet)
+            counters.add(view(key.ordinal()));
+        return counters;
+    }
+
+    private Counter view(int i) {
+        if (names[i] == null)
+            return null;
+        if (views[i] == null)
+            views[i] = new CounterView(i, componentIDs[i]);
+        return views[i];
+    }
+
+    /**
+     * @return the value of the counter for key (0 if there is none)
+     */
+    public int getValue(E key) {
+        return values[key.ordinal()];
+    }
+
+    public void setValue(E key, int value) {
+        values[key.ordinal()] = value;
+    }
+
+    /**
+     * Adds amount to the counter for key, keeping it within its bounds (as Counter.increment()).
+     * @return false if the value had to be capped
+     */
+    public boolean increment(E key, int amount) {
+        return increment(key.ordinal(), amount);
+    }
+
+    private boolean increment(int i, int amount) {
+        int v = values[i] + amount;
+        if (v > maximum[i]) {
+            values[i] = maximum[i];
+            return false;
+        }
+        if (v < minimum[i]) {
+            values[i] = minimum[i];
+            return false;
+        }
+        values[i] = v;
+        return true;
+    }
+
+    private void setBounds(int i, int min, int max) {
+        if (!ownBounds) {
+            minimum = minimum.clone();
+            maximum = maximum.clone();
+            ownBounds = true;
+        }
+        minimum[i] = min;
+        maximum[i] = max;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TMCounters<?> that)) return false;
+        return Arrays.equals(componentIDs, that.componentIDs) && Arrays.equals(values, that.values)
+                && Arrays.equals(minimum, that.minimum) && Arrays.equals(maximum, that.maximum);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(componentIDs) + Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        for (E key : keySet) {
+            if (sb.length() > 1) sb.append(", ");
+            sb.append(key).append("=").append(values[key.ordinal()]);
+        }
+        return sb.append("}").toString();
+    }
+
+    /**
+     * The Counter for one value of the enum, which keeps its value and bounds in the arrays of TMCounters. (The
+     * arrays are qualified with TMCounters.this, as Counter's own fields have the same names.)
+     */
+    private class CounterView extends Counter {
+        private final int i;
+
+        // a new counter, with a new component ID
+        CounterView(int i) {
+            super(0, 0, 0, names[i]);
+            this.i = i;
+        }
+
+        CounterView(int i, int componentID) {
+            super(null, 0, 0, 0, names[i], componentID);
+            this.i = i;
+        }
+
+        @Override
+        public Counter copy() {
+            // a copy of this counter on its own, rather than of the whole TMCounters
+            return new DetachedCounter(TMCounters.this.values[i], TMCounters.this.minimum[i],
+                    TMCounters.this.maximum[i], componentName, componentID);
+        }
+
+        @Override
+        public boolean increment(int amount) {
+            return TMCounters.this.increment(i, amount);
+        }
+
+        @Override
+        public boolean decrement(int amount) {
+            return TMCounters.this.increment(i, -amount);
+        }
+
+        @Override
+        public Boolean isMinimum() {
+            return TMCounters.this.values[i] <= TMCounters.this.minimum[i];
+        }
+
+        @Override
+        public Boolean isMaximum() {
+            return TMCounters.this.values[i] >= TMCounters.this.maximum[i];
+        }
+
+        @Override
+        public int getMinimum() {
+            return TMCounters.this.minimum[i];
+        }
+
+        @Override
+        public int getMaximum() {
+            return TMCounters.this.maximum[i];
+        }
+
+        @Override
+        public int getValueIdx() {
+            return TMCounters.this.values[i];
+        }
+
+        @Override
+        public int getValue() {
+            return TMCounters.this.values[i];
+        }
+
+        @Override
+        public void setMaximum(int maximum) {
+            setBounds(i, TMCounters.this.minimum[i], maximum);
+        }
+
+        @Override
+        public void setMinimum(int minimum) {
+            setBounds(i, minimum, TMCounters.this.maximum[i]);
+        }
+
+        @Override
+        public void setValue(int value) {
+            TMCounters.this.values[i] = value;
+        }
+
+        @Override
+        public void setToMax() {
+            TMCounters.this.values[i] = TMCounters.this.maximum[i];
+        }
+
+        @Override
+        public void setToMin() {
+            TMCounters.this.values[i] = TMCounters.this.minimum[i];
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Counter counter)) return false;
+            return componentID == counter.getComponentID() && getValue() == counter.getValue()
+                    && getMinimum() == counter.getMinimum() && getMaximum() == counter.getMaximum();
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(componentID, getValue(), getMinimum(), getMaximum());
+        }
+    }
+
+    private static class DetachedCounter extends Counter {
+        DetachedCounter(int value, int minimum, int maximum, String name, int componentID) {
+            super(null, value, minimum, maximum, name, componentID);
+        }
+    }
+}
@@ -104,8 +104,7 @@ public class CounterRequirement implements Requirement<TMGameState> {
                 thresholdIdx = Utils.indexOf(which.getValues(), thresholdIdx);
             }
         } else {
-            gs.getAllComponents();
-            which = (Counter) gs.getComponentById(counterID);
+            which = gs.getCounter(counterID);
         }
 
         if (max && thresholdIdx == -1) {
@@ -38,10 +38,22 @@ public class TicTacToeGameState extends AbstractGameState implements IPrintable,
     @Override
     protected TicTacToeGameState _copy(int playerId) {
         TicTacToeGameState s = new TicTacToeGameState(gameParameters.copy(), getNPlayers());
-        s.gridBoard = gridBoard.copy();
+        _copyInto(s, playerId);
         return s;
     }
 
+    @Override
+    protected boolean _copyInto(AbstractGameState target, int playerId) {
+        ((TicTacToeGameState) target).gridBoard = gridBoard.copy();
+        return true;
+    }
+
+    @Override
+    protected long _getStateHash() {
+        // the board is the only thing that changes in the game (other than the core state)
+        return gridBoard.getZobristHash();
+    }
+
     @Override
     protected double _getHeuristicScore(int playerId) {
         return new TicTacToeHeuristic().evaluateState(this, playerId);
@@ -1,10 +1,10 @@
 package games.tictactoe;
 
 import core.AbstractGameState;
+import core.components.GridBoard;
 import core.components.Token;
 import core.interfaces.IStateFeatureVector;
 
-import java.util.Arrays;
 import java.util.stream.IntStream;
 
 public class TicTacToeStateVector implements IStateFeatureVector {
@@ -16,20 +16,28 @@ public class TicTacToeStateVector implements IStateFeatureVector {
 
     @Override
     public double[] doubleVector(AbstractGameState gs, int playerID) {
-        TicTacToeGameState state = (TicTacToeGameState) gs;
-        String playerChar = TicTacToeConstants.playerMapping.get(playerID).getComponentName();
+        GridBoard board = ((TicTacToeGameState) gs).gridBoard;
+        double[] retValue = new double[board.getWidth() * board.getHeight()];
+        doubleVector(gs, playerID, retValue);
+        return retValue;
+    }
 
-        return Arrays.stream(state.gridBoard.flattenGrid()).mapToDouble(c -> {
-            String pos = c.getComponentName();
-            if (pos.equals(playerChar)) {
-                return 1.0;
-            } else if (pos.equals(TicTacToeConstants.emptyCell)) {
-                return 0.0;
-            } else { // opponent's piece
-                return -1.0;
+    @Override
+    public void doubleVector(AbstractGameState gs, int playerID, double[] buffer) {
+        GridBoard board = ((TicTacToeGameState) gs).gridBoard;
+        String playerChar = TicTacToeConstants.playerMapping.get(playerID).getComponentName();
+        for (int y = 0; y < board.getHeight(); y++) {
+            for (int x = 0; x < board.getWidth(); x++) {
+                String pos = board.getElement(x, y).getComponentName();
+                if (pos.equals(playerChar)) {
+                    buffer[y * board.getWidth() + x] = 1.0;
+                } else if (pos.equals(TicTacToeConstants.emptyCell)) {
+                    buffer[y * board.getWidth() + x] = 0.0;
+                } else { // opponent's piece
+                    buffer[y * board.getWidth() + x] = -1.0;
+                }
             }
-        }).toArray();
-
+        }
     }
 
     @Override
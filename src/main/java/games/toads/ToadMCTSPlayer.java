@@ -139,8 +139,8 @@ public class ToadMCTSPlayer extends MCTSPlayer {
             root.setRedeterminisationPlayer(getPlayerID());
             // then we need to correct the transposition table
             if (root instanceof MCGSNode mcgsRoot) {
-                mcgsRoot.getTranspositionMap().clear();
-                mcgsRoot.getTranspositionMap().put(getParameters().MCGSStateKey.getKey(gameState, getPlayerID()), mcgsRoot);
+                mcgsRoot.getTranspositionTable().clear();
+                mcgsRoot.getTranspositionTable().add(getParameters().MCGSStateKey.getKey(gameState, getPlayerID()), mcgsRoot, List.of());
                 this.oldGraphKeys.clear();
             }
         }
@@ -35,6 +35,11 @@ public class ToadCard extends Card {
         return this;  // currently immutable
     }
 
+    @Override
+    public boolean isImmutable() {
+        return true;
+    }
+
     @Override
     public boolean equals(Object other) {
         if (this == other) return true;
@@ -51,7 +51,7 @@ public class GraphBoardView extends ComponentView {
         // Draw connections
         Collection<BoardNode> bList = graphBoard.getBoardNodes();
         for (BoardNode b: bList) {
-            PropertyVector2D posProp = (PropertyVector2D) b.getProperty(coordinateHash);
+            PropertyVector2D posProp = (PropertyVector2D) b.getProperty(coordinateKey);
             if (posProp != null) {
                 Vector2D poss = posProp.values;
                 Vector2D pos = new Vector2D((int) (poss.getX() * scaleW), (int) (poss.getY() * scaleH));
@@ -59,7 +59,7 @@ public class GraphBoardView extends ComponentView {
 
                 Set<BoardNode> neighbours = b.getNeighbours().keySet();
                 for (BoardNode b2 : neighbours) {
-                    PropertyVector2D posProp2 = (PropertyVector2D) b2.getProperty(coordinateHash);
+                    PropertyVector2D posProp2 = (PropertyVector2D) b2.getProperty(coordinateKey);
                     if (posProp2 != null) {
                         Vector2D poss2 = posProp2.values;
                         Vector2D pos2 = new Vector2D((int) (poss2.getX() * scaleW), (int) (poss2.getY() * scaleH));
@@ -78,18 +78,18 @@ public class GraphBoardView extends ComponentView {
                 }
 
                 g.setColor(Color.black);
-                g.drawString(((PropertyString) b.getProperty(nameHash)).value, pos.getX(), pos.getY() - defaultItemSize / 2);
+                g.drawString(((PropertyString) b.getProperty(nameKey)).value, pos.getX(), pos.getY() - defaultItemSize / 2);
             }
         }
 
         // Draw board nodes
         for (BoardNode bn: graphBoard.getBoardNodes()) {
-            PropertyVector2D posProp = (PropertyVector2D) bn.getProperty(coordinateHash);
+            PropertyVector2D posProp = (PropertyVector2D) bn.getProperty(coordinateKey);
             if (posProp != null) {
                 Vector2D poss = posProp.values;
                 Vector2D pos = new Vector2D((int) (poss.getX() * scaleW), (int) (poss.getY() * scaleH));
 
-                PropertyColor colorProp = (PropertyColor) bn.getProperty(colorHash);
+                PropertyColor colorProp = (PropertyColor) bn.getProperty(colorKey);
                 if (colorProp != null) {
                     g.setColor(Utils.stringToColor(colorProp.valueStr));
                 }
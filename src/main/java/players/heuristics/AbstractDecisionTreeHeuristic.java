@@ -1,46 +1,37 @@
 package players.heuristics;
 
-import com.globalmentor.apache.hadoop.fs.BareLocalFileSystem;
-import org.apache.hadoop.fs.FileSystem;
-import org.apache.spark.ml.regression.DecisionTreeRegressionModel;
-import org.apache.spark.sql.SparkSession;
-
+import java.io.File;
+
+/**
+ * Predictions are made with a CompiledDecisionTree, and that (or the JSON file it is saved to) is all the heuristics
+ * need, so they do not depend on Spark. Trees are trained with Spark by DecisionTreeLearner, which saves the compiled
+ * tree as CompiledTree.json next to the Spark model. A tree that was saved only in Spark's own format can be compiled
+ * with DecisionTreeLearner.compileSavedModel().
+ */
 public abstract class AbstractDecisionTreeHeuristic {
 
-    static SparkSession spark = SparkSession
-            .builder()
-            .appName("Java Spark SQL basic example")
-            //     .config("spark.driver.memory", "1g")
-            .master("local").getOrCreate();
-    static {
-        // And the hack to get this to work on Windows (without the Winutils.exe and hadoop.dll nightmare)
-        spark.sparkContext().hadoopConfiguration().setClass("fs.file.impl", BareLocalFileSystem.class, FileSystem.class);
-    }
+    public static final String COMPILED_TREE_FILE = "CompiledTree.json";
 
-    protected DecisionTreeRegressionModel drModel;
+    protected CompiledDecisionTree tree;
 
-    public AbstractDecisionTreeHeuristic(DecisionTreeRegressionModel drModel) {
-        this.drModel = drModel;
+    public AbstractDecisionTreeHeuristic(CompiledDecisionTree tree) {
+        this.tree = tree;
     }
 
+    /**
+     * @param directory the directory the tree was saved to (which holds CompiledTree.json), or the .json file itself
+     */
     public AbstractDecisionTreeHeuristic(String directory) {
         // load in the Decision Tree model from the directory
         if (directory == null || directory.isEmpty()) {
             System.out.println("No directory specified for Decision Tree model");
             return;
         }
-        drModel = DecisionTreeRegressionModel.load(directory);
-    }
-
-    public static String prettifyDecisionTreeDescription(DecisionTreeRegressionModel model, String[] featureNames) {
-        // the debug string of model contains labels of the form 'feature nn', where nn is the index of the feature
-        // We want to replace these with the actual feature names
-        // we go in reverse to stop replacing 'feature 10' with 'nameOfFeature0' etc.
-        String debugString = model.toDebugString();
-        for (int i = featureNames.length-1; i >= 0; i--) {
-            debugString = debugString.replace("feature " + i, featureNames[i]);
-        }
-        return debugString;
+        File compiledTree = directory.endsWith(".json") ? new File(directory) : new File(directory, COMPILED_TREE_FILE);
+        if (!compiledTree.isFile())
+            throw new IllegalArgumentException("No compiled decision tree found at " + compiledTree.getPath() +
+                    " (a model saved by Spark can be compiled with DecisionTreeLearner.compileSavedModel())");
+        tree = CompiledDecisionTree.loadFromFile(compiledTree.getPath());
     }
 
 }
@@ -0,0 +1,138 @@
+package players.heuristics;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import utilities.JSONUtils;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A regression tree held as flat arrays (one entry per node), so that a prediction is a short loop over primitive
+ * arrays, with no allocation. This is used by the decision tree heuristics in place of the Spark model, so that
+ * they do not need Spark at all once the tree has been trained.
+ * <p>
+ * Node 0 is the root. A leaf has a feature of -1, and its prediction in value[]. Otherwise, the node splits on
+ * feature[n]: with a continuous split we go to left[n] if the feature is <= threshold[n] (and to right[n] if not);
+ * with a categorical split (categories[n] != null) we go left if the feature is one of the (sorted) categories[n].
+ * These are the same rules as Spark's ContinuousSplit and CategoricalSplit.
+ * <p>
+ * The tree is saved as JSON, with one array for each of these.
+ */
+public class CompiledDecisionTree {
+
+    final int[] feature;
+    final double[] threshold;
+    final double[][] categories;
+    final int[] left;
+    final int[] right;
+    final double[] value;
+
+    public CompiledDecisionTree(int[] feature, double[] threshold, double[][] categories, int[] left, int[] right, double[] value) {
+        int n = feature.length;
+        if (threshold.length != n || categories.length != n || left.length != n || right.length != n || value.length != n)
+            throw new IllegalArgumentException("All the arrays of a tree must have one entry per node");
+        this.feature = feature;
+        this.threshold = threshold;
+        this.categories = categories;
+        this.left = left;
+        this.right = right;
+        this.value = value;
+        for (double[] c : categories)
+            if (c != null)
+                Arrays.sort(c);
+    }
+
+    public CompiledDecisionTree(JSONObject json) {
+        this(toIntArray((JSONArray) json.get("feature")),
+                toDoubleArray((JSONArray) json.get("threshold")),
+                toCategories((JSONArray) json.get("categories")),
+                toIntArray((JSONArray) json.get("left")),
+                toIntArray((JSONArray) json.get("right")),
+                toDoubleArray((JSONArray) json.get("value")));
+    }
+
+    public static CompiledDecisionTree loadFromFile(String fileName) {
+        return new CompiledDecisionTree(JSONUtils.loadJSONFile(fileName));
+    }
+
+    /**
+     * Writes the tree in full (JSONUtils.writeJSON() rounds numbers for readability, which would move thresholds)
+     */
+    public void writeToFile(String fileName) {
+        try (FileWriter writer = new FileWriter(fileName)) {
+            writer.write(toJSON().toJSONString());
+        } catch (IOException e) {
+            throw new AssertionError("Error writing decision tree to file " + fileName);
+        }
+    }
+
+    public double predict(double[] features) {
+        int n = 0;
+        while (feature[n] >= 0) {
+            double x = features[feature[n]];
+            boolean goLeft = categories[n] == null ? x <= threshold[n] : Arrays.binarySearch(categories[n], x) >= 0;
+            n = goLeft ? left[n] : right[n];
+        }
+        return value[n];
+    }
+
+    public int size() {
+        return feature.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    public JSONObject toJSON() {
+        JSONObject json = new JSONObject();
+        JSONArray featureJSON = new JSONArray();
+        JSONArray thresholdJSON = new JSONArray();
+        JSONArray categoriesJSON = new JSONArray();
+        JSONArray leftJSON = new JSONArray();
+        JSONArray rightJSON = new JSONArray();
+        JSONArray valueJSON = new JSONArray();
+        for (int n = 0; n < feature.length; n++) {
+            featureJSON.add(feature[n]);
+            thresholdJSON.add(threshold[n]);
+            if (categories[n] == null) {
+                categoriesJSON.add(null);
+            } else {
+                JSONArray c = new JSONArray();
+                for (double category : categories[n])
+                    c.add(category);
+                categoriesJSON.add(c);
+            }
+            leftJSON.add(left[n]);
+            rightJSON.add(right[n]);
+            valueJSON.add(value[n]);
+        }
+        json.put("feature", featureJSON);
+        json.put("threshold", thresholdJSON);
+        json.put("categories", categoriesJSON);
+        json.put("left", leftJSON);
+        json.put("right", rightJSON);
+        json.put("value", valueJSON);
+        return json;
+    }
+
+    private static int[] toIntArray(JSONArray array) {
+        int[] retValue = new int[array.size()];
+        for (int i = 0; i < retValue.length; i++)
+            retValue[i] = ((Number) array.get(i)).intValue();
+        return retValue;
+    }
+
+    private static double[] toDoubleArray(JSONArray array) {
+        double[] retValue = new double[array.size()];
+        for (int i = 0; i < retValue.length; i++)
+            retValue[i] = ((Number) array.get(i)).doubleValue();
+        return retValue;
+    }
+
+    private static double[][] toCategories(JSONArray array) {
+        double[][] retValue = new double[array.size()][];
+        for (int i = 0; i < retValue.length; i++)
+            retValue[i] = array.get(i) == null ? null : toDoubleArray((JSONArray) array.get(i));
+        return retValue;
+    }
+}
@@ -3,8 +3,6 @@ package players.heuristics;
 import core.AbstractGameState;
 import core.interfaces.IStateFeatureVector;
 import core.interfaces.IStateHeuristic;
-import org.apache.spark.ml.linalg.Vectors;
-import org.apache.spark.ml.regression.DecisionTreeRegressionModel;
 
 public class DecisionTreeStateHeuristic extends AbstractDecisionTreeHeuristic implements IStateHeuristic {
 
@@ -15,9 +13,9 @@ public class DecisionTreeStateHeuristic extends AbstractDecisionTreeHeuristic im
         this.stateFeatures = stateFeatures;
         this.defaultHeuristic = defaultHeuristic;
     }
-    public DecisionTreeStateHeuristic(IStateFeatureVector stateFeatures, DecisionTreeRegressionModel decisionTreeRegressionModel,
+    public DecisionTreeStateHeuristic(IStateFeatureVector stateFeatures, CompiledDecisionTree tree,
                                       IStateHeuristic defaultHeuristic) {
-        super(decisionTreeRegressionModel);
+        super(tree);
         this.stateFeatures = stateFeatures;
         this.defaultHeuristic = defaultHeuristic;
     }
@@ -29,12 +27,12 @@ public class DecisionTreeStateHeuristic extends AbstractDecisionTreeHeuristic im
             return defaultHeuristic.evaluateState(state, playerId);
         }
 
-        if (drModel == null) return 0;  // no model, no prediction (this is fine)
+        if (tree == null) return 0;  // no model, no prediction (this is fine)
 
         // get the features for the state
         double[] features = this.stateFeatures.doubleVector(state, playerId);
 
         // return the prediction from the model
-        return drModel.predict(Vectors.dense(features));
+        return tree.predict(features);
     }
 }
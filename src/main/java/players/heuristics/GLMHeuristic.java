@@ -44,6 +44,30 @@ public abstract class GLMHeuristic implements ICoefficients, IHasName {
         return interactions;
     }
 
+    /**
+     * The batch version of applyCoefficients(), giving X * beta for the first n rows of phi (each a feature vector
+     * of length coefficients.length - 1), written into out.
+     * The loops run over plain arrays (with the coefficients read once) so that the JIT can vectorise them.
+     */
+    protected void applyCoefficients(double[][] phi, int n, double[] out) {
+        double[] beta = coefficients;
+        int width = beta.length - 1;
+        double bias = beta[0];
+        for (int r = 0; r < n; r++) {
+            double[] row = phi[r];
+            double sum = bias;
+            for (int i = 0; i < width; i++) {
+                sum += row[i] * beta[i + 1];
+            }
+            out[r] = sum;
+        }
+        if (interactionCoefficients != null) {
+            for (int r = 0; r < n; r++) {
+                out[r] += calculateInteractionEffects(phi[r]);
+            }
+        }
+    }
+
     public void setInverseLinkFunction(DoubleUnaryOperator inverseLinkFunction) {
         this.inverseLinkFunction = inverseLinkFunction;
     }
@@ -6,6 +6,8 @@ import org.json.simple.JSONObject;
 import utilities.JSONUtils;
 import utilities.Utils;
 
+import java.util.List;
+
 public class LinearStateHeuristic extends GLMHeuristic implements IStateHeuristic, IToJSON {
 
     protected IStateFeatureVector features;
@@ -34,21 +36,99 @@ public class LinearStateHeuristic extends GLMHeuristic implements IStateHeuristi
         loadCoefficientsFromJSON(json);
     }
 
-    @Override
-    public double evaluateState(AbstractGameState state, int playerId) {
-        // default heuristic is used if the state is terminal (or no coefficients are provided)
-        if (coefficients != null && (defaultHeuristic == null || state.isNotTerminal())) {
-            double[] phi = features.doubleVector(state, playerId);
-            double retValue = inverseLinkFunction.applyAsDouble(applyCoefficients(phi));
-            if (defaultHeuristic != null)
-                return Utils.clamp(retValue, defaultHeuristic.minValue(), defaultHeuristic.maxValue());
-            return retValue;
+    // The feature vectors (and other arrays) reused from one evaluation to the next. There is one per thread, as
+    // the heuristic may be shared by the threads of a parallel search
+    private static class Workspace {
+        double[][] phi = new double[0][];
+        int[] index = new int[0];
+        double[] predictors = new double[0];
+
+        void ensureCapacity(int n, int width) {
+            if (phi.length < n || (phi.length > 0 && phi[0].length != width)) {
+                phi = new double[Math.max(n, phi.length)][width];
+                index = new int[phi.length];
+                predictors = new double[phi.length];
+            }
         }
+    }
+
+    private final ThreadLocal<Workspace> workspace = ThreadLocal.withInitial(Workspace::new);
+
+    private Workspace workspace(int n) {
+        Workspace retValue = workspace.get();
+        retValue.ensureCapacity(n, coefficients.length - 1);
+        return retValue;
+    }
+
+    // the default heuristic is used if the state is terminal (or no coefficients are provided)
+    private boolean useDefault(AbstractGameState state) {
+        return coefficients == null || (defaultHeuristic != null && !state.isNotTerminal());
+    }
+
+    private double defaultValue(AbstractGameState state, int playerId) {
         if (defaultHeuristic != null)
             return defaultHeuristic.evaluateState(state, playerId);
         return 0;
     }
 
+    private double fromPredictor(double predictor) {
+        double retValue = inverseLinkFunction.applyAsDouble(predictor);
+        if (defaultHeuristic != null)
+            return Utils.clamp(retValue, defaultHeuristic.minValue(), defaultHeuristic.maxValue());
+        return retValue;
+    }
+
+    @Override
+    public double evaluateState(AbstractGameState state, int playerId) {
+        if (useDefault(state))
+            return defaultValue(state, playerId);
+        Workspace ws = workspace(1);
+        features.doubleVector(state, playerId, ws.phi[0]);
+        applyCoefficients(ws.phi, 1, ws.predictors);
+        return fromPredictor(ws.predictors[0]);
+    }
+
+    /**
+     * Extracts the features of all the (non-terminal) states into reused vectors, and then applies the coefficients
+     * to them in one batch
+     */
+    @Override
+    public void evaluateStates(List<? extends AbstractGameState> states, int playerId, double[] values) {
+        if (coefficients == null) {
+            IStateHeuristic.super.evaluateStates(states, playerId, values);
+            return;
+        }
+        Workspace ws = workspace(states.size());
+        int n = 0;
+        for (int i = 0; i < states.size(); i++) {
+            AbstractGameState state = states.get(i);
+            if (useDefault(state)) {
+                values[i] = defaultValue(state, playerId);
+            } else {
+                features.doubleVector(state, playerId, ws.phi[n]);
+                ws.index[n++] = i;
+            }
+        }
+        applyCoefficients(ws.phi, n, ws.predictors);
+        for (int k = 0; k < n; k++)
+            values[ws.index[k]] = fromPredictor(ws.predictors[k]);
+    }
+
+    @Override
+    public void evaluateAllPlayers(AbstractGameState state, double[] values) {
+        if (useDefault(state)) {
+            IStateHeuristic.super.evaluateAllPlayers(state, values);
+            return;
+        }
+        int nPlayers = state.getNPlayers();
+        Workspace ws = workspace(nPlayers);
+        for (int p = 0; p < nPlayers; p++)
+            features.doubleVector(state, p, ws.phi[p]);
+        applyCoefficients(ws.phi, nPlayers, ws.predictors);
+        for (int p = 0; p < nPlayers; p++)
+            values[p] = fromPredictor(ws.predictors[p]);
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public JSONObject toJSON() {
@@ -80,4 +80,20 @@ public class TunableGLMHeuristic extends TunableParameters implements IActionHeu
         throw new AssertionError("Heuristic is not an IStateHeuristic");
     }
 
+    @Override
+    public void evaluateStates(List<? extends AbstractGameState> states, int playerId, double[] values) {
+        if (heuristic instanceof IStateHeuristic stateHeuristic)
+            stateHeuristic.evaluateStates(states, playerId, values);
+        else
+            throw new AssertionError("Heuristic is not an IStateHeuristic");
+    }
+
+    @Override
+    public void evaluateAllPlayers(AbstractGameState gs, double[] values) {
+        if (heuristic instanceof IStateHeuristic stateHeuristic)
+            stateHeuristic.evaluateAllPlayers(gs, values);
+        else
+            throw new AssertionError("Heuristic is not an IStateHeuristic");
+    }
+
 }
@@ -53,6 +53,11 @@ public class HumanConsolePlayer extends AbstractPlayer {
         in.next();
     }
 
+    @Override
+    public boolean usesUpdatedObservations() {
+        return true;
+    }
+
     @Override
     public AbstractPlayer copy() {
         return this;
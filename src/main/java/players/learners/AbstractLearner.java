@@ -3,8 +3,6 @@ package players.learners;
 import core.interfaces.IActionFeatureVector;
 import core.interfaces.ILearner;
 import core.interfaces.IStateFeatureVector;
-import utilities.Pair;
-import utilities.Utils;
 
 import java.util.*;
 
@@ -103,8 +101,9 @@ public abstract class AbstractLearner implements ILearner {
 
     protected void loadData(String... files) {
 
-        Pair<List<String>, List<List<String>>> rawData = Utils.loadDataWithHeader("\t", files);
-        header = rawData.a.toArray(new String[0]);
+        // columnar files are loaded straight into arrays; text files are parsed as the values are read
+        ColumnarData rawData = ColumnarData.load(files);
+        header = rawData.header();
 
         String[] specialColumns = {"GameID", "Player", "Turn", "Round", "Tick", "CurrentScore", "Win", "Ordinal",
                 "FinalScore", "FinalScoreAdv", "TotalRounds", "PlayerCount", "TotalTurns", "TotalTicks",
@@ -139,15 +138,14 @@ public abstract class AbstractLearner implements ILearner {
         // TODO: discounting should really use TICKS as more reliably generic across games, even if it
         // does not map in the same way all the time
 
-        dataArray = new double[rawData.b.size()][];
-        target = new double[rawData.b.size()][1];
-        currentScore = new double[rawData.b.size()][1];
+        dataArray = new double[rawData.rows()][];
+        target = new double[rawData.rows()][1];
+        currentScore = new double[rawData.rows()][1];
         for (int i = 0; i < dataArray.length; i++) {
-            List<String> allData = rawData.b.get(i);
             // calculate the number of turns from this point until the end of the game
-            double turns = Double.parseDouble(allData.get(indexForSpecialColumns.get("TotalTurns"))) -
-                    Double.parseDouble(allData.get(indexForSpecialColumns.get("Turn")));
-            double playerCount = Double.parseDouble(allData.get(indexForSpecialColumns.get("PlayerCount")));
+            double turns = rawData.getDouble(indexForSpecialColumns.get("TotalTurns"), i) -
+                    rawData.getDouble(indexForSpecialColumns.get("Turn"), i);
+            double playerCount = rawData.getDouble(indexForSpecialColumns.get("PlayerCount"), i);
             int targetIndex = indexForSpecialColumns.getOrDefault(targetType.header, -1);
             if (targetIndex == -1) {
                 throw new IllegalArgumentException("Target " + targetType.header + " not found in data");
@@ -160,9 +158,9 @@ public abstract class AbstractLearner implements ILearner {
                 expectedAverage = (1.0 + playerCount) / 2.0;
 
             if (targetType == Target.SCORE_DELTA)
-                target[i][0] = Double.parseDouble(allData.get(targetIndex)) * Math.pow(gamma, turns);
+                target[i][0] = rawData.getDouble(targetIndex, i) * Math.pow(gamma, turns);
             else {
-                target[i][0] = (Double.parseDouble(allData.get(targetIndex)) - expectedAverage) * Math.pow(gamma, turns) + expectedAverage;
+                target[i][0] = (rawData.getDouble(targetIndex, i) - expectedAverage) * Math.pow(gamma, turns) + expectedAverage;
             }
 
             if (targetType == Target.ORDINAL || targetType == Target.ORD_MEAN)
@@ -170,7 +168,7 @@ public abstract class AbstractLearner implements ILearner {
             if (targetType == Target.ORD_MEAN_SCALE || targetType == Target.ORD_SCALE)
                 target[i][0] = (playerCount - target[i][0]) / (playerCount - 1.0);  // scale to [0, 1]
 
-            currentScore[i][0] = Double.parseDouble(allData.get(indexForSpecialColumns.get("CurrentScore")));
+            currentScore[i][0] = rawData.getDouble(indexForSpecialColumns.get("CurrentScore"), i);
             double[] regressionData = new double[descriptions.length + 1];
             regressionData[0] = 1.0; // the bias term
             // then copy the rest of the data into the regression data
@@ -178,7 +176,7 @@ public abstract class AbstractLearner implements ILearner {
             int j = 1;
             for (String h : descriptions) {
                 if (indexForDescriptions.get(h) != null) {
-                    regressionData[j] = Double.parseDouble(allData.get(indexForDescriptions.get(h)));
+                    regressionData[j] = rawData.getDouble(indexForDescriptions.get(h), i);
                     j++;
                 }
             }
@@ -0,0 +1,254 @@
+package players.learners;
+
+import evaluation.loggers.ColumnarStatsLogger;
+import utilities.Pair;
+import utilities.Utils;
+
+import java.io.*;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+
+import static evaluation.loggers.ColumnarStatsLogger.*;
+
+/**
+ * Training data held by column, as loaded by the learners (and AutomatedFeatures).
+ * <p>
+ * Files written by ColumnarStatsLogger are read directly into primitive arrays, so numeric columns are never parsed
+ * from text. Any other file is read as tab-separated text (as written by FileStatsLogger), and parsed as it is
+ * accessed. The columns of the files loaded together are matched by the header of the first file.
+ */
+public class ColumnarData {
+
+    private final String[] header;
+    private final Map<String, Integer> columnIndex = new HashMap<>();
+    // one of these is non-null for each column
+    private final long[][] longs;
+    private final double[][] doubles;
+    private final String[][] strings;
+    private final int rows;
+
+    private ColumnarData(String[] header, long[][] longs, double[][] doubles, String[][] strings, int rows) {
+        this.header = header;
+        this.longs = longs;
+        this.doubles = doubles;
+        this.strings = strings;
+        this.rows = rows;
+        for (int c = 0; c < header.length; c++)
+            columnIndex.putIfAbsent(header[c], c);
+    }
+
+    /**
+     * Loads the files (which may be a mix of columnar and text files) into one set of columns
+     *
+     * @param maxRows the maximum number of rows to load (or zero for all of them)
+     */
+    public static ColumnarData load(int maxRows, String... files) {
+        List<ColumnarData> parts = new ArrayList<>();
+        int total = 0;
+        for (String file : files) {
+            if (maxRows > 0 && total >= maxRows)
+                break;
+            ColumnarData part = isColumnar(file) ? readColumnar(file, maxRows > 0 ? maxRows - total : 0) : readText(file);
+            parts.add(part);
+            total += part.rows;
+        }
+        if (parts.isEmpty())
+            return new ColumnarData(new String[0], new long[0][], new double[0][], new String[0][], 0);
+        ColumnarData retValue = parts.size() == 1 ? parts.get(0) : concatenate(parts);
+        return maxRows > 0 && retValue.rows > maxRows ? retValue.truncate(maxRows) : retValue;
+    }
+
+    public static ColumnarData load(String... files) {
+        return load(0, files);
+    }
+
+    /**
+     * True if the file starts with the ColumnarStatsLogger header (whatever its name)
+     */
+    public static boolean isColumnar(String file) {
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            return in.readInt() == MAGIC;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static ColumnarData readColumnar(String file, int maxRows) {
+        try (DataInputStream header = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 1 << 16))) {
+            if (header.readInt() != MAGIC)
+                throw new AssertionError("Not a columnar data file : " + file);
+            int version = header.readInt();
+            if (version != VERSION)
+                throw new AssertionError("Unsupported version " + version + " of columnar data file : " + file);
+            DataInputStream in = header.readBoolean() ?
+                    new DataInputStream(new BufferedInputStream(new GZIPInputStream(header, 1 << 16), 1 << 16)) : header;
+            String[] columns = new String[in.readInt()];
+            for (int c = 0; c < columns.length; c++)
+                columns[c] = in.readUTF();
+
+            // the blocks are read as they are, and then joined up into columns
+            List<Object[]> blocks = new ArrayList<>();
+            List<byte[]> blockTypes = new ArrayList<>();
+            List<Integer> blockRows = new ArrayList<>();
+            int total = 0;
+            int n;
+            while ((maxRows <= 0 || total < maxRows) && (n = readBlockSize(in)) > 0) {
+                Object[] block = new Object[columns.length];
+                byte[] types = new byte[columns.length];
+                for (int c = 0; c < columns.length; c++) {
+                    types[c] = in.readByte();
+                    switch (types[c]) {
+                        case LONG -> {
+                            long[] values = new long[n];
+                            for (int r = 0; r < n; r++)
+                                values[r] = in.readLong();
+                            block[c] = values;
+                        }
+                        case DOUBLE -> {
+                            double[] values = new double[n];
+                            for (int r = 0; r < n; r++)
+                                values[r] = in.readDouble();
+                            block[c] = values;
+                        }
+                        case STRING -> {
+                            String[] values = new String[n];
+                            for (int r = 0; r < n; r++)
+                                values[r] = in.readUTF();
+                            block[c] = values;
+                        }
+                        default -> throw new AssertionError("Unknown column type " + types[c] + " in " + file);
+                    }
+                }
+                blocks.add(block);
+                blockTypes.add(types);
+                blockRows.add(n);
+                total += n;
+            }
+
+            long[][] longs = new long[columns.length][];
+            double[][] doubles = new double[columns.length][];
+            String[][] strings = new String[columns.length][];
+            for (int c = 0; c < columns.length; c++) {
+                // a column keeps the most general type used by any of its blocks
+                byte type = LONG;
+                for (byte[] types : blockTypes)
+                    type = (byte) Math.max(type, types[c]);
+                switch (type) {
+                    case LONG -> longs[c] = new long[total];
+                    case DOUBLE -> doubles[c] = new double[total];
+                    default -> strings[c] = new String[total];
+                }
+                int start = 0;
+                for (int b = 0; b < blocks.size(); b++) {
+                    Object values = blocks.get(b)[c];
+                    int count = blockRows.get(b);
+                    if (blockTypes.get(b)[c] == type) {
+                        System.arraycopy(values, 0, type == LONG ? longs[c] : type == DOUBLE ? doubles[c] : strings[c], start, count);
+                    } else {
+                        for (int r = 0; r < count; r++) {
+                            if (type == DOUBLE)
+                                doubles[c][start + r] = ((long[]) values)[r];
+                            else
+                                strings[c][start + r] = values instanceof long[] l ? Long.toString(l[r]) : Double.toString(((double[]) values)[r]);
+                        }
+                    }
+                    start += count;
+                }
+            }
+            return new ColumnarData(columns, longs, doubles, strings, total);
+        } catch (IOException e) {
+            throw new AssertionError("Problem reading file " + file + " : " + e.getMessage());
+        }
+    }
+
+    // an incomplete file (from a logger that was not finished) is read up to the last complete block
+    private static int readBlockSize(DataInputStream in) throws IOException {
+        try {
+            return in.readInt();
+        } catch (EOFException e) {
+            return 0;
+        }
+    }
+
+    private static ColumnarData readText(String file) {
+        Pair<List<String>, List<List<String>>> data = Utils.loadDataWithHeader("\t", file);
+        String[] columns = data.a.toArray(new String[0]);
+        String[][] strings = new String[columns.length][data.b.size()];
+        for (int r = 0; r < data.b.size(); r++) {
+            List<String> row = data.b.get(r);
+            for (int c = 0; c < columns.length && c < row.size(); c++)
+                strings[c][r] = row.get(c);
+        }
+        return new ColumnarData(columns, new long[columns.length][], new double[columns.length][], strings, data.b.size());
+    }
+
+    private static ColumnarData concatenate(List<ColumnarData> parts) {
+        String[] columns = parts.get(0).header;
+        int total = parts.stream().mapToInt(p -> p.rows).sum();
+        long[][] longs = new long[columns.length][];
+        double[][] doubles = new double[columns.length][];
+        String[][] strings = new String[columns.length][];
+        for (int c = 0; c < columns.length; c++) {
+            final int column = c;
+            boolean allLong = parts.stream().allMatch(p -> p.index(columns[column]) >= 0 && p.longs[p.index(columns[column])] != null);
+            boolean allNumeric = parts.stream().allMatch(p -> p.index(columns[column]) >= 0 && p.strings[p.index(columns[column])] == null);
+            if (allLong) longs[c] = new long[total];
+            else if (allNumeric) doubles[c] = new double[total];
+            else strings[c] = new String[total];
+            int start = 0;
+            for (ColumnarData part : parts) {
+                int pc = part.index(columns[c]);
+                for (int r = 0; r < part.rows; r++) {
+                    if (allLong) longs[c][start + r] = part.longs[pc][r];
+                    else if (allNumeric) doubles[c][start + r] = part.getDouble(pc, r);
+                    else strings[c][start + r] = pc < 0 ? "NA" : part.getString(pc, r);
+                }
+                start += part.rows;
+            }
+        }
+        return new ColumnarData(columns, longs, doubles, strings, total);
+    }
+
+    private ColumnarData truncate(int n) {
+        long[][] l = new long[header.length][];
+        double[][] d = new double[header.length][];
+        String[][] s = new String[header.length][];
+        for (int c = 0; c < header.length; c++) {
+            if (longs[c] != null) l[c] = Arrays.copyOf(longs[c], n);
+            if (doubles[c] != null) d[c] = Arrays.copyOf(doubles[c], n);
+            if (strings[c] != null) s[c] = Arrays.copyOf(strings[c], n);
+        }
+        return new ColumnarData(header, l, d, s, n);
+    }
+
+    public String[] header() {
+        return header;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    /**
+     * @return the index of the column with this name, or -1 if there is none
+     */
+    public int index(String column) {
+        return columnIndex.getOrDefault(column, -1);
+    }
+
+    public double getDouble(int column, int row) {
+        if (doubles[column] != null)
+            return doubles[column][row];
+        if (longs[column] != null)
+            return longs[column][row];
+        return Double.parseDouble(strings[column][row]);
+    }
+
+    public String getString(int column, int row) {
+        if (strings[column] != null)
+            return strings[column][row];
+        if (longs[column] != null)
+            return Long.toString(longs[column][row]);
+        return Double.toString(doubles[column][row]);
+    }
+}
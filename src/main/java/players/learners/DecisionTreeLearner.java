@@ -5,6 +5,11 @@ import core.interfaces.IStateFeatureVector;
 import org.apache.spark.ml.feature.RFormula;
 import org.apache.spark.ml.regression.DecisionTreeRegressionModel;
 import org.apache.spark.ml.regression.DecisionTreeRegressor;
+import org.apache.spark.ml.tree.CategoricalSplit;
+import org.apache.spark.ml.tree.ContinuousSplit;
+import org.apache.spark.ml.tree.InternalNode;
+import org.apache.spark.ml.tree.Node;
+import org.apache.spark.ml.tree.Split;
 import org.apache.spark.sql.Dataset;
 import org.apache.spark.sql.Row;
 import players.heuristics.*;
@@ -76,25 +81,27 @@ public class DecisionTreeLearner extends ApacheLearner {
         drModel = dr.fit(training);
 
         if (debug)
-            System.out.println(DecisionTreeActionHeuristic.prettifyDecisionTreeDescription(drModel, descriptions));
+            System.out.println(prettifyDecisionTreeDescription(drModel, descriptions));
 
         if (this.actionFeatureVector == null) {
-            return new DecisionTreeStateHeuristic(stateFeatureVector, drModel, switch (targetType) {
+            return new DecisionTreeStateHeuristic(stateFeatureVector, compile(drModel), switch (targetType) {
                 case ORDINAL, ORD_MEAN, ORD_SCALE, ORD_MEAN_SCALE -> new OrdinalPosition();
                 case SCORE -> new PureScoreHeuristic();
                 case SCORE_DELTA -> new LeaderHeuristic();
                 default -> new WinOnlyHeuristic();
             });
         } else {
-            return new DecisionTreeActionHeuristic(stateFeatureVector, actionFeatureVector, drModel);
+            return new DecisionTreeActionHeuristic(stateFeatureVector, actionFeatureVector, compile(drModel));
         }
     }
 
     public void writeToFile(String file) {
         try {
             drModel.write().overwrite().save(file);
+            // the compiled version is what the heuristics load, so that they do not need Spark
+            compile(drModel).writeToFile(file + File.separator + AbstractDecisionTreeHeuristic.COMPILED_TREE_FILE);
             BufferedWriter writer = new BufferedWriter(new java.io.FileWriter(file + File.separator + "Description.txt"));
-            writer.write(DecisionTreeActionHeuristic.prettifyDecisionTreeDescription(drModel, descriptions));
+            writer.write(prettifyDecisionTreeDescription(drModel, descriptions));
             writer.close();
         } catch (IOException e) {
             e.printStackTrace();
@@ -104,6 +111,61 @@ public class DecisionTreeLearner extends ApacheLearner {
 
     }
 
+    /**
+     * Flattens the nodes of a Spark model into a CompiledDecisionTree (breadth first, so the root is node 0)
+     */
+    public static CompiledDecisionTree compile(DecisionTreeRegressionModel model) {
+        int size = model.numNodes();
+        int[] feature = new int[size];
+        double[] threshold = new double[size];
+        double[][] categories = new double[size][];
+        int[] left = new int[size];
+        int[] right = new int[size];
+        double[] value = new double[size];
+        Node[] nodes = new Node[size];
+        nodes[0] = model.rootNode();
+        int next = 1;
+        for (int n = 0; n < size; n++) {
+            value[n] = nodes[n].prediction();
+            if (nodes[n] instanceof InternalNode internalNode) {
+                Split split = internalNode.split();
+                feature[n] = split.featureIndex();
+                if (split instanceof CategoricalSplit categoricalSplit)
+                    categories[n] = categoricalSplit.leftCategories();
+                else
+                    threshold[n] = ((ContinuousSplit) split).threshold();
+                left[n] = next;
+                nodes[next++] = internalNode.leftChild();
+                right[n] = next;
+                nodes[next++] = internalNode.rightChild();
+            } else {
+                feature[n] = -1;
+            }
+        }
+        return new CompiledDecisionTree(feature, threshold, categories, left, right, value);
+    }
+
+    /**
+     * Loads a model saved in Spark's own format, and writes the compiled version of it into the same directory,
+     * where the decision tree heuristics can then load it.
+     */
+    public static CompiledDecisionTree compileSavedModel(String directory) {
+        CompiledDecisionTree tree = compile(DecisionTreeRegressionModel.load(directory));
+        tree.writeToFile(directory + File.separator + AbstractDecisionTreeHeuristic.COMPILED_TREE_FILE);
+        return tree;
+    }
+
+    public static String prettifyDecisionTreeDescription(DecisionTreeRegressionModel model, String[] featureNames) {
+        // the debug string of model contains labels of the form 'feature nn', where nn is the index of the feature
+        // We want to replace these with the actual feature names
+        // we go in reverse to stop replacing 'feature 10' with 'nameOfFeature0' etc.
+        String debugString = model.toDebugString();
+        for (int i = featureNames.length-1; i >= 0; i--) {
+            debugString = debugString.replace("feature " + i, featureNames[i]);
+        }
+        return debugString;
+    }
+
     @Override
     public String name() {
         return "DecisionTree";
@@ -1,6 +1,7 @@
 package players.learners;
 
 import core.interfaces.*;
+import evaluation.loggers.ColumnarStatsLogger;
 import org.json.simple.JSONObject;
 import evaluation.features.AutomatedFeatures;
 import players.heuristics.GLMHeuristic;
@@ -156,7 +157,9 @@ public class LearnFromData {
             List<String> featuresToKeep = new ArrayList<>();
             int iteration = 0;
             String dataDirectory = dataFiles[0].substring(0, dataFiles[0].lastIndexOf(File.separator));
-            String outputFile = dataDirectory + File.separator + "ImproveModel_tmp.txt";
+            // the intermediate files are in the same format as the data
+            String suffix = dataFiles[0].endsWith(ColumnarStatsLogger.SUFFIX) ? ColumnarStatsLogger.SUFFIX : ".txt";
+            String outputFile = dataDirectory + File.separator + "ImproveModel_tmp" + suffix;
 
             String[] rawData = dataFiles;
             AutomatedFeatures bestFeatures;
@@ -295,7 +298,7 @@ public class LearnFromData {
                 }
                 // We then also need to set up the data file to be used as the baseline for the next iteration
                 if (bestFeatures != null) {
-                    String newFileName = dataDirectory + File.separator + "ImproveModel_Iter_" + iteration + ".txt";
+                    String newFileName = dataDirectory + File.separator + "ImproveModel_Iter_" + iteration + suffix;
                     bestFeatures.processData(false, newFileName, maxRecords, rawData);
                     // then remove excluded features from the bestFeatures (these are always in the file so it always contains the original raw data)
                     removeExcludedFeatures(excludedFeatures, bestFeatures);
@@ -27,6 +27,18 @@ public class ActionStats {
         nVisits++;
     }
 
+    /**
+     * Adds the statistics from another (independently gathered) set of statistics for the same action
+     */
+    public void add(ActionStats other) {
+        for (int i = 0; i < totValue.length; i++) {
+            totValue[i] += other.totValue[i];
+            squaredTotValue[i] += other.squaredTotValue[i];
+        }
+        nVisits += other.nVisits;
+        validVisits += other.validVisits;
+    }
+
     public ActionStats copy() {
         ActionStats newStats = new ActionStats(totValue.length);
         newStats.nVisits = nVisits;
@@ -0,0 +1,255 @@
+package players.mcts;
+
+import core.AbstractGameState;
+import core.actions.AbstractAction;
+
+import java.util.*;
+
+import static players.mcts.MCTSEnums.Information.Closed_Loop;
+import static players.mcts.MCTSEnums.OpponentTreePolicy.SelfOnly;
+import static players.mcts.MCTSEnums.TreePolicy.*;
+
+/**
+ * A SingleTreeNode that also holds the statistics of each action in parallel primitive arrays, so that selection
+ * with UCB, UCB_Tuned or AlphaGo is a scan over arrays instead of several HashMap lookups (and so calls of
+ * AbstractAction.hashCode() and equals()) for every action on every visit.
+ * <p>
+ * Each action is given a slot in the arrays the first time it is seen at this node, and keeps it for the life of the node.
+ * The slots of the actions available on a visit are looked up when the node is visited (and in Open Loop only
+ * if the actions differ from those of the last visit). The slot of the action selected is then kept for backup,
+ * which updates just the slots of the actions that were available.
+ * <p>
+ * The ActionStats in actionValues remain the master copy of the statistics, as they are used by everything else
+ * (the final action choice, backup, metrics, tree reuse). The arrays hold only the statistics of the decisionPlayer,
+ * and are updated whenever the ActionStats are. This is used in place of SingleTreeNode if MCTSParams.indexedStatistics is set.
+ */
+public class IndexedTreeNode extends SingleTreeNode {
+
+    private final Map<AbstractAction, Integer> actionIndex = new HashMap<>();
+    private AbstractAction[] slotActions = new AbstractAction[8];
+    private ActionStats[] slotStats = new ActionStats[8];
+    protected int nSlots;
+    // The statistics of the decisionPlayer for the action in each slot
+    protected int[] visits = new int[8];
+    protected int[] validVisits = new int[8];
+    protected double[] totValues = new double[8];
+    protected double[] squaredTotValues = new double[8];
+    protected double[] actionEstimates = new double[8];
+    protected double[] pUCTProbabilities = new double[8];
+    // The slot of each action in actionsFromOpenLoopState (in the same order), and the list that these are for
+    private int[] currentSlots = new int[0];
+    private List<AbstractAction> currentSlotsFor;
+    private int[] order = new int[0];
+    // The action last chosen by treePolicyAction(), and its slot (or -1 if it was not chosen using the arrays)
+    private AbstractAction selectedAction;
+    private int selectedSlot = -1;
+
+    protected IndexedTreeNode() {
+    }
+
+    @Override
+    protected void setActionsFromOpenLoopState(AbstractGameState actionState) {
+        super.setActionsFromOpenLoopState(actionState);
+        if (actionsFromOpenLoopState != currentSlotsFor)
+            indexCurrentActions();
+    }
+
+    private void indexCurrentActions() {
+        int n = actionsFromOpenLoopState.size();
+        if (currentSlots.length == n && currentSlotsFor != null && sameAsCurrentSlots(actionsFromOpenLoopState)) {
+            // In Open Loop we usually have a new, but equal, list on every visit; so we keep the slots we have
+            currentSlotsFor = actionsFromOpenLoopState;
+            if (params.progressiveBias > 0 || params.pUCT)
+                updateEstimates();
+            return;
+        }
+        if (currentSlots.length != n)
+            currentSlots = new int[n];
+        for (int i = 0; i < n; i++)
+            currentSlots[i] = slotFor(actionsFromOpenLoopState.get(i));
+        currentSlotsFor = actionsFromOpenLoopState;
+        if (params.progressiveBias > 0 || params.pUCT)
+            updateEstimates();
+    }
+
+    private boolean sameAsCurrentSlots(List<AbstractAction> actions) {
+        for (int i = 0; i < currentSlots.length; i++) {
+            if (!slotActions[currentSlots[i]].equals(actions.get(i)))
+                return false;
+        }
+        return true;
+    }
+
+    private void updateEstimates() {
+        // the heuristic estimates are only changed when the actions are, so this is the point to pick them up
+        for (int i = 0; i < currentSlots.length; i++) {
+            AbstractAction action = actionsFromOpenLoopState.get(i);
+            int slot = currentSlots[i];
+            if (params.progressiveBias > 0)
+                actionEstimates[slot] = actionValueEstimates.getOrDefault(action, 0.0);
+            if (params.pUCT)
+                pUCTProbabilities[slot] = actionPDFEstimates.get(action);
+        }
+    }
+
+    private int slotFor(AbstractAction action) {
+        Integer slot = actionIndex.get(action);
+        if (slot != null)
+            return slot;
+        if (nSlots == visits.length) {
+            int capacity = nSlots * 2;
+            slotActions = Arrays.copyOf(slotActions, capacity);
+            slotStats = Arrays.copyOf(slotStats, capacity);
+            visits = Arrays.copyOf(visits, capacity);
+            validVisits = Arrays.copyOf(validVisits, capacity);
+            totValues = Arrays.copyOf(totValues, capacity);
+            squaredTotValues = Arrays.copyOf(squaredTotValues, capacity);
+            actionEstimates = Arrays.copyOf(actionEstimates, capacity);
+            pUCTProbabilities = Arrays.copyOf(pUCTProbabilities, capacity);
+        }
+        int newSlot = nSlots++;
+        actionIndex.put(action, newSlot);
+        slotActions[newSlot] = action;
+        updateSlot(newSlot);
+        return newSlot;
+    }
+
+    private void updateSlot(int slot) {
+        ActionStats stats = slotStats[slot];
+        if (stats == null) {
+            // ActionStats are never replaced once created, so we only need to look them up once
+            stats = actionValues.get(slotActions[slot]);
+            if (stats == null)
+                return;
+            slotStats[slot] = stats;
+        }
+        visits[slot] = stats.nVisits;
+        validVisits[slot] = stats.validVisits;
+        totValues[slot] = stats.totValue[decisionPlayer];
+        squaredTotValues[slot] = stats.squaredTotValue[decisionPlayer];
+    }
+
+    /**
+     * Brings the arrays up to date with actionValues, including any actions that have been added to it
+     */
+    private void updateAllSlots() {
+        if (actionValues.size() != nSlots) {
+            for (AbstractAction action : actionValues.keySet())
+                slotFor(action);
+        }
+        for (int slot = 0; slot < nSlots; slot++)
+            updateSlot(slot);
+    }
+
+    /**
+     * The slot of an action taken from this node. This is the slot found in selection, unless a different action has
+     * been chosen since (for example by another worker in Tree parallelisation), when we have to look it up.
+     */
+    private int slotTaken(AbstractAction actionTaken) {
+        if (selectedSlot >= 0 && actionTaken == selectedAction)
+            return selectedSlot;
+        return slotFor(actionTaken);
+    }
+
+    @Override
+    protected double[] backUpSingleNode(AbstractAction actionTaken, double[] result) {
+        double[] retValue = super.backUpSingleNode(actionTaken, result);
+        // this has updated the valid visits of the actions available on this visit, and the statistics of the action taken
+        if (actionsFromOpenLoopState != currentSlotsFor)
+            indexCurrentActions();
+        for (int slot : currentSlots) {
+            if (slotStats[slot] == null)
+                updateSlot(slot);
+            else
+                validVisits[slot] = slotStats[slot].validVisits;
+        }
+        updateSlot(slotTaken(actionTaken));
+        return retValue;
+    }
+
+    @Override
+    protected void addVirtualLoss(AbstractAction action, int visits, double lossValue) {
+        super.addVirtualLoss(action, visits, lossValue);
+        updateSlot(slotTaken(action));
+    }
+
+    @Override
+    protected void mergeRootStatistics(SingleTreeNode other) {
+        super.mergeRootStatistics(other);
+        updateAllSlots();
+    }
+
+    @Override
+    public void rootify(SingleTreeNode template, AbstractGameState newState) {
+        super.rootify(template, newState);
+        updateAllSlots();
+    }
+
+    private boolean indexedSelection() {
+        return (params.treePolicy == UCB || params.treePolicy == UCB_Tuned || params.treePolicy == AlphaGo)
+                && params.progressiveWideningConstant < 1.0;
+    }
+
+    /**
+     * This makes exactly the same choice as SingleTreeNode.treePolicyAction() (including the same use of rnd to
+     * break ties), but using the arrays of statistics.
+     * Other tree policies, and Progressive Widening, use the SingleTreeNode implementation.
+     */
+    @Override
+    protected AbstractAction treePolicyAction(boolean explore) {
+        if (!indexedSelection()) {
+            selectedSlot = -1;
+            return super.treePolicyAction(explore);
+        }
+        if (params.opponentTreePolicy == SelfOnly && parent != null && openLoopState != null && openLoopState.getCurrentPlayer() != decisionPlayer)
+            throw new AssertionError("An error has occurred. SelfOnly should only call uct when we are moving.");
+        if (actionsFromOpenLoopState != currentSlotsFor)
+            indexCurrentActions();
+
+        int nActions = currentSlots.length;
+        if (nActions == 0)
+            throw new AssertionError("We need to have at least one option");
+        if (nActions == 1)
+            return select(0);
+
+        // first we shuffle to break ties (as Collections.shuffle() does)
+        if (order.length != nActions)
+            order = new int[nActions];
+        for (int i = 0; i < nActions; i++)
+            order[i] = i;
+        for (int i = nActions; i > 1; i--) {
+            int j = rnd.nextInt(i);
+            int tmp = order[i - 1];
+            order[i - 1] = order[j];
+            order[j] = tmp;
+        }
+        int bestIndex = -1;
+        double bestValue = -Double.MAX_VALUE;
+        for (int i = 0; i < nActions; i++) {
+            double uctValue = indexedUcbValue(order[i]);
+            if (uctValue > bestValue) {
+                bestValue = uctValue;
+                bestIndex = order[i];
+            }
+        }
+        if (bestIndex == -1) {
+            selectedSlot = -1;
+            return null;
+        }
+        return select(bestIndex);
+    }
+
+    private AbstractAction select(int index) {
+        selectedAction = actionsFromOpenLoopState.get(index);
+        selectedSlot = currentSlots[index];
+        return selectedAction;
+    }
+
+    private double indexedUcbValue(int index) {
+        int slot = currentSlots[index];
+        int effectiveTotalVisits = params.information == Closed_Loop ? nVisits : validVisits[slot];
+        return ucbValue(actionsFromOpenLoopState.get(index), visits[slot], effectiveTotalVisits,
+                totValues[slot], squaredTotValues[slot], actionEstimates[slot],
+                params.pUCT ? pUCTProbabilities[slot] : 1.0);
+    }
+}
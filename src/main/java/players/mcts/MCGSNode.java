@@ -7,7 +7,8 @@ import java.util.*;
 
 public class MCGSNode extends SingleTreeNode {
 
-    private Map<Object, MCGSNode> transpositionMap = new HashMap<>();
+    // only the root node has a transposition table; this is shared by all nodes in the graph
+    private TranspositionTable transpositionMap;
     public List<Object> trajectory = new ArrayList<>();
     protected List<Object> keysTorRemove = new ArrayList<>();
 
@@ -18,6 +19,8 @@ public class MCGSNode extends SingleTreeNode {
     @Override
     protected void instantiate(SingleTreeNode parent, AbstractAction actionToReach, AbstractGameState state) {
         super.instantiate(parent, actionToReach, state);
+        if (root == this && transpositionMap == null)
+            transpositionMap = new TranspositionTable(params.MCGSTableCapacity, params.MCGSEvictionFraction);
         // the only additional instantiation we need to do is to add the state to the transposition table
         addToTranspositionTable(this, state);
     }
@@ -31,7 +34,7 @@ public class MCGSNode extends SingleTreeNode {
                         ". We are expanding a new node, and this key already exists in the transposition table, but it is not the same node.");
             }
         } else {
-            graphRoot.transpositionMap.put(key, node);
+            graphRoot.transpositionMap.add(key, node, graphRoot.trajectory);
         }
     }
 
@@ -48,11 +51,11 @@ public class MCGSNode extends SingleTreeNode {
         // this enforces (for the moment) the rule that each iteration adds one new node.
         MCGSNode graphRoot = (MCGSNode) root;
         Object key = params.MCGSStateKey.getKey(nextState);
-        if (graphRoot.transpositionMap.containsKey(key)) {
+        MCGSNode retValue = graphRoot.transpositionMap.lookup(key);
+        if (retValue != null) {
             if (params.MCGSExpandAfterClash) {
                 throw new AssertionError("Unexpected?");
             } else {
-                MCGSNode retValue = graphRoot.transpositionMap.get(key);
                 retValue.setActionsFromOpenLoopState(openLoopState);
                 return retValue;
             }
@@ -64,7 +67,7 @@ public class MCGSNode extends SingleTreeNode {
     protected SingleTreeNode nextNodeInTree(AbstractAction actionChosen) {
         // we look up the node in the transposition table using the feature vector for the openLoopState
         Object key = params.MCGSStateKey.getKey(openLoopState);
-        MCGSNode nextNode = ((MCGSNode) root).transpositionMap.get(key);
+        MCGSNode nextNode = ((MCGSNode) root).transpositionMap.lookup(key);
 
         if (nextNode != null) {
             if (actionValues.get(actionChosen).nVisits == 0) {
@@ -104,15 +107,15 @@ public class MCGSNode extends SingleTreeNode {
         int depthDelta = depth;
         root = this;
         keysTorRemove = new ArrayList<>();
-        for (Object key : transpositionMap.keySet()) {
-            MCGSNode node = transpositionMap.get(key);
+        for (Map.Entry<Object, MCGSNode> entry : transpositionMap.asMap().entrySet()) {
+            MCGSNode node = entry.getValue();
             node.depth -= depthDelta;
             if (node.depth < 0) {
-                keysTorRemove.add(key);
+                keysTorRemove.add(entry.getKey());
             }
             node.root = this;
         }
-        keysTorRemove.forEach(transpositionMap::remove);
+        transpositionMap.remove(keysTorRemove);
     }
 
     /**
@@ -142,11 +145,24 @@ public class MCGSNode extends SingleTreeNode {
         nRoot.trajectory.clear();
     }
 
+    @Override
+    protected void initialiseRootMetrics() {
+        super.initialiseRootMetrics();
+        transpositionMap.resetCounters();
+    }
+
+    /**
+     * @return a read-only view of the nodes in the graph, by key
+     */
     public Map<Object, MCGSNode> getTranspositionMap() {
+        return transpositionMap.asMap();
+    }
+
+    public TranspositionTable getTranspositionTable() {
         return transpositionMap;
     }
 
-    public void setTranspositionMap(Map<Object, MCGSNode> transposition) {
+    public void setTranspositionTable(TranspositionTable transposition) {
         transpositionMap = transposition;
     }
 
@@ -49,6 +49,14 @@ public class MCTSEnums {
         // END_TURN|ROUND is triggered when the game round/turn changes
     }
 
+    public enum Parallelism {
+        None, Root, Tree
+        // Root runs nThreads independent searches, each from its own copy of the root state, and then sums the
+        // statistics of the root actions across all of them before making the final decision
+        // Tree runs nThreads workers on the one shared tree. Selection, expansion and backup take turns, and rollouts run concurrently.
+        // A virtual loss is applied to the path of every iteration in progress to spread the workers across the tree
+    }
+
     public enum OpponentTreePolicy {
         SelfOnly(true), OneTree(false),
         MultiTree(true),
@@ -9,6 +9,7 @@ import core.interfaces.IStateFeatureVector;
 import core.interfaces.IStatisticLogger;
 import evaluation.listeners.ActionFeatureListener;
 import evaluation.listeners.StateFeatureListener;
+import evaluation.loggers.ColumnarStatsLogger;
 import evaluation.loggers.FileStatsLogger;
 import evaluation.metrics.Event;
 
@@ -59,9 +60,15 @@ public class MCTSExpertIterationListener extends ActionFeatureListener {
     public void setLogger(IStatisticLogger logger) {
         super.setLogger(logger);
         // we also need to set the logger for the state recorder
-        FileStatsLogger fileLogger = (FileStatsLogger) logger;
-        String loggerName = fileLogger.getFileName().replace("Action", "State");
-        FileStatsLogger stateLogger = new FileStatsLogger(loggerName, fileLogger.getDelimiter(), fileLogger.isAppend());
+        IStatisticLogger stateLogger;
+        if (logger instanceof ColumnarStatsLogger columnarLogger) {
+            String loggerName = columnarLogger.getFileName().replace("Action", "State");
+            stateLogger = new ColumnarStatsLogger(loggerName, columnarLogger.isCompressed());
+        } else {
+            FileStatsLogger fileLogger = (FileStatsLogger) logger;
+            String loggerName = fileLogger.getFileName().replace("Action", "State");
+            stateLogger = new FileStatsLogger(loggerName, fileLogger.getDelimiter(), fileLogger.isAppend());
+        }
         if (stateRecorder != null)
             stateRecorder.setLogger(stateLogger);
     }
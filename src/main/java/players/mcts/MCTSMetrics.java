@@ -51,6 +51,12 @@ public class MCTSMetrics implements IMetricsCollection {
                 records.put("copyCalls", mctsPlayer.root.copyCount / visits);
                 records.put("time", mctsPlayer.root.timeTaken);
                 records.put("initTime", mctsPlayer.root.initialisationTimeTaken);
+                TranspositionTable table = root instanceof MCGSNode mcgsRoot ? mcgsRoot.getTranspositionTable() : null;
+                records.put("TableHits", table == null ? 0 : table.getHits());
+                records.put("TableMisses", table == null ? 0 : table.getMisses());
+                records.put("TableEvictions", table == null ? 0 : table.getEvictions());
+                records.put("TablePeakSize", table == null ? 0 : table.getPeakSize());
+                records.put("TableKB", table == null ? 0.0 : table.estimatedBytes() / 1024.0);
                 return true;
             }
             return false;
@@ -85,6 +91,11 @@ public class MCTSMetrics implements IMetricsCollection {
             cols.put("copyCalls", Integer.class);
             cols.put("time", Double.class);
             cols.put("initTime", Double.class);
+            cols.put("TableHits", Integer.class);
+            cols.put("TableMisses", Integer.class);
+            cols.put("TableEvictions", Integer.class);
+            cols.put("TablePeakSize", Integer.class);
+            cols.put("TableKB", Double.class);
             return cols;
         }
     }
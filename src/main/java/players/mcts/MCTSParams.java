@@ -59,6 +59,8 @@ public class MCTSParams extends PlayerParameters {
     public IActionKey MASTActionKey;
     public IStateKey MCGSStateKey;
     public boolean MCGSExpandAfterClash = true;
+    public int MCGSTableCapacity = 0;  // maximum number of nodes in the MCGS transposition table; zero for no limit
+    public double MCGSEvictionFraction = 0.1;  // the proportion of the table evicted (least valuable first) when it is full
     public double firstPlayUrgency = 1e6;
     @NotNull public IActionHeuristic actionHeuristic = IActionHeuristic.nullReturn;
     public int actionHeuristicRecalculationThreshold = 20;
@@ -73,6 +75,10 @@ public class MCTSParams extends PlayerParameters {
     public MCTSEnums.BackupPolicy backupPolicy = MCTSEnums.BackupPolicy.MonteCarlo;
     public double backupLambda = 1.0;
     public int maxBackupThreshold = 1000000;
+    public MCTSEnums.Parallelism parallelism = MCTSEnums.Parallelism.None;
+    public int nThreads = 1;  // only used if parallelism is not None
+    public int virtualLoss = 1;  // the number of virtual visits added to each in-progress path with Tree parallelism
+    public boolean indexedStatistics = false;  // use IndexedTreeNode (array-based action statistics) for OneTree, SelfOnly and MultiTree
     public Class<?> instantiationClass;
 
     public MCTSParams() {
@@ -111,6 +117,8 @@ public class MCTSParams extends PlayerParameters {
         addTunableParameter("MASTDefaultValue", 0.0);
         addTunableParameter("MCGSStateKey", IStateKey.class);
         addTunableParameter("MCGSExpandAfterClash", true);
+        addTunableParameter("MCGSTableCapacity", 0);
+        addTunableParameter("MCGSEvictionFraction", 0.1);
         addTunableParameter("FPU", 1e6);
         addTunableParameter("actionHeuristic", IActionHeuristic.class,  IActionHeuristic.nullReturn);
         addTunableParameter("progressiveBias", 0.0);
@@ -122,6 +130,10 @@ public class MCTSParams extends PlayerParameters {
         addTunableParameter("backupPolicy", MCTSEnums.BackupPolicy.MonteCarlo, Arrays.asList(MCTSEnums.BackupPolicy.values()));
         addTunableParameter("backupLambda", 1.0);
         addTunableParameter("maxBackupThreshold", 1000000);
+        addTunableParameter("parallelism", MCTSEnums.Parallelism.None, Arrays.asList(MCTSEnums.Parallelism.values()));
+        addTunableParameter("nThreads", 1);
+        addTunableParameter("virtualLoss", 1);
+        addTunableParameter("indexedStatistics", false);
         addTunableParameter("instantiationClass", "players.mcts.MCTSPlayer");
     }
 
@@ -168,6 +180,8 @@ public class MCTSParams extends PlayerParameters {
         heuristic = (IStateHeuristic) getParameterValue("heuristic");
         MCGSStateKey = (IStateKey) getParameterValue("MCGSStateKey");
         MCGSExpandAfterClash = (boolean) getParameterValue("MCGSExpandAfterClash");
+        MCGSTableCapacity = (int) getParameterValue("MCGSTableCapacity");
+        MCGSEvictionFraction = (double) getParameterValue("MCGSEvictionFraction");
         rolloutPolicyParams = (TunableParameters) getParameterValue("rolloutPolicyParams");
         opponentModelParams = (TunableParameters) getParameterValue("opponentModelParams");
         // we then null those elements of params which are constructed (lazily) from the above
@@ -178,6 +192,10 @@ public class MCTSParams extends PlayerParameters {
         backupPolicy = (MCTSEnums.BackupPolicy) getParameterValue("backupPolicy");
         backupLambda = (double) getParameterValue("backupLambda");
         maxBackupThreshold = (int) getParameterValue("maxBackupThreshold");
+        parallelism = (MCTSEnums.Parallelism) getParameterValue("parallelism");
+        nThreads = (int) getParameterValue("nThreads");
+        virtualLoss = (int) getParameterValue("virtualLoss");
+        indexedStatistics = (boolean) getParameterValue("indexedStatistics");
         try {
             instantiationClass = Class.forName((String) getParameterValue("instantiationClass"));
         } catch (ClassNotFoundException e) {
@@ -14,6 +14,10 @@ import utilities.Pair;
 import utilities.Utils;
 
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -24,6 +28,13 @@ import static players.mcts.MCTSEnums.OpponentTreePolicy.MultiTree;
 
 public class MCTSPlayer extends AbstractPlayer implements IAnyTimePlayer, IHasStateHeuristic {
 
+    // Shared by all MCTSPlayers for Root and Tree parallel search. These are daemon threads, so never keep the JVM alive
+    private static final ExecutorService searchExecutor = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "MCTS-search");
+        t.setDaemon(true);
+        return t;
+    });
+
     // Heuristics used for the agent
     protected boolean debug = false;
     protected SingleTreeNode root;
@@ -31,6 +42,8 @@ public class MCTSPlayer extends AbstractPlayer implements IAnyTimePlayer, IHasSt
     List<Map<Object, Pair<Integer, Double>>> MASTStats;
     protected Map<Object, Integer> oldGraphKeys = new HashMap<>();
     protected List<Object> recentlyRemovedKeys = new ArrayList<>();
+    // With parallel search, one copy of this player for each additional thread (created on first use in each game)
+    protected List<MCTSPlayer> searchHelpers;
 
     public MCTSPlayer() {
         this(new MCTSParams());
@@ -64,6 +77,7 @@ public class MCTSPlayer extends AbstractPlayer implements IAnyTimePlayer, IHasSt
             ((AbstractPlayer) getParameters().actionHeuristic).initializePlayer(state);
         MASTStats = null;
         root = null;
+        searchHelpers = null;
         oldGraphKeys = new HashMap<>();
         getParameters().getRolloutStrategy().initializePlayer(state);
         getParameters().getOpponentModel().initializePlayer(state);
@@ -80,6 +94,8 @@ public class MCTSPlayer extends AbstractPlayer implements IAnyTimePlayer, IHasSt
                 return new OMATreeNode();
             else if (getParameters().opponentTreePolicy == MCGS || getParameters().opponentTreePolicy == MCGSSelfOnly)
                 return new MCGSNode();
+            else if (getParameters().indexedStatistics)
+                return new IndexedTreeNode();
             else
                 return new SingleTreeNode();
         };
@@ -93,6 +109,14 @@ public class MCTSPlayer extends AbstractPlayer implements IAnyTimePlayer, IHasSt
         }
     }
 
+    @Override
+    public void registerUnobservedUpdate() {
+        // as for registerUpdatedObservation(), without reuse the old tree is now out of date
+        if (!getParameters().reuseTree) {
+            root = null;
+        }
+    }
+
     protected MultiTreeNode newMultiTreeRootNode(AbstractGameState state) {
         // We need to update each of the individual player root nodes independently
         MultiTreeNode mtRoot = (MultiTreeNode) this.root;
@@ -127,6 +151,7 @@ public class MCTSPlayer extends AbstractPlayer implements IAnyTimePlayer, IHasSt
         if (params.reuseTree && (params.opponentTreePolicy == MCGS || params.opponentTreePolicy == MCGSSelfOnly)) {
             // In this case we remove any nodes from the graph that were not present before the last action was taken
             MCGSNode mcgsRoot = (MCGSNode) root;
+            List<Object> keysToRemove = new ArrayList<>();
             for (Object key : oldGraphKeys.keySet()) {
                 int oldVisits = oldGraphKeys.get(key);
                 MCGSNode node = mcgsRoot.getTranspositionMap().get(key);
@@ -134,13 +159,16 @@ public class MCTSPlayer extends AbstractPlayer implements IAnyTimePlayer, IHasSt
                     int newVisits = node.nVisits;
                     if (newVisits == oldVisits) {
                         // no change, so remove
-                        mcgsRoot.getTranspositionMap().remove(key);
+                        keysToRemove.add(key);
                         recentlyRemovedKeys.add(key);
-                    } else if (newVisits < oldVisits) {
+                    } else if (newVisits < oldVisits && params.MCGSTableCapacity <= 0) {
+                        // (with a bounded table the node may have been evicted, and then re-created with fewer visits)
                         throw new AssertionError("Unexpectedly fewer visits to a state than before");
                     }
                 }
             }
+            if (!keysToRemove.isEmpty())
+                mcgsRoot.getTranspositionTable().remove(keysToRemove);
             // then reset the old keys
             if (mcgsRoot == null) {
                 oldGraphKeys = new HashMap<>();
@@ -157,7 +185,7 @@ public class MCTSPlayer extends AbstractPlayer implements IAnyTimePlayer, IHasSt
                 return null;
             }
         //    int oldDepth = retValue.depth;
-            retValue.setTranspositionMap(mcgsRoot.getTranspositionMap());
+            retValue.setTranspositionTable(mcgsRoot.getTranspositionTable());
             retValue.rootify(root, gameState);
       //      retValue.depth = oldDepth;
             return retValue;
@@ -272,7 +300,15 @@ public class MCTSPlayer extends AbstractPlayer implements IAnyTimePlayer, IHasSt
         createRootNode(gameState);
         long timeTaken = System.nanoTime() - currentTimeNano;
 
-        root.mctsSearch(timeTaken / 1000000);
+        MCTSParams params = getParameters();
+        if (params.nThreads > 1 && params.parallelism == MCTSEnums.Parallelism.Root) {
+            rootParallelSearch(gameState, timeTaken / 1000000);
+        } else if (params.nThreads > 1 && params.parallelism == MCTSEnums.Parallelism.Tree) {
+            // the tree itself uses our forward model and rnd, so every worker (including this thread) has a helper for its rollouts
+            root.treeParallelSearch(timeTaken / 1000000, getSearchHelpers(gameState, params.nThreads), searchExecutor);
+        } else {
+            root.mctsSearch(timeTaken / 1000000);
+        }
 
         if (getParameters().actionHeuristic instanceof ITreeProcessor)
             ((ITreeProcessor) getParameters().actionHeuristic).process(root);
@@ -297,6 +333,66 @@ public class MCTSPlayer extends AbstractPlayer implements IAnyTimePlayer, IHasSt
         return lastAction.b.copy();
     }
 
+    /**
+     * Root parallelisation. Each helper searches its own tree from a separate copy of the game state, at the same
+     * time as we search from root. The statistics of the root actions from all trees are then summed into root,
+     * so that the final decision is made using all the visits.
+     * With reuseTree each helper keeps its tree between decisions, and moves down it in the same way as we do.
+     * Any budget other than time is shared out between the trees, so that the search as a whole keeps to it.
+     */
+    protected void rootParallelSearch(AbstractGameState gameState, long initialisationTime) {
+        if (getParameters().opponentTreePolicy == MultiTree)
+            throw new AssertionError("Root parallelisation is not supported for MultiTree");
+        List<SingleTreeNode> helperRoots = new ArrayList<>();
+        List<Future<?>> searches = new ArrayList<>();
+        int nTrees = getParameters().nThreads;
+        int budget = getParameters().budget;
+        root.budgetShare = Math.max(1, budget / nTrees + (budget % nTrees > 0 ? 1 : 0));
+        for (MCTSPlayer helper : getSearchHelpers(gameState, nTrees - 1)) {
+            if (getParameters().reuseTree)
+                helper.lastAction = lastAction;  // each helper then reuses the relevant part of its own tree
+            else
+                helper.root = null;
+            helper.createRootNode(gameState.copy());
+            SingleTreeNode helperRoot = helper.root;
+            helperRoot.budgetShare = Math.max(1, budget / nTrees + (budget % nTrees > helperRoots.size() + 1 ? 1 : 0));
+            helperRoots.add(helperRoot);
+            searches.add(searchExecutor.submit(() -> helperRoot.mctsSearch(initialisationTime)));
+        }
+        root.mctsSearch(initialisationTime);
+        try {
+            for (int i = 0; i < searches.size(); i++) {
+                searches.get(i).get();
+                root.mergeRootStatistics(helperRoots.get(i));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for MCTS search threads", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Error in MCTS search thread", e.getCause());
+        }
+    }
+
+    /**
+     * The helpers are copies of this player, each with a different random seed and its own copy of the forward model,
+     * used to run the additional threads of a parallel search. They are created the first time they are needed in each game.
+     *
+     * @param count - the number of helpers needed
+     */
+    protected List<MCTSPlayer> getSearchHelpers(AbstractGameState gameState, int count) {
+        if (searchHelpers == null)
+            searchHelpers = new ArrayList<>();
+        for (int i = searchHelpers.size() + 1; i <= count; i++) {
+            MCTSParams helperParams = (MCTSParams) getParameters().copy();
+            helperParams.setParameterValue("randomSeed", (int) getParameters().getRandomSeed() + i);
+            MCTSPlayer helper = new MCTSPlayer(helperParams, toString());
+            helper.setForwardModel(getForwardModel().copy());
+            helper.initializePlayer(gameState);
+            searchHelpers.add(helper);
+        }
+        return searchHelpers.subList(0, count);
+    }
+
     @Override
     public void finalizePlayer(AbstractGameState state) {
         getParameters().getRolloutStrategy().onEvent(Event.createEvent(Event.GameEvent.GAME_OVER, state));
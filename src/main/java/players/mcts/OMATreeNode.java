@@ -46,6 +46,15 @@ public class OMATreeNode extends SingleTreeNode {
         super.rootify(template, state);
         this.OMAParent = Optional.empty();
     }
+
+    @Override
+    protected void resetDepth(SingleTreeNode newRoot) {
+        // When a subtree is reused, an OMAParent above the new root has been pruned with the rest of the old tree.
+        // Ancestors are reset before their descendants, so any OMAParent still in the tree already has the new root.
+        if (OMAParent.isPresent() && OMAParent.get().root != newRoot)
+            OMAParent = Optional.empty();
+        super.resetDepth(newRoot);
+    }
     /**
      * Back up the value of the child through all parents. Increase number of visits and total value.
      *
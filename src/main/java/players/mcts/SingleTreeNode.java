@@ -7,6 +7,11 @@ import players.PlayerConstants;
 import utilities.*;
 
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.*;
 import java.util.stream.IntStream;
 
@@ -33,6 +38,8 @@ public class SingleTreeNode {
     // Number of FM calls and State copies up until this node
     protected int fmCallsCount;
     protected int copyCount;
+    // The part of params.budget (other than a time budget) that this tree may use, when several trees share it; 0 for all of it
+    protected int budgetShare;
     protected int paranoidPlayer = -1;
     // Action taken to reach this node
     // In vanilla MCTS this will likely be an action taken by some other player (not the decisionPlayer at this node)
@@ -313,9 +320,6 @@ public class SingleTreeNode {
         initialiseRootMetrics();
         initialisationTimeTaken = initialisationTime;
         // Variables for tracking time budget
-        double avgTimeTaken;
-        long remaining;
-        int remainingLimit = params.breakMS;
         ElapsedCpuTimer elapsedTimer = new ElapsedCpuTimer();
         if (params.budgetType == BUDGET_TIME) {
             elapsedTimer.setMaxTimeMillis(params.budget - initialisationTime);
@@ -325,48 +329,218 @@ public class SingleTreeNode {
         int numIters = 0;
         boolean stop = false;
         while (!stop) {
-            switch (params.information) {
-                case Closed_Loop:
-                    setActionsFromOpenLoopState(state);
-                    break;
-                case Open_Loop:
-                    setActionsFromOpenLoopState(state.copy());
-                    copyCount++;
-                    break;
-                case Information_Set:
-                    if (redeterminisationPlayer == -1)
-                        redeterminisationPlayer = decisionPlayer;
-                    setActionsFromOpenLoopState(state.copy(redeterminisationPlayer));
-                    copyCount++;
-                    break;
-            }
+            setRootStateForIteration();
             // Selection + expansion: navigate tree until a node not fully expanded is found, add a new node to the tree
             oneSearchIteration();
 
             // Finished iteration
             numIters++;
             // Check stopping condition
-            PlayerConstants budgetType = params.budgetType;
-            if (budgetType == BUDGET_TIME) {
-                // Time budget
-                remaining = elapsedTimer.remainingTimeMillis();
-                avgTimeTaken = (double) elapsedTimer.elapsedMillis() / numIters;
-                stop = remaining <= 2 * avgTimeTaken || remaining <= remainingLimit;
-            } else if (budgetType == BUDGET_ITERATIONS) {
-                // Iteration budget
-                stop = numIters >= params.budget;
-            } else if (budgetType == BUDGET_FM_CALLS) {
-                // FM calls budget
-                stop = fmCallsCount > params.budget || numIters > params.budget;
-            } else if (budgetType == BUDGET_COPY_CALLS) {
-                stop = copyCount > params.budget || numIters > params.budget;
-            } else if (budgetType == BUDGET_FMANDCOPY_CALLS) {
-                stop = (copyCount + fmCallsCount) > params.budget || numIters > params.budget;
-            }
+            stop = budgetExhausted(elapsedTimer, numIters, numIters);
+        }
+        timeTaken = elapsedTimer.elapsedMillis();
+    }
+
+    /**
+     * Sets up the state at the root at the start of each iteration (a copy, or a fresh determinisation, unless
+     * we are using Closed_Loop).
+     */
+    protected void setRootStateForIteration() {
+        switch (params.information) {
+            case Closed_Loop:
+                setActionsFromOpenLoopState(state);
+                break;
+            case Open_Loop:
+                setActionsFromOpenLoopState(state.copy());
+                copyCount++;
+                break;
+            case Information_Set:
+                if (redeterminisationPlayer == -1)
+                    redeterminisationPlayer = decisionPlayer;
+                setActionsFromOpenLoopState(state.copy(redeterminisationPlayer));
+                copyCount++;
+                break;
+        }
+    }
+
+    /**
+     * Checks the stopping condition for the search.
+     *
+     * @param elapsedTimer - timer for the calling thread (this measures CPU time, so must not be shared between threads)
+     * @param timedIters   - the number of iterations completed while elapsedTimer has been running
+     * @param numIters     - the total number of iterations completed on this tree
+     */
+    protected boolean budgetExhausted(ElapsedCpuTimer elapsedTimer, int timedIters, int numIters) {
+        PlayerConstants budgetType = params.budgetType;
+        int budget = budgetShare > 0 ? budgetShare : params.budget;
+        if (budgetType == BUDGET_TIME) {
+            // Time budget
+            long remaining = elapsedTimer.remainingTimeMillis();
+            double avgTimeTaken = (double) elapsedTimer.elapsedMillis() / timedIters;
+            return remaining <= 2 * avgTimeTaken || remaining <= params.breakMS;
+        } else if (budgetType == BUDGET_ITERATIONS) {
+            // Iteration budget
+            return numIters >= budget;
+        } else if (budgetType == BUDGET_FM_CALLS) {
+            // FM calls budget
+            return fmCallsCount > budget || numIters > budget;
+        } else if (budgetType == BUDGET_COPY_CALLS) {
+            return copyCount > budget || numIters > budget;
+        } else if (budgetType == BUDGET_FMANDCOPY_CALLS) {
+            return (copyCount + fmCallsCount) > budget || numIters > budget;
+        }
+        return false;
+    }
+
+    /**
+     * Performs MCTS search on this (root) node with several worker threads sharing the one tree (Tree parallelisation).
+     * There is one worker for each of the players given: the first runs on the calling thread, and the others on the executor.
+     * <p>
+     * Selection, expansion and backup are made while holding the lock on this root node, and use the forward model and
+     * random number generator of this tree. Rollouts, which are usually the bulk of the cost, are run concurrently, each
+     * worker using the parameters (and hence rollout policy), forward model and random number generator of its own player.
+     * While an iteration is in progress a virtual loss is added to each action on its path through the tree, so that
+     * other workers are steered towards different branches.
+     */
+    public void treeParallelSearch(long initialisationTime, List<MCTSPlayer> workerPlayers, ExecutorService executor) {
+        if (params.opponentTreePolicy != OneTree && params.opponentTreePolicy != SelfOnly)
+            throw new AssertionError("Tree parallelisation is only supported for OneTree and SelfOnly, not " + params.opponentTreePolicy);
+        if (params.rolloutType == MCTSEnums.Strategies.MAST || params.oppModelType == MCTSEnums.Strategies.MAST)
+            throw new AssertionError("Tree parallelisation does not support MAST rollout or opponent policies");
+        initialiseRootMetrics();
+        initialisationTimeTaken = initialisationTime;
+        ElapsedCpuTimer elapsedTimer = new ElapsedCpuTimer();
+
+        AtomicInteger numIters = new AtomicInteger();
+        AtomicBoolean stop = new AtomicBoolean(false);
+        List<Future<?>> workers = new ArrayList<>();
+        for (MCTSPlayer player : workerPlayers.subList(1, workerPlayers.size()))
+            workers.add(executor.submit(() -> treeParallelWorker(player, initialisationTime, numIters, stop)));
+        treeParallelWorker(workerPlayers.get(0), initialisationTime, numIters, stop);
+        try {
+            for (Future<?> worker : workers)
+                worker.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for MCTS worker threads", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Error in MCTS worker thread", e.getCause());
         }
         timeTaken = elapsedTimer.elapsedMillis();
     }
 
+    private void treeParallelWorker(MCTSPlayer worker, long initialisationTime, AtomicInteger numIters, AtomicBoolean stop) {
+        // Each worker has its own timer, as ElapsedCpuTimer measures the CPU time of the calling thread
+        ElapsedCpuTimer elapsedTimer = new ElapsedCpuTimer();
+        if (params.budgetType == BUDGET_TIME) {
+            elapsedTimer.setMaxTimeMillis(params.budget - initialisationTime);
+        }
+        // rollouts are run from this detached node, so that the counters and rollout actions it updates are private to this worker
+        SingleTreeNode rolloutNode = new SingleTreeNode();
+        rolloutNode.root = rolloutNode;
+        rolloutNode.params = worker.getParameters();
+        rolloutNode.forwardModel = worker.getForwardModel();
+        rolloutNode.rnd = worker.getRnd();
+        rolloutNode.decisionPlayer = decisionPlayer;
+        int itersOnThisThread = 0;
+        try {
+            while (!stop.get()) {
+                SingleTreeNode selected;
+                List<SingleTreeNode> trajectory;
+                List<Pair<Integer, AbstractAction>> treeActions;
+                List<List<AbstractAction>> actionsAtNodes = new ArrayList<>();
+                double lossValue;
+                int lastActorInTree;
+                synchronized (this) {
+                    if (stop.get())
+                        break;
+                    setRootStateForIteration();
+                    actionsInTree = new ArrayList<>();
+                    currentNodeTrajectory = new ArrayList<>();
+                    actionsInRollout = new ArrayList<>();
+                    selected = treePolicy();
+                    trajectory = currentNodeTrajectory;
+                    treeActions = actionsInTree;
+                    // other workers will overwrite these on any nodes they visit before we back up
+                    for (SingleTreeNode node : trajectory)
+                        actionsAtNodes.add(node.actionsFromOpenLoopState);
+                    lossValue = Double.isFinite(lowReward) ? lowReward : 0.0;
+                    applyVirtualLoss(trajectory, treeActions, params.virtualLoss, lossValue);
+                    lastActorInTree = treeActions.isEmpty() ? decisionPlayer : treeActions.get(treeActions.size() - 1).a;
+                    rolloutNode.state = selected.state;
+                    rolloutNode.openLoopState = selected.openLoopState;
+                }
+                rolloutNode.actionsInRollout = new ArrayList<>();
+                rolloutNode.fmCallsCount = 0;
+                rolloutNode.copyCount = 0;
+                double[] delta = rolloutNode.rollout(lastActorInTree);
+
+                synchronized (this) {
+                    applyVirtualLoss(trajectory, treeActions, -params.virtualLoss, lossValue);
+                    for (int i = 0; i < trajectory.size(); i++)
+                        trajectory.get(i).actionsFromOpenLoopState = actionsAtNodes.get(i);
+                    currentNodeTrajectory = trajectory;
+                    actionsInTree = treeActions;
+                    actionsInRollout = rolloutNode.actionsInRollout;
+                    fmCallsCount += rolloutNode.fmCallsCount;
+                    copyCount += rolloutNode.copyCount;
+                    rolloutActionsTaken += actionsInRollout.size();
+
+                    selected.backUp(delta);
+                    updateMASTStatistics(treeActions, actionsInRollout, delta);
+
+                    itersOnThisThread++;
+                    if (budgetExhausted(elapsedTimer, itersOnThisThread, numIters.incrementAndGet()))
+                        stop.set(true);
+                }
+            }
+        } finally {
+            // make sure that an exception on one worker stops all the others
+            stop.set(true);
+        }
+    }
+
+    /**
+     * Adds (or, with negative visits, removes) a virtual loss to each action on a trajectory through the tree.
+     * Each virtual visit is scored at lossValue for the player deciding at that node.
+     */
+    private void applyVirtualLoss(List<SingleTreeNode> trajectory, List<Pair<Integer, AbstractAction>> treeActions,
+                                  int visits, double lossValue) {
+        for (int i = 0; i < trajectory.size(); i++)
+            trajectory.get(i).addVirtualLoss(treeActions.get(i).b, visits, lossValue);
+    }
+
+    protected void addVirtualLoss(AbstractAction action, int visits, double lossValue) {
+        ActionStats stats = actionValues.get(action);
+        if (stats != null) {
+            stats.nVisits += visits;
+            stats.totValue[decisionPlayer] += visits * lossValue;
+        }
+    }
+
+    /**
+     * Adds the root statistics from another, independent, search of the same decision into this root node.
+     * This is used by Root parallelisation, in which several trees are grown from separate copies of the root state.
+     */
+    protected void mergeRootStatistics(SingleTreeNode other) {
+        for (Map.Entry<AbstractAction, ActionStats> entry : other.actionValues.entrySet()) {
+            ActionStats stats = actionValues.get(entry.getKey());
+            if (stats == null) {
+                actionValues.put(entry.getKey(), entry.getValue().copy());
+                children.putIfAbsent(entry.getKey().copy(), null);
+            } else {
+                stats.add(entry.getValue());
+            }
+        }
+        nVisits += other.nVisits;
+        inheritedVisits += other.inheritedVisits;
+        fmCallsCount += other.fmCallsCount;
+        copyCount += other.copyCount;
+        rolloutActionsTaken += other.rolloutActionsTaken;
+        highReward = Math.max(highReward, other.highReward);
+        lowReward = Math.min(lowReward, other.lowReward);
+    }
+
     /**
      * oneSearchIteration() implements the strategy for tree search (plus expansion, rollouts, backup and so on)
      * Its result is purely stored in the tree generated from root
@@ -640,11 +814,10 @@ public class SingleTreeNode {
                     // Find child with highest UCB value
                     AbstractAction bestAction = null;
                     double bestValue = -Double.MAX_VALUE;
-                    for (AbstractAction availableAction : availableActions) {
-                        double uctValue = ucbValue(availableAction);
-                        if (uctValue > bestValue) {
-                            bestValue = uctValue;
-                            bestAction = availableAction;
+                    for (int i = 0; i < availableActions.size(); i++) {
+                        if (actionValues[i] > bestValue) {
+                            bestValue = actionValues[i];
+                            bestAction = availableActions.get(i);
                         }
                     }
                     yield bestAction;
@@ -718,20 +891,27 @@ public class SingleTreeNode {
     }
 
     private double getFullValue(AbstractAction action) {
-        double value = getActionValue(action);
-        int actionVisits = actionVisits(action);
+        double actionEstimate = params.progressiveBias > 0 ? actionValueEstimates.getOrDefault(action, 0.0) : 0.0;
+        return getFullValue(action, actionVisits(action), actionTotValue(action, decisionPlayer), actionEstimate);
+    }
+
+    /**
+     * The value of an action to the decision player, from its statistics at this node (with normalisation,
+     * progressive bias and OMA applied as parameterised)
+     */
+    protected double getFullValue(AbstractAction action, int actionVisits, double totValue, double actionEstimate) {
+        double value = actionVisits > 0 ? totValue / actionVisits : 0.0;
         if (params.normaliseRewards && actionVisits > 0) {
             value = normalise(value, root.lowReward, root.highReward);
         }
         if (params.progressiveBias > 0)
-            value += getBiasValue(action);
+            value += params.progressiveBias * actionEstimate / (actionVisits + 1);
         // apply OMA
-        value = getOMAValue(action, value);
+        value = getOMAValue(action, actionVisits, value);
         return value;
     }
 
-    private double getOMAValue(AbstractAction action, double childValue) {
-        int actionVisits = actionVisits(action);
+    private double getOMAValue(AbstractAction action, int actionVisits, double childValue) {
         double retValue = childValue;
         // consider OMA term
         if (params.omaVisits > 0 && (params.opponentTreePolicy == OMA_All || params.opponentTreePolicy == OMA)) {
@@ -768,14 +948,30 @@ public class SingleTreeNode {
     }
 
     private double ucbValue(AbstractAction action) {
+        double actionEstimate = params.progressiveBias > 0 ? actionValueEstimates.getOrDefault(action, 0.0) : 0.0;
+        double pUCTProbability = params.pUCT ? actionPDFEstimates.get(action) : 1.0;
+        return ucbValue(action, actionVisits(action), validVisitsFor(action), actionTotValue(action, decisionPlayer),
+                actionSquaredValue(action, decisionPlayer), actionEstimate, pUCTProbability);
+    }
+
+    /**
+     * The UCB (or AlphaGo, UCB_Tuned) value of an action, given its statistics at this node.
+     * These are passed in directly so that subclasses can store them as they wish.
+     *
+     * @param effectiveTotalVisits the number of visits to this node in which the action was available
+     * @param totValue             the total value of the action to the decision player
+     * @param squaredTotValue      the total squared value of the action to the decision player
+     * @param actionEstimate       the actionHeuristic value of the action (only used with progressive bias)
+     * @param pUCTProbability      the probability of the action from the actionHeuristic (only used with pUCT)
+     */
+    protected double ucbValue(AbstractAction action, int actionVisits, int effectiveTotalVisits,
+                              double totValue, double squaredTotValue, double actionEstimate, double pUCTProbability) {
 
         // Find 'UCB' value - this is the base to which we then add exploration
-        double childValue = getFullValue(action);
-        int actionVisits = actionVisits(action);
+        double childValue = getFullValue(action, actionVisits, totValue, actionEstimate);
 
         // Now for the exploration term
         // default to standard UCB
-        int effectiveTotalVisits = validVisitsFor(action);
         // use first play urgency as replacement for exploration term if action not previously taken
         // we add in the second term based on the AlphaGo selection rule, so that the exploration term is monotonically increasing with N
         // this will come into play for small values of FPU and acts as soft-pruning rather than the harder form if FPU is a fixed constant
@@ -785,13 +981,13 @@ public class SingleTreeNode {
                 case UCB_Tuned -> {
                     double range = root.highReward - root.lowReward;
                     if (range < 1e-6) range = 1e-6;
-                    double meanSq = actionSquaredValue(action, decisionPlayer) / actionVisits;
+                    double meanSq = squaredTotValue / actionVisits;
                     double standardVar = 0.25;
                     if (params.normaliseRewards) {
                         // we also need to standardise the sum of squares to calculate the variance
                         meanSq = (meanSq
                                 + root.lowReward * root.lowReward
-                                - 2 * root.lowReward * actionTotValue(action, decisionPlayer) / actionVisits
+                                - 2 * root.lowReward * totValue / actionVisits
                         ) / (range * range);
                     } else {
                         // we need to modify the standard variance as it is not on a 0..1 basis (which is where 0.25 comes from)
@@ -808,7 +1004,7 @@ public class SingleTreeNode {
         if (params.pUCT) {
             // in this case we multiply the exploration term by the pUCT factor (the probability that the action would be taken by
             // our actionHeuristic). These were calculated in setActionsFromOpenLoopState
-            explorationTerm *= actionPDFEstimates.get(action);
+            explorationTerm *= pUCTProbability;
         }
 
         // Paranoid/SelfOnly control determines childValue here
@@ -896,7 +1092,7 @@ public class SingleTreeNode {
                 // the thinking here is that in openLoop we copy the state right at the root, and then use the forward
                 // model at each action. Hence the current state on the node is the one we have been using up to now.
                 /// Hence we do not need to copy it.
-                rolloutState = state.copy();
+                rolloutState = GameStatePool.get().copy(state);
                 root.copyCount++;
             }
 
@@ -914,11 +1110,13 @@ public class SingleTreeNode {
         // Evaluate final state and return normalised score
         double[] retValue = new double[rolloutState.getNPlayers()];
 
+        params.heuristic.evaluateAllPlayers(rolloutState, retValue);
         for (int i = 0; i < retValue.length; i++) {
-            retValue[i] = params.heuristic.evaluateState(rolloutState, i);
             if (Double.isNaN(retValue[i]) || Double.isInfinite(retValue[i]))
                 throw new AssertionError("Illegal heuristic value - should be a number - " + params.heuristic.toString());
         }
+        if (rolloutState != openLoopState)
+            GameStatePool.get().release(rolloutState);
         return retValue;
     }
 
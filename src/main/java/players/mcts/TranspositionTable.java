@@ -0,0 +1,181 @@
+package players.mcts;
+
+import java.util.*;
+
+/**
+ * The transposition table used by MCGS to find the node for each state.
+ * <p>
+ * With a capacity of zero this is just a HashMap, and keeps every node created during the search (which for long
+ * searches in games with many distinct states can use a lot of memory).
+ * With a positive capacity, once the table is full then adding a new node first evicts the least valuable
+ * evictionFraction of the nodes in one batch (so that the cost of finding them is spread over many additions).
+ * The value of a node is its visits divided by (depth + 1), so that deep, rarely visited nodes are evicted first.
+ * The root, and any nodes on the trajectory of the current iteration, are never evicted.
+ * <p>
+ * An evicted node is forgotten; if its state is reached again then a new node is created for it. Evicted nodes are
+ * also unlinked from the nodes left in the table (any parent link to them is cleared, as is any child link from
+ * their parent), so that nothing in the graph keeps them alive, and the memory held is bounded by the capacity.
+ * <p>
+ * The nodes are only changed through add() and remove(), so that the capacity is always respected and the counts
+ * are kept; asMap() gives a read-only view of them.
+ */
+public class TranspositionTable {
+
+    // Rough sizes in bytes of a node, and of the statistics for each action at a node, used by estimatedBytes()
+    static final int NODE_BYTES = 400;
+    static final int ACTION_BYTES = 150;
+
+    public final int capacity;
+    public final double evictionFraction;
+    // These are reset at the start of each search
+    int hits, misses, evictions;
+    int peakSize;
+    private final Map<Object, MCGSNode> nodes = new HashMap<>();
+    private final Map<Object, MCGSNode> readOnlyNodes = Collections.unmodifiableMap(nodes);
+
+    public TranspositionTable(int capacity, double evictionFraction) {
+        this.capacity = capacity;
+        this.evictionFraction = evictionFraction;
+    }
+
+    /**
+     * Looks up the node for a key, keeping count of hits and misses
+     */
+    public MCGSNode lookup(Object key) {
+        MCGSNode node = nodes.get(key);
+        if (node == null)
+            misses++;
+        else
+            hits++;
+        return node;
+    }
+
+    /**
+     * Adds a node to the table, evicting others first if the table is full.
+     *
+     * @param protectedKeys keys of nodes that must not be evicted (in addition to the root)
+     */
+    public void add(Object key, MCGSNode node, Collection<Object> protectedKeys) {
+        if (capacity > 0 && nodes.size() >= capacity && !nodes.containsKey(key))
+            evict(protectedKeys);
+        nodes.put(key, node);
+        peakSize = Math.max(peakSize, nodes.size());
+    }
+
+    /**
+     * @return the node for a key (without counting this as a hit or miss), or null if there is none
+     */
+    public MCGSNode get(Object key) {
+        return nodes.get(key);
+    }
+
+    public boolean containsKey(Object key) {
+        return nodes.containsKey(key);
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * @return a read-only view of the nodes in the table, by key
+     */
+    public Map<Object, MCGSNode> asMap() {
+        return readOnlyNodes;
+    }
+
+    /**
+     * Removes the nodes for the keys (as done when the tree is reused), unlinking them from the rest of the graph
+     */
+    public void remove(Collection<Object> keys) {
+        Set<MCGSNode> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Object key : keys) {
+            MCGSNode node = nodes.remove(key);
+            if (node != null)
+                removed.add(node);
+        }
+        unlink(removed);
+    }
+
+    public void clear() {
+        nodes.clear();
+    }
+
+    private void evict(Collection<Object> protectedKeys) {
+        Set<Object> doNotEvict = new HashSet<>(protectedKeys);
+        int toEvict = Math.max(1, (int) (capacity * evictionFraction));
+        PriorityQueue<Map.Entry<Object, MCGSNode>> leastValuable = new PriorityQueue<>(toEvict + 1,
+                Comparator.comparingDouble((Map.Entry<Object, MCGSNode> e) -> value(e.getValue())).reversed());
+        for (Map.Entry<Object, MCGSNode> entry : nodes.entrySet()) {
+            if (entry.getValue().depth <= 0 || doNotEvict.contains(entry.getKey()))
+                continue;
+            leastValuable.add(entry);
+            if (leastValuable.size() > toEvict)
+                leastValuable.poll();  // removes the most valuable of those kept
+        }
+        List<Object> keys = new ArrayList<>(leastValuable.size());
+        for (Map.Entry<Object, MCGSNode> entry : leastValuable)
+            keys.add(entry.getKey());
+        remove(keys);
+        evictions += keys.size();
+    }
+
+    // Clears the links between the removed nodes and those left, in one pass over the table
+    private void unlink(Set<MCGSNode> removed) {
+        if (removed.isEmpty())
+            return;
+        for (MCGSNode node : nodes.values()) {
+            if (removed.contains(node.parent))
+                node.parent = null;
+            for (SingleTreeNode[] childArray : node.children.values()) {
+                if (childArray == null)
+                    continue;
+                for (int i = 0; i < childArray.length; i++) {
+                    if (removed.contains(childArray[i]))
+                        childArray[i] = null;
+                }
+            }
+        }
+        for (MCGSNode node : removed) {
+            node.parent = null;
+            node.children.clear();
+        }
+    }
+
+    private static double value(MCGSNode node) {
+        return node.nVisits / (node.depth + 1.0);
+    }
+
+    public void resetCounters() {
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+        peakSize = nodes.size();
+    }
+
+    public int getHits() {
+        return hits;
+    }
+
+    public int getMisses() {
+        return misses;
+    }
+
+    public int getEvictions() {
+        return evictions;
+    }
+
+    public int getPeakSize() {
+        return peakSize;
+    }
+
+    /**
+     * An approximate size in memory of the nodes in the table (excluding any game states they hold)
+     */
+    public long estimatedBytes() {
+        long bytes = 0;
+        for (MCGSNode node : nodes.values())
+            bytes += NODE_BYTES + (long) ACTION_BYTES * node.actionValues.size();
+        return bytes;
+    }
+}
@@ -7,6 +7,7 @@ import core.actions.AbstractAction;
 import core.interfaces.IStateHeuristic;
 import utilities.Pair;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
 
@@ -16,6 +17,8 @@ public class RHEAIndividual implements Comparable<RHEAIndividual> {
     protected int nonRepairCount;
     AbstractAction[] actions;         // Actions in individual. Intended max length of individual = actions.length
     AbstractGameState[] gameStates;   // Game states in individual.
+    double[] scores;                  // Heuristic value of gameStates[i + 1], so that these are not re-evaluated
+    int firstChangedGene;             // gameStates after this gene do not follow from the actions, and need re-simulating
     double value;                     // Fitness of individual, to be maximised.
     int length;                       // Actual length of individual, <= actions.length
     double discountFactor;            // Discount factor for calculating rewards
@@ -31,11 +34,12 @@ public class RHEAIndividual implements Comparable<RHEAIndividual> {
         this.discountFactor = discountFactor;
         actions = new AbstractAction[L];
         gameStates = new AbstractGameState[L + 1];
+        scores = new double[L];
         this.heuristic = heuristic;
         this.rolloutPolicy = rolloutPolicy;
 
         // Rollout with random actions and assign fitness value
-        gameStates[0] = gs.copy();
+        gameStates[0] = gs.copy(-1, gen);
         rollout(fm, 0, playerID, true);
     }
 
@@ -43,6 +47,8 @@ public class RHEAIndividual implements Comparable<RHEAIndividual> {
     RHEAIndividual(RHEAIndividual I) {
         actions = new AbstractAction[I.actions.length];
         gameStates = new AbstractGameState[I.gameStates.length];
+        scores = I.scores.clone();
+        firstChangedGene = I.firstChangedGene;
         length = I.length;
         discountFactor = I.discountFactor;
         heuristic = I.heuristic;
@@ -52,11 +58,28 @@ public class RHEAIndividual implements Comparable<RHEAIndividual> {
             actions[i] = I.actions[i]; //.copy();
             gameStates[i] = I.gameStates[i]; //.copy(); // Should not need to copy game states, as we always copy before we use!
         }
+        gameStates[length] = I.gameStates[length];  // the state reached at the end
 
         value = I.value;
         gen = I.gen;
     }
 
+    /**
+     * Sets one gene (as in crossover). If this changes the action, then the stored game states from this point on
+     * are out of date, and the next rollout will start from here (or earlier).
+     */
+    void setGene(int index, AbstractAction action) {
+        if (action != null && action.equals(actions[index]))
+            return;
+        actions[index] = action;
+        firstChangedGene = Math.min(firstChangedGene, index);
+    }
+
+    // With parallel evaluation, each individual needs its own random generator
+    void setRandom(Random gen) {
+        this.gen = gen;
+    }
+
     /**
      * Mutates this individual, by picking an index and changing all genes from that point on.
      * Updates the length of the individual in case the rollout hits game end.
@@ -73,6 +96,8 @@ public class RHEAIndividual implements Comparable<RHEAIndividual> {
         for (int mutation = 0; mutation < mutationCount; mutation++) {
             int position = gen.nextInt(length); // we only consider actions up to the end of the game (which will therefore increase mutation rate towards game end)
             if (gameStates[position] != null) {
+                // computeAvailableActions() does not change the state, so the stored state (which may be shared
+                // with other individuals, see the copy constructor) can be used directly
                 List<AbstractAction> available = fm.computeAvailableActions(gameStates[position]);
                 actions[position] = available.get(gen.nextInt(available.size()));
                 if (position < startIndex)
@@ -80,6 +105,9 @@ public class RHEAIndividual implements Comparable<RHEAIndividual> {
             }
         }
 
+        // any genes changed by crossover also need to be re-simulated
+        startIndex = Math.min(startIndex, firstChangedGene);
+
         // Perform rollout and return number of FM calls taken.
         if (gameStates[startIndex] == null) {
             return new Pair<>(0, 0);
@@ -92,6 +120,7 @@ public class RHEAIndividual implements Comparable<RHEAIndividual> {
      * Performs a rollout with random actions from startIndex to endIndex in the individual, from root game state gs.
      * Starts by repairing the full individual, then mutates it, and finally evaluates it.
      * Evaluates the final state reached and returns the number of calls to the FM.next() function.
+     * The states (and their values) before startIndex are reused, so only the genes from startIndex on are simulated.
      *
      * @param fm         - forward model
      * @param startIndex - index in individual from which to start rollout
@@ -99,11 +128,12 @@ public class RHEAIndividual implements Comparable<RHEAIndividual> {
      * @return - number of calls to the FM.next() function
      */
     public Pair<Integer, Integer> rollout(AbstractForwardModel fm, int startIndex, int playerID, boolean repair) {
-        length = 0;
+        length = startIndex;
         double delta = 0;
         double previousScore = 0;
         int fmCalls = 0, copyCalls = 0;
-        AbstractGameState gs = gameStates[startIndex].copy();
+        // we do not need to copy this, as we copy the state before each action
+        AbstractGameState gs = gameStates[startIndex];
 
         // This lot are a local record for use in debugging; Very useful, with no compute overhead for keeping a local copy
         AbstractGameState[] oldGameStates = new AbstractGameState[gameStates.length];
@@ -111,22 +141,15 @@ public class RHEAIndividual implements Comparable<RHEAIndividual> {
         AbstractAction[] oldActions = new AbstractAction[actions.length];
         boolean[] illegalActions = new boolean[actions.length];
 
-        for (int i = 0; i < startIndex; i++) {
-            double score;
-            score = heuristic.evaluateState(gameStates[i + 1], playerID);
-            if (Double.isNaN(score))
-                throw new AssertionError("Illegal heuristic value - should be a number");
-            delta += Math.pow(discountFactor, i) * (score - previousScore);
-            previousScore = score;
-        }
-
         for (int i = startIndex; i < actions.length; i++) {
             // Rolls from chosen index to the end, randomly changing actions and game states
             // Length of individual is updated depending on if it reaches a terminal game state
             if (gs.isNotTerminal()) {
                 // is the action valid
                 AbstractAction action;
-                AbstractGameState gsCopy = gs.copy();
+                // copied with our own random generator, as the first state copied may be shared with other individuals
+                // (and so copied at the same time by another thread)
+                AbstractGameState gsCopy = gs.copy(-1, gen);
                 copyCalls++;
                 List<AbstractAction> currentActions = fm.computeAvailableActions(gsCopy, rolloutPolicy.getParameters().actionSpace);
                 availableActions[i] = currentActions;
@@ -164,22 +187,29 @@ public class RHEAIndividual implements Comparable<RHEAIndividual> {
                 // Individual length increased
                 length++;
 
-                // Add value of state, discounted
-                double score;
-                score = heuristic.evaluateState(gameStates[i + 1], playerID);
-                if (Double.isNaN(score))
-                    throw new AssertionError("Illegal heuristic value - should be a number");
-                delta += Math.pow(discountFactor, i) * (score - previousScore);
-                previousScore = score;
-
                 gs = gsCopy;
 
             } else {
                 break;
             }
         }
+        // The new states are evaluated in one batch (those before startIndex keep their values), and then the
+        // values of all the states are added, discounted
+        if (length > startIndex) {
+            double[] newScores = new double[length - startIndex];
+            heuristic.evaluateStates(Arrays.asList(gameStates).subList(startIndex + 1, length + 1), playerID, newScores);
+            System.arraycopy(newScores, 0, scores, startIndex, newScores.length);
+        }
+        for (int i = 0; i < length; i++) {
+            double score = scores[i];
+            if (Double.isNaN(score))
+                throw new AssertionError("Illegal heuristic value - should be a number");
+            delta += Math.pow(discountFactor, i) * (score - previousScore);
+            previousScore = score;
+        }
 //        this.value = gs.getScore(playerID);
         this.value = delta;
+        firstChangedGene = actions.length;
         return new Pair<>(fmCalls, copyCalls);
     }
 
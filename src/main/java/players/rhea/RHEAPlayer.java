@@ -1,5 +1,6 @@
 package players.rhea;
 
+import core.AbstractForwardModel;
 import core.AbstractGameState;
 import core.AbstractPlayer;
 import core.actions.AbstractAction;
@@ -12,10 +13,17 @@ import utilities.Pair;
 import utilities.Utils;
 
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 public class RHEAPlayer extends AbstractPlayer implements IAnyTimePlayer {
-    private static final AbstractPlayer randomPlayer = new RandomPlayer();
+    // Shared by all RHEAPlayers for parallel evaluation. These are daemon threads, so never keep the JVM alive
+    private static final ExecutorService evaluationExecutor = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "RHEA-evaluation");
+        t.setDaemon(true);
+        return t;
+    });
     List<Map<Object, Pair<Integer, Double>>> MASTStatistics; // a list of one Map per player. Action -> (visits, totValue)
     protected List<RHEAIndividual> population = new ArrayList<>();
     // Budgets
@@ -24,14 +32,15 @@ public class RHEAPlayer extends AbstractPlayer implements IAnyTimePlayer {
     protected int fmCalls = 0;
     protected int copyCalls = 0;
     protected int repairCount, nonRepairCount;
-    private MASTPlayer mastPlayer;
+    private AbstractPlayer rolloutPolicy;
 
     public RHEAPlayer(RHEAParams params) {
-        super(params, "RHEAPlayer");
+        this(params, "RHEAPlayer");
     }
 
     public RHEAPlayer(RHEAParams params, String name) {
         super(params, name);
+        rnd = new Random(parameters.getRandomSeed());
     }
 
     @Override
@@ -67,9 +76,8 @@ public class RHEAPlayer extends AbstractPlayer implements IAnyTimePlayer {
                         .map(m -> Utils.decay(m, params.discountFactor))
                         .collect(Collectors.toList());
             }
-            mastPlayer = new MASTPlayer(null, 1.0, 0.0, System.currentTimeMillis(), 0.0);
-            mastPlayer.setMASTStats(MASTStatistics);
         }
+        rolloutPolicy = createRolloutPolicy(rnd.nextLong());
         // Initialise individuals
         if (params.shiftLeft && !population.isEmpty()) {
             population.forEach(i -> i.value = Double.NEGATIVE_INFINITY);  // so that any we don't have time to shift are ignored when picking an action
@@ -77,7 +85,8 @@ public class RHEAPlayer extends AbstractPlayer implements IAnyTimePlayer {
                 if (!budgetLeft(timer)) break;
                 System.arraycopy(genome.actions, 1, genome.actions, 0, genome.actions.length - 1);
                 // we shift all actions along, and then rollout with repair
-                genome.gameStates[0] = stateObs.copy();
+                genome.gameStates[0] = stateObs.copy(-1, rnd);
+                genome.rolloutPolicy = rolloutPolicy;
                 Pair<Integer, Integer> calls = genome.rollout(getForwardModel(), 0, getPlayerID(), true);
                 fmCalls += calls.a;
                 copyCalls += calls.b;
@@ -87,7 +96,7 @@ public class RHEAPlayer extends AbstractPlayer implements IAnyTimePlayer {
             for (int i = 0; i < params.populationSize; ++i) {
                 if (!budgetLeft(timer)) break;
                 population.add(new RHEAIndividual(params.horizon, params.discountFactor, getForwardModel(), stateObs,
-                        getPlayerID(), rnd, params.heuristic, params.useMAST ? mastPlayer : randomPlayer));
+                        getPlayerID(), rnd, params.heuristic, rolloutPolicy));
                 fmCalls += population.get(i).length;
                 copyCalls += population.get(i).length;
             }
@@ -156,10 +165,8 @@ public class RHEAPlayer extends AbstractPlayer implements IAnyTimePlayer {
         copyCalls += child.length;
         int min = Math.min(p1.length, p2.length);
         for (int i = 0; i < min; ++i) {
-            if (rnd.nextFloat() >= 0.5f) {
-                child.actions[i] = p2.actions[i];
-                child.gameStates[i] = p2.gameStates[i]; //.copy();
-            }
+            if (rnd.nextFloat() >= 0.5f)
+                child.setGene(i, p2.actions[i]);
         }
         return child;
     }
@@ -169,10 +176,8 @@ public class RHEAPlayer extends AbstractPlayer implements IAnyTimePlayer {
         copyCalls += child.length;
         int tailLength = Math.min(p1.length, p2.length) / 2;
 
-        for (int i = 0; i < tailLength; ++i) {
-            child.actions[child.length - 1 - i] = p2.actions[p2.length - 1 - i];
-            child.gameStates[child.length - 1 - i] = p2.gameStates[p2.length - 1 - i]; //.copy();
-        }
+        for (int i = 0; i < tailLength; ++i)
+            child.setGene(child.length - 1 - i, p2.actions[p2.length - 1 - i]);
         return child;
     }
 
@@ -181,10 +186,8 @@ public class RHEAPlayer extends AbstractPlayer implements IAnyTimePlayer {
         copyCalls += child.length;
         int tailLength = Math.min(p1.length, p2.length) / 3;
         for (int i = 0; i < tailLength; ++i) {
-            child.actions[i] = p2.actions[i];
-            child.gameStates[i] = p2.gameStates[i]; //.copy();
-            child.actions[child.length - 1 - i] = p2.actions[p2.length - 1 - i];
-            child.gameStates[child.length - 1 - i] = p2.gameStates[p2.length - 1 - i]; //.copy();
+            child.setGene(i, p2.actions[i]);
+            child.setGene(child.length - 1 - i, p2.actions[p2.length - 1 - i]);
         }
         return child;
     }
@@ -252,8 +255,11 @@ public class RHEAPlayer extends AbstractPlayer implements IAnyTimePlayer {
             population.add(child);
         }
 
-        for (RHEAIndividual individual : population) {
-            Pair<Integer, Integer> calls = individual.mutate(getForwardModel(), getPlayerID(), params.mutationCount);
+        List<Pair<Integer, Integer>> allCalls = params.nThreads > 1 ? parallelMutate() : null;
+        for (int i = 0; i < population.size(); i++) {
+            RHEAIndividual individual = population.get(i);
+            Pair<Integer, Integer> calls = allCalls != null ? allCalls.get(i)
+                    : individual.mutate(getForwardModel(), getPlayerID(), params.mutationCount);
             fmCalls += calls.a;
             copyCalls += calls.b;
             repairCount += individual.repairCount;
@@ -278,6 +284,59 @@ public class RHEAPlayer extends AbstractPlayer implements IAnyTimePlayer {
     }
 
 
+    /**
+     * Mutates (and so evaluates) all of the population at once, spread over nThreads threads.
+     * Each individual is given its own random generator and rollout policy (both seeded from our random generator
+     * in population order) for this, so the results do not depend on which thread evaluates which individual.
+     * Each thread has its own copy of the forward model, and takes the next individual as soon as it is free.
+     *
+     * @return the calls made by each individual (in population order)
+     */
+    private List<Pair<Integer, Integer>> parallelMutate() {
+        RHEAParams params = getParameters();
+        List<AbstractPlayer> rolloutPolicies = new ArrayList<>();
+        for (RHEAIndividual individual : population) {
+            rolloutPolicies.add(individual.rolloutPolicy);
+            individual.setRandom(new Random(rnd.nextLong()));
+            individual.rolloutPolicy = createRolloutPolicy(rnd.nextLong());
+        }
+        List<Pair<Integer, Integer>> retValue = new ArrayList<>(Collections.nCopies(population.size(), null));
+        AtomicInteger next = new AtomicInteger();
+        List<Callable<Void>> workers = new ArrayList<>();
+        for (int t = 0; t < Math.min(params.nThreads, population.size()); t++) {
+            AbstractForwardModel fm = getForwardModel().copy();
+            workers.add(() -> {
+                for (int i = next.getAndIncrement(); i < population.size(); i = next.getAndIncrement())
+                    retValue.set(i, population.get(i).mutate(fm, getPlayerID(), params.mutationCount));
+                return null;
+            });
+        }
+        try {
+            for (Future<Void> result : evaluationExecutor.invokeAll(workers))
+                result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for RHEA evaluation threads", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Error in RHEA evaluation thread", e.getCause());
+        }
+        for (int i = 0; i < population.size(); i++) {
+            population.get(i).setRandom(rnd);
+            population.get(i).rolloutPolicy = rolloutPolicies.get(i);
+        }
+        return retValue;
+    }
+
+    private AbstractPlayer createRolloutPolicy(long seed) {
+        if (getParameters().useMAST) {
+            // the statistics are only read while the population is being evaluated (see MASTBackup)
+            MASTPlayer retValue = new MASTPlayer(null, 1.0, 0.0, seed, 0.0);
+            retValue.setMASTStats(MASTStatistics);
+            return retValue;
+        }
+        return new RandomPlayer(new Random(seed));
+    }
+
     protected void MASTBackup(AbstractAction[] rolloutActions, double delta, int player) {
         for (int i = 0; i < rolloutActions.length; i++) {
             AbstractAction action = rolloutActions[i];
@@ -1,6 +1,7 @@
 package players.rmhc;
 import core.AbstractForwardModel;
 import core.AbstractGameState;
+import core.GameStatePool;
 import core.actions.AbstractAction;
 import core.interfaces.IStateHeuristic;
 
@@ -38,9 +39,10 @@ public class Individual implements Comparable {
         length = I.length;
         discountFactor = I.discountFactor;
 
+        GameStatePool statePool = GameStatePool.get();
         for (int i = 0; i < length; i++){
             actions[i] = I.actions[i].copy();
-            gameStates[i] = I.gameStates[i].copy();
+            gameStates[i] = statePool.copy(I.gameStates[i]);
         }
 
         value = I.value;
@@ -48,6 +50,20 @@ public class Individual implements Comparable {
         heuristic = I.heuristic;
     }
 
+    /**
+     * Returns all the game states of this individual to the pool. Individuals do not share their states (the
+     * copy constructor copies them), so this is called once an individual has been discarded.
+     */
+    void release() {
+        GameStatePool statePool = GameStatePool.get();
+        for (int i = 0; i < gameStates.length; i++) {
+            if (gameStates[i] != null) {
+                statePool.release(gameStates[i]);
+                gameStates[i] = null;
+            }
+        }
+    }
+
     /**
      * Mutates this individual, by picking an index and changing all genes from that point on.
      * Updates the length of the individual in case the rollout hits game end.
@@ -100,12 +116,17 @@ public class Individual implements Comparable {
             previousScore = score;
         }
 
+        GameStatePool statePool = GameStatePool.get();
+        // whether gs is held in gameStates; if not it is an intermediate state that can go back to the pool once copied
+        boolean gsStored = true;
         for (int i = startIndex; i < actions.length; i++){
             // Rolls from chosen index to the end, randomly changing actions and game states
             // Length of individual is updated depending on if it reaches a terminal game state
             if (gs.isNotTerminal()) {
                 // Copy the game state
-                AbstractGameState gsCopy = gs.copy();
+                AbstractGameState gsCopy = statePool.copy(gs);
+                if (!gsStored)
+                    statePool.release(gs);
                 List<AbstractAction> currentActions = fm.computeAvailableActions(gsCopy);
                 AbstractAction action = null;
                 if (currentActions.size() > 0) {
@@ -119,6 +140,9 @@ public class Individual implements Comparable {
                 // If it's my turn, store this in the individual
                 boolean iAmMoving = (gameStates[i].getCurrentPlayer() == playerID);
                 if (iAmMoving) {
+                    // the state this replaces (from before the mutation) is only held by this individual
+                    if (gameStates[i + 1] != null && gameStates[i + 1] != gs)
+                        statePool.release(gameStates[i + 1]);
                     gameStates[i + 1] = gsCopy;
                     actions[i] = action;
 
@@ -141,10 +165,13 @@ public class Individual implements Comparable {
                 }
 
                 gs = gsCopy;
+                gsStored = iAmMoving;
             } else {
                 break;
             }
         }
+        if (!gsStored)
+            statePool.release(gs);
 
         this.value = delta;
         return fmCalls;
@@ -96,9 +96,13 @@ public class RMHCPlayer extends AbstractPlayer {
         fmCalls += statesUpdated;
         copyCalls += statesUpdated; // as mutate() copyies once each time it applies the forward model
 
-        // Keep new individual if better than current
-        if (newIndividual.value > bestIndividual.value)
+        // Keep new individual if better than current, and recycle the states of the other
+        if (newIndividual.value > bestIndividual.value) {
+            bestIndividual.release();
             bestIndividual = newIndividual;
+        } else {
+            newIndividual.release();
+        }
 
         // Update budgets
         numIters++;
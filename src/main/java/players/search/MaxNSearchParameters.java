@@ -19,6 +19,9 @@ public class MaxNSearchParameters extends PlayerParameters {
     protected boolean alphaBetaPruning = true;
     protected boolean iterativeDeepening = false;
     protected boolean expandByEstimatedValue = false;
+    protected boolean transpositionTable = false;
+    protected int transpositionTableSize = 1000000;
+    protected boolean moveOrdering = false;
 
     public MaxNSearchParameters() {
         this.addTunableParameter("searchDepth", 1);
@@ -28,6 +31,9 @@ public class MaxNSearchParameters extends PlayerParameters {
         this.addTunableParameter("iterativeDeepening", false);
         this.addTunableParameter("alphaBetaPruning", true);
         this.addTunableParameter("expandByEstimatedValue", false);
+        this.addTunableParameter("transpositionTable", false);
+        this.addTunableParameter("transpositionTableSize", 1000000);
+        this.addTunableParameter("moveOrdering", false);
     }
 
     @Override
@@ -40,6 +46,9 @@ public class MaxNSearchParameters extends PlayerParameters {
         iterativeDeepening = (boolean) getParameterValue("iterativeDeepening");
         alphaBetaPruning = (boolean) getParameterValue("alphaBetaPruning");
         expandByEstimatedValue = (boolean) getParameterValue("expandByEstimatedValue");
+        transpositionTable = (boolean) getParameterValue("transpositionTable");
+        transpositionTableSize = (int) getParameterValue("transpositionTableSize");
+        moveOrdering = (boolean) getParameterValue("moveOrdering");
         if (heuristic == null) {
             heuristic = new GameDefaultHeuristic();
         }
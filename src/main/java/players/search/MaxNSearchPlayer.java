@@ -31,14 +31,36 @@ public class MaxNSearchPlayer extends AbstractPlayer implements IHasStateHeurist
      * <p>
      * Additionally, the BUDGET can be specified as a cutoff for the search. If this much time passes
      * without the search finishing, the best action found so far is returned (likely to be pretty random).
+     * With iterativeDeepening, this is the best action from the deepest search that did finish.
+     * <p></p>
+     * Two further options make each search cheaper, and so let iterative deepening get deeper in the same time:
+     * - transpositionTable: the result for each state (keyed by AbstractGameState.getStateHash()) is stored, and
+     * reused if the same state is reached again, by a different order of actions or in a later iteration. With
+     * alpha-beta pruning the stored value may only be a bound, which is then only used if it causes a cut-off.
+     * - moveOrdering: actions are tried in the order of the best action from the transposition table (so that
+     * each iteration starts with the principal variation of the last one), then the 'killer' actions that most
+     * recently caused a cut-off at the same ply, and then by the history heuristic (how often, and how deep,
+     * each action has caused a cut-off).
      */
 
 
     private long startTime;
+    private boolean outOfTime;
     private SearchResult rootResult;
 
     protected List<Map<AbstractAction, ActionStats>> actionValueEstimates;
 
+    // The bound is on the value for this player; all values are exact unless we are using alpha-beta pruning
+    protected enum Bound {EXACT, LOWER, UPPER}
+
+    protected record TableEntry(int depth, double[] value, AbstractAction bestAction, Bound bound) {
+    }
+
+    protected Map<Long, TableEntry> transpositionTable = new HashMap<>();
+    // the two most recent actions to cause a cut-off at each ply
+    protected List<AbstractAction[]> killerActions = new ArrayList<>();
+    protected Map<AbstractAction, Integer> historyScores = new HashMap<>();
+
     public MaxNSearchPlayer(MaxNSearchParameters parameters) {
         super(parameters, "MinMaxSearch");
     }
@@ -56,8 +78,12 @@ public class MaxNSearchPlayer extends AbstractPlayer implements IHasStateHeurist
         // - MACRO_ACTION: only when the currentPlayer() has changed as a result of applying the action
         // - TURN: only when turn number has changed as a result of applying the action
         startTime = System.currentTimeMillis();
+        outOfTime = false;
         rootResult = null;
         actionValueEstimates = new ArrayList<>();
+        transpositionTable.clear();
+        killerActions.clear();
+        historyScores.clear();
         if (getParameters().iterativeDeepening) {
             // we do a depth D = 1 search, then D = 2 and so on until we reach maxDepth or exhaust budget
             for (int depth = 1; depth <= getParameters().searchDepth; depth++) {
@@ -71,7 +97,13 @@ public class MaxNSearchPlayer extends AbstractPlayer implements IHasStateHeurist
                     }
                     actionValueEstimates.add(0, newMap);
                 }
-                rootResult = expand(gs, actions, depth, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+                SearchResult result = expand(gs, actions, depth, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+                // if we ran out of time then this search is incomplete, and we keep the result of the last one
+                if (outOfTime && rootResult != null)
+                    break;
+                rootResult = result;
+                if (outOfTime)
+                    break;
             }
         } else {
             for (int depth = 0; depth < getParameters().searchDepth; depth++) {
@@ -104,6 +136,14 @@ public class MaxNSearchPlayer extends AbstractPlayer implements IHasStateHeurist
      */
     protected SearchResult expand(AbstractGameState state, List<AbstractAction> actions, int searchDepth,
                                   double alpha, double beta) {
+        return expand(state, actions, searchDepth, alpha, beta, 0);
+    }
+
+    /**
+     * As expand(), where ply is the number of actions taken from the root to reach state
+     */
+    protected SearchResult expand(AbstractGameState state, List<AbstractAction> actions, int searchDepth,
+                                  double alpha, double beta, int ply) {
         MaxNSearchParameters params = getParameters();
         // if we have reached the end of the search, or the state is terminal, we evaluate the state
         if (searchDepth == 0 || !state.isNotTerminal()) {
@@ -124,7 +164,23 @@ public class MaxNSearchPlayer extends AbstractPlayer implements IHasStateHeurist
             return new SearchResult(null, values, alpha, beta, null);
         }
 
-        // otherwise we recurse to find the best action and value
+        // otherwise we check the transposition table, before we recurse to find the best action and value
+        // (at the root we always search, as we need the values of all the actions)
+        boolean pruning = params.paranoid && params.alphaBetaPruning;
+        double originalAlpha = alpha, originalBeta = beta;
+        long stateHash = 0;
+        TableEntry entry = null;
+        if (params.transpositionTable) {
+            stateHash = state.getStateHash();
+            entry = transpositionTable.get(stateHash);
+            if (entry != null && ply > 0 && entry.depth >= searchDepth) {
+                double value = entry.value[getPlayerID()];
+                if (entry.bound == Bound.EXACT || (entry.bound == Bound.LOWER && value > beta)
+                        || (entry.bound == Bound.UPPER && value < alpha))
+                    return new SearchResult(entry.bestAction, entry.value, alpha, beta, null);
+            }
+        }
+
         double[] bestValues = new double[state.getNPlayers()];
         double bestValue = Double.NEGATIVE_INFINITY;
         AbstractAction bestAction = null;
@@ -137,10 +193,13 @@ public class MaxNSearchPlayer extends AbstractPlayer implements IHasStateHeurist
         } else {
             Collections.shuffle(actions, getRnd());
         }
+        if (params.moveOrdering)
+            orderActions(actions, entry == null ? null : entry.bestAction, ply);
         Map<AbstractAction, ActionStats> statsMap = actionValueEstimates.get(searchDepth - 1);
         Map<AbstractAction, double[]> actionValues = new HashMap<>();
+        GameStatePool statePool = GameStatePool.get();
         for (AbstractAction action : actions) {
-            AbstractGameState stateCopy = state.copy();
+            AbstractGameState stateCopy = statePool.copy(state);
             getForwardModel().next(stateCopy, action);
             // if we are at the bottom, then save a bit of time by not calculating the valid actions (which we'll never try)
             List<AbstractAction> nextActions = searchDepth > 0 ? getForwardModel().computeAvailableActions(stateCopy) : List.of();
@@ -154,7 +213,8 @@ public class MaxNSearchPlayer extends AbstractPlayer implements IHasStateHeurist
 
             // recurse - we are here just interested in the value of stateCopy, and hence of taking action
             // We are not interested in the best action from stateCopy
-            SearchResult result = expand(stateCopy, nextActions, newDepth, alpha, beta);
+            SearchResult result = expand(stateCopy, nextActions, newDepth, alpha, beta, ply + 1);
+            statePool.release(stateCopy);
             if (params.expandByEstimatedValue) {
                 // we store the value estimates for each action
                 if (!statsMap.containsKey(action)) {
@@ -175,11 +235,15 @@ public class MaxNSearchPlayer extends AbstractPlayer implements IHasStateHeurist
                     // bestValue is already from the perspective of the current player (i.e. negated for opponents)
                     if (getPlayerID() == state.getCurrentPlayer()) {
                         if (bestValue > beta) {
+                            recordCutOff(action, searchDepth, ply);
+                            store(stateHash, searchDepth, bestValues, bestAction, Bound.LOWER);
                             return new SearchResult(bestAction, bestValues, alpha, beta, actionValues);
                         }
                         alpha = Math.max(alpha, bestValue);
                     } else {
                         if (-bestValue < alpha) {
+                            recordCutOff(action, searchDepth, ply);
+                            store(stateHash, searchDepth, bestValues, bestAction, Bound.UPPER);
                             return new SearchResult(bestAction, bestValues, alpha, beta, actionValues);
                         }
                         beta = Math.min(beta, -bestValue);
@@ -187,17 +251,62 @@ public class MaxNSearchPlayer extends AbstractPlayer implements IHasStateHeurist
                 }
             }
 
-            if (System.currentTimeMillis() - startTime > params.budget) {
+            if (outOfTime || System.currentTimeMillis() - startTime > params.budget) {
                 // out of time - return best action so far
+                outOfTime = true;
                 return new SearchResult(bestAction, bestValues, alpha, beta, actionValues);
             }
         }
         if (bestAction == null) {
             throw new AssertionError("No best action found");
         }
+        // the value is exact if it is strictly inside the window we were given, and otherwise is a bound
+        double value = bestValues[getPlayerID()];
+        Bound bound = !pruning || (value > originalAlpha && value < originalBeta) ? Bound.EXACT
+                : value <= originalAlpha ? Bound.UPPER : Bound.LOWER;
+        store(stateHash, searchDepth, bestValues, bestAction, bound);
         return new SearchResult(bestAction, bestValues, alpha, beta, actionValues);
     }
 
+    /**
+     * Sorts the actions (stably, so ties keep their current order) with the best action from the transposition
+     * table first, then the killer actions for this ply, and then the rest in order of their history score.
+     */
+    protected void orderActions(List<AbstractAction> actions, AbstractAction tableAction, int ply) {
+        AbstractAction[] killers = ply < killerActions.size() ? killerActions.get(ply) : new AbstractAction[2];
+        actions.sort(Comparator.comparingInt((AbstractAction a) -> {
+            if (a.equals(tableAction)) return 0;
+            if (a.equals(killers[0])) return 1;
+            if (a.equals(killers[1])) return 2;
+            return 3;
+        }).thenComparingInt(a -> -historyScores.getOrDefault(a, 0)));
+    }
+
+    private void recordCutOff(AbstractAction action, int searchDepth, int ply) {
+        if (!getParameters().moveOrdering)
+            return;
+        while (killerActions.size() <= ply)
+            killerActions.add(new AbstractAction[2]);
+        AbstractAction[] killers = killerActions.get(ply);
+        if (!action.equals(killers[0])) {
+            killers[1] = killers[0];
+            killers[0] = action;
+        }
+        historyScores.merge(action, searchDepth * searchDepth, Integer::sum);
+    }
+
+    private void store(long stateHash, int searchDepth, double[] value, AbstractAction bestAction, Bound bound) {
+        // results from a search that ran out of time are incomplete, so must not be reused
+        if (!getParameters().transpositionTable || outOfTime)
+            return;
+        TableEntry existing = transpositionTable.get(stateHash);
+        if (existing == null && transpositionTable.size() >= getParameters().transpositionTableSize)
+            return;
+        // we keep the result of the deeper search
+        if (existing == null || searchDepth >= existing.depth)
+            transpositionTable.put(stateHash, new TableEntry(searchDepth, value, bestAction, bound));
+    }
+
     @Override
     public MaxNSearchPlayer copy() {
         MaxNSearchPlayer retValue = new MaxNSearchPlayer((MaxNSearchParameters) getParameters().shallowCopy());
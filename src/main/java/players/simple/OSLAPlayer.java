@@ -2,9 +2,11 @@ package players.simple;
 
 import core.AbstractGameState;
 import core.AbstractPlayer;
+import core.GameStatePool;
 import core.actions.AbstractAction;
 import core.interfaces.IStateHeuristic;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 
@@ -40,23 +42,30 @@ public class OSLAPlayer extends AbstractPlayer {
         AbstractAction bestAction = null;
         double[] valState = new double[actions.size()];
         int playerID = gs.getCurrentPlayer();
+        GameStatePool statePool = GameStatePool.get();
 
-        for (int actionIndex = 0; actionIndex < actions.size(); actionIndex++) {
-            AbstractAction action = actions.get(actionIndex);
-            AbstractGameState gsCopy = gs.copy();
+        // the successors are evaluated as one batch (which is cheaper for some heuristics, such as linear ones)
+        List<AbstractGameState> successors = new ArrayList<>(actions.size());
+        for (AbstractAction action : actions) {
+            AbstractGameState gsCopy = statePool.copy(gs);
             getForwardModel().next(gsCopy, action);
+            successors.add(gsCopy);
+        }
+        if (heuristic != null) {
+            heuristic.evaluateStates(successors, playerID, valState);
+        } else {
+            for (int actionIndex = 0; actionIndex < actions.size(); actionIndex++)
+                valState[actionIndex] = successors.get(actionIndex).getHeuristicScore(playerID);
+        }
+        for (AbstractGameState gsCopy : successors)
+            statePool.release(gsCopy);
 
-            if (heuristic != null) {
-                valState[actionIndex] = heuristic.evaluateState(gsCopy, playerID);
-            } else {
-                valState[actionIndex] = gsCopy.getHeuristicScore(playerID);
-            }
-
+        for (int actionIndex = 0; actionIndex < actions.size(); actionIndex++) {
             double Q = noise(valState[actionIndex], getParameters().noiseEpsilon, rnd.nextDouble());
 
             if (Q > maxQ || bestAction == null) {
                 maxQ = Q;
-                bestAction = action;
+                bestAction = actions.get(actionIndex);
             }
         }
 
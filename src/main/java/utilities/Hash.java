@@ -1,34 +1,29 @@
 package utilities;
 
-import java.util.HashMap;
-
+/**
+ * Hashes names (of properties, components, etc.) to the int keys used to look them up.
+ * <p>
+ * The hash is the String's own hash code, which the String caches, so there is nothing to store here and this is
+ * safe to use from any thread. Property lookups should prefer a core.properties.PropertyKey, which avoids the hash
+ * map lookup altogether.
+ */
 public class Hash
 {
-    private static Hash hash;
-
-    private HashMap<String, Integer> hashmap;
+    private static final Hash hash = new Hash();
 
     public static Hash GetInstance()
     {
-        if(hash == null)
-            hash = new Hash();
         return hash;
     }
 
     private Hash()
     {
-        hashmap = new HashMap<>();
     }
 
 
     public int hash(String key)
     {
-        if(hashmap.containsKey(key))
-            return hashmap.get(key);
-
-        int newValue = key.hashCode();
-        hashmap.put(key, newValue);
-        return newValue;
+        return key.hashCode();
     }
 
 }
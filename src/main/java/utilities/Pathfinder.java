@@ -6,7 +6,7 @@ import core.properties.PropertyVector2D;
 
 import java.util.*;
 
-import static core.CoreConstants.coordinateHash;
+import static core.CoreConstants.coordinateKey;
 /**
  * Path finding utility. Pre-computes and caches shortest paths between nodes.
  * At the moment, it uses GridBoard objects as nodes in the pathfinding graph.
@@ -284,8 +284,8 @@ public class Pathfinder {
      */
     private double heuristic(BoardNode origin, BoardNode destination)
     {
-        Vector2D originLoc = ((PropertyVector2D) origin.getProperty(coordinateHash)).values;
-        Vector2D destLoc = ((PropertyVector2D) destination.getProperty(coordinateHash)).values;
+        Vector2D originLoc = ((PropertyVector2D) origin.getProperty(coordinateKey)).values;
+        Vector2D destLoc = ((PropertyVector2D) destination.getProperty(coordinateKey)).values;
         return Distance.euclidian_distance(  new double[]{originLoc.getX(),  originLoc.getY()},
                                              new double[]{destLoc.getX(),    destLoc.getY()});
     }
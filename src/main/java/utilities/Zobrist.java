@@ -0,0 +1,38 @@
+package utilities;
+
+/**
+ * Keys for Zobrist hashing of game states.
+ * <p>
+ * A Zobrist hash is the XOR of one random 64-bit key for each (feature, value) pair that is true of the state - for
+ * example (cell 4, "x") on a TicTacToe board. When a feature changes value the hash can then be updated in O(1) with
+ * hash ^= key(feature, oldValue) ^ key(feature, newValue), instead of being recomputed from the whole state.
+ * <p>
+ * Rather than a table of random numbers, the keys are generated by mixing the feature and value with the SplitMix64
+ * finaliser. This needs no storage or set up, and gives the same keys on every run (and every thread).
+ */
+public class Zobrist {
+
+    // features used by AbstractGameState.getStateHash() for the core state; games should use non-negative features
+    public static final int CURRENT_PLAYER = -1;
+    public static final int GAME_STATUS = -2;
+    public static final int GAME_PHASE = -3;
+    public static final int PERSPECTIVE = -4;
+
+    private Zobrist() {
+    }
+
+    public static long key(long feature, long value) {
+        return mix(mix(feature) + value);
+    }
+
+    public static long key(long feature, Object value) {
+        return value == null ? 0L : key(feature, value.hashCode());
+    }
+
+    private static long mix(long z) {
+        z += 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,128 @@
+package core;
+
+import core.actions.AbstractAction;
+import games.GameType;
+import org.junit.Test;
+import utilities.Pair;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class CompactHistoryTests {
+
+    @Test
+    public void copiesShareThePrefixAndThenDiverge() {
+        CompactHistory<String> history = new CompactHistory<>(String::new);
+        for (int i = 0; i < 40; i++)
+            history.add(i % 3, "A" + (i % 5));
+        CompactHistory<String> copy = history.copy();
+        history.add(0, "original");
+        copy.add(1, "copy");
+        CompactHistory<String> copyOfCopy = copy.copy();
+        copyOfCopy.add(2, "copy of copy");
+        copy.add(1, "copy again");
+
+        assertEquals(41, history.size());
+        assertEquals(42, copy.size());
+        assertEquals(42, copyOfCopy.size());
+        assertEquals("original", history.get(40));
+        assertEquals("copy", copy.get(40));
+        assertEquals("copy again", copy.get(41));
+        assertEquals("copy of copy", copyOfCopy.get(41));
+        assertEquals(2, copyOfCopy.getPlayer(41));
+        for (int i = 0; i < 40; i++) {
+            assertEquals("A" + (i % 5), copyOfCopy.get(i));
+            assertEquals(i % 3, copyOfCopy.getPlayer(i));
+        }
+        assertEquals(copy.asList().subList(0, 41), copyOfCopy.asList().subList(0, 41));
+    }
+
+    @Test
+    public void eachEntryKeepsTheItemRecorded() {
+        CompactHistory<String> history = new CompactHistory<>(String::new);
+        history.add(0, "A");
+        history.add(1, "A");
+        assertEquals(history.get(0), history.get(1));
+        assertNotSame(history.get(0), history.get(1));
+
+        String item = new String("B");
+        CompactHistory<String> uncopied = new CompactHistory<>();
+        uncopied.add(0, item);
+        assertSame(item, uncopied.get(0));
+        assertSame(item, uncopied.copy().get(0));
+    }
+
+    @Test
+    public void entriesAddedToACopyAreOnlyKeptByThatCopy() {
+        CompactHistory<String> history = new CompactHistory<>(String::new);
+        history.add(0, "A");
+        history.add(1, "B");
+        CompactHistory<String> copy = history.copy();
+        copy.add(1, "C");
+        assertEquals(List.of(new Pair<>(0, "A"), new Pair<>(1, "B")), history.asPairs());
+        assertEquals(List.of(new Pair<>(0, "A"), new Pair<>(1, "B"), new Pair<>(1, "C")), copy.asPairs());
+        assertSame(history.get(1), copy.get(1));
+        history.add(0, "D");
+        assertEquals(List.of("A", "B", "D"), history.asList());
+        assertEquals(List.of("A", "B", "C"), copy.asList());
+    }
+
+    @Test
+    public void copiesOnOtherThreadsAreIndependent() throws InterruptedException {
+        CompactHistory<String> history = new CompactHistory<>(String::new);
+        history.add(0, "start");
+        List<CompactHistory<String>> copies = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            CompactHistory<String> copy = history.copy();
+            copies.add(copy);
+            int offset = t;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 5000; i++)
+                    copy.add(offset, "A" + ((i + offset * 100) % 1000));
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads)
+            thread.join();
+        for (int t = 0; t < 4; t++) {
+            CompactHistory<String> copy = copies.get(t);
+            assertEquals(5001, copy.size());
+            assertSame(history.get(0), copy.get(0));
+            for (int i = 0; i < 5000; i++) {
+                assertEquals("A" + ((i + t * 100) % 1000), copy.get(i + 1));
+                assertEquals(t, copy.getPlayer(i + 1));
+            }
+        }
+        assertEquals(1, history.size());
+    }
+
+    @Test
+    public void gameHistoryIsUnchangedByCopies() {
+        Game game = GameType.TicTacToe.createGameInstance(2, 3902);
+        AbstractGameState state = game.getGameState();
+        AbstractForwardModel fm = game.getForwardModel();
+        Random rnd = new Random(39);
+        List<Pair<Integer, AbstractAction>> expected = new ArrayList<>();
+        while (state.isNotTerminal()) {
+            // play out the rest of the game on a copy, which must not affect the history of the original
+            AbstractGameState copy = state.copy();
+            while (copy.isNotTerminal()) {
+                List<AbstractAction> available = fm.computeAvailableActions(copy);
+                fm.next(copy, available.get(rnd.nextInt(available.size())));
+            }
+            assertEquals(expected, copy.getHistory().subList(0, expected.size()));
+
+            List<AbstractAction> available = fm.computeAvailableActions(state);
+            AbstractAction action = available.get(rnd.nextInt(available.size()));
+            expected.add(new Pair<>(state.getCurrentPlayer(), action));
+            fm.next(state, action);
+            assertEquals(expected, state.getHistory());
+            assertEquals(expected.size(), state.getHistorySize());
+            assertEquals(expected.get(expected.size() - 1), state.getHistoryAt(expected.size() - 1));
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package core;
+
+import core.actions.AbstractAction;
+import games.GameType;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class CopyIntoTests {
+
+    Random rnd = new Random(4032);
+
+    private void checkCopyInto(GameType gameType, int nPlayers) {
+        Game game = gameType.createGameInstance(nPlayers, 3902);
+        AbstractGameState state = game.getGameState();
+        AbstractForwardModel fm = game.getForwardModel();
+        AbstractGameState target = state.copy();
+        int actions = 0;
+        while (state.isNotTerminal() && actions < 100) {
+            List<AbstractAction> available = fm.computeAvailableActions(state);
+            fm.next(state, available.get(rnd.nextInt(available.size())));
+            actions++;
+            if (actions % 5 == 0) {
+                // target is a copy of an older state, so all of its contents are stale
+                AbstractGameState result = state.copyInto(target, -1);
+                assertSame(target, result);
+                assertEquals(state, result);
+                assertEquals(state.hashCode(), result.hashCode());
+                assertEquals(state.getHistory().size(), result.getHistory().size());
+                // and the recycled state must be independent of the original
+                List<AbstractAction> next = fm.computeAvailableActions(result);
+                if (result.isNotTerminal() && !next.isEmpty()) {
+                    int hash = state.hashCode();
+                    fm.next(result, next.get(0));
+                    assertEquals(hash, state.hashCode());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void ticTacToe() {
+        checkCopyInto(GameType.TicTacToe, 2);
+    }
+
+    @Test
+    public void connect4() {
+        checkCopyInto(GameType.Connect4, 2);
+    }
+
+    @Test
+    public void dominion() {
+        checkCopyInto(GameType.Dominion, 3);
+    }
+
+    @Test
+    public void loveLetter() {
+        checkCopyInto(GameType.LoveLetter, 4);
+    }
+
+    @Test
+    public void sushiGo() {
+        checkCopyInto(GameType.SushiGo, 3);
+    }
+
+    @Test
+    public void gameWithoutCopyIntoFallsBackToCopy() {
+        Game game = GameType.Poker.createGameInstance(3, 3902);
+        AbstractGameState state = game.getGameState();
+        AbstractGameState target = state.copy();
+        AbstractGameState result = state.copyInto(target, -1);
+        assertNotSame(target, result);
+        assertEquals(state, result);
+    }
+
+    @Test
+    public void poolRecyclesReleasedStates() {
+        Game game = GameType.Dominion.createGameInstance(3, 3902);
+        AbstractGameState state = game.getGameState();
+        GameStatePool pool = GameStatePool.get();
+        pool.clear();
+        AbstractGameState first = pool.copy(state);
+        pool.release(first);
+        assertEquals(1, pool.freeStates(state.getClass()));
+        AbstractGameState second = pool.copy(state);
+        assertSame(first, second);
+        assertEquals(0, pool.freeStates(state.getClass()));
+        assertEquals(state, second);
+    }
+}
@@ -0,0 +1,101 @@
+package core;
+
+import core.actions.AbstractAction;
+import games.GameType;
+import org.junit.Test;
+import players.simple.RandomPlayer;
+import utilities.Pair;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class LazyObservationTests {
+
+    static class CountingPlayer extends RandomPlayer {
+        int updatedObservations;
+
+        CountingPlayer(Random rnd) {
+            super(rnd);
+        }
+
+        @Override
+        public void registerUpdatedObservation(AbstractGameState gameState) {
+            assertNotNull(gameState);
+            updatedObservations++;
+        }
+
+        @Override
+        public boolean usesUpdatedObservations() {
+            return true;
+        }
+    }
+
+    // A player that does not ask for updated observations, but counts the times it is told of them
+    static class NotifiedPlayer extends RandomPlayer {
+        int updatedObservations, unobservedUpdates;
+
+        NotifiedPlayer(Random rnd) {
+            super(rnd);
+        }
+
+        @Override
+        public void registerUpdatedObservation(AbstractGameState gameState) {
+            updatedObservations++;
+        }
+
+        @Override
+        public void registerUnobservedUpdate() {
+            unobservedUpdates++;
+        }
+    }
+
+    private Game playGame(GameType gameType, boolean lazy, List<AbstractPlayer> players) {
+        Game game = gameType.createGameInstance(players.size(), 4092);
+        game.getGameState().getCoreGameParameters().lazyObservations = lazy;
+        game.reset(players);
+        game.run();
+        return game;
+    }
+
+    private List<AbstractPlayer> players() {
+        return List.of(new CountingPlayer(new Random(302)), new RandomPlayer(new Random(93)), new RandomPlayer(new Random(4482)));
+    }
+
+    // Deferring the copy of the state must not change anything about the game
+    private void checkSameGame(GameType gameType) {
+        List<AbstractPlayer> eagerPlayers = players();
+        List<AbstractPlayer> lazyPlayers = players();
+        Game eager = playGame(gameType, false, eagerPlayers);
+        Game lazy = playGame(gameType, true, lazyPlayers);
+        List<Pair<Integer, AbstractAction>> eagerHistory = eager.getGameState().getHistory();
+        List<Pair<Integer, AbstractAction>> lazyHistory = lazy.getGameState().getHistory();
+        assertEquals(eagerHistory, lazyHistory);
+        assertEquals(eager.getTick(), lazy.getTick());
+        for (int p = 0; p < eagerPlayers.size(); p++)
+            assertEquals(eager.getGameState().getGameScore(p), lazy.getGameState().getGameScore(p), 1e-6);
+        // a player that asks for them still receives every updated observation
+        assertTrue(((CountingPlayer) eagerPlayers.get(0)).updatedObservations > 0);
+        assertEquals(((CountingPlayer) eagerPlayers.get(0)).updatedObservations, ((CountingPlayer) lazyPlayers.get(0)).updatedObservations);
+    }
+
+    @Test
+    public void dominionIsUnchanged() {
+        checkSameGame(GameType.Dominion);
+    }
+
+    @Test
+    public void playersAreToldOfForcedActionsWithoutACopy() {
+        NotifiedPlayer eagerPlayer = new NotifiedPlayer(new Random(302));
+        NotifiedPlayer lazyPlayer = new NotifiedPlayer(new Random(302));
+        playGame(GameType.Dominion, false, List.of(eagerPlayer, new RandomPlayer(new Random(93)), new RandomPlayer(new Random(4482))));
+        playGame(GameType.Dominion, true, List.of(lazyPlayer, new RandomPlayer(new Random(93)), new RandomPlayer(new Random(4482))));
+        assertTrue(eagerPlayer.updatedObservations > 0);
+        assertEquals(0, eagerPlayer.unobservedUpdates);
+        // with lazy observations, the forced actions are reported without an observation
+        assertEquals(eagerPlayer.updatedObservations, lazyPlayer.updatedObservations + lazyPlayer.unobservedUpdates);
+        assertTrue(lazyPlayer.unobservedUpdates > 0);
+    }
+}
@@ -0,0 +1,74 @@
+package core;
+
+import games.GameType;
+import org.junit.Test;
+import players.python.PythonAgent;
+import players.simple.RandomPlayer;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class PyTAGVecTests {
+
+    private PyTAGVec create(int nThreads) throws Exception {
+        List<AbstractPlayer> players = List.of(new PythonAgent(), new RandomPlayer(new Random(7)));
+        return new PyTAGVec(GameType.TicTacToe, null, players, 42, false, 6, nThreads);
+    }
+
+    // the first legal action in each game's mask
+    private int[] firstLegalActions(PyTAGVec env) {
+        int[] actions = new int[env.getNumEnvs()];
+        int[] masks = env.getActionMasks();
+        for (int i = 0; i < actions.length; i++) {
+            int a = 0;
+            while (masks[i * env.getActionSpace() + a] == 0)
+                a++;
+            actions[i] = a;
+        }
+        return actions;
+    }
+
+    @Test
+    public void gamesAreSteppedAndResetTogether() throws Exception {
+        PyTAGVec env = create(1);
+        env.reset();
+        assertEquals(9, env.getActionSpace());
+        assertEquals(6 * env.getObservationSpace(), env.getObservations().length);
+        double[] observations = env.getObservations();
+
+        boolean finished = false;
+        for (int step = 0; step < 20; step++) {
+            env.step(firstLegalActions(env));
+            assertSame(observations, env.getObservations());  // the buffers are re-used
+            for (int i = 0; i < env.getNumEnvs(); i++) {
+                if (env.getDones()[i]) {
+                    finished = true;
+                    assertNotNull(env.getLastResults(i));
+                    assertFalse(env.getEnv(i).isDone());  // already reset for the next game
+                }
+                assertTrue(Arrays.stream(env.getActionMasks(), i * 9, (i + 1) * 9).sum() > 0);
+            }
+        }
+        assertTrue(finished);
+    }
+
+    @Test
+    public void threadedStepsMatchSequentialSteps() throws Exception {
+        PyTAGVec sequential = create(1);
+        PyTAGVec threaded = create(3);
+        sequential.reset();
+        threaded.reset();
+        for (int step = 0; step < 20; step++) {
+            assertArrayEquals(sequential.getObservations(), threaded.getObservations(), 0.0);
+            assertArrayEquals(sequential.getActionMasks(), threaded.getActionMasks());
+            assertArrayEquals(sequential.getRewards(), threaded.getRewards(), 0.0);
+            int[] actions = firstLegalActions(sequential);
+            sequential.step(actions);
+            threaded.step(actions);
+        }
+        threaded.close();
+    }
+}
@@ -0,0 +1,107 @@
+package core;
+
+import core.actions.AbstractAction;
+import core.actions.SetGridValueAction;
+import core.components.GridBoard;
+import core.interfaces.IGridGameState;
+import games.GameType;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class StateHashTests {
+
+    Random rnd = new Random(3409);
+
+    private void checkIncrementalHash(GameType gameType) {
+        Game game = gameType.createGameInstance(2, 3902);
+        AbstractGameState state = game.getGameState();
+        AbstractForwardModel fm = game.getForwardModel();
+        while (state.isNotTerminal()) {
+            List<AbstractAction> available = fm.computeAvailableActions(state);
+            fm.next(state, available.get(rnd.nextInt(available.size())));
+            // the incrementally maintained hash must be the same as one calculated from scratch
+            GridBoard board = ((IGridGameState) state).getGridBoard();
+            assertEquals(new GridBoard(board.copy().getGridValues()).getZobristHash(), board.getZobristHash());
+            assertEquals(state.getStateHash(), state.copy().getStateHash());
+        }
+    }
+
+    @Test
+    public void ticTacToeHashIsMaintained() {
+        checkIncrementalHash(GameType.TicTacToe);
+    }
+
+    @Test
+    public void connect4HashIsMaintained() {
+        checkIncrementalHash(GameType.Connect4);
+    }
+
+    // for games that do not keep their state on a GridBoard
+    private void checkHashIsCopied(GameType gameType, int nPlayers) {
+        Game game = gameType.createGameInstance(nPlayers, 3902);
+        AbstractGameState state = game.getGameState();
+        AbstractForwardModel fm = game.getForwardModel();
+        while (state.isNotTerminal()) {
+            List<AbstractAction> available = fm.computeAvailableActions(state);
+            long before = state.getStateHash();
+            fm.next(state, available.get(rnd.nextInt(available.size())));
+            assertNotEquals(before, state.getStateHash());
+            assertEquals(state.getStateHash(), state.copy().getStateHash());
+        }
+    }
+
+    @Test
+    public void dotsAndBoxesHashIsMaintained() {
+        checkHashIsCopied(GameType.DotsAndBoxes, 2);
+    }
+
+    @Test
+    public void mastermindHashIsMaintained() {
+        checkHashIsCopied(GameType.Mastermind, 1);
+    }
+
+    @Test
+    public void dotsAndBoxesTranspositionsHaveTheSameHash() {
+        Game game = GameType.DotsAndBoxes.createGameInstance(2, 3902);
+        List<AbstractAction> edges = game.getForwardModel().computeAvailableActions(game.getGameState());
+        // three edges cannot complete a box, so players alternate and the first and third edges are the same player's
+        AbstractGameState first = playEdges(edges.get(0), edges.get(1), edges.get(2));
+        AbstractGameState second = playEdges(edges.get(2), edges.get(1), edges.get(0));
+        AbstractGameState different = playEdges(edges.get(1), edges.get(0), edges.get(2));
+        assertEquals(first.getStateHash(), second.getStateHash());
+        assertNotEquals(first.getStateHash(), different.getStateHash());
+    }
+
+    private AbstractGameState playEdges(AbstractAction... edges) {
+        Game game = GameType.DotsAndBoxes.createGameInstance(2, 3902);
+        for (AbstractAction edge : edges)
+            game.getForwardModel().next(game.getGameState(), edge.copy());
+        return game.getGameState();
+    }
+
+    private AbstractGameState playMoves(int[][] moves) {
+        Game game = GameType.TicTacToe.createGameInstance(2, 3902);
+        AbstractGameState state = game.getGameState();
+        AbstractForwardModel fm = game.getForwardModel();
+        for (int[] move : moves) {
+            AbstractAction action = fm.computeAvailableActions(state).stream()
+                    .filter(a -> ((SetGridValueAction) a).getX() == move[0] && ((SetGridValueAction) a).getY() == move[1])
+                    .findFirst().orElseThrow();
+            fm.next(state, action);
+        }
+        return state;
+    }
+
+    @Test
+    public void transpositionsHaveTheSameHash() {
+        AbstractGameState first = playMoves(new int[][]{{0, 0}, {1, 1}, {2, 0}});
+        AbstractGameState second = playMoves(new int[][]{{2, 0}, {1, 1}, {0, 0}});
+        AbstractGameState different = playMoves(new int[][]{{0, 0}, {1, 1}, {2, 1}});
+        assertEquals(first.getStateHash(), second.getStateHash());
+        assertNotEquals(first.getStateHash(), different.getStateHash());
+    }
+}
@@ -0,0 +1,104 @@
+package core.components;
+
+import core.properties.*;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static core.CoreConstants.*;
+import static org.junit.Assert.*;
+
+public class ComponentPropertiesTest {
+
+    @Test
+    public void keysAreInterned() {
+        PropertyKey key = PropertyKey.of("testProperty");
+        assertSame(key, PropertyKey.of("testProperty"));
+        assertSame(key, PropertyKey.forHash("testProperty".hashCode()));
+        assertNotEquals(key.getSlot(), PropertyKey.of("anotherTestProperty").getSlot());
+        assertSame(nameKey, PropertyKey.forHash(nameHash));
+        assertSame(key, PropertyKey.find("testProperty"));
+    }
+
+    @Test
+    public void lookupsByNameDoNotRegisterIt() {
+        Card card = new Card("Test");
+        assertNull(card.getProperty("lookedUpButNeverSet"));
+        assertNull(PropertyKey.find("lookedUpButNeverSet"));
+    }
+
+    @Test
+    public void propertiesAreHeldDenselyWhateverOtherGamesRegister() {
+        PropertyKey low = PropertyKey.of("lowSlotProperty");
+        // as if several other games had loaded their components first
+        for (int i = 0; i < 1000; i++)
+            PropertyKey.of("otherGameProperty" + i);
+        PropertyKey high = PropertyKey.of("highSlotProperty");
+
+        Card card = new Card("Test");
+        card.setProperty(new PropertyInt("highSlotProperty", 1));
+        assertNull(card.getProperty(low));
+        card.setProperty(new PropertyInt("lowSlotProperty", 2));
+        card.setProperty(new PropertyString("name", "Low"));
+        assertEquals(3, card.getNumProperties());
+        assertEquals(3, card.properties.length);
+        assertEquals(1, card.getIntProperty(high, -1));
+        assertEquals(2, card.getIntProperty(low, -1));
+        assertEquals("Low", card.getStringProperty(nameKey, null));
+
+        Card copy = card.copy();
+        assertEquals(3, copy.properties.length);
+        assertEquals(1, copy.getIntProperty(high, -1));
+        assertEquals(2, copy.getIntProperty(low, -1));
+        assertEquals(3, copy.getProperties().size());
+        assertNull(copy.getProperty(PropertyKey.of("otherGameProperty500")));
+
+        // adding to the copy does not change the original
+        copy.setProperty(new PropertyInt("otherGameProperty500", 3));
+        assertEquals(3, copy.getIntProperty(PropertyKey.of("otherGameProperty500"), -1));
+        assertEquals(2, copy.getIntProperty(low, -1));
+        assertEquals(1, copy.getIntProperty(high, -1));
+        assertNull(card.getProperty(PropertyKey.of("otherGameProperty500")));
+        assertEquals(3, card.getNumProperties());
+    }
+
+    @Test
+    public void lookupsByKeyHashAndName() {
+        Card card = new Card("Test");
+        card.setProperty(new PropertyString("name", "Ace"));
+        card.setProperty(new PropertyInt("players", 3));
+        assertEquals(2, card.getNumProperties());
+
+        Property name = card.getProperty(nameKey);
+        assertEquals("Ace", name.toString());
+        assertSame(name, card.getProperty(nameHash));
+        assertSame(name, card.getProperty("name"));
+        assertEquals("Ace", card.getStringProperty(nameKey, null));
+        assertEquals(3, card.getIntProperty(playersKey, -1));
+
+        assertNull(card.getProperty(coordinateKey));
+        assertNull(card.getProperty("neverRegistered".hashCode()));
+        assertEquals(-1, card.getIntProperty(PropertyKey.of("missing"), -1));
+
+        // replacing a property does not add another
+        card.setProperty(new PropertyInt("players", 4));
+        assertEquals(2, card.getNumProperties());
+        assertEquals(4, card.getIntProperty(playersKey, -1));
+    }
+
+    @Test
+    public void copiesHaveTheirOwnProperties() {
+        Card card = new Card("Test");
+        card.setProperty(new PropertyInt("players", 3));
+        Card copy = card.copy();
+        ((PropertyInt) copy.getProperty(playersKey)).value = 5;
+        copy.setProperty(new PropertyString("name", "Copy"));
+        assertEquals(3, card.getIntProperty(playersKey, -1));
+        assertNull(card.getProperty(nameKey));
+        assertEquals(2, copy.getNumProperties());
+
+        Map<Integer, Property> properties = copy.getProperties();
+        assertEquals(2, properties.size());
+        assertEquals("Copy", properties.get(nameHash).toString());
+    }
+}
@@ -0,0 +1,75 @@
+package core.components;
+
+import games.dominion.cards.CardType;
+import games.dominion.cards.DominionCard;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static core.CoreConstants.VisibilityMode.HIDDEN_TO_ALL;
+import static org.junit.Assert.*;
+
+public class DeckCopyOnWriteTest {
+
+    Deck<DominionCard> deck;
+
+    @Before
+    public void setup() {
+        deck = new Deck<>("Test", HIDDEN_TO_ALL);
+        deck.add(DominionCard.create(CardType.COPPER));
+        deck.add(DominionCard.create(CardType.ESTATE));
+        deck.add(DominionCard.create(CardType.SMITHY));
+    }
+
+    @Test
+    public void copyOfImmutableComponentsSharesList() {
+        Deck<DominionCard> copy = deck.copy();
+        assertSame(deck.components, copy.components);
+        assertEquals(deck, copy);
+    }
+
+    @Test
+    public void changesToCopyAreNotSeenByOriginal() {
+        Deck<DominionCard> copy = deck.copy();
+        copy.draw();
+        copy.add(DominionCard.create(CardType.GOLD));
+        copy.shuffle(new Random(42));
+        assertEquals(3, deck.getSize());
+        assertEquals(CardType.SMITHY, deck.get(0).cardType());
+        assertEquals(CardType.COPPER, deck.get(2).cardType());
+        assertNotSame(deck.components, copy.components);
+    }
+
+    @Test
+    public void changesToOriginalAreNotSeenByCopy() {
+        Deck<DominionCard> copy = deck.copy();
+        Deck<DominionCard> secondCopy = deck.copy();
+        deck.clear();
+        assertEquals(0, deck.getSize());
+        assertEquals(3, copy.getSize());
+        assertEquals(3, secondCopy.getSize());
+        copy.remove(0);
+        assertEquals(2, copy.getSize());
+        assertEquals(3, secondCopy.getSize());
+    }
+
+    @Test
+    public void getComponentsGivesAnUnsharedList() {
+        Deck<DominionCard> copy = deck.copy();
+        copy.getComponents().remove(0);
+        assertEquals(3, deck.getSize());
+        assertEquals(2, copy.getSize());
+    }
+
+    @Test
+    public void mutableComponentsAreCopied() {
+        Deck<Card> cards = new Deck<>("Test", HIDDEN_TO_ALL);
+        cards.add(new Card("A"));
+        cards.add(new Card("B"));
+        Deck<Card> copy = cards.copy();
+        assertNotSame(cards.components, copy.components);
+        assertNotSame(cards.get(0), copy.get(0));
+        assertEquals(cards.get(0), copy.get(0));
+    }
+}
@@ -0,0 +1,131 @@
+package evaluation.listeners;
+
+import core.AbstractPlayer;
+import core.Game;
+import core.interfaces.IGameEvent;
+import evaluation.metrics.Event;
+import games.GameType;
+import org.junit.Test;
+import players.simple.RandomPlayer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TestAsynchronousGameListener {
+
+    // Records the tick of each state it sees, slowly enough that the game would have moved on
+    static class SlowListener implements IGameListener {
+        List<Integer> ticks = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        int gamesOver, reports;
+        Game game;
+
+        @Override
+        public void onEvent(Event event) {
+            if (event.type == Event.GameEvent.ACTION_TAKEN) {
+                try {
+                    Thread.sleep(2);
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                ticks.add(event.state.getGameTick());
+                threads.add(Thread.currentThread());
+            }
+            if (event.type == Event.GameEvent.GAME_OVER)
+                gamesOver++;
+        }
+
+        @Override
+        public void report() {
+            reports++;
+        }
+
+        @Override
+        public void setGame(Game game) {
+            this.game = game;
+        }
+
+        @Override
+        public Game getGame() {
+            return game;
+        }
+    }
+
+    private Game runGame(IGameListener listener) {
+        Game game = GameType.TicTacToe.createGameInstance(2, 404);
+        game.addListener(listener);
+        List<AbstractPlayer> players = List.of(new RandomPlayer(), new RandomPlayer());
+        game.reset(players);
+        game.run();
+        return game;
+    }
+
+    @Test
+    public void eventsSeeTheStateAsItWasWhenTheyHappened() {
+        SlowListener slow = new SlowListener();
+        AsynchronousGameListener listener = new AsynchronousGameListener(slow, 2);
+        Game game = runGame(listener);
+
+        // GAME_OVER waits for all the earlier events, so everything has been processed by the time run() returns
+        assertEquals(1, slow.gamesOver);
+        assertEquals(game.getGameState().getGameTick(), slow.ticks.size());
+        for (int i = 0; i < slow.ticks.size(); i++)
+            assertEquals(i + 1, (int) slow.ticks.get(i));
+        assertFalse(slow.threads.contains(Thread.currentThread()));
+        assertSame(game, slow.getGame());
+
+        listener.report();
+        assertEquals(1, slow.reports);
+    }
+
+    @Test
+    public void closeStopsTheBackgroundThread() throws InterruptedException {
+        SlowListener slow = new SlowListener();
+        AsynchronousGameListener listener = new AsynchronousGameListener(slow);
+        runGame(listener);
+        Thread worker = slow.threads.get(0);
+        assertTrue(worker.isAlive());
+        listener.close();
+        assertFalse(worker.isAlive());
+
+        // and a new one is started if it is used again
+        runGame(listener);
+        assertEquals(2, slow.gamesOver);
+        assertNotSame(worker, slow.threads.get(slow.threads.size() - 1));
+        listener.close();
+    }
+
+    @Test
+    public void eventsTheListenerIgnoresAreNotQueued() {
+        SlowListener gameOverOnly = new SlowListener() {
+            @Override
+            public boolean listensTo(IGameEvent eventType) {
+                return eventType == Event.GameEvent.GAME_OVER;
+            }
+        };
+        AsynchronousGameListener listener = new AsynchronousGameListener(gameOverOnly);
+        runGame(listener);
+        assertEquals(1, gameOverOnly.gamesOver);
+        assertTrue(gameOverOnly.ticks.isEmpty());
+        assertFalse(listener.listensTo(Event.GameEvent.ACTION_TAKEN));
+        listener.close();
+    }
+
+    @Test
+    public void exceptionsArePassedBackToTheGame() {
+        IGameListener failing = new SlowListener() {
+            @Override
+            public void onEvent(Event event) {
+                throw new IllegalStateException("listener failed");
+            }
+        };
+        try {
+            runGame(new AsynchronousGameListener(failing));
+            fail("Expected the listener's exception to be re-thrown");
+        } catch (RuntimeException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+}
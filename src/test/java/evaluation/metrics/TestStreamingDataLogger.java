@@ -0,0 +1,131 @@
+package evaluation.metrics;
+
+import core.interfaces.IGameEvent;
+import evaluation.listeners.MetricsGameListener;
+import evaluation.metrics.streaming.StreamingDataLogger;
+import evaluation.summarisers.TAGStreamingStatSummary;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class TestStreamingDataLogger {
+
+    static class TestMetric extends AbstractMetric {
+        @Override
+        protected boolean _run(MetricsGameListener listener, Event e, Map<String, Object> records) {
+            return true;
+        }
+
+        @Override
+        public Set<IGameEvent> getDefaultEventTypes() {
+            return Collections.singleton(Event.GameEvent.ACTION_TAKEN);
+        }
+
+        @Override
+        public Map<String, Class<?>> getColumns(int nPlayersPerGame, Set<String> playerNames) {
+            Map<String, Class<?>> columns = new HashMap<>();
+            columns.put("Score", Double.class);
+            columns.put("Action", String.class);
+            return columns;
+        }
+    }
+
+    @Test
+    public void summaryStatisticsMatchTheData() {
+        TAGStreamingStatSummary ss = new TAGStreamingStatSummary();
+        Random rnd = new Random(42);
+        double[] values = new double[20001];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = rnd.nextGaussian() * 3.0 + 10.0;
+            ss.add(values[i]);
+        }
+        double mean = Arrays.stream(values).average().orElseThrow();
+        double variance = Arrays.stream(values).map(v -> (v - mean) * (v - mean)).sum() / (values.length - 1);
+        Arrays.sort(values);
+        assertEquals(values.length, ss.n());
+        assertEquals(mean, ss.mean(), 1e-9);
+        assertEquals(variance, ss.variance(), 1e-6);
+        assertEquals(values[0], ss.min(), 0.0);
+        assertEquals(values[values.length - 1], ss.max(), 0.0);
+        // the quantiles are estimates, but should be close with this many values
+        assertEquals(values[values.length / 4], ss.quantile(0.25), 0.05);
+        assertEquals(values[values.length / 2], ss.median(), 0.05);
+        assertEquals(values[3 * values.length / 4], ss.quantile(0.75), 0.05);
+    }
+
+    @Test
+    public void quantilesAreExactForFewValues() {
+        TAGStreamingStatSummary ss = new TAGStreamingStatSummary();
+        ss.add(5);
+        ss.add(1);
+        ss.add(3);
+        assertEquals(3.0, ss.median(), 0.0);
+        assertEquals(1.0, ss.min(), 0.0);
+    }
+
+    private void addRow(StreamingDataLogger logger, int gameID, Double score, String action) {
+        logger.addData("GameID", String.valueOf(gameID));
+        logger.addData("Score", score);
+        logger.addData("Action", action);
+    }
+
+    @Test
+    public void loggerAggregatesColumnsAndGames() {
+        TestMetric metric = new TestMetric();
+        StreamingDataLogger logger = new StreamingDataLogger(metric);
+        logger.init(null, 2, Collections.emptySet());
+
+        // game 1: two 'Pass' and one 'Play'; game 2: one 'Play', and a missing score
+        addRow(logger, 1, 1.0, "Pass");
+        addRow(logger, 1, 2.0, "Pass");
+        addRow(logger, 1, 3.0, "Play");
+        addRow(logger, 2, null, "Play");
+
+        assertEquals(4, logger.rows());
+        assertEquals(3, logger.getNumericSummary("Score").n());
+        assertEquals(2.0, logger.getNumericSummary("Score").mean(), 1e-9);
+        assertEquals(2L, (long) logger.getOccurrences("Action").get("Pass"));
+        assertEquals(2L, (long) logger.getOccurrences("Action").get("Play"));
+
+        Map<String, TAGStreamingStatSummary> perGame = logger.getOccurrencesPerGame("Action");
+        assertEquals(2, perGame.get("Pass").n());
+        assertEquals(1.0, perGame.get("Pass").mean(), 1e-9);  // 2 and 0
+        assertEquals(1.0, perGame.get("Play").mean(), 1e-9);  // 1 and 1
+        assertTrue(metric.getColumnNames().containsAll(Arrays.asList("Score", "Action")));
+    }
+
+    private void addEventRow(StreamingDataLogger logger, int gameID, String event, String action) {
+        logger.addData("GameID", String.valueOf(gameID));
+        logger.addData("Event", event);
+        logger.addData("Score", 0.0);
+        logger.addData("Action", action);
+    }
+
+    @Test
+    public void interleavedGamesAreSummarisedSeparately() {
+        TestMetric metric = new TestMetric();
+        StreamingDataLogger logger = new StreamingDataLogger(metric);
+        logger.init(null, 2, Collections.emptySet());
+
+        // games 1 and 2 running at the same time: game 1 has three 'Pass', game 2 one 'Pass' and one 'Play'
+        addEventRow(logger, 1, "ACTION_TAKEN", "Pass");
+        addEventRow(logger, 2, "ACTION_TAKEN", "Pass");
+        addEventRow(logger, 1, "ACTION_TAKEN", "Pass");
+        addEventRow(logger, 2, "ACTION_TAKEN", "Play");
+        addEventRow(logger, 1, "ACTION_TAKEN", "Pass");
+        addEventRow(logger, 2, "GAME_OVER", null);
+        addEventRow(logger, 1, "GAME_OVER", null);
+
+        Map<String, TAGStreamingStatSummary> perGame = logger.getOccurrencesPerGame("Action");
+        assertEquals(2, perGame.get("Pass").n());
+        assertEquals(2.0, perGame.get("Pass").mean(), 1e-9);  // 3 and 1
+        assertEquals(3.0, perGame.get("Pass").max(), 0.0);
+        assertEquals(2, perGame.get("Play").n());
+        assertEquals(0.5, perGame.get("Play").mean(), 1e-9);  // 0 and 1
+
+        // asking again does not count any game twice
+        assertEquals(2, logger.getOccurrencesPerGame("Action").get("Pass").n());
+    }
+}
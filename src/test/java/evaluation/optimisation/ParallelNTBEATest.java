@@ -0,0 +1,96 @@
+package evaluation.optimisation;
+
+import evaluation.optimisation.ntbea.*;
+import evaluation.optimisation.ntbea.functions.Branin;
+import evaluation.optimisation.ntbea.functions.FunctionSearchSpace;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ParallelNTBEATest {
+
+    // A noisy evaluator, whose noise depends only on its seed and the settings evaluated
+    static class SeededEvaluator implements SolutionEvaluator {
+        final SearchSpace searchSpace = new FunctionSearchSpace(10, new Branin());
+        final long seed;
+        int nEvals;
+
+        SeededEvaluator(long seed) {
+            this.seed = seed;
+        }
+
+        @Override
+        public void reset() {
+            nEvals = 0;
+        }
+
+        @Override
+        public synchronized double evaluate(int[] solution) {
+            nEvals++;
+            return Arrays.stream(solution).sum() + new Random(seed + Arrays.hashCode(solution)).nextDouble();
+        }
+
+        @Override
+        public SearchSpace searchSpace() {
+            return searchSpace;
+        }
+
+        @Override
+        public int nEvals() {
+            return nEvals;
+        }
+
+        @Override
+        public SeededEvaluator copy(long seed) {
+            return new SeededEvaluator(seed);
+        }
+    }
+
+    private NTBEAParameters createParams(int nThreads) {
+        NTBEAParameters params = new NTBEAParameters();
+        params.setParameterValue("iterations", 100);
+        params.setParameterValue("repeats", 4);
+        params.setParameterValue("evalGames", 10);
+        params.setParameterValue("matchups", 0);
+        params.setParameterValue("seed", 394);
+        params.logFile = "";
+        params.nThreads = nThreads;
+        params.searchSpace = new FunctionSearchSpace(10, new Branin());
+        return params;
+    }
+
+    @Test
+    public void batchResultsDoNotDependOnThreads() {
+        SolutionEvaluator evaluator = new SeededEvaluator(23);
+        Random rnd = new Random(5);
+        List<int[]> batch = new ArrayList<>();
+        for (int i = 0; i < 50; i++)
+            batch.add(SearchSpaceUtil.randomPoint(evaluator.searchSpace(), rnd));
+        assertArrayEquals(new BatchEvaluator(1).evaluate(evaluator, batch),
+                new BatchEvaluator(4).evaluate(evaluator, batch), 0.0);
+    }
+
+    @Test
+    public void parallelRunsMatchSerialRuns() {
+        NTBEA serial = new NTBEA(createParams(1), new Branin(), 10);
+        serial.evaluator = new SeededEvaluator(0);
+        int[] serialBest = serial.run().b;
+
+        NTBEA parallel = new NTBEA(createParams(4), new Branin(), 10);
+        parallel.evaluator = new SeededEvaluator(0);
+        int[] parallelBest = parallel.run().b;
+
+        assertEquals(4, serial.winnerSettings.size());
+        assertEquals(serial.winnerSettings.size(), parallel.winnerSettings.size());
+        for (int i = 0; i < serial.winnerSettings.size(); i++)
+            assertArrayEquals(serial.winnerSettings.get(i), parallel.winnerSettings.get(i));
+        assertArrayEquals(serialBest, parallelBest);
+        assertEquals(serial.bestResult.a.a, parallel.bestResult.a.a, 0.0);
+        assertEquals(serial.bestResult.a.b, parallel.bestResult.a.b, 0.0);
+    }
+}
@@ -13,6 +13,7 @@ import utilities.Utils;
 
 import java.util.*;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
 public class TestRandomSeedsInTournaments {
@@ -201,4 +202,29 @@ public class TestRandomSeedsInTournaments {
         assertEquals(4, uniqueSeeds.size());
     }
 
+    @Test
+    public void testParallelUsesSameSeedsAsSequential() {
+        List<AbstractPlayer> randomPlayer = List.of(new RandomPlayer(), new RandomPlayer(), new RandomPlayer(), new RandomPlayer());
+        String[] args = new String[] {
+                "mode=random", "matchups=40", "distinctRandomSeeds=0", "seed=35830953", "listener=\"\""
+        };
+        Map<RunArg, Object> config = RunArg.parseConfig(args, Collections.singletonList(RunArg.Usage.RunGames));
+        RoundRobinTournament tournament = new RoundRobinTournament(randomPlayer, GameType.DotsAndBoxes, 3, null, config);
+        tournament.addListener(seedListener);
+        tournament.run();
+
+        String[] parallelArgs = Arrays.copyOf(args, args.length + 1);
+        parallelArgs[args.length] = "nThreads=4";
+        config = RunArg.parseConfig(parallelArgs, Collections.singletonList(RunArg.Usage.RunGames));
+        RoundRobinTournament parallelTournament = new RoundRobinTournament(randomPlayer, GameType.DotsAndBoxes, 3, null, config);
+        SeedListener parallelSeedListener = new SeedListener();
+        parallelTournament.addListener(parallelSeedListener);
+        parallelTournament.run();
+
+        // games finish in a different order, but each must use the same seed as in the sequential case
+        assertEquals(40, parallelSeedListener.seeds.size());
+        assertEquals(new HashSet<>(seedListener.seeds), new HashSet<>(parallelSeedListener.seeds));
+        assertArrayEquals(tournament.getNGamesPlayed(), parallelTournament.getNGamesPlayed());
+    }
+
 }
@@ -0,0 +1,108 @@
+package games.chess;
+
+import core.CoreConstants;
+import core.actions.AbstractAction;
+import games.chess.actions.MovePiece;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static games.chess.ChessBitboards.*;
+import static org.junit.Assert.*;
+
+public class BitboardTests {
+
+    ChessForwardModel fm = new ChessForwardModel();
+    ChessGameState state;
+
+    @Before
+    public void setUp() {
+        state = new ChessGameState(new ChessParameters(), 2);
+        fm.setup(state);
+    }
+
+    @Test
+    public void slidingAttacksStopAtTheFirstBlocker() {
+        int d4 = square(3, 3);
+        assertEquals(14, Long.bitCount(rookAttacks(d4, 0L)));
+        assertEquals(13, Long.bitCount(bishopAttacks(d4, 0L)));
+        // a blocker on d6 is attacked, but d7 and d8 are not
+        long attacks = rookAttacks(d4, bit(3, 5));
+        assertTrue((attacks & bit(3, 5)) != 0);
+        assertEquals(0, attacks & (bit(3, 6) | bit(3, 7)));
+        // the same going the other way, with a blocker on b2
+        attacks = bishopAttacks(d4, bit(1, 1));
+        assertTrue((attacks & bit(1, 1)) != 0);
+        assertEquals(0, attacks & bit(0, 0));
+    }
+
+    @Test
+    public void leaperAttacksDoNotWrap() {
+        assertEquals(bit(1, 2) | bit(2, 1), knightAttacks(square(0, 0)));
+        assertEquals(bit(6, 7) | bit(6, 6) | bit(7, 6), kingAttacks(square(7, 7)));
+        assertEquals(bit(1, 2), pawnAttacks(0, square(0, 1)));
+        assertEquals(bit(6, 5), pawnAttacks(1, square(7, 6)));
+    }
+
+    @Test
+    public void hashFollowsMovesAndCopies() {
+        long start = state._getStateHash();
+        fm.next(state, new MovePiece(6, 0, 5, 2));
+        assertNotEquals(start, state._getStateHash());
+        ChessGameState copy = (ChessGameState) state.copy();
+        assertEquals(state._getStateHash(), copy._getStateHash());
+        fm.next(copy, new MovePiece(6, 7, 5, 5));
+        assertNotEquals(state._getStateHash(), copy._getStateHash());
+
+        // moving the knights back gives the start position again
+        fm.next(copy, new MovePiece(5, 2, 6, 0));
+        fm.next(copy, new MovePiece(5, 5, 6, 7));
+        assertEquals(start, copy._getStateHash());
+    }
+
+    @Test
+    public void transpositionsHaveTheSameHash() {
+        ChessGameState other = (ChessGameState) state.copy();
+        fm.next(state, new MovePiece(6, 0, 5, 2));
+        fm.next(state, new MovePiece(6, 7, 5, 5));
+        fm.next(state, new MovePiece(1, 0, 2, 2));
+        fm.next(other, new MovePiece(1, 0, 2, 2));
+        fm.next(other, new MovePiece(6, 7, 5, 5));
+        fm.next(other, new MovePiece(6, 0, 5, 2));
+        assertEquals(state._getStateHash(), other._getStateHash());
+    }
+
+    @Test
+    public void threefoldRepetitionIsADraw() {
+        for (int i = 0; i < 2; i++) {
+            assertTrue(state.isNotTerminal());
+            fm.next(state, new MovePiece(6, 0, 5, 2));
+            fm.next(state, new MovePiece(6, 7, 5, 5));
+            fm.next(state, new MovePiece(5, 2, 6, 0));
+            fm.next(state, new MovePiece(5, 5, 6, 7));
+        }
+        // the start position has now been seen three times
+        assertEquals(CoreConstants.GameResult.GAME_END, state.getGameStatus());
+        assertEquals(CoreConstants.GameResult.DRAW_GAME, state.getPlayerResults()[0]);
+    }
+
+    @Test
+    public void onlyMovesOutOfCheckAreLegal() {
+        // e4 d5 exd5 Qxd5 d4 Qe5+
+        fm.next(state, new MovePiece(4, 1, 4, 3));
+        fm.next(state, new MovePiece(3, 6, 3, 4));
+        fm.next(state, new MovePiece(4, 3, 3, 4));
+        fm.next(state, new MovePiece(3, 7, 3, 4));
+        fm.next(state, new MovePiece(3, 1, 3, 3));
+        fm.next(state, new MovePiece(3, 4, 4, 4));
+        assertTrue(state.isInCheck(0));
+        List<AbstractAction> actions = fm.computeAvailableActions(state);
+        assertFalse(actions.isEmpty());
+        for (AbstractAction action : actions) {
+            ChessGameState next = (ChessGameState) state.copy();
+            fm.next(next, action);
+            assertFalse(action.toString(), next.isInCheck(0));
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package games.connect4;
+
+import core.CoreConstants;
+import core.actions.AbstractAction;
+import core.actions.SetGridValueAction;
+import core.components.GridBoard;
+import org.junit.Before;
+import org.junit.Test;
+import utilities.Pair;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TestConnect4 {
+
+    Connect4ForwardModel forwardModel = new Connect4ForwardModel();
+    Connect4GameState state;
+
+    @Before
+    public void setUp() {
+        state = new Connect4GameState(new Connect4GameParameters(), 2);
+        forwardModel.setup(state);
+    }
+
+    private void play(int... columns) {
+        for (int column : columns) {
+            AbstractAction action = forwardModel.computeAvailableActions(state).stream()
+                    .filter(a -> ((SetGridValueAction) a).getX() == column)
+                    .findFirst().orElseThrow();
+            forwardModel.next(state, action);
+        }
+    }
+
+    @Test
+    public void tokensDropToTheBottom() {
+        play(3, 3, 4);
+        int bottom = state.getHeight() - 1;
+        assertEquals(0, state.getPlayerAt(3, bottom));
+        assertEquals(1, state.getPlayerAt(3, bottom - 1));
+        assertEquals(0, state.getPlayerAt(4, bottom));
+        assertEquals(-1, state.getPlayerAt(4, bottom - 1));
+        assertEquals(2, state.getColumnHeight(3));
+        for (AbstractAction a : forwardModel.computeAvailableActions(state)) {
+            SetGridValueAction action = (SetGridValueAction) a;
+            assertEquals(state.getHeight() - 1 - state.getColumnHeight(action.getX()), action.getY());
+        }
+    }
+
+    @Test
+    public void verticalWin() {
+        play(0, 1, 0, 1, 0, 1);
+        assertTrue(state.isNotTerminal());
+        play(0);
+        assertFalse(state.isNotTerminal());
+        assertEquals(CoreConstants.GameResult.WIN_GAME, state.getPlayerResults()[0]);
+        assertEquals(CoreConstants.GameResult.LOSE_GAME, state.getPlayerResults()[1]);
+        assertEquals(4, state.getWinningCells().size());
+        for (Pair<Integer, Integer> cell : state.getWinningCells())
+            assertEquals(0, state.getPlayerAt(cell.a, cell.b));
+    }
+
+    @Test
+    public void horizontalWinFromTheMiddle() {
+        // player 0 completes the line 2-3-4-5 by playing in column 4 last
+        play(2, 2, 3, 3, 5, 5, 4);
+        assertEquals(CoreConstants.GameResult.WIN_GAME, state.getPlayerResults()[0]);
+        assertEquals(4, state.getWinningCells().size());
+    }
+
+    @Test
+    public void diagonalWins() {
+        // player 0 on (0,0) (1,1) (2,2) (3,3), counting rows up from the bottom
+        play(0, 1, 1, 2, 2, 3, 2, 3, 3, 6, 3);
+        assertEquals(CoreConstants.GameResult.WIN_GAME, state.getPlayerResults()[0]);
+
+        // and the mirror image, from column 7 down to the left
+        setUp();
+        play(7, 6, 6, 5, 5, 4, 5, 4, 4, 1, 4);
+        assertEquals(CoreConstants.GameResult.WIN_GAME, state.getPlayerResults()[0]);
+    }
+
+    @Test
+    public void linesDoNotWrapAroundColumns() {
+        // player 0 has the top three cells of column 0 and the bottom cell of column 1, which are not a line
+        play(0, 0, 0, 0, 1, 0, 0, 2, 0, 3, 0, 5);
+        assertEquals(0, state.getPlayerAt(0, 0));
+        assertEquals(0, state.getPlayerAt(1, state.getHeight() - 1));
+        assertTrue(state.isNotTerminal());
+    }
+
+    @Test
+    public void fullBoardIsADraw() {
+        Connect4GameParameters params = new Connect4GameParameters();
+        params.gridSize = 6;
+        params.winCount = 6;
+        state = new Connect4GameState(params, 2);
+        forwardModel.setup(state);
+        // each column alternates between the players, starting with the same player in columns 0-1 and 4-5
+        play(0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 1, 1, 4, 2, 2, 2, 2, 2, 2, 3, 3, 3, 3, 3, 3, 4, 4, 4, 4, 4, 5, 5, 5, 5, 5, 5);
+        assertTrue(state.isBoardFull());
+        assertEquals(CoreConstants.GameResult.DRAW_GAME, state.getGameStatus());
+        assertTrue(forwardModel.computeAvailableActions(state).isEmpty());
+    }
+
+    @Test
+    public void gridBoardMatchesTheBitboards() {
+        play(3, 4, 3, 2, 5);
+        Connect4GameState copy = (Connect4GameState) state.copy();
+        GridBoard board = copy.getGridBoard();
+        assertEquals(state.getGridBoard().getComponentID(), board.getComponentID());
+        for (int y = 0; y < board.getHeight(); y++) {
+            for (int x = 0; x < board.getWidth(); x++) {
+                int player = state.getPlayerAt(x, y);
+                String expected = player < 0 ? Connect4Constants.emptyCell : Connect4Constants.playerMapping.get(player).getComponentName();
+                assertEquals(expected, board.getElement(x, y).getComponentName());
+            }
+        }
+        // the board follows later moves, and the actions still find it by ID
+        play(3);
+        List<AbstractAction> actions = forwardModel.computeAvailableActions(state);
+        assertSame(state.getGridBoard(), state.getComponentById(((SetGridValueAction) actions.get(0)).getGridBoard()));
+        assertEquals(1, state.getPlayerAt(3, state.getHeight() - 3));
+        assertEquals("o", state.getGridBoard().getElement(4, state.getHeight() - 1).getComponentName());
+        // while the copy is unchanged
+        assertEquals(-1, copy.getPlayerAt(3, copy.getHeight() - 3));
+        assertNotEquals(state, copy);
+    }
+}
@@ -0,0 +1,114 @@
+package games.descent;
+
+import core.components.BoardNode;
+import core.components.GridBoard;
+import core.properties.PropertyInt;
+import games.descent2e.*;
+import org.junit.Before;
+import org.junit.Test;
+import utilities.LineOfSight;
+import utilities.Vector2D;
+
+import java.util.*;
+
+import static core.CoreConstants.playersKey;
+import static org.junit.Assert.*;
+
+public class MapTablesTests {
+
+    DescentGameState state;
+    DescentForwardModel fm = new DescentForwardModel();
+
+    @Before
+    public void setup() {
+        DescentParameters params = new DescentParameters();
+        params.heroesToBePlayed = List.of("Avric Albright");
+        state = new DescentGameState(params, 2);
+        fm.setup(state);
+    }
+
+    @Test
+    public void tablesAreSharedByCopies() {
+        DescentGameState copy = (DescentGameState) state.copy();
+        assertSame(state.getMapTables(), copy.getMapTables());
+    }
+
+    @Test
+    public void distancesAreShortestPaths() {
+        DescentMapTables tables = state.getMapTables();
+        GridBoard board = state.getMasterBoard();
+        for (int from = 0; from < tables.getNCells(); from++) {
+            // A breadth first search over the board's own links
+            Map<BoardNode, Integer> distances = new HashMap<>();
+            Deque<BoardNode> queue = new ArrayDeque<>();
+            BoardNode start = tables.getNode(board, from);
+            distances.put(start, 0);
+            queue.add(start);
+            while (!queue.isEmpty()) {
+                BoardNode node = queue.poll();
+                for (BoardNode neighbour : node.getNeighbours().keySet()) {
+                    if (neighbour != null && !distances.containsKey(neighbour)) {
+                        distances.put(neighbour, distances.get(node) + 1);
+                        queue.add(neighbour);
+                    }
+                }
+            }
+            for (int to = 0; to < tables.getNCells(); to++) {
+                int expected = distances.getOrDefault(tables.getNode(board, to), -1);
+                assertEquals(expected, tables.getDistance(from, to));
+            }
+        }
+    }
+
+    @Test
+    public void lineOfSightMatchesTheLineDrawnOnTheBoard() {
+        DescentMapTables tables = state.getMapTables();
+        GridBoard board = state.getMasterBoard();
+        for (int from = 0; from < tables.getNCells(); from++) {
+            for (int to = 0; to < tables.getNCells(); to++) {
+                boolean expected = drawLine(board, tables.getPosition(from), tables.getPosition(to));
+                assertEquals(tables.getPosition(from) + " to " + tables.getPosition(to),
+                        expected, tables.hasLineOfSight(board, from, to));
+            }
+        }
+    }
+
+    @Test
+    public void figuresBlockLinesOfSight() {
+        DescentMapTables tables = state.getMapTables();
+        GridBoard board = state.getMasterBoard();
+        // find a clear line with at least one cell between the ends, and put a figure in the way
+        for (int from = 0; from < tables.getNCells(); from++) {
+            for (int to = 0; to < tables.getNCells(); to++) {
+                if (!tables.hasLineOfSight(board, from, to)) continue;
+                List<Vector2D> line = LineOfSight.bresenhamsLineAlgorithm(tables.getPosition(from), tables.getPosition(to));
+                if (line.size() < 3) continue;
+                PropertyInt between = (PropertyInt) board.getElement(line.get(1)).getProperty(playersKey);
+                if (between.value != -1) continue;
+                between.value = 12345;
+                assertFalse(tables.hasLineOfSight(board, from, to));
+                assertTrue(tables.hasLineOfSight(from, to));
+                between.value = -1;
+                assertTrue(tables.hasLineOfSight(board, from, to));
+                return;
+            }
+        }
+        fail("No line of sight found to block");
+    }
+
+    // Line of sight as worked out from scratch: every point on the line must be a cell linked to the one before,
+    // and not hold a figure other than those at either end
+    private static boolean drawLine(GridBoard board, Vector2D start, Vector2D end) {
+        List<Vector2D> points = LineOfSight.bresenhamsLineAlgorithm(start, end);
+        int startFigure = ((PropertyInt) board.getElement(start).getProperty(playersKey)).value;
+        int endFigure = ((PropertyInt) board.getElement(end).getProperty(playersKey)).value;
+        for (int i = 1; i < points.size(); i++) {
+            BoardNode node = board.getElement(points.get(i));
+            if (node == null) return false;
+            int figure = ((PropertyInt) node.getProperty(playersKey)).value;
+            if (figure != -1 && i != points.size() - 1 && figure != startFigure && figure != endFigure) return false;
+            if (!board.getElement(points.get(i - 1)).getNeighbours().containsKey(node)) return false;
+        }
+        return true;
+    }
+}
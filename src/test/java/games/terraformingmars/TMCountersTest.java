@@ -0,0 +1,68 @@
+package games.terraformingmars;
+
+import core.components.Counter;
+import games.terraformingmars.components.TMCounters;
+import org.junit.Before;
+import org.junit.Test;
+
+import static games.terraformingmars.TMTypes.Resource.*;
+import static org.junit.Assert.*;
+
+public class TMCountersTest {
+
+    TMCounters<TMTypes.Resource> counters;
+
+    @Before
+    public void setUp() {
+        counters = new TMCounters<>(TMTypes.Resource.class);
+        counters.add(MegaCredit, 5, 0, 100, "MegaCredit-0");
+        counters.add(Plant, 2, -5, 10, "Plant-0");
+    }
+
+    @Test
+    public void valuesAreClampedLikeCounters() {
+        assertTrue(counters.increment(MegaCredit, 10));
+        assertEquals(15, counters.getValue(MegaCredit));
+        assertFalse(counters.increment(Plant, -10));
+        assertEquals(-5, counters.getValue(Plant));
+        assertFalse(counters.get(Plant).increment(20));
+        assertEquals(10, counters.getValue(Plant));
+        assertTrue(counters.get(Plant).isMaximum());
+
+        assertFalse(counters.containsKey(Steel));
+        assertNull(counters.get(Steel));
+        assertEquals(0, counters.getValue(Steel));
+        assertEquals(2, counters.keySet().size());
+    }
+
+    @Test
+    public void copiesAreIndependentAndKeepTheirIDs() {
+        Counter mc = counters.get(MegaCredit);
+        TMCounters<TMTypes.Resource> copy = counters.copy();
+        assertEquals(counters, copy);
+
+        Counter mcCopy = copy.getById(mc.getComponentID());
+        assertNotNull(mcCopy);
+        assertEquals(mc.getComponentID(), mcCopy.getComponentID());
+        mcCopy.increment(3);
+        assertEquals(8, copy.getValue(MegaCredit));
+        assertEquals(5, counters.getValue(MegaCredit));
+        assertNotEquals(counters, copy);
+
+        // bounds are shared until one of them changes
+        mcCopy.setMaximum(6);
+        assertEquals(100, mc.getMaximum());
+        assertFalse(copy.increment(MegaCredit, 1));
+        assertEquals(6, copy.getValue(MegaCredit));
+    }
+
+    @Test
+    public void counterCopiesAreDetached() {
+        Counter plant = counters.get(Plant);
+        Counter detached = plant.copy();
+        assertEquals(plant, detached);
+        detached.increment(1);
+        assertEquals(2, counters.getValue(Plant));
+        assertEquals(3, detached.getValue());
+    }
+}
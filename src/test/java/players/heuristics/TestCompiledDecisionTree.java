@@ -0,0 +1,62 @@
+package players.heuristics;
+
+import core.AbstractGameState;
+import core.interfaces.IStateFeatureVector;
+import org.json.simple.JSONObject;
+import org.junit.Test;
+import utilities.JSONUtils;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestCompiledDecisionTree {
+
+    // root: feature 0 <= 2.5 ? (feature 1 in {1, 3} ? 10 : 20) : 30
+    CompiledDecisionTree tree = new CompiledDecisionTree(
+            new int[]{0, 1, -1, -1, -1},
+            new double[]{2.5, 0.0, 0.0, 0.0, 0.0},
+            new double[][]{null, {3.0, 1.0}, null, null, null},
+            new int[]{1, 3, 0, 0, 0},
+            new int[]{2, 4, 0, 0, 0},
+            new double[]{18.0, 15.0, 30.0, 10.0, 20.0});
+
+    private void checkPredictions(CompiledDecisionTree t) {
+        assertEquals(10.0, t.predict(new double[]{2.5, 1.0}), 1e-9);
+        assertEquals(10.0, t.predict(new double[]{0.0, 3.0}), 1e-9);
+        assertEquals(20.0, t.predict(new double[]{1.0, 2.0}), 1e-9);
+        assertEquals(30.0, t.predict(new double[]{2.6, 1.0}), 1e-9);
+    }
+
+    @Test
+    public void predictsByFollowingSplits() {
+        checkPredictions(tree);
+    }
+
+    @Test
+    public void roundTripsThroughJSON() {
+        JSONObject json = JSONUtils.fromString(tree.toJSON().toJSONString());
+        CompiledDecisionTree copy = new CompiledDecisionTree(json);
+        assertEquals(tree.size(), copy.size());
+        checkPredictions(copy);
+    }
+
+    @Test
+    public void heuristicUsesCompiledTree() {
+        // with no default heuristic the state is not looked at, only its features
+        DecisionTreeStateHeuristic heuristic = new DecisionTreeStateHeuristic(new TestFeatures(), tree, null);
+        assertEquals(30.0, heuristic.evaluateState(null, 3), 1e-9);
+        assertEquals(10.0, heuristic.evaluateState(null, 1), 1e-9);
+    }
+
+    // the features are just the player id, twice
+    static class TestFeatures implements IStateFeatureVector {
+        @Override
+        public double[] doubleVector(AbstractGameState state, int playerID) {
+            return new double[]{playerID, playerID};
+        }
+
+        @Override
+        public String[] names() {
+            return new String[]{"a", "b"};
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package players.heuristics;
 
+import core.AbstractGameState;
 import core.actions.AbstractAction;
 import games.dominion.DominionFGParameters;
 import games.dominion.DominionForwardModel;
@@ -16,6 +17,7 @@ import games.loveletter.features.LLStateFeaturesReduced;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
@@ -97,6 +99,35 @@ public class TestHeuristics {
         assertEquals(1.0, logisticStateHeuristic.evaluateState(domState, 1), 0.01);
     }
 
+    @Test
+    public void testBatchEvaluationMatchesSingleStates() {
+        LogisticStateHeuristic logisticStateHeuristic = new LogisticStateHeuristic(dominionFeaturedReduced,
+                "src\\test\\java\\players\\heuristics\\DominionFeatureWeightsLogistic.json",
+                new WinOnlyHeuristic());
+        // the successors of the first state, as OSLA would evaluate them
+        List<AbstractAction> actions = fm.computeAvailableActions(domState);
+        List<AbstractGameState> successors = new ArrayList<>();
+        for (AbstractAction action : actions) {
+            AbstractGameState next = domState.copy();
+            fm.next(next, action);
+            successors.add(next);
+        }
+        for (int player = 0; player < domState.getNPlayers(); player++) {
+            double[] values = new double[successors.size()];
+            logisticStateHeuristic.evaluateStates(successors, player, values);
+            for (int i = 0; i < successors.size(); i++)
+                assertEquals(logisticStateHeuristic.evaluateState(successors.get(i), player), values[i], 1e-12);
+        }
+
+        // and each state for all players at once, as at the end of an MCTS rollout
+        for (AbstractGameState state : successors) {
+            double[] values = new double[state.getNPlayers()];
+            logisticStateHeuristic.evaluateAllPlayers(state, values);
+            for (int player = 0; player < values.length; player++)
+                assertEquals(logisticStateHeuristic.evaluateState(state, player), values[player], 1e-12);
+        }
+    }
+
     @Test
     public void testActionHeuristicNonASF() {
         llState.getPlayerHandCards().get(0).clear();
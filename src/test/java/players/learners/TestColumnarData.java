@@ -0,0 +1,87 @@
+package players.learners;
+
+import evaluation.loggers.ColumnarStatsLogger;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class TestColumnarData {
+
+    private String tempFile(String suffix) throws IOException {
+        File file = File.createTempFile("TestColumnarData", suffix);
+        file.deleteOnExit();
+        return file.getPath();
+    }
+
+    // More rows than fit in one block, so that the blocks have to be joined up (and some have a different type)
+    private void writeRows(ColumnarStatsLogger logger, int rows) {
+        for (int i = 0; i < rows; i++) {
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("GameID", i / 10);
+            data.put("Feature", i * 0.1);
+            data.put("Mixed", i < 5000 ? (Object) i : (Object) (i + 0.5));
+            data.put("Name", i % 2 == 0 ? "even" : null);
+            logger.record(data);
+        }
+        logger.processDataAndFinish();
+    }
+
+    private void checkRows(ColumnarData data, int rows) {
+        assertEquals(rows, data.rows());
+        assertArrayEquals(new String[]{"GameID", "Feature", "Mixed", "Name"}, data.header());
+        int gameID = data.index("GameID"), feature = data.index("Feature"), mixed = data.index("Mixed"), name = data.index("Name");
+        for (int i = 0; i < rows; i++) {
+            assertEquals(i / 10, data.getDouble(gameID, i), 0.0);
+            assertEquals(Integer.toString(i / 10), data.getString(gameID, i));
+            assertEquals(i * 0.1, data.getDouble(feature, i), 0.0);  // doubles are not rounded
+            assertEquals(i < 5000 ? i : i + 0.5, data.getDouble(mixed, i), 0.0);
+            assertEquals(i % 2 == 0 ? "even" : "NA", data.getString(name, i));
+        }
+    }
+
+    @Test
+    public void roundTrip() throws IOException {
+        String file = tempFile(ColumnarStatsLogger.SUFFIX);
+        writeRows(new ColumnarStatsLogger(file), 10000);
+        assertTrue(ColumnarData.isColumnar(file));
+        checkRows(ColumnarData.load(file), 10000);
+    }
+
+    @Test
+    public void roundTripCompressed() throws IOException {
+        String file = tempFile(ColumnarStatsLogger.SUFFIX);
+        writeRows(new ColumnarStatsLogger(file, true), 10000);
+        checkRows(ColumnarData.load(file), 10000);
+    }
+
+    @Test
+    public void maxRowsAcrossFiles() throws IOException {
+        String first = tempFile(ColumnarStatsLogger.SUFFIX);
+        String second = tempFile(ColumnarStatsLogger.SUFFIX);
+        writeRows(new ColumnarStatsLogger(first), 3000);
+        writeRows(new ColumnarStatsLogger(second), 3000);
+        assertEquals(6000, ColumnarData.load(first, second).rows());
+        ColumnarData data = ColumnarData.load(4000, first, second);
+        assertEquals(4000, data.rows());
+        assertEquals(99, data.getDouble(data.index("GameID"), 3999), 0.0);  // row 999 of the second file
+    }
+
+    @Test
+    public void textFilesAreStillRead() throws IOException {
+        String file = tempFile(".txt");
+        try (FileWriter writer = new FileWriter(file)) {
+            writer.write("GameID\tFeature\n1\t0.5\n2\t1.5\n");
+        }
+        assertFalse(ColumnarData.isColumnar(file));
+        ColumnarData data = ColumnarData.load(file);
+        assertEquals(2, data.rows());
+        assertEquals(1.5, data.getDouble(data.index("Feature"), 1), 0.0);
+        assertEquals("2", data.getString(data.index("GameID"), 1));
+    }
+}
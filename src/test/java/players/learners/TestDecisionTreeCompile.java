@@ -0,0 +1,76 @@
+package players.learners;
+
+import org.apache.spark.ml.feature.VectorIndexer;
+import org.apache.spark.ml.linalg.Vector;
+import org.apache.spark.ml.linalg.VectorUDT;
+import org.apache.spark.ml.linalg.Vectors;
+import org.apache.spark.ml.regression.DecisionTreeRegressionModel;
+import org.apache.spark.ml.regression.DecisionTreeRegressor;
+import org.apache.spark.ml.tree.CategoricalSplit;
+import org.apache.spark.ml.tree.InternalNode;
+import org.apache.spark.ml.tree.Node;
+import org.apache.spark.sql.Dataset;
+import org.apache.spark.sql.Row;
+import org.apache.spark.sql.RowFactory;
+import org.apache.spark.sql.types.DataTypes;
+import org.apache.spark.sql.types.Metadata;
+import org.apache.spark.sql.types.StructField;
+import org.apache.spark.sql.types.StructType;
+import org.junit.Test;
+import players.heuristics.CompiledDecisionTree;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class TestDecisionTreeCompile {
+
+    private boolean hasCategoricalSplit(Node node) {
+        if (!(node instanceof InternalNode internalNode))
+            return false;
+        return internalNode.split() instanceof CategoricalSplit
+                || hasCategoricalSplit(internalNode.leftChild()) || hasCategoricalSplit(internalNode.rightChild());
+    }
+
+    @Test
+    public void compiledTreeMatchesSparkPredictions() {
+        Random rnd = new Random(42);
+        List<Row> rows = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            double colour = rnd.nextInt(4);
+            double size = rnd.nextDouble() * 10.0;
+            double shape = rnd.nextInt(3);
+            // colours 1 and 3 go together, so that a categorical split has to pick out categories that are not adjacent
+            double target = (colour == 1 || colour == 3 ? 5.0 : 0.0) + (size > 4.0 ? 2.0 : 0.0) + shape * 0.5
+                    + rnd.nextGaussian() * 0.1;
+            rows.add(RowFactory.create(Vectors.dense(colour, size, shape), target));
+        }
+        StructType schema = new StructType(new StructField[]{
+                new StructField("raw", new VectorUDT(), false, Metadata.empty()),
+                new StructField("target", DataTypes.DoubleType, false, Metadata.empty())
+        });
+        Dataset<Row> data = ApacheLearner.spark.createDataFrame(rows, schema);
+        // features with no more than 4 different values (colour and shape) are marked as categorical
+        Dataset<Row> training = new VectorIndexer()
+                .setInputCol("raw")
+                .setOutputCol("features")
+                .setMaxCategories(4)
+                .fit(data)
+                .transform(data);
+        DecisionTreeRegressionModel model = new DecisionTreeRegressor()
+                .setLabelCol("target")
+                .setFeaturesCol("features")
+                .setMaxDepth(6)
+                .fit(training);
+        assertTrue(hasCategoricalSplit(model.rootNode()));
+
+        CompiledDecisionTree tree = DecisionTreeLearner.compile(model);
+        assertEquals(model.numNodes(), tree.size());
+        for (Row row : training.select("features").collectAsList()) {
+            Vector features = row.getAs(0);
+            assertEquals(model.predict(features), tree.predict(features.toArray()), 0.0);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package players.mcts;
+
+import core.AbstractGameState;
+import core.AbstractPlayer;
+import core.Game;
+import core.actions.AbstractAction;
+import games.GameType;
+import games.dominion.DominionForwardModel;
+import games.dominion.DominionGameState;
+import games.dominion.DominionParameters;
+import org.junit.Test;
+import players.PlayerConstants;
+import players.simple.RandomPlayer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class IndexedTreeNodeTests {
+
+    private MCTSParams createParams(boolean indexed, MCTSEnums.TreePolicy treePolicy) {
+        MCTSParams params = new MCTSParams();
+        params.setParameterValue("randomSeed", 9332);
+        params.setParameterValue("opponentTreePolicy", MCTSEnums.OpponentTreePolicy.OneTree);
+        params.setParameterValue("information", MCTSEnums.Information.Information_Set);
+        params.setParameterValue("treePolicy", treePolicy);
+        params.setParameterValue("rolloutLength", 10);
+        params.setParameterValue("budgetType", PlayerConstants.BUDGET_ITERATIONS);
+        params.setParameterValue("budget", 200);
+        params.setParameterValue("indexedStatistics", indexed);
+        return params;
+    }
+
+    private Game createGame(MCTSPlayer mctsPlayer) {
+        List<AbstractPlayer> players = new ArrayList<>();
+        players.add(mctsPlayer);
+        players.add(new RandomPlayer(new Random(3023)));
+        players.add(new RandomPlayer(new Random(244)));
+        DominionParameters dp = new DominionParameters();
+        dp.setRandomSeed(330245);
+        return new Game(GameType.Dominion, players, new DominionForwardModel(), new DominionGameState(dp, players.size()));
+    }
+
+    // The indexed statistics are purely an optimisation, so the search should be exactly the same with or without them
+    private void checkSameSearch(MCTSEnums.TreePolicy treePolicy) {
+        MCTSPlayer basePlayer = new MCTSPlayer(createParams(false, treePolicy));
+        MCTSPlayer indexedPlayer = new MCTSPlayer(createParams(true, treePolicy));
+        Game baseGame = createGame(basePlayer);
+        Game indexedGame = createGame(indexedPlayer);
+        AbstractGameState baseState = baseGame.getGameState();
+        AbstractGameState indexedState = indexedGame.getGameState();
+        int decisions = 0;
+        while (decisions < 5 && baseState.isNotTerminal()) {
+            AbstractPlayer player = baseGame.getPlayers().get(baseState.getCurrentPlayer());
+            AbstractPlayer otherPlayer = indexedGame.getPlayers().get(indexedState.getCurrentPlayer());
+            List<AbstractAction> actions = baseGame.getForwardModel().computeAvailableActions(baseState);
+            List<AbstractAction> otherActions = indexedGame.getForwardModel().computeAvailableActions(indexedState);
+            AbstractAction action = player.getAction(baseState, actions);
+            AbstractAction otherAction = otherPlayer.getAction(indexedState, otherActions);
+            assertEquals(action, otherAction);
+            if (player == basePlayer && actions.size() > 1) {
+                decisions++;
+                assertTrue(indexedPlayer.root instanceof IndexedTreeNode);
+                assertFalse(basePlayer.root instanceof IndexedTreeNode);
+                assertEquals(basePlayer.root.getVisits(), indexedPlayer.root.getVisits());
+                for (AbstractAction a : basePlayer.root.actionValues.keySet())
+                    assertEquals(basePlayer.root.actionVisits(a), indexedPlayer.root.actionVisits(a));
+            }
+            baseGame.getForwardModel().next(baseState, action);
+            indexedGame.getForwardModel().next(indexedState, otherAction);
+        }
+        assertEquals(5, decisions);
+    }
+
+    @Test
+    public void sameSearchWithUCB() {
+        checkSameSearch(MCTSEnums.TreePolicy.UCB);
+    }
+
+    @Test
+    public void sameSearchWithUCBTuned() {
+        checkSameSearch(MCTSEnums.TreePolicy.UCB_Tuned);
+    }
+
+    @Test
+    public void sameSearchWithAlphaGo() {
+        checkSameSearch(MCTSEnums.TreePolicy.AlphaGo);
+    }
+
+    @Test
+    public void sameSearchWithEXP3() {
+        checkSameSearch(MCTSEnums.TreePolicy.EXP3);
+    }
+}
@@ -2,6 +2,7 @@ package players.mcts;
 
 import core.AbstractPlayer;
 import core.Game;
+import evaluation.features.StateHashKey;
 import evaluation.features.StateKeyFromFeatureVector;
 import evaluation.features.TurnAndPlayerOnly;
 import games.GameType;
@@ -101,6 +102,38 @@ public class MCGSTests {
         assertEquals(20, root.getTranspositionMap().size(), 10);
     }
 
+    @Test
+    public void boundedTableEvictsNodes() {
+        params.opponentTreePolicy = MCTSEnums.OpponentTreePolicy.MCGS;
+        params.MCGSStateKey = new StateHashKey();
+        params.MCGSTableCapacity = 50;
+        Game game = createDotsAndBoxes(params);
+        for (int i = 0; i < 12; i++) {
+            game.oneAction();
+            if (game.getGameState().getCurrentPlayer() == 0 || i == 0) {
+                MCGSNode root = (MCGSNode) mctsPlayer.getRoot(0);
+                TranspositionTable table = root.getTranspositionTable();
+                assertTrue(table.size() <= 50);
+                assertTrue(table.getPeakSize() <= 50);
+                // nodes that have been evicted are no longer linked to from the nodes left, so can be collected
+                Set<SingleTreeNode> inTable = Collections.newSetFromMap(new IdentityHashMap<>());
+                inTable.addAll(table.asMap().values());
+                for (MCGSNode node : table.asMap().values()) {
+                    assertTrue(node.parent == null || inTable.contains(node.parent));
+                    for (SingleTreeNode[] childArray : node.children.values())
+                        if (childArray != null)
+                            for (SingleTreeNode child : childArray)
+                                assertTrue(child == null || inTable.contains(child));
+                }
+                if (i == 0) {
+                    assertEquals(200, root.getVisits());
+                    assertTrue(table.getEvictions() > 0);
+                    assertTrue(table.getHits() + table.getMisses() > 0);
+                }
+            }
+        }
+    }
+
     @Test
     public void OneIterationHasDepthOne() {
         params.opponentTreePolicy = MCTSEnums.OpponentTreePolicy.MCGS;
@@ -0,0 +1,147 @@
+package players.mcts;
+
+import core.AbstractGameState;
+import core.AbstractPlayer;
+import core.Game;
+import core.actions.AbstractAction;
+import games.GameType;
+import games.dominion.DominionForwardModel;
+import games.dominion.DominionGameState;
+import games.dominion.DominionParameters;
+import org.junit.Before;
+import org.junit.Test;
+import players.PlayerConstants;
+import players.simple.RandomPlayer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ParallelMCTSTests {
+
+    MCTSParams params;
+    MCTSPlayer mctsPlayer;
+
+    @Before
+    public void setup() {
+        params = new MCTSParams();
+        params.setParameterValue("randomSeed", 9332);
+        params.setParameterValue("opponentTreePolicy", MCTSEnums.OpponentTreePolicy.OneTree);
+        params.setParameterValue("information", MCTSEnums.Information.Information_Set);
+        params.setParameterValue("rolloutLength", 10);
+        params.setParameterValue("budgetType", PlayerConstants.BUDGET_ITERATIONS);
+        params.setParameterValue("budget", 200);
+        params.setParameterValue("nThreads", 3);
+    }
+
+    private Game createGame() {
+        mctsPlayer = new MCTSPlayer(params);
+        List<AbstractPlayer> players = new ArrayList<>();
+        players.add(mctsPlayer);
+        players.add(new RandomPlayer(new Random(3023)));
+        players.add(new RandomPlayer(new Random(244)));
+        DominionParameters dp = new DominionParameters();
+        dp.setRandomSeed(330245);
+        return new Game(GameType.Dominion, players, new DominionForwardModel(), new DominionGameState(dp, players.size()));
+    }
+
+    private void makeDecisions(Game game, int decisions, int minVisits, int maxVisits) {
+        AbstractGameState state = game.getGameState();
+        int made = 0;
+        while (made < decisions && state.isNotTerminal()) {
+            AbstractPlayer player = game.getPlayers().get(state.getCurrentPlayer());
+            List<AbstractAction> actions = game.getForwardModel().computeAvailableActions(state);
+            AbstractAction action = player.getAction(state, actions);
+            if (player == mctsPlayer && actions.size() > 1) {
+                made++;
+                int visits = mctsPlayer.root.getVisits();
+                assertTrue(visits >= minVisits && visits <= maxVisits);
+                // virtual losses must all have been removed by the end of the search
+                int actionVisits = mctsPlayer.root.actionValues.values().stream().mapToInt(s -> s.nVisits).sum();
+                assertEquals(visits, actionVisits);
+            }
+            game.getForwardModel().next(state, action);
+        }
+        assertEquals(decisions, made);
+    }
+
+    @Test
+    public void rootParallelMergesVisitsFromAllTrees() {
+        params.setParameterValue("parallelism", MCTSEnums.Parallelism.Root);
+        Game game = createGame();
+        // the budget of 200 iterations is split 67 / 67 / 66 between the trees
+        makeDecisions(game, 4, 200, 200);
+    }
+
+    @Test
+    public void rootParallelSplitsFMCallsBudget() {
+        params.setParameterValue("parallelism", MCTSEnums.Parallelism.Root);
+        params.setParameterValue("budgetType", PlayerConstants.BUDGET_FM_CALLS);
+        params.setParameterValue("budget", 3000);
+        Game game = createGame();
+        AbstractGameState state = game.getGameState();
+        int made = 0;
+        while (made < 4 && state.isNotTerminal()) {
+            AbstractPlayer player = game.getPlayers().get(state.getCurrentPlayer());
+            List<AbstractAction> actions = game.getForwardModel().computeAvailableActions(state);
+            AbstractAction action = player.getAction(state, actions);
+            if (player == mctsPlayer && actions.size() > 1) {
+                made++;
+                // each tree stops after the first iteration that takes it over its share of 1000
+                assertEquals(2, mctsPlayer.searchHelpers.size());
+                for (MCTSPlayer helper : mctsPlayer.searchHelpers) {
+                    assertTrue(helper.root.fmCallsCount > 1000);
+                    assertTrue(helper.root.fmCallsCount < 1100);
+                }
+                // and the calls made by the helpers are merged into the root
+                assertTrue(mctsPlayer.root.fmCallsCount > 3000);
+                assertTrue(mctsPlayer.root.fmCallsCount < 3300);
+            }
+            game.getForwardModel().next(state, action);
+        }
+        assertEquals(4, made);
+    }
+
+    @Test
+    public void rootParallelReusesAllTrees() {
+        params.setParameterValue("parallelism", MCTSEnums.Parallelism.Root);
+        params.setParameterValue("reuseTree", true);
+        Game game = createGame();
+        AbstractGameState state = game.getGameState();
+        int made = 0, reused = 0;
+        while (made < 6 && state.isNotTerminal()) {
+            AbstractPlayer player = game.getPlayers().get(state.getCurrentPlayer());
+            List<AbstractAction> actions = game.getForwardModel().computeAvailableActions(state);
+            AbstractAction action = player.getAction(state, actions);
+            if (player == mctsPlayer && actions.size() > 1) {
+                made++;
+                // the visits inherited from all the trees are merged, as well as the new ones
+                assertEquals(200 + mctsPlayer.root.inheritedVisits, mctsPlayer.root.getVisits());
+                if (mctsPlayer.root.inheritedVisits > 0)
+                    reused++;
+            }
+            game.getForwardModel().next(state, action);
+        }
+        assertEquals(6, made);
+        assertTrue(reused > 0);
+    }
+
+    @Test
+    public void treeParallelSharesOneBudget() {
+        params.setParameterValue("parallelism", MCTSEnums.Parallelism.Tree);
+        Game game = createGame();
+        // iterations already under way on other threads when the budget runs out are still completed
+        makeDecisions(game, 4, 200, 202);
+    }
+
+    @Test
+    public void treeParallelWithSelfOnly() {
+        params.setParameterValue("parallelism", MCTSEnums.Parallelism.Tree);
+        params.setParameterValue("opponentTreePolicy", MCTSEnums.OpponentTreePolicy.SelfOnly);
+        Game game = createGame();
+        // iterations already under way on other threads when the budget runs out are still completed
+        makeDecisions(game, 4, 200, 202);
+    }
+}
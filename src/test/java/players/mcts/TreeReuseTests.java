@@ -57,6 +57,7 @@ public class TreeReuseTests {
 
     public void initialiseDominion() {
         playerOne = paramsOne.opponentTreePolicy == MCTSEnums.OpponentTreePolicy.OMA
+                || paramsOne.opponentTreePolicy == MCTSEnums.OpponentTreePolicy.OMA_All
                 ? new TestMCTSPlayer(paramsOne, OMATreeNode::new)
                 : new TestMCTSPlayer(paramsOne, STNWithTestInstrumentation::new);
         playerOne.rolloutTest = false;
@@ -155,6 +156,25 @@ public class TreeReuseTests {
         runGame();
     }
 
+    @Test
+    public void treeReusedWithOMAAll() {
+        // OMA_All tracks OMAParents for the other players too, and these can be above the new root
+        paramsOne.opponentTreePolicy = MCTSEnums.OpponentTreePolicy.OMA_All;
+        initialiseDominion();
+        runGame();
+        checkOMAParentsInTree(playerOne.getRoot(0));
+    }
+
+    private void checkOMAParentsInTree(SingleTreeNode node) {
+        OMATreeNode omaNode = (OMATreeNode) node;
+        omaNode.getOMAParent().ifPresent(p -> assertSame(node.root, p.root));
+        for (SingleTreeNode[] childArray : node.getChildren().values()) {
+            if (childArray == null) continue;
+            for (SingleTreeNode child : childArray)
+                if (child != null) checkOMAParentsInTree(child);
+        }
+    }
+
     @Test
     public void treeReusedWithRegretMatchingAndLowBudget() {
         paramsOne.treePolicy = MCTSEnums.TreePolicy.RegretMatching;
@@ -0,0 +1,110 @@
+package players.rhea;
+
+import core.AbstractGameState;
+import core.AbstractPlayer;
+import core.Game;
+import core.actions.AbstractAction;
+import games.GameType;
+import org.junit.Test;
+import players.PlayerConstants;
+import players.simple.RandomPlayer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class RHEAPlayerTests {
+
+    private RHEAPlayer createPlayer(int nThreads, RHEAEnums.CrossoverType crossover) {
+        RHEAParams params = new RHEAParams();
+        params.setParameterValue("randomSeed", 3902);
+        params.setParameterValue("budgetType", PlayerConstants.BUDGET_ITERATIONS);
+        params.setParameterValue("budget", 20);
+        params.setParameterValue("crossoverType", crossover);
+        params.setParameterValue("nThreads", nThreads);
+        return new RHEAPlayer(params);
+    }
+
+    // The stored states and values are reused by later rollouts, so they must always be those reached by the actions
+    private void checkPopulation(RHEAPlayer player) {
+        for (RHEAIndividual individual : player.population) {
+            assertEquals(individual.actions.length, individual.firstChangedGene);
+            assertTrue(individual.length > 0 && individual.length <= individual.actions.length);
+            for (int i = 0; i < individual.length; i++) {
+                AbstractGameState state = individual.gameStates[i + 1];
+                assertEquals(player.getParameters().heuristic.evaluateState(state, player.getPlayerID()), individual.scores[i], 1e-9);
+            }
+        }
+    }
+
+    private void playGame(RHEAPlayer rheaPlayer) {
+        Game game = GameType.Dominion.createGameInstance(2, 4092);
+        game.reset(List.of(rheaPlayer, new RandomPlayer(new Random(49))));
+        AbstractGameState state = game.getGameState();
+        int decisions = 0;
+        while (state.isNotTerminal() && decisions < 10) {
+            AbstractPlayer player = game.getPlayers().get(state.getCurrentPlayer());
+            List<AbstractAction> actions = game.getForwardModel().computeAvailableActions(state);
+            AbstractAction action = player.getAction(state.copy(state.getCurrentPlayer()), actions);
+            assertTrue(actions.contains(action));
+            if (player == rheaPlayer && actions.size() > 1) {
+                decisions++;
+                checkPopulation(rheaPlayer);
+            }
+            game.getForwardModel().next(state, action);
+        }
+        assertEquals(10, decisions);
+    }
+
+    // The actions chosen, and the values of the best individuals, over the first decisions of a game in which the
+    // player sees the full state (so that its observations are the same each time)
+    private List<Object> playSeededGame(RHEAPlayer rheaPlayer) {
+        Game game = GameType.Dominion.createGameInstance(2, 4092);
+        game.reset(List.of(rheaPlayer, new RandomPlayer(new Random(49))));
+        AbstractGameState state = game.getGameState();
+        List<Object> choices = new ArrayList<>();
+        while (state.isNotTerminal() && choices.size() < 20) {
+            AbstractPlayer player = game.getPlayers().get(state.getCurrentPlayer());
+            List<AbstractAction> actions = game.getForwardModel().computeAvailableActions(state);
+            AbstractAction action = player.getAction(state.copy(), actions);
+            if (player == rheaPlayer && actions.size() > 1) {
+                choices.add(action);
+                choices.add(rheaPlayer.population.get(0).value);
+            }
+            game.getForwardModel().next(state, action);
+        }
+        return choices;
+    }
+
+    @Test
+    public void storedStatesFollowActionsWithUniformCrossover() {
+        playGame(createPlayer(1, RHEAEnums.CrossoverType.UNIFORM));
+    }
+
+    @Test
+    public void storedStatesFollowActionsWithTwoPointCrossover() {
+        playGame(createPlayer(1, RHEAEnums.CrossoverType.TWO_POINT));
+    }
+
+    @Test
+    public void parallelEvaluation() {
+        playGame(createPlayer(4, RHEAEnums.CrossoverType.UNIFORM));
+    }
+
+    @Test
+    public void parallelEvaluationWithMAST() {
+        RHEAPlayer player = createPlayer(4, RHEAEnums.CrossoverType.UNIFORM);
+        player.getParameters().setParameterValue("useMAST", true);
+        playGame(player);
+    }
+
+    @Test
+    public void parallelEvaluationIsReproducible() {
+        List<Object> first = playSeededGame(createPlayer(4, RHEAEnums.CrossoverType.UNIFORM));
+        List<Object> second = playSeededGame(createPlayer(4, RHEAEnums.CrossoverType.UNIFORM));
+        assertEquals(20, first.size());
+        assertEquals(first, second);
+    }
+}
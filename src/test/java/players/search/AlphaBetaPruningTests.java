@@ -143,6 +143,40 @@ public class AlphaBetaPruningTests {
         runGame(gameState, player1, player2, false, true);
     }
 
+    @Test
+    public void connect4TranspositionTableAndMoveOrdering() {
+        // with a transposition table and move ordering (with iterative deepening) the value of the root is the
+        // same as with a plain alpha-beta search to the same depth (but we get there faster)
+        Connect4GameState gameState = new Connect4GameState(new Connect4GameParameters(), 2);
+        forwardModel.setup(gameState);
+
+        MaxNSearchParameters paramsOne = new MaxNSearchParameters();
+        paramsOne.alphaBetaPruning = true;
+        paramsOne.budget = Integer.MAX_VALUE;
+        paramsOne.paranoid = true;
+        paramsOne.searchDepth = 5;
+        MaxNSearchPlayer player1 = new MaxNSearchPlayer(paramsOne);
+        player1.setForwardModel(forwardModel);
+
+        MaxNSearchParameters paramsTwo = new MaxNSearchParameters();
+        paramsTwo.alphaBetaPruning = true;
+        paramsTwo.budget = Integer.MAX_VALUE;
+        paramsTwo.paranoid = true;
+        paramsTwo.searchDepth = 5;
+        paramsTwo.iterativeDeepening = true;
+        paramsTwo.transpositionTable = true;
+        paramsTwo.moveOrdering = true;
+        MaxNSearchPlayer player2 = new MaxNSearchPlayer(paramsTwo);
+        player2.setForwardModel(forwardModel);
+
+        do {
+            AbstractAction actionOne = player1.getAction(gameState.copy(), forwardModel.computeAvailableActions(gameState));
+            player2.getAction(gameState.copy(), forwardModel.computeAvailableActions(gameState));
+            assertArrayEquals(player1.getRootResult().value(), player2.getRootResult().value(), 0.000001);
+            assertFalse(player2.transpositionTable.isEmpty());
+            forwardModel.next(gameState, actionOne);
+        } while (gameState.isNotTerminal());
+    }
 
     // should be called so that the expected faster agent is player2
     private void runGame(Connect4GameState gameState, MaxNSearchPlayer player1, MaxNSearchPlayer player2,